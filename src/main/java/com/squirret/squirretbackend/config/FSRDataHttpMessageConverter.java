@@ -0,0 +1,58 @@
+package com.squirret.squirretbackend.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.service.FSRJsonDecoder;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * FSR 업로드 본문 전용 HttpMessageConverter (읽기 전용)
+ * 요청 InputStream을 토큰 단위로 읽어 요청 스레드별로 재사용하는 FSRDataDTO에 채웁니다.
+ * 반환된 DTO는 해당 요청을 처리하는 동안에만 유효하며, FSRDataService는 반영 시 복사본을 저장합니다.
+ */
+public class FSRDataHttpMessageConverter extends AbstractHttpMessageConverter<FSRDataDTO> {
+
+    private static final ThreadLocal<FSRDataDTO> BUFFER = ThreadLocal.withInitial(FSRDataDTO::new);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public FSRDataHttpMessageConverter() {
+        // 기존 @RequestBody String 엔드포인트는 Content-Type과 무관하게 받았으므로 text/plain도 허용
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"), MediaType.TEXT_PLAIN);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return FSRDataDTO.class == clazz;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        // 응답 직렬화는 기본 Jackson 컨버터가 담당
+        return false;
+    }
+
+    @Override
+    protected FSRDataDTO readInternal(Class<? extends FSRDataDTO> clazz, HttpInputMessage inputMessage) throws IOException {
+        FSRDataDTO target = BUFFER.get();
+        try (JsonParser parser = jsonFactory.createParser(inputMessage.getBody())) {
+            FSRJsonDecoder.decode(parser, target);
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("JSON parsing error: " + e.getMessage(), e, inputMessage);
+        }
+        return target;
+    }
+
+    @Override
+    protected void writeInternal(FSRDataDTO data, HttpOutputMessage outputMessage) throws IOException {
+        throw new HttpMessageNotWritableException("FSRDataHttpMessageConverter is read-only");
+    }
+}
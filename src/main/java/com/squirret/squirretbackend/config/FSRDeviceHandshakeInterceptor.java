@@ -0,0 +1,55 @@
+package com.squirret.squirretbackend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * 깔창 수신용 WebSocket 핸드셰이크 인터셉터
+ * 쿼리 파라미터로 디바이스 식별 정보를 받아 세션 속성에 저장합니다.
+ * 예) ws://host/ws/fsr-ingest?deviceId=insole-01&side=left&userId=guest-123
+ */
+@Slf4j
+@Component
+public class FSRDeviceHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String ATTR_DEVICE_ID = "fsrDeviceId";
+    public static final String ATTR_SIDE = "fsrSide";
+    public static final String ATTR_USER_ID = "fsrUserId";
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams();
+        String deviceId = params.getFirst("deviceId");
+        if (deviceId == null || deviceId.isBlank()) {
+            log.warn("깔창 WebSocket 연결 거부: deviceId 없음 (uri={})", request.getURI());
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return false;
+        }
+        attributes.put(ATTR_DEVICE_ID, deviceId);
+
+        String userId = params.getFirst("userId");
+        if (userId != null && !userId.isBlank()) {
+            attributes.put(ATTR_USER_ID, userId);
+        }
+
+        String side = params.getFirst("side");
+        if ("left".equalsIgnoreCase(side) || "right".equalsIgnoreCase(side)) {
+            attributes.put(ATTR_SIDE, side.toLowerCase());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler, @Nullable Exception exception) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.squirret.squirretbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class FSRWebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // FSRDataDTO 본문은 기본 Jackson 컨버터보다 먼저 스트리밍 디코더가 처리
+        converters.add(0, new FSRDataHttpMessageConverter());
+    }
+}
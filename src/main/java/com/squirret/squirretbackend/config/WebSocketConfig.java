@@ -1,5 +1,6 @@
 package com.squirret.squirretbackend.config;
 
+import com.squirret.squirretbackend.handler.FSRIngestWebSocketHandler;
 import com.squirret.squirretbackend.handler.FSRWebSocketHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
@@ -13,12 +14,19 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final FSRWebSocketHandler fsrWebSocketHandler;
+    private final FSRIngestWebSocketHandler fsrIngestWebSocketHandler;
+    private final FSRDeviceHandshakeInterceptor fsrDeviceHandshakeInterceptor;
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         // 웹소켓 엔드포인트: ws://localhost:8080/ws/fsr-data
         registry.addHandler(fsrWebSocketHandler, "/ws/fsr-data")
                 .setAllowedOrigins("*"); // CORS 설정 (프로덕션에서는 특정 도메인으로 제한)
+
+        // 깔창 수신 엔드포인트: ws://localhost:8080/ws/fsr-ingest?deviceId=insole-01&side=left
+        registry.addHandler(fsrIngestWebSocketHandler, "/ws/fsr-ingest")
+                .addInterceptors(fsrDeviceHandshakeInterceptor)
+                .setAllowedOrigins("*");
     }
 }
 
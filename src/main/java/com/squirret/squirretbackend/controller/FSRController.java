@@ -1,19 +1,41 @@
 package com.squirret.squirretbackend.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.squirret.squirretbackend.dto.CombinedFeedbackResponse;
+import com.squirret.squirretbackend.dto.FSRCalibrationDTO;
 import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.dto.FSRFanoutStatsResponse;
+import com.squirret.squirretbackend.dto.FSRHistoryStorageStatsResponse;
+import com.squirret.squirretbackend.dto.FSRIngestStatsResponse;
 import com.squirret.squirretbackend.dto.FSRLatestResponse;
+import com.squirret.squirretbackend.dto.FSRPersistenceStatsResponse;
+import com.squirret.squirretbackend.dto.FSRRollupResponse;
+import com.squirret.squirretbackend.dto.FSRSequenceStatsResponse;
+import com.squirret.squirretbackend.dto.FSRUdpStatsResponse;
 import com.squirret.squirretbackend.dto.FsrFeedbackResponse;
+import com.squirret.squirretbackend.handler.FSRWebSocketFanout;
+import com.squirret.squirretbackend.service.FSRAsyncIngestPipeline;
+import com.squirret.squirretbackend.service.FSRBinaryFrameDecoder;
+import com.squirret.squirretbackend.service.FSRCalibrationService;
 import com.squirret.squirretbackend.service.FSRDataService;
+import com.squirret.squirretbackend.service.FSRIngestService;
+import com.squirret.squirretbackend.service.FSRSamplePersistenceService;
+import com.squirret.squirretbackend.service.FSRSequenceTracker;
+import com.squirret.squirretbackend.service.FSRStreamAccessService;
+import com.squirret.squirretbackend.service.FSRUdpIngestListener;
 import com.squirret.squirretbackend.service.PostureFeedbackService;
 import com.squirret.squirretbackend.service.UnifiedFeedbackService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -22,113 +44,298 @@ import java.util.Map;
 public class FSRController {
 
     private final FSRDataService fsrDataService;
+    private final FSRIngestService fsrIngestService;
     private final PostureFeedbackService postureFeedbackService;
     private final UnifiedFeedbackService unifiedFeedbackService;
-    private final ObjectMapper objectMapper;
+    private final FSRAsyncIngestPipeline asyncIngestPipeline;
+    private final FSRSequenceTracker sequenceTracker;
+    private final FSRCalibrationService calibrationService;
+    private final FSRSamplePersistenceService persistenceService;
+    private final ObjectProvider<FSRUdpIngestListener> udpIngestListener;
+    private final FSRWebSocketFanout webSocketFanout;
+    private final FSRStreamAccessService streamAccessService;
 
+    /**
+     * FSR 데이터 수신
+     * 본문은 {@link com.squirret.squirretbackend.config.FSRDataHttpMessageConverter}가 스트리밍으로 디코딩합니다.
+     */
     @PostMapping("/fsr_data")
-    public ResponseEntity<String> receiveFsrData(@RequestBody String jsonString) {
-        log.info("=== FSR 데이터 수신 시작 ===");
-        log.info("수신된 원본 JSON 문자열: {}", jsonString);
-        
-        // JSON 파싱
-        FSRDataDTO data;
-        try {
-            data = objectMapper.readValue(jsonString, FSRDataDTO.class);
-            log.info("✅ JSON 파싱 성공!");
-            log.info("파싱된 데이터 - side: {}", data.getSide());
-            log.info("Voltage 값들 - v1: {}, v2: {}, v3: {}, v4: {}, v5: {}, v6: {}", 
+    public ResponseEntity<String> receiveFsrData(@RequestBody FSRDataDTO data) {
+        if (log.isDebugEnabled()) {
+            log.debug("FSR 데이터 수신 - side: {}, voltage=[{},{},{},{},{},{}]", data.getSide(),
                     data.getVoltage1(), data.getVoltage2(), data.getVoltage3(),
                     data.getVoltage4(), data.getVoltage5(), data.getVoltage6());
-        } catch (Exception e) {
-            log.error("❌ JSON 파싱 실패: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest().body("JSON parsing error: " + e.getMessage());
         }
-        
-        // 전압 값을 비율로 변환
-        convertVoltageToRatio(data);
-        
-        log.info("변환 후 ratio - ratio1: {}, ratio2: {}, ratio3: {}, ratio4: {}, ratio5: {}, ratio6: {}", 
-                data.getRatio1(), data.getRatio2(), data.getRatio3(), 
-                data.getRatio4(), data.getRatio5(), data.getRatio6());
-        
-        fsrDataService.updateData(data);
 
-        log.info("=== FSR 데이터 저장 완료 ===");
-        return ResponseEntity.ok("Data received successfully!");
+        return toResponse(fsrIngestService.ingest(data), "Data received successfully!");
+    }
+
+    /**
+     * 여러 샘플을 한 번에 업로드 (샘플별 디바이스 timestamp 사용)
+     * 요청당 HTTP 왕복을 줄이고, 좌/우 히스토리는 한 번에 갱신되며 브로드캐스트도 한 번만 발생합니다.
+     */
+    @PostMapping("/fsr_data/batch")
+    public ResponseEntity<String> receiveFsrBatch(@RequestBody List<FSRDataDTO> samples) {
+        if (samples == null || samples.isEmpty()) {
+            return ResponseEntity.badRequest().body("Batch is empty");
+        }
+        if (samples.size() > FSRIngestService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("Batch too large: max " + FSRIngestService.MAX_BATCH_SIZE + " samples");
+        }
+
+        FSRIngestService.Result result = fsrIngestService.ingestBatch(samples);
+        log.debug("FSR 배치 수신 완료: size={}, result={}", samples.size(), result);
+        return toResponse(result, "Batch received successfully! (" + samples.size() + " samples)");
+    }
+
+    /**
+     * 바이너리 FSR 프레임 수신 (application/octet-stream)
+     * 레이아웃은 {@link FSRBinaryFrameDecoder} 참고. JSON 문자열/리플렉션 없이 바로 디코딩합니다.
+     * 본문에 여러 프레임을 이어 붙이면 배치로 처리합니다.
+     */
+    @PostMapping(value = "/fsr_data/binary", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<String> receiveFsrBinary(@RequestBody byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        List<FSRDataDTO> frames = new ArrayList<>();
+        try {
+            while (buffer.hasRemaining() && frames.size() < FSRIngestService.MAX_BATCH_SIZE) {
+                FSRDataDTO data = new FSRDataDTO();
+                FSRBinaryFrameDecoder.decode(buffer, data);
+                frames.add(data);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("바이너리 FSR 프레임 디코딩 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Binary frame error: " + e.getMessage());
+        }
+        if (frames.isEmpty() || buffer.hasRemaining()) {
+            return ResponseEntity.badRequest().body("Binary frame error: empty body or too many frames");
+        }
+
+        FSRIngestService.Result result = frames.size() == 1
+                ? fsrIngestService.ingest(frames.get(0))
+                : fsrIngestService.ingestBatch(frames);
+        return toResponse(result, "Data received successfully!");
     }
 
     /**
-     * 전압 값을 비율로 변환하는 메서드
-     * 아두이노에서 전압(voltage1~6)을 전송하면, 이를 비율(ratio1~6)로 변환합니다.
-     * voltage가 없거나 0이면 아두이노에서 보낸 ratio를 그대로 유지합니다.
+     * 수신 결과를 HTTP 응답으로 변환
+     * 비동기 모드에서는 링에 게시만 하고 202, 링이 가득 차면 503을 반환합니다.
+     * 중복 샘플은 재전송해도 결과가 같도록 200으로 응답합니다.
      */
-    private void convertVoltageToRatio(FSRDataDTO data) {
-        Float v1 = data.getVoltage1();
-        Float v2 = data.getVoltage2();
-        Float v3 = data.getVoltage3();
-        Float v4 = data.getVoltage4();
-        Float v5 = data.getVoltage5();
-        Float v6 = data.getVoltage6();
-
-        // 전압 값이 모두 null이면 변환하지 않음 (이미 비율로 전송된 경우)
-        if (v1 == null && v2 == null && v3 == null && v4 == null && v5 == null && v6 == null) {
-            log.info("전압 값이 없으므로 ratio 변환 건너뜀 (아두이노에서 이미 ratio로 전송된 경우)");
-            return;  // 아두이노에서 보낸 ratio를 그대로 유지
-        }
-
-        // null 값을 0으로 처리
-        float voltage1 = (v1 != null) ? v1 : 0.0f;
-        float voltage2 = (v2 != null) ? v2 : 0.0f;
-        float voltage3 = (v3 != null) ? v3 : 0.0f;
-        float voltage4 = (v4 != null) ? v4 : 0.0f;
-        float voltage5 = (v5 != null) ? v5 : 0.0f;
-        float voltage6 = (v6 != null) ? v6 : 0.0f;
-
-        // 총 전압 계산
-        float totalVoltage = voltage1 + voltage2 + voltage3 + voltage4 + voltage5 + voltage6;
-
-        // 비율 계산 (총 전압이 0보다 크면 비율 계산)
-        if (totalVoltage > 0) {
-            data.setRatio1((voltage1 / totalVoltage) * 100.0f);
-            data.setRatio2((voltage2 / totalVoltage) * 100.0f);
-            data.setRatio3((voltage3 / totalVoltage) * 100.0f);
-            data.setRatio4((voltage4 / totalVoltage) * 100.0f);
-            data.setRatio5((voltage5 / totalVoltage) * 100.0f);
-            data.setRatio6((voltage6 / totalVoltage) * 100.0f);
-            log.info("전압을 비율로 변환: totalVoltage={}, ratios=[{},{},{},{},{},{}]",
-                    totalVoltage, data.getRatio1(), data.getRatio2(), data.getRatio3(),
-                    data.getRatio4(), data.getRatio5(), data.getRatio6());
-        } else {
-            // totalVoltage가 0이면 ratio를 0으로 덮어쓰지 않고 그대로 유지
-            // (아두이노에서 이미 ratio를 보낸 경우를 위해)
-            log.warn("총 전압이 0입니다. ratio는 변경하지 않습니다. (현재 ratio: [{},{},{},{},{},{}])",
-                    data.getRatio1(), data.getRatio2(), data.getRatio3(),
-                    data.getRatio4(), data.getRatio5(), data.getRatio6());
-            // ratio를 0으로 덮어쓰지 않음!
+    private ResponseEntity<String> toResponse(FSRIngestService.Result result, String appliedMessage) {
+        return switch (result) {
+            case APPLIED -> ResponseEntity.ok(appliedMessage);
+            case QUEUED -> ResponseEntity.status(HttpStatus.ACCEPTED).body("Data accepted");
+            case DROPPED -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Ingest queue full, sample dropped");
+            case DUPLICATE -> ResponseEntity.ok("Duplicate sample ignored");
+        };
+    }
+
+    // 수신 파이프라인 상태 (비동기 링 점유율/드롭 수, 서버 시각으로 바꾼 디바이스 timestamp 수)
+    @GetMapping("/fsr_data/ingest/stats")
+    public ResponseEntity<FSRIngestStatsResponse> getIngestStats() {
+        FSRIngestStatsResponse stats = asyncIngestPipeline.getStats();
+        stats.setReplacedTimestamps(fsrDataService.getReplacedTimestamps());
+        return ResponseEntity.ok(stats);
+    }
+
+    // 히스토리 저장소 상태 (off-heap 아레나 점유율)
+    @GetMapping("/fsr_data/history/storage")
+    public ResponseEntity<FSRHistoryStorageStatsResponse> getHistoryStorageStats() {
+        return ResponseEntity.ok(fsrDataService.getHistoryStorageStats());
+    }
+
+    // 샘플 DB 저장 상태 (대기 행 수, 드롭 수, batchUpdate 지연, 초당 저장 행 수)
+    @GetMapping("/fsr_data/persistence/stats")
+    public ResponseEntity<FSRPersistenceStatsResponse> getPersistenceStats() {
+        return ResponseEntity.ok(persistenceService.getStats());
+    }
+
+    // WebSocket 송신 상태 (구독자별 대기 프레임 수, 지연, 드롭 수)
+    @GetMapping("/fsr_data/fanout/stats")
+    public ResponseEntity<FSRFanoutStatsResponse> getFanoutStats() {
+        return ResponseEntity.ok(webSocketFanout.getStats());
+    }
+
+    // UDP 수신 통계 (fsr.udp.enabled=false 이면 404)
+    @GetMapping("/fsr_data/udp/stats")
+    public ResponseEntity<FSRUdpStatsResponse> getUdpStats() {
+        FSRUdpIngestListener listener = udpIngestListener.getIfAvailable();
+        if (listener == null) {
+            return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok(listener.getStats());
+    }
+
+    // 디바이스별 시퀀스 통계 (중복/공백/지연 수)
+    @GetMapping("/fsr_data/devices/sequence-stats")
+    public ResponseEntity<List<FSRSequenceStatsResponse>> getSequenceStats() {
+        return ResponseEntity.ok(sequenceTracker.getAllStats());
+    }
+
+    @GetMapping("/fsr_data/devices/{deviceId}/sequence-stats")
+    public ResponseEntity<FSRSequenceStatsResponse> getDeviceSequenceStats(@PathVariable String deviceId) {
+        FSRSequenceStatsResponse stats = sequenceTracker.getStats(deviceId);
+        if (stats == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * 깔창 디바이스를 사용자에 연결
+     * userId 없이 올라오는 해당 디바이스의 샘플은 이후 이 사용자의 스트림으로 반영됩니다.
+     * sessionId 세션의 사용자로만 연결할 수 있고, 이미 다른 스트림에 연결된 디바이스는 그 스트림의 소유자만 옮길 수 있습니다.
+     */
+    @PutMapping("/fsr_data/devices/{deviceId}/user")
+    public ResponseEntity<Void> bindDevice(@PathVariable String deviceId, @RequestParam String userId,
+                                           @RequestParam(required = false) String sessionId) {
+        if (!canRebind(deviceId, sessionId) || !streamAccessService.canAccess(sessionId, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        fsrDataService.bindDevice(deviceId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/fsr_data/devices/{deviceId}/user")
+    public ResponseEntity<Void> unbindDevice(@PathVariable String deviceId,
+                                             @RequestParam(required = false) String sessionId) {
+        if (!canRebind(deviceId, sessionId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        fsrDataService.unbindDevice(deviceId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 디바이스 보정 곡선 업로드 (채널별 전압 -> 보정값 제어점)
+     * 저장 후 메모리 테이블을 통째로 교체하므로 수신 중에도 바로 반영됩니다.
+     */
+    @PutMapping("/fsr_data/devices/{deviceId}/calibration")
+    public ResponseEntity<String> updateCalibration(@PathVariable String deviceId,
+                                                    @RequestBody FSRCalibrationDTO calibration) {
+        try {
+            calibrationService.updateCalibration(deviceId, calibration);
+        } catch (IllegalArgumentException e) {
+            log.warn("FSR 보정 곡선 오류: deviceId={}, error={}", deviceId, e.getMessage());
+            return ResponseEntity.badRequest().body("Calibration error: " + e.getMessage());
+        }
+        return ResponseEntity.ok("Calibration updated");
+    }
+
+    @GetMapping("/fsr_data/devices/{deviceId}/calibration")
+    public ResponseEntity<FSRCalibrationDTO> getCalibration(@PathVariable String deviceId) {
+        FSRCalibrationDTO calibration = calibrationService.getCalibration(deviceId);
+        if (calibration == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(calibration);
+    }
+
+    @DeleteMapping("/fsr_data/devices/{deviceId}/calibration")
+    public ResponseEntity<Void> removeCalibration(@PathVariable String deviceId) {
+        calibrationService.removeCalibration(deviceId);
+        return ResponseEntity.noContent().build();
     }
 
     // GET 요청 시 데이터 전송하는 엔드포인트 (좌/우 데이터 모두 포함)
+    // userId 또는 deviceId를 지정하지 않으면 기본 스트림을 조회 (조회 대상은 resolveReadableKey 참고)
     @GetMapping("/fsr_data/latest")
-    public ResponseEntity<FSRLatestResponse> getLatestFsrData() {
-        return ResponseEntity.ok(fsrDataService.getLatestInsoleDataAsResponse());
+    public ResponseEntity<FSRLatestResponse> getLatestFsrData(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String deviceId,
+            @RequestParam(required = false) String sessionId) {
+        String userKey = resolveReadableKey(userId, deviceId, sessionId);
+        if (userKey == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(fsrDataService.getLatestInsoleDataAsResponse(userKey));
+    }
+
+    /**
+     * 차트용 롤업 버킷 조회 (운동 후 압력 곡선)
+     * resolution은 ms 단위 버킷 크기(기본 100 / 1000 / 10000), from/to는 epoch ms이며 생략하면 보관 중인 전체 구간입니다.
+     */
+    @GetMapping("/fsr_data/rollups")
+    public ResponseEntity<?> getRollups(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String deviceId,
+            @RequestParam(required = false) String sessionId,
+            @RequestParam String side,
+            @RequestParam(defaultValue = "1000") long resolution,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to) {
+        String userKey = resolveReadableKey(userId, deviceId, sessionId);
+        if (userKey == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            FSRRollupResponse rollups = fsrDataService.getRollups(userKey, side, resolution,
+                    from != null ? from : 0L, to != null ? to : Long.MAX_VALUE);
+            return ResponseEntity.ok(rollups);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Rollup error: " + e.getMessage());
+        }
     }
 
     // 종합 자세 피드백 (양발 데이터 기반)
     @GetMapping("/fsr_data/feedback")
-    public ResponseEntity<FsrFeedbackResponse> getFeedback() {
-        log.info("=== 종합 자세 피드백 요청 ===");
-        FsrFeedbackResponse feedback = postureFeedbackService.getOverallFeedback();
+    public ResponseEntity<FsrFeedbackResponse> getFeedback(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String deviceId,
+            @RequestParam(required = false) String sessionId) {
+        String userKey = resolveReadableKey(userId, deviceId, sessionId);
+        if (userKey == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        log.info("=== 종합 자세 피드백 요청 === userId={}", userKey);
+        FsrFeedbackResponse feedback = postureFeedbackService.getOverallFeedback(userKey);
         log.info("종합 피드백 생성 완료 - stage={}, status={}", 
                 feedback.getStage(), feedback.getStatus());
         return ResponseEntity.ok(feedback);
     }
 
+    // AI 상태는 sessionId 세션의 사용자 기준, FSR 데이터는 /fsr_data/feedback과 같은 스트림 기준
     @GetMapping("/fsr_data/feedback/combined")
-    public ResponseEntity<CombinedFeedbackResponse> getCombinedFeedback() {
-        CombinedFeedbackResponse response = unifiedFeedbackService.buildFeedback();
+    public ResponseEntity<CombinedFeedbackResponse> getCombinedFeedback(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String deviceId,
+            @RequestParam(required = false) String sessionId) {
+        String userKey = resolveReadableKey(userId, deviceId, sessionId);
+        if (userKey == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        String ownerUserId = streamAccessService.ownerUserId(sessionId);
+        CombinedFeedbackResponse response = ownerUserId != null
+                ? unifiedFeedbackService.buildFeedback(ownerUserId, userKey)
+                : unifiedFeedbackService.buildFeedback();
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 조회 대상 스트림 키를 정하고 호출자가 볼 수 있는지 확인 (/ws/fsr-data 구독과 같은 기준)
+     * userId/deviceId가 있으면 {@link FSRDataService#resolveUserKey}, sessionId만 있으면 세션 스트림, 모두 없으면 기본 스트림
+     *
+     * @return sessionId 세션의 스트림/사용자 스트림이나 기본 스트림이 아니면 null
+     */
+    private String resolveReadableKey(String userId, String deviceId, String sessionId) {
+        String userKey = userId == null && deviceId == null && sessionId != null
+                ? sessionId
+                : fsrDataService.resolveUserKey(userId, deviceId);
+        return streamAccessService.canAccess(sessionId, userKey) ? userKey : null;
+    }
+
+    /**
+     * 디바이스 연결을 바꿀 수 있는지 (연결돼 있지 않거나 호출자 소유 스트림에 연결된 경우)
+     */
+    private boolean canRebind(String deviceId, String sessionId) {
+        String bound = fsrDataService.getDeviceBinding(deviceId);
+        return bound == null || streamAccessService.canAccess(sessionId, bound);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> handleUnreadableBody(HttpMessageNotReadableException e) {
+        log.warn("❌ FSR 요청 본문 파싱 실패: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 }
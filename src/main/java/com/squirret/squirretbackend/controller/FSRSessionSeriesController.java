@@ -0,0 +1,81 @@
+package com.squirret.squirretbackend.controller;
+
+import com.squirret.squirretbackend.service.FSRSeriesService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 기록된 세션의 FSR 시계열 조회 (운동 후 차트용)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class FSRSessionSeriesController {
+
+    private final FSRSeriesService seriesService;
+
+    /**
+     * 세션 구간 시계열 (채널별 LTTB 다운샘플링)
+     * channels는 쉼표로 구분한 채널 이름(voltage1~6, ratio1~6), from/to는 epoch ms이며 생략하면 세션 전체입니다.
+     * 응답은 스트리밍으로 쓰므로 긴 세션도 서버 메모리에 한꺼번에 올라오지 않습니다.
+     */
+    @GetMapping("/fsr_data/sessions/{sessionId}/series")
+    public ResponseEntity<?> getSeries(
+            @PathVariable String sessionId,
+            @RequestParam String side,
+            @RequestParam(defaultValue = "ratio1,ratio2,ratio3,ratio4,ratio5,ratio6") String channels,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "500") int points) {
+        String normalizedSide = side.toLowerCase();
+        if (!normalizedSide.equals("left") && !normalizedSide.equals("right")) {
+            return ResponseEntity.badRequest().body("side must be left or right: " + side);
+        }
+        if (points < 3 || points > FSRSeriesService.MAX_POINTS) {
+            return ResponseEntity.badRequest().body("points must be 3~" + FSRSeriesService.MAX_POINTS);
+        }
+        List<String> channelNames = Arrays.stream(channels.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+        try {
+            channelNames.forEach(FSRSeriesService::channelIndex);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (channelNames.isEmpty()) {
+            return ResponseEntity.badRequest().body("at least one channel is required");
+        }
+
+        FSRSeriesService.Source source;
+        try {
+            source = seriesService.open(sessionId);
+        } catch (IOException e) {
+            log.warn("FSR 세션 기록 열기 실패: sessionId={}, error={}", sessionId, e.getMessage());
+            return ResponseEntity.internalServerError().body("Session recording is unreadable");
+        }
+        if (source == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        long rangeFrom = from != null ? from : Long.MIN_VALUE;
+        long rangeTo = to != null ? to : Long.MAX_VALUE;
+        StreamingResponseBody body = out -> {
+            try (source) {
+                seriesService.writeSeries(source, sessionId, normalizedSide, channelNames,
+                        rangeFrom, rangeTo, points, out);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
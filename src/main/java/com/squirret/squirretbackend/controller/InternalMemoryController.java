@@ -0,0 +1,23 @@
+package com.squirret.squirretbackend.controller;
+
+import com.squirret.squirretbackend.dto.UserStateMemoryResponse;
+import com.squirret.squirretbackend.service.UserStateMemoryManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/internal/memory")
+@RequiredArgsConstructor
+public class InternalMemoryController {
+
+    private final UserStateMemoryManager memoryManager;
+
+    // 사용자별 상태 저장소의 추정 메모리 사용량 (마지막 점검 기준)
+    @GetMapping
+    public ResponseEntity<UserStateMemoryResponse> getUsage() {
+        return ResponseEntity.ok(memoryManager.getUsage());
+    }
+}
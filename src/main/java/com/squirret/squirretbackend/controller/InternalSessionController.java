@@ -6,6 +6,9 @@ import com.squirret.squirretbackend.dto.RegisterSessionRequest;
 import com.squirret.squirretbackend.dto.SessionFinishRequest;
 import com.squirret.squirretbackend.dto.SessionFinishResponse;
 import com.squirret.squirretbackend.dto.SessionIssueResponse;
+import com.squirret.squirretbackend.service.FSRDataService;
+import com.squirret.squirretbackend.service.FSRRecordingService;
+import com.squirret.squirretbackend.service.FSRSamplePersistenceService;
 import com.squirret.squirretbackend.service.InferenceFeedbackService;
 import com.squirret.squirretbackend.service.InferenceSessionService;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +27,9 @@ public class InternalSessionController {
     private final InferenceSessionService inferenceSessionService;
     private final InferenceFeedbackService inferenceFeedbackService;
     private final com.squirret.squirretbackend.service.FastApiWebSocketClient fastApiWebSocketClient;
+    private final FSRRecordingService fsrRecordingService;
+    private final FSRSamplePersistenceService fsrPersistenceService;
+    private final FSRDataService fsrDataService;
 
     /**
      * 게스트 세션 발급 (기존 STOMP용)
@@ -47,6 +53,8 @@ public class InternalSessionController {
      * @param request 요청 본문
      *   - userId: 게스트 ID (선택사항, 기본값: "guest")
      *   - fastApiSessionId: 프론트에서 FastAPI로부터 발급받은 세션 ID (필수)
+     *   - persistFsr: FSR 원본 샘플 DB 저장 동의 여부 (선택사항, 기본값: false)
+     *   - deviceIds: 세션에 연결할 깔창 디바이스 ID 목록 (선택사항)
      * @return 등록된 세션 정보
      */
     @PostMapping("/session")
@@ -62,8 +70,21 @@ public class InternalSessionController {
         InferenceSessionService.CreateSessionResponse response = 
             inferenceSessionService.registerFastApiSession(userId, fastApiSessionId);
         
-        // WebSocket 연결 시도
+        // 세션 동안 FSR 샘플 기록 (같은 userId를 쓰는 다른 세션과 섞이지 않도록 Spring 세션 ID로 구분)
         String springSessionId = response.sessionId();
+        fsrRecordingService.startRecording(springSessionId, userId);
+        if (Boolean.TRUE.equals(request.getPersistFsr())) {
+            fsrPersistenceService.startSession(springSessionId, userId);
+        }
+        if (request.getDeviceIds() != null) {
+            for (String deviceId : request.getDeviceIds()) {
+                if (deviceId != null && !deviceId.isBlank()) {
+                    fsrDataService.bindDeviceToSession(deviceId, springSessionId);
+                }
+            }
+        }
+
+        // WebSocket 연결 시도
         boolean connected = fastApiWebSocketClient.connect(springSessionId, fastApiSessionId);
         if (connected) {
             log.info("FastAPI WebSocket 연결 성공: springSessionId={}, fastApiSessionId={}", 
@@ -76,6 +97,19 @@ public class InternalSessionController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 등록된 세션에 깔창 디바이스 연결 (세션 등록 후 디바이스가 연결된 경우)
+     * 이후 이 디바이스의 샘플은 세션 스트림으로 모여 세션 기록/DB 저장 대상이 됩니다.
+     */
+    @PutMapping("/session/{sessionId}/devices/{deviceId}")
+    public ResponseEntity<Void> bindSessionDevice(@PathVariable String sessionId, @PathVariable String deviceId) {
+        if (!inferenceSessionService.isSessionActive(sessionId)) {
+            return ResponseEntity.notFound().build();
+        }
+        fsrDataService.bindDeviceToSession(deviceId, sessionId);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * 세션 완료
      */
@@ -91,6 +125,10 @@ public class InternalSessionController {
         InferenceSessionService.SessionStats stats = new InferenceSessionService.SessionStats(
                 framesIn, framesOut, durationSeconds);
         inferenceSessionService.finishSession(sessionId, stats);
+        fsrRecordingService.finishRecording(sessionId);
+        fsrPersistenceService.finishSession(sessionId);
+        // 이 세션의 디바이스 연결과 세션 스트림만 정리 (사용자/기본 스트림은 다른 세션이 쓰고 있을 수 있음)
+        fsrDataService.removeSession(sessionId);
         
         // 세션 종료 시 FastAPI WebSocket 연결도 종료
         fastApiWebSocketClient.disconnect(sessionId);
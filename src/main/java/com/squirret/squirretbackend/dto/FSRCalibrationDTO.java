@@ -0,0 +1,47 @@
+package com.squirret.squirretbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "깔창 디바이스 보정 곡선 (채널별 전압 -> 보정값 제어점)")
+public class FSRCalibrationDTO {
+
+    @Schema(description = "디바이스 ID", example = "insole-01")
+    private String deviceId;
+
+    @Schema(description = "채널별 보정 곡선 (지정하지 않은 채널은 전압을 그대로 사용)")
+    private List<Channel> channels;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Channel {
+        @Schema(description = "채널 번호 (1~6)", example = "1")
+        private int channel;
+
+        @Schema(description = "제어점 (voltage 오름차순, 2~64개)")
+        private List<Point> points;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Point {
+        @Schema(description = "측정 전압", example = "0.5")
+        private float voltage;
+
+        @Schema(description = "보정값 (하중에 비례하는 값)", example = "12.0")
+        private float value;
+    }
+}
@@ -1,4 +1,5 @@
 package com.squirret.squirretbackend.dto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -19,4 +20,10 @@ public class FSRDataDTO {
     private float ratio5;
     private float ratio6;
     private Long timestamp; // 데이터 업데이트 시간 (밀리초)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String deviceId; // 깔창 디바이스 ID (WebSocket 수신 시 핸드셰이크에서 지정)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String userId; // 사용자 ID (없으면 deviceId 연결 또는 기본 스트림으로 반영)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long sequence; // 디바이스별 단조 증가 번호 (재전송 중복 제거용, 선택)
 }
@@ -0,0 +1,102 @@
+package com.squirret.squirretbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "FSR WebSocket 송신(fan-out) 상태")
+public class FSRFanoutStatsResponse {
+
+    @Schema(description = "연결된 구독자 수", example = "3")
+    private int subscribers;
+
+    @Schema(description = "구독자가 있는 스트림 수", example = "2")
+    private int subscribedStreams;
+
+    @Schema(description = "구독자별 송신 큐 크기", example = "64")
+    private int queueCapacity;
+
+    @Schema(description = "송신 스레드 수", example = "2")
+    private int senderThreads;
+
+    @Schema(description = "오버플로 정책을 지정하지 않은 구독자의 정책", example = "DROP_OLDEST")
+    private String defaultPolicy;
+
+    @Schema(description = "고정 주기 브로드캐스트 주기 (0이면 갱신마다 바로 게시)", example = "30")
+    private double tickRateHz;
+
+    @Schema(description = "실행된 틱 수", example = "54000")
+    private long ticks;
+
+    @Schema(description = "같은 틱으로 합쳐져 따로 게시되지 않은 스트림 갱신 수", example = "96000")
+    private long coalesced;
+
+    @Schema(description = "구독자에게 게시된 프레임 수", example = "150000")
+    private long published;
+
+    @Schema(description = "큐 오버플로로 버려진 프레임 수 (종료된 구독자 포함)", example = "12")
+    private long dropped;
+
+    @Schema(description = "DISCONNECT 정책으로 끊긴 구독자 수", example = "0")
+    private long slowDisconnects;
+
+    @Schema(description = "구독자별 상태")
+    private List<Subscriber> sessions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Subscriber {
+        @Schema(description = "WebSocket 세션 ID", example = "a1b2c3")
+        private String sessionId;
+
+        @Schema(description = "구독 중인 스트림 (사용자 스트림 키)", example = "[\"guest123\"]")
+        private List<String> streams;
+
+        @Schema(description = "오버플로 정책", example = "LATEST_ONLY")
+        private String policy;
+
+        @Schema(description = "송신 형식 (JSON / BINARY / DELTA)", example = "BINARY")
+        private String format;
+
+        @Schema(description = "송신 대기 프레임 수", example = "2")
+        private int queued;
+
+        @Schema(description = "가장 오래 대기 중인 프레임의 대기 시간 (ms)", example = "35")
+        private long lagMs;
+
+        @Schema(description = "큐에 들어간 프레임 수", example = "5000")
+        private long enqueued;
+
+        @Schema(description = "전송한 프레임 수", example = "4990")
+        private long sent;
+
+        @Schema(description = "오버플로로 버려진 프레임 수", example = "8")
+        private long dropped;
+
+        @Schema(description = "전송 실패 수", example = "0")
+        private long failed;
+
+        @Schema(description = "보낸 키프레임 수 (DELTA 형식만)", example = "120")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long keyframes;
+
+        @Schema(description = "보낸 델타 수 (DELTA 형식만)", example = "3500")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long deltas;
+
+        @Schema(description = "바뀐 채널이 없어 보내지 않은 프레임 수 (DELTA 형식만)", example = "1370")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long suppressed;
+    }
+}
@@ -0,0 +1,45 @@
+package com.squirret.squirretbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "FSR 히스토리 저장소 상태 (off-heap 아레나 점유율)")
+public class FSRHistoryStorageStatsResponse {
+
+    @Schema(description = "히스토리 저장 방식 (heap | offheap)", example = "offheap")
+    private String storage;
+
+    @Schema(description = "사용자 스트림 수", example = "1200")
+    private int streams;
+
+    @Schema(description = "슬롯 하나의 크기 (발 하나의 히스토리, 바이트)", example = "65536")
+    private int slotBytes;
+
+    @Schema(description = "만들어진 슬랩 수", example = "3")
+    private int slabs;
+
+    @Schema(description = "슬랩으로 확보한 off-heap 메모리 (바이트)", example = "201326592")
+    private long reservedBytes;
+
+    @Schema(description = "만들어진 슬랩의 전체 슬롯 수", example = "3072")
+    private int slotsTotal;
+
+    @Schema(description = "사용 중인 슬롯 수", example = "2400")
+    private int slotsInUse;
+
+    @Schema(description = "최대 슬랩 수까지의 슬롯 수", example = "8192")
+    private int slotsMax;
+
+    @Schema(description = "아레나 점유율 (slotsInUse / slotsMax)", example = "0.29")
+    private double occupancy;
+
+    @Schema(description = "슬롯이 모자라 힙 저장소로 대체한 횟수", example = "0")
+    private long heapFallbacks;
+}
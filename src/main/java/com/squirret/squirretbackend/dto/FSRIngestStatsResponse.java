@@ -0,0 +1,36 @@
+package com.squirret.squirretbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "FSR 수신 파이프라인 상태")
+public class FSRIngestStatsResponse {
+
+    @Schema(description = "비동기 수신 모드 사용 여부", example = "true")
+    private boolean asyncEnabled;
+
+    @Schema(description = "소비자 스레드(링) 수", example = "1")
+    private int consumers;
+
+    @Schema(description = "전체 링 버퍼 슬롯 수", example = "8192")
+    private int capacity;
+
+    @Schema(description = "현재 대기 중인 샘플 수", example = "12")
+    private int occupancy;
+
+    @Schema(description = "링 버퍼에 게시를 시도한 샘플 수", example = "150000")
+    private long offered;
+
+    @Schema(description = "링이 가득 차 드롭된 샘플 수", example = "0")
+    private long dropped;
+
+    @Schema(description = "미래이거나 허용 오차보다 오래돼 서버 시각으로 바꾼 디바이스 timestamp 수", example = "0")
+    private long replacedTimestamps;
+}
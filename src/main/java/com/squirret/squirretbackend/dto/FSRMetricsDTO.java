@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,5 +34,11 @@ public class FSRMetricsDTO {
     
     @Schema(description = "좌우 차이", example = "10.0")
     private Float leftRightDiff;
+
+    @Schema(description = "왼발 계열별 창 통계 (ratio1~6, front, rear, heel, inner, outer)")
+    private Map<String, FSRSeriesStatsDTO> leftStats;
+
+    @Schema(description = "오른발 계열별 창 통계 (ratio1~6, front, rear, heel, inner, outer)")
+    private Map<String, FSRSeriesStatsDTO> rightStats;
 }
 
@@ -0,0 +1,54 @@
+package com.squirret.squirretbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "FSR 샘플 DB 저장 파이프라인 상태")
+public class FSRPersistenceStatsResponse {
+
+    @Schema(description = "DB 저장 사용 여부", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "저장 중인 세션 수", example = "3")
+    private int activeSessions;
+
+    @Schema(description = "저장 대기 중인 행 수 (세션 버퍼 + 쓰기 대기열)", example = "820")
+    private int pending;
+
+    @Schema(description = "저장 대기 행 수 한도 (넘으면 새 샘플 드롭)", example = "50000")
+    private int maxPending;
+
+    @Schema(description = "버퍼에 받은 샘플 수", example = "150000")
+    private long accepted;
+
+    @Schema(description = "대기 한도 초과로 드롭된 샘플 수", example = "0")
+    private long dropped;
+
+    @Schema(description = "DB에 저장된 행 수", example = "149180")
+    private long written;
+
+    @Schema(description = "쓰기 실패로 버려진 행 수", example = "0")
+    private long failed;
+
+    @Schema(description = "batchUpdate 호출 수", example = "310")
+    private long flushes;
+
+    @Schema(description = "마지막 batchUpdate 소요 시간 (ms)", example = "12")
+    private long lastFlushMillis;
+
+    @Schema(description = "평균 batchUpdate 소요 시간 (ms)", example = "9.4")
+    private double avgFlushMillis;
+
+    @Schema(description = "최대 batchUpdate 소요 시간 (ms)", example = "85")
+    private long maxFlushMillis;
+
+    @Schema(description = "최근 구간의 초당 저장 행 수", example = "480.0")
+    private double rowsPerSecond;
+}
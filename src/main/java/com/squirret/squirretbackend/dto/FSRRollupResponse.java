@@ -0,0 +1,50 @@
+package com.squirret.squirretbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "FSR 롤업 버킷 (차트용 해상도별 ratio1~6 min/max/평균)")
+public class FSRRollupResponse {
+
+    @Schema(description = "사용자 ID", example = "user-1")
+    private String userId;
+
+    @Schema(description = "발 구분", example = "left")
+    private String side;
+
+    @Schema(description = "버킷 해상도 (ms)", example = "1000")
+    private long resolutionMs;
+
+    @Schema(description = "버킷 목록 (오래된 순, 샘플이 없는 버킷은 생략)")
+    private List<Bucket> buckets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Bucket {
+        @Schema(description = "버킷 시작 시각 (epoch ms)", example = "1730000000000")
+        private long start;
+
+        @Schema(description = "버킷에 반영된 샘플 수", example = "20")
+        private int count;
+
+        @Schema(description = "채널별 최솟값 (ratio1~6 순서)")
+        private float[] min;
+
+        @Schema(description = "채널별 최댓값 (ratio1~6 순서)")
+        private float[] max;
+
+        @Schema(description = "채널별 평균 (ratio1~6 순서)")
+        private float[] mean;
+    }
+}
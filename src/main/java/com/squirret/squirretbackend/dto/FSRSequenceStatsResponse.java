@@ -0,0 +1,39 @@
+package com.squirret.squirretbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "디바이스별 FSR 시퀀스 통계")
+public class FSRSequenceStatsResponse {
+
+    @Schema(description = "디바이스 키 (deviceId, 없으면 userId:side)", example = "insole-01")
+    private String deviceKey;
+
+    @Schema(description = "지금까지 받은 가장 큰 시퀀스 번호", example = "5321")
+    private long highestSequence;
+
+    @Schema(description = "반영한 샘플 수", example = "5300")
+    private long received;
+
+    @Schema(description = "재전송 등으로 버린 중복 샘플 수", example = "4")
+    private long duplicates;
+
+    @Schema(description = "아직 도착하지 않은 번호 수 (네트워크 유실 추정)", example = "21")
+    private long gaps;
+
+    @Schema(description = "순서가 뒤바뀌어 늦게 도착한 샘플 수", example = "3")
+    private long late;
+
+    @Schema(description = "윈도우보다 오래되어 버린 샘플 수", example = "0")
+    private long stale;
+
+    @Schema(description = "시퀀스가 처음부터 다시 시작된 횟수 (재부팅 등)", example = "1")
+    private long restarts;
+}
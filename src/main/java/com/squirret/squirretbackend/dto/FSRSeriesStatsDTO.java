@@ -0,0 +1,39 @@
+package com.squirret.squirretbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "시간 창 안 한 계열(ratio 채널 또는 파생 지표)의 통계")
+public class FSRSeriesStatsDTO {
+
+    @Schema(description = "창 안의 샘플 수", example = "500")
+    private int count;
+
+    @Schema(description = "평균", example = "58.2")
+    private float mean;
+
+    @Schema(description = "표준편차 (흔들림 정도)", example = "4.1")
+    private float stdDev;
+
+    @Schema(description = "최솟값", example = "31.0")
+    private float min;
+
+    @Schema(description = "최댓값", example = "70.5")
+    private float max;
+
+    @Schema(description = "10번째 백분위수 (히스토그램 근사, 1% 단위)", example = "52.3")
+    private float p10;
+
+    @Schema(description = "중앙값 (히스토그램 근사, 1% 단위)", example = "58.0")
+    private float p50;
+
+    @Schema(description = "90번째 백분위수 (히스토그램 근사, 1% 단위)", example = "63.8")
+    private float p90;
+}
@@ -0,0 +1,29 @@
+package com.squirret.squirretbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "FSR UDP 수신 통계")
+public class FSRUdpStatsResponse {
+
+    @Schema(description = "수신 포트", example = "9750")
+    private int port;
+
+    @Schema(description = "수신한 전체 데이터그램 수", example = "120000")
+    private long datagramsReceived;
+
+    @Schema(description = "형식이 잘못된 데이터그램 수", example = "0")
+    private long malformed;
+
+    @Schema(description = "디바이스별 시퀀스 통계")
+    private List<FSRSequenceStatsResponse> devices;
+}
@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,5 +22,11 @@ public class RegisterSessionRequest {
     @NotBlank(message = "FastAPI 세션 ID는 필수입니다.")
     @Schema(description = "FastAPI에서 발급받은 세션 ID (필수)", example = "session_7f83a1f3", required = true)
     private String fastApiSessionId;
+
+    @Schema(description = "세션 동안 FSR 원본 샘플을 DB에 저장할지 여부 (선택사항, 기본값: false)", example = "false")
+    private Boolean persistFsr;
+
+    @Schema(description = "세션에 연결할 깔창 디바이스 ID 목록 (선택사항, 연결된 디바이스의 샘플만 세션 스트림으로 기록/저장)", example = "[\"insole-01\", \"insole-02\"]")
+    private List<String> deviceIds;
 }
 
@@ -0,0 +1,50 @@
+package com.squirret.squirretbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "사용자별 상태 저장소의 추정 메모리 사용량과 예산")
+public class UserStateMemoryResponse {
+
+    @Schema(description = "전체 예산 (바이트)", example = "536870912")
+    private long budgetBytes;
+
+    @Schema(description = "마지막 점검 시 전체 추정 사용량 (바이트)", example = "73400320")
+    private long usedBytes;
+
+    @Schema(description = "마지막 점검 시각 (epoch ms)", example = "1730000000000")
+    private long checkedAt;
+
+    @Schema(description = "예산 초과로 제거된 항목 수 (시작 이후 누적)", example = "0")
+    private long evictedTotal;
+
+    @Schema(description = "저장소별 사용량")
+    private List<StoreUsage> stores;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class StoreUsage {
+        @Schema(description = "저장소 이름", example = "fsrStreams")
+        private String name;
+
+        @Schema(description = "항목(사용자 또는 세션) 수", example = "120")
+        private int entries;
+
+        @Schema(description = "추정 사용량 (바이트)", example = "70254592")
+        private long estimatedBytes;
+
+        @Schema(description = "예산 초과로 제거된 항목 수 (시작 이후 누적)", example = "0")
+        private long evicted;
+    }
+}
@@ -0,0 +1,39 @@
+package com.squirret.squirretbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 깔창 디바이스 채널별 보정 곡선 (전압 -> 보정값 제어점)
+ * 제어점은 "voltage:value,voltage:value" 형식으로 저장합니다.
+ */
+@Entity
+@Table(name = "fsr_calibration",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_device_channel", columnNames = {"device_id", "channel"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class FsrCalibration {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "device_id", nullable = false)
+    private String deviceId;
+
+    @Column(name = "channel", nullable = false)
+    private int channel;
+
+    @Column(name = "points", nullable = false, length = 4000)
+    private String points;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,78 @@
+package com.squirret.squirretbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DB 저장에 동의한 사용자의 FSR 원본 샘플 (세션 단위)
+ * 테이블 정의만 JPA로 관리하고, 행 삽입은 {@code FSRSamplePersistenceService}가 JdbcTemplate 배치로 수행합니다.
+ * (IDENTITY 키 엔티티를 save()하면 Hibernate가 배치 삽입을 하지 못함)
+ */
+@Entity
+@Table(name = "fsr_sample",
+        indexes = {
+                @Index(name = "idx_session_sampled", columnList = "session_id, sampled_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class FsrSample {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false, length = 64)
+    private String sessionId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "side", nullable = false, length = 5)
+    private String side;
+
+    // epoch ms (서버 수신 시각 또는 배치 업로드의 디바이스 시각)
+    @Column(name = "sampled_at", nullable = false)
+    private long sampledAt;
+
+    @Column(name = "sequence")
+    private Long sequence;
+
+    @Column(name = "voltage1", nullable = false)
+    private float voltage1;
+
+    @Column(name = "voltage2", nullable = false)
+    private float voltage2;
+
+    @Column(name = "voltage3", nullable = false)
+    private float voltage3;
+
+    @Column(name = "voltage4", nullable = false)
+    private float voltage4;
+
+    @Column(name = "voltage5", nullable = false)
+    private float voltage5;
+
+    @Column(name = "voltage6", nullable = false)
+    private float voltage6;
+
+    @Column(name = "ratio1", nullable = false)
+    private float ratio1;
+
+    @Column(name = "ratio2", nullable = false)
+    private float ratio2;
+
+    @Column(name = "ratio3", nullable = false)
+    private float ratio3;
+
+    @Column(name = "ratio4", nullable = false)
+    private float ratio4;
+
+    @Column(name = "ratio5", nullable = false)
+    private float ratio5;
+
+    @Column(name = "ratio6", nullable = false)
+    private float ratio6;
+}
@@ -0,0 +1,106 @@
+package com.squirret.squirretbackend.handler;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * /ws/fsr-data 바이너리 송신 프레임 인코더 (서브프로토콜 fsr.bin.v1, little-endian)
+ *
+ * <pre>
+ * offset 0        : uint8  magic (0xF5)
+ * offset 1        : uint8  version (1)
+ * offset 2        : uint8  flags (bit0 = 왼발 값 있음, bit1 = 오른발 값 있음)
+ * offset 3        : uint8  streamId 길이 N (UTF-8 바이트 수, 최대 255)
+ * offset 4        : N바이트 streamId (UTF-8)
+ * offset 4+N      : int64  timestamp (밀리초, 좌/우 중 최신)
+ * offset 12+N     : uint16 x 6 왼발 ratio1~6 (값 x 100, 0.01% 단위, 0~655.35)
+ * offset 24+N     : uint16 x 6 오른발 ratio1~6
+ * </pre>
+ *
+ * 전압과 필드 이름은 싣지 않으므로 같은 좌/우 프레임의 JSON 대비 약 1/10 크기입니다. (streamId 8자 기준 44바이트)
+ * 값이 없는 발은 flags 비트가 꺼지고 ratio는 0으로 채워집니다.
+ */
+public final class FSRBinaryOutputEncoder {
+
+    public static final int MAGIC = 0xF5;
+    public static final int VERSION = 1;
+
+    public static final int FLAG_LEFT = 0x01;
+    public static final int FLAG_RIGHT = 0x02;
+
+    public static final float RATIO_SCALE = 100f;
+    public static final int MAX_STREAM_ID_BYTES = 255;
+
+    public static final int HEADER_SIZE = 4;
+    public static final int FIXED_SIZE = HEADER_SIZE + Long.BYTES + 2 * 6 * Short.BYTES;
+
+    private FSRBinaryOutputEncoder() {
+    }
+
+    /**
+     * @throws IllegalArgumentException streamId가 UTF-8로 255바이트를 넘는 경우
+     */
+    public static byte[] encode(String streamId, FSRDataDTO left, FSRDataDTO right) {
+        byte[] id = streamId != null ? streamId.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (id.length > MAX_STREAM_ID_BYTES) {
+            throw new IllegalArgumentException("streamId too long: " + id.length + " bytes");
+        }
+        int flags = flagsOf(left, right);
+
+        ByteBuffer out = ByteBuffer.allocate(FIXED_SIZE + id.length).order(ByteOrder.LITTLE_ENDIAN);
+        out.put((byte) MAGIC);
+        out.put((byte) VERSION);
+        out.put((byte) flags);
+        out.put((byte) id.length);
+        out.put(id);
+        out.putLong(timestampOf(left, right));
+        putRatios(out, left);
+        putRatios(out, right);
+        return out.array();
+    }
+
+    /**
+     * ratio를 uint16으로 양자화 (0.01% 단위, 범위 밖은 0 / 65535로 고정)
+     */
+    public static short quantize(float ratio) {
+        int value = Math.round(ratio * RATIO_SCALE);
+        return (short) Math.max(0, Math.min(0xFFFF, value));
+    }
+
+    public static float dequantize(short value) {
+        return (value & 0xFFFF) / RATIO_SCALE;
+    }
+
+    static int flagsOf(FSRDataDTO left, FSRDataDTO right) {
+        return (left != null ? FLAG_LEFT : 0) | (right != null ? FLAG_RIGHT : 0);
+    }
+
+    /**
+     * 좌/우 중 최신 timestamp (없으면 0)
+     */
+    static long timestampOf(FSRDataDTO left, FSRDataDTO right) {
+        return Math.max(timestampOf(left), timestampOf(right));
+    }
+
+    private static void putRatios(ByteBuffer out, FSRDataDTO data) {
+        if (data == null) {
+            for (int i = 0; i < 6; i++) {
+                out.putShort((short) 0);
+            }
+            return;
+        }
+        out.putShort(quantize(data.getRatio1()));
+        out.putShort(quantize(data.getRatio2()));
+        out.putShort(quantize(data.getRatio3()));
+        out.putShort(quantize(data.getRatio4()));
+        out.putShort(quantize(data.getRatio5()));
+        out.putShort(quantize(data.getRatio6()));
+    }
+
+    private static long timestampOf(FSRDataDTO data) {
+        return data != null && data.getTimestamp() != null ? data.getTimestamp() : 0L;
+    }
+}
@@ -0,0 +1,120 @@
+package com.squirret.squirretbackend.handler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 고정 주기 FSR 브로드캐스트
+ *
+ * 샘플이 들어오면 스트림을 dirty로 표시만 하고, fsr.broadcast.tick-rate-hz 주기마다 dirty 스트림별로
+ * 그 시점의 최신 좌/우 프레임 하나만 게시합니다. 센서가 좌/우 각각 50Hz로 보내도 구독자는 틱 주기로 받으며,
+ * 직렬화 비용도 센서 주기가 아니라 틱 주기에 묶입니다.
+ * 틱은 다른 @Scheduled 작업에 밀리지 않도록 전용 스레드에서 실행합니다. tick-rate-hz가 0 이하면 사용하지 않습니다.
+ */
+@Slf4j
+@Component
+public class FSRBroadcastTicker {
+
+    @Value("${fsr.broadcast.tick-rate-hz:30}")
+    private double tickRateHz;
+
+    // 다음 틱에 게시할 스트림
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    // 이미 dirty인 스트림에 들어온 갱신 (틱 하나로 합쳐진 수)
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+    private Consumer<String> flush;
+
+    public boolean isEnabled() {
+        return tickRateHz > 0;
+    }
+
+    public double tickRateHz() {
+        return tickRateHz;
+    }
+
+    /**
+     * 틱 시작
+     *
+     * @param flush 틱마다 dirty 스트림 ID로 호출 (그 시점의 최신 프레임을 게시)
+     */
+    public synchronized void start(Consumer<String> flush) {
+        this.flush = flush;
+        if (!isEnabled() || scheduler != null) {
+            return;
+        }
+        long periodNanos = (long) (1_000_000_000L / tickRateHz);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fsr-broadcast-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::tick, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        log.info("FSR 고정 주기 브로드캐스트 시작: tickRateHz={}", tickRateHz);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public void markDirty(String streamId) {
+        if (!dirty.add(streamId)) {
+            coalesced.incrementAndGet();
+        }
+    }
+
+    /**
+     * dirty 스트림마다 한 번씩 게시
+     * 표시를 먼저 지운 뒤 최신 프레임을 읽으므로, 그사이 들어온 갱신은 이번 틱이나 다음 틱에 반드시 반영됩니다.
+     */
+    void tick() {
+        ticks.incrementAndGet();
+        Iterator<String> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            String streamId = iterator.next();
+            iterator.remove();
+            try {
+                flush.accept(streamId);
+                flushed.incrementAndGet();
+            } catch (RuntimeException e) {
+                // 한 스트림의 오류로 틱 스레드가 멈추지 않도록 (scheduleAtFixedRate는 예외 시 중단됨)
+                log.error("FSR 틱 브로드캐스트 실패: streamId={}", streamId, e);
+            }
+        }
+    }
+
+    public long ticks() {
+        return ticks.get();
+    }
+
+    public long flushed() {
+        return flushed.get();
+    }
+
+    public long coalesced() {
+        return coalesced.get();
+    }
+
+    public int pending() {
+        return dirty.size();
+    }
+}
@@ -0,0 +1,222 @@
+package com.squirret.squirretbackend.handler;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 구독자 하나의 키프레임/델타 인코더 (서브프로토콜 fsr.delta.v1, little-endian)
+ *
+ * <pre>
+ * offset 0    : uint8  magic (0xF6)
+ * offset 1    : uint8  version (1)
+ * offset 2    : uint8  type (0 = keyframe, 1 = delta)
+ * offset 3    : uint8  flags (bit0 = 왼발 값 있음, bit1 = 오른발 값 있음)
+ * offset 4    : uint8  streamId 길이 N
+ * offset 5    : N바이트 streamId (UTF-8)
+ * offset 5+N  : int64  timestamp (밀리초)
+ * keyframe    : uint16 x 24 (채널 0~23)
+ * delta       : uint32 바뀐 채널 마스크 (bit c = 채널 c), 이어서 켜진 비트 순서대로 uint16 값
+ *
+ * 채널: 0~5 왼발 ratio1~6, 6~11 오른발 ratio1~6 (값 x 100)
+ *       12~17 왼발 voltage1~6, 18~23 오른발 voltage1~6 (값 x 1000, mV)
+ * </pre>
+ *
+ * 델타는 이 구독자에게 마지막으로 보낸 값과 비교해 임계값 이상 바뀐 채널만 담으므로, 큐에서 프레임이 버려져도
+ * 클라이언트 값은 어긋나지 않고 오차는 임계값 안에 머뭅니다. 바뀐 채널이 없으면 보내지 않습니다.
+ * 다음 경우에는 키프레임을 보냅니다: 스트림의 첫 프레임(새 연결/새 구독), 키프레임 주기 경과,
+ * 발 유무(flags) 변화, 송신 큐가 밀려 프레임이 버려진 직후(호출 측이 강제).
+ *
+ * {@link #encode}는 구독자 큐의 송신 스레드(한 번에 하나)에서만 호출됩니다.
+ */
+public class FSRDeltaEncoder {
+
+    public static final int MAGIC = 0xF6;
+    public static final int VERSION = 1;
+
+    public static final int TYPE_KEYFRAME = 0;
+    public static final int TYPE_DELTA = 1;
+
+    public static final int CHANNELS = 24;
+    public static final int RATIO_CHANNELS = 12;
+    public static final float VOLTAGE_SCALE = 1000f;
+
+    /**
+     * @param keyframeIntervalMillis 키프레임 주기
+     * @param ratioThreshold         델타에 포함할 ratio 변화량 (%)
+     * @param voltageThreshold       델타에 포함할 voltage 변화량 (V)
+     */
+    public record Settings(long keyframeIntervalMillis, float ratioThreshold, float voltageThreshold) {
+        public static final Settings DEFAULT = new Settings(2_000, 0.5f, 0.01f);
+    }
+
+    private final Settings settings;
+
+    // streamId -> 마지막으로 보낸 상태 (구독 해제 시 제거되어 다음 구독은 키프레임부터)
+    private final Map<String, StreamState> streams = new ConcurrentHashMap<>();
+
+    // 구독 시 지정한 스트림별 ratio 임계값
+    private final Map<String, Float> ratioThresholds = new ConcurrentHashMap<>();
+
+    // 송신 스레드 하나만 갱신
+    private volatile long keyframes;
+    private volatile long deltas;
+    private volatile long suppressed;
+
+    private static final class StreamState {
+        private final short[] sent = new short[CHANNELS];
+        private int flags;
+        private long lastKeyframeAt;
+    }
+
+    public FSRDeltaEncoder(Settings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * 좌/우 값을 채널 배열로 양자화 (프레임마다 한 번, 구독자끼리 공유)
+     */
+    public static short[] channels(FSRDataDTO left, FSRDataDTO right) {
+        short[] channels = new short[CHANNELS];
+        if (left != null) {
+            putSide(channels, 0, 12, left);
+        }
+        if (right != null) {
+            putSide(channels, 6, 18, right);
+        }
+        return channels;
+    }
+
+    public static short quantizeVoltage(float voltage) {
+        int value = Math.round(voltage * VOLTAGE_SCALE);
+        return (short) Math.max(0, Math.min(0xFFFF, value));
+    }
+
+    /**
+     * 스트림별 ratio 임계값 지정 (null이면 기본값)
+     */
+    public void setRatioThreshold(String streamId, Float threshold) {
+        if (threshold == null || threshold < 0) {
+            ratioThresholds.remove(streamId);
+        } else {
+            ratioThresholds.put(streamId, threshold);
+        }
+    }
+
+    /**
+     * 스트림 상태 제거 (다음 프레임은 키프레임)
+     */
+    public void reset(String streamId) {
+        streams.remove(streamId);
+    }
+
+    /**
+     * @param forceKeyframe 델타 대신 키프레임을 보내야 하는지 (송신 큐가 밀린 경우 등)
+     * @return 보낼 바이트 (바뀐 채널이 없으면 null)
+     */
+    public byte[] encode(FSROutboundFrame frame, long now, boolean forceKeyframe) {
+        String streamId = frame.streamId();
+        short[] channels = frame.channels();
+        int flags = frame.flags();
+
+        StreamState state = streams.get(streamId);
+        boolean keyframe = forceKeyframe || state == null || state.flags != flags
+                || now - state.lastKeyframeAt >= settings.keyframeIntervalMillis();
+        if (state == null) {
+            state = new StreamState();
+            streams.put(streamId, state);
+        }
+
+        if (keyframe) {
+            System.arraycopy(channels, 0, state.sent, 0, CHANNELS);
+            state.flags = flags;
+            state.lastKeyframeAt = now;
+            keyframes++;
+            ByteBuffer out = header(TYPE_KEYFRAME, flags, streamId, frame.timestamp(), CHANNELS * Short.BYTES);
+            for (short value : channels) {
+                out.putShort(value);
+            }
+            return out.array();
+        }
+
+        int ratioThreshold = threshold(ratioThresholds.getOrDefault(streamId, settings.ratioThreshold()),
+                FSRBinaryOutputEncoder.RATIO_SCALE);
+        int voltageThreshold = threshold(settings.voltageThreshold(), VOLTAGE_SCALE);
+        int mask = 0;
+        int changed = 0;
+        for (int c = 0; c < CHANNELS; c++) {
+            int diff = Math.abs((channels[c] & 0xFFFF) - (state.sent[c] & 0xFFFF));
+            if (diff >= (c < RATIO_CHANNELS ? ratioThreshold : voltageThreshold)) {
+                mask |= 1 << c;
+                changed++;
+            }
+        }
+        if (mask == 0) {
+            suppressed++;
+            return null;
+        }
+
+        deltas++;
+        ByteBuffer out = header(TYPE_DELTA, flags, streamId, frame.timestamp(), Integer.BYTES + changed * Short.BYTES);
+        out.putInt(mask);
+        for (int c = 0; c < CHANNELS; c++) {
+            if ((mask & (1 << c)) != 0) {
+                out.putShort(channels[c]);
+                state.sent[c] = channels[c];
+            }
+        }
+        return out.array();
+    }
+
+    public long keyframes() {
+        return keyframes;
+    }
+
+    public long deltas() {
+        return deltas;
+    }
+
+    public long suppressed() {
+        return suppressed;
+    }
+
+    private static ByteBuffer header(int type, int flags, String streamId, long timestamp, int bodySize) {
+        byte[] id = streamId != null ? streamId.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (id.length > FSRBinaryOutputEncoder.MAX_STREAM_ID_BYTES) {
+            throw new IllegalArgumentException("streamId too long: " + id.length + " bytes");
+        }
+        ByteBuffer out = ByteBuffer.allocate(5 + id.length + Long.BYTES + bodySize).order(ByteOrder.LITTLE_ENDIAN);
+        out.put((byte) MAGIC);
+        out.put((byte) VERSION);
+        out.put((byte) type);
+        out.put((byte) flags);
+        out.put((byte) id.length);
+        out.put(id);
+        out.putLong(timestamp);
+        return out;
+    }
+
+    // 양자화 단위 임계값 (최소 1 = 값이 바뀌면 전송)
+    private static int threshold(float value, float scale) {
+        return Math.max(1, Math.round(value * scale));
+    }
+
+    private static void putSide(short[] channels, int ratioOffset, int voltageOffset, FSRDataDTO data) {
+        channels[ratioOffset] = FSRBinaryOutputEncoder.quantize(data.getRatio1());
+        channels[ratioOffset + 1] = FSRBinaryOutputEncoder.quantize(data.getRatio2());
+        channels[ratioOffset + 2] = FSRBinaryOutputEncoder.quantize(data.getRatio3());
+        channels[ratioOffset + 3] = FSRBinaryOutputEncoder.quantize(data.getRatio4());
+        channels[ratioOffset + 4] = FSRBinaryOutputEncoder.quantize(data.getRatio5());
+        channels[ratioOffset + 5] = FSRBinaryOutputEncoder.quantize(data.getRatio6());
+        channels[voltageOffset] = quantizeVoltage(data.getVoltage1());
+        channels[voltageOffset + 1] = quantizeVoltage(data.getVoltage2());
+        channels[voltageOffset + 2] = quantizeVoltage(data.getVoltage3());
+        channels[voltageOffset + 3] = quantizeVoltage(data.getVoltage4());
+        channels[voltageOffset + 4] = quantizeVoltage(data.getVoltage5());
+        channels[voltageOffset + 5] = quantizeVoltage(data.getVoltage6());
+    }
+}
@@ -0,0 +1,205 @@
+package com.squirret.squirretbackend.handler;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.squirret.squirretbackend.config.FSRDeviceHandshakeInterceptor;
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.service.FSRBinaryFrameDecoder;
+import com.squirret.squirretbackend.service.FSRIngestService;
+import com.squirret.squirretbackend.service.FSRJsonDecoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 깔창 → 서버 방향 FSR 스트리밍 수신 핸들러
+ * 깔창이 연결 하나를 유지한 채 텍스트(JSON) 또는 바이너리 프레임으로 샘플을 계속 전송합니다.
+ * 각 메시지는 HTTP 업로드와 동일하게 FSRIngestService를 거쳐 반영됩니다.
+ * 메시지 하나에 {@link FSRIngestService#MAX_BATCH_SIZE}개를 넘는 샘플을 담으면 반영하지 않고 연결을 닫습니다. (1009)
+ * <pre>
+ * 비동기 수신 링이 가득 차 버린 메시지: {"type":"nack","result":"DROPPED","samples":N[,"sequence":S]} → 같은 메시지를 다시 전송
+ * 이미 받은 시퀀스:                   {"type":"ack","result":"DUPLICATE","samples":N[,"sequence":S]} → 재전송 불필요
+ * </pre>
+ * 반영/게시된 메시지에는 응답하지 않으며, 연결별 드롭/중복 수는 연결 종료 로그에 남깁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FSRIngestWebSocketHandler extends AbstractWebSocketHandler {
+
+    // 연결별 드롭/중복 메시지 수 (AtomicLong)
+    private static final String ATTR_DROPPED = "fsr.ingest.dropped";
+    private static final String ATTR_DUPLICATES = "fsr.ingest.duplicates";
+
+    private final ObjectMapper objectMapper;
+    private final FSRIngestService fsrIngestService;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        session.getAttributes().put(ATTR_DROPPED, new AtomicLong());
+        session.getAttributes().put(ATTR_DUPLICATES, new AtomicLong());
+        log.info("깔창 수신 WebSocket 연결됨: sessionId={}, deviceId={}, side={}",
+                session.getId(), deviceId(session), defaultSide(session));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        log.info("깔창 수신 WebSocket 연결 종료: sessionId={}, deviceId={}, status={}, dropped={}, duplicates={}",
+                session.getId(), deviceId(session), status,
+                counter(session, ATTR_DROPPED), counter(session, ATTR_DUPLICATES));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(message.getPayload())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                FSRDataDTO sample = new FSRDataDTO();
+                FSRJsonDecoder.decode(parser, sample);
+                applyIdentity(session, sample);
+                respond(session, fsrIngestService.ingest(sample), List.of(sample));
+                return;
+            }
+
+            // 배열도 요소마다 같은 디코더로 읽음 (databind 바인딩 없음)
+            List<FSRDataDTO> samples = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (samples.size() >= FSRIngestService.MAX_BATCH_SIZE) {
+                    rejectTooLarge(session, samples.size() + 1);
+                    return;
+                }
+                FSRDataDTO sample = new FSRDataDTO();
+                FSRJsonDecoder.decode(parser, sample);
+                applyIdentity(session, sample);
+                samples.add(sample);
+            }
+            respond(session, fsrIngestService.ingestBatch(samples), samples);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("깔창 JSON 메시지 처리 실패: deviceId={}, error={}", deviceId(session), e.getMessage());
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        ByteBuffer buffer = message.getPayload();
+        try {
+            FSRDataDTO first = new FSRDataDTO();
+            FSRBinaryFrameDecoder.decode(buffer, first);
+            applyIdentity(session, first);
+            if (!buffer.hasRemaining()) {
+                respond(session, fsrIngestService.ingest(first), List.of(first));
+                return;
+            }
+
+            // 여러 프레임이 이어 붙은 경우 배치로 처리
+            List<FSRDataDTO> frames = new ArrayList<>();
+            frames.add(first);
+            while (buffer.hasRemaining()) {
+                if (frames.size() >= FSRIngestService.MAX_BATCH_SIZE) {
+                    rejectTooLarge(session, frames.size() + 1);
+                    return;
+                }
+                FSRDataDTO frame = new FSRDataDTO();
+                FSRBinaryFrameDecoder.decode(buffer, frame);
+                applyIdentity(session, frame);
+                frames.add(frame);
+            }
+            respond(session, fsrIngestService.ingestBatch(frames), frames);
+        } catch (IllegalArgumentException e) {
+            log.warn("깔창 바이너리 프레임 디코딩 실패: deviceId={}, error={}", deviceId(session), e.getMessage());
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.warn("깔창 수신 WebSocket 전송 오류: sessionId={}, deviceId={}", session.getId(), deviceId(session), exception);
+    }
+
+    /**
+     * 핸드셰이크에서 정한 디바이스 식별 정보를 샘플에 적용
+     * side/userId가 비어 있으면 연결 시 지정한 값을 사용합니다.
+     */
+    private void applyIdentity(WebSocketSession session, FSRDataDTO sample) {
+        sample.setDeviceId(deviceId(session));
+        if (sample.getUserId() == null) {
+            sample.setUserId((String) session.getAttributes().get(FSRDeviceHandshakeInterceptor.ATTR_USER_ID));
+        }
+        if (sample.getSide() == null) {
+            sample.setSide(defaultSide(session));
+        }
+    }
+
+    /**
+     * 드롭/중복 결과를 디바이스에 알림 (HTTP의 503/200 응답에 해당)
+     * DROPPED는 nack이므로 디바이스가 같은 메시지를 다시 보내고, DUPLICATE는 이미 반영됐다는 ack입니다.
+     */
+    private void respond(WebSocketSession session, FSRIngestService.Result result, List<FSRDataDTO> samples) {
+        String type;
+        if (result == FSRIngestService.Result.DROPPED) {
+            type = "nack";
+            increment(session, ATTR_DROPPED);
+        } else if (result == FSRIngestService.Result.DUPLICATE) {
+            type = "ack";
+            increment(session, ATTR_DUPLICATES);
+        } else {
+            return;
+        }
+
+        ObjectNode reply = objectMapper.createObjectNode()
+                .put("type", type)
+                .put("result", result.name())
+                .put("samples", samples.size());
+        if (samples.size() == 1 && samples.get(0).getSequence() != null) {
+            reply.put("sequence", samples.get(0).getSequence());
+        }
+        try {
+            session.sendMessage(new TextMessage(reply.toString()));
+        } catch (IOException e) {
+            log.debug("깔창 수신 응답 전송 실패: sessionId={}", session.getId(), e);
+        }
+    }
+
+    private static void increment(WebSocketSession session, String attribute) {
+        if (session.getAttributes().get(attribute) instanceof AtomicLong count) {
+            count.incrementAndGet();
+        }
+    }
+
+    private static long counter(WebSocketSession session, String attribute) {
+        return session.getAttributes().get(attribute) instanceof AtomicLong count ? count.get() : 0;
+    }
+
+    /**
+     * 샘플 수 한도를 넘은 메시지는 반영하지 않고 연결 종료 (HTTP 배치의 400과 같은 기준)
+     */
+    private void rejectTooLarge(WebSocketSession session, int size) {
+        log.warn("깔창 배치 메시지가 너무 큼: deviceId={}, size>={}, max={}",
+                deviceId(session), size, FSRIngestService.MAX_BATCH_SIZE);
+        try {
+            session.close(CloseStatus.TOO_BIG_TO_PROCESS.withReason("batch too large: max "
+                    + FSRIngestService.MAX_BATCH_SIZE + " samples"));
+        } catch (IOException e) {
+            log.debug("깔창 수신 WebSocket 종료 실패: sessionId={}", session.getId(), e);
+        }
+    }
+
+    private String deviceId(WebSocketSession session) {
+        return (String) session.getAttributes().get(FSRDeviceHandshakeInterceptor.ATTR_DEVICE_ID);
+    }
+
+    private String defaultSide(WebSocketSession session) {
+        return (String) session.getAttributes().get(FSRDeviceHandshakeInterceptor.ATTR_SIDE);
+    }
+}
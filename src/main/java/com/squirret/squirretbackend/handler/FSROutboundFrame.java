@@ -0,0 +1,100 @@
+package com.squirret.squirretbackend.handler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 구독자에게 보낼 FSR 프레임 하나 (스트림 하나의 좌/우 값)
+ * 여러 구독자 큐에 같은 객체가 들어가며, 인코딩은 처음 보내는 송신 스레드가 한 번만 수행하고 캐시합니다.
+ * (수신 스레드는 큐에 넣기만 하고 직렬화하지 않음)
+ * JSON은 {"streamId":..., "left":{...}, "right":{...}} 형태이고, 바이너리는 {@link FSRBinaryOutputEncoder} 레이아웃입니다.
+ * 델타 형식은 구독자마다 보낸 값이 달라 메시지를 공유할 수 없으므로, 양자화한 채널 값만 캐시하고
+ * 구독자별 {@link FSRDeltaEncoder}가 메시지를 만듭니다.
+ */
+public class FSROutboundFrame {
+
+    private final String streamId;
+    private final Map<String, FSRDataDTO> data;
+    private final ObjectMapper objectMapper;
+
+    // 여러 송신 스레드가 동시에 처음 인코딩하면 중복 계산될 수 있지만 결과는 같음
+    private volatile TextMessage json;
+    private volatile byte[] binary;
+    private volatile short[] channels;
+
+    public FSROutboundFrame(String streamId, Map<String, FSRDataDTO> data, ObjectMapper objectMapper) {
+        this.streamId = streamId;
+        this.data = data;
+        this.objectMapper = objectMapper;
+    }
+
+    public String streamId() {
+        return streamId;
+    }
+
+    public Map<String, FSRDataDTO> data() {
+        return data;
+    }
+
+    /**
+     * 좌/우 존재 여부 ({@link FSRBinaryOutputEncoder#FLAG_LEFT} | {@link FSRBinaryOutputEncoder#FLAG_RIGHT})
+     */
+    public int flags() {
+        return FSRBinaryOutputEncoder.flagsOf(data.get("left"), data.get("right"));
+    }
+
+    public long timestamp() {
+        return FSRBinaryOutputEncoder.timestampOf(data.get("left"), data.get("right"));
+    }
+
+    /**
+     * 델타 인코딩용 양자화 채널 값 (구독자끼리 공유하므로 수정 금지)
+     */
+    public short[] channels() {
+        short[] values = channels;
+        if (values == null) {
+            values = FSRDeltaEncoder.channels(data.get("left"), data.get("right"));
+            channels = values;
+        }
+        return values;
+    }
+
+    /**
+     * 구독자 형식에 맞는 메시지 (형식별로 한 번만 인코딩, 델타 형식은 {@link FSRDeltaEncoder#encode} 사용)
+     */
+    public WebSocketMessage<?> encode(FSRWireFormat format) throws JsonProcessingException {
+        return format == FSRWireFormat.BINARY ? binary() : json();
+    }
+
+    /**
+     * 바이너리 메시지
+     * 전송 구현이 ByteBuffer position을 옮길 수 있어 바이트 배열만 공유하고 메시지는 매번 새로 감쌉니다. (복사 없음)
+     */
+    public BinaryMessage binary() {
+        byte[] bytes = binary;
+        if (bytes == null) {
+            bytes = FSRBinaryOutputEncoder.encode(streamId, data.get("left"), data.get("right"));
+            binary = bytes;
+        }
+        return new BinaryMessage(bytes);
+    }
+
+    public TextMessage json() throws JsonProcessingException {
+        TextMessage message = json;
+        if (message == null) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("streamId", streamId);
+            payload.putAll(data);
+            message = new TextMessage(objectMapper.writeValueAsString(payload));
+            json = message;
+        }
+        return message;
+    }
+}
@@ -0,0 +1,31 @@
+package com.squirret.squirretbackend.handler;
+
+/**
+ * 구독자 송신 큐가 가득 찼을 때의 처리 방식
+ */
+public enum FSROverflowPolicy {
+    /** 가장 오래된 프레임을 버리고 새 프레임을 넣음 */
+    DROP_OLDEST,
+    /** 대기 중인 프레임을 모두 버리고 최신 프레임 하나만 유지 (화면 표시용) */
+    LATEST_ONLY,
+    /** 따라오지 못하는 구독자로 보고 연결을 끊음 */
+    DISCONNECT;
+
+    /**
+     * 쿼리 파라미터 값 변환 (drop-oldest / latest-only / disconnect, 대소문자 무관)
+     *
+     * @return 알 수 없는 값이거나 비어 있으면 defaultPolicy
+     */
+    public static FSROverflowPolicy parse(String value, FSROverflowPolicy defaultPolicy) {
+        if (value == null || value.isBlank()) {
+            return defaultPolicy;
+        }
+        String normalized = value.trim().replace('-', '_').toUpperCase();
+        for (FSROverflowPolicy policy : values()) {
+            if (policy.name().equals(normalized)) {
+                return policy;
+            }
+        }
+        return defaultPolicy;
+    }
+}
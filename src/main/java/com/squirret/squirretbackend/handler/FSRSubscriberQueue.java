@@ -0,0 +1,284 @@
+package com.squirret.squirretbackend.handler;
+
+import com.squirret.squirretbackend.dto.FSRFanoutStatsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 구독자 하나의 송신 큐
+ *
+ * 게시는 큐에 넣기만 하고, 실제 전송(블로킹)은 송신 스레드 풀이 수행합니다.
+ * 한 세션은 동시에 한 스레드만 비우므로 sendMessage가 겹치지 않고, 느린 구독자는 자기 큐만 밀립니다.
+ * 전송이 실패하거나 시간 제한을 넘기면(막힌 소켓) 그 연결은 더 쓰지 않고 닫아 송신 스레드를 다른 구독자에게 돌려줍니다.
+ * 큐가 가득 차면 {@link FSROverflowPolicy}에 따라 오래된 프레임을 버리거나, 최신 프레임만 남기거나, 연결을 끊습니다.
+ * 델타 형식 구독자는 {@link FSRDeltaEncoder} 상태를 가지며, 프레임이 버려진 스트림은 그 스트림의 다음 프레임을 키프레임으로 보냅니다.
+ */
+@Slf4j
+public class FSRSubscriberQueue {
+
+    // 한 번 실행에 보낼 최대 프레임 수 (다른 구독자가 송신 스레드를 기다리지 않도록)
+    static final int DRAIN_BATCH = 32;
+
+    private final WebSocketSession session;
+    private final FSROverflowPolicy policy;
+    private final FSRWireFormat format;
+    private final int capacity;
+    private final Executor sender;
+    private final FSRDeltaEncoder deltaEncoder;
+
+    // this 모니터로 보호
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+    // 델타 형식에서 프레임이 버려져 다음 프레임을 키프레임으로 보내야 하는 스트림
+    private final Set<String> droppedStreams = new HashSet<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile boolean overflowed;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private record Pending(FSROutboundFrame frame, long enqueuedAt) {
+    }
+
+    public FSRSubscriberQueue(WebSocketSession session, FSROverflowPolicy policy, FSRWireFormat format,
+                              int capacity, Executor sender) {
+        this(session, policy, format, capacity, sender, FSRDeltaEncoder.Settings.DEFAULT);
+    }
+
+    public FSRSubscriberQueue(WebSocketSession session, FSROverflowPolicy policy, FSRWireFormat format,
+                              int capacity, Executor sender, FSRDeltaEncoder.Settings deltaSettings) {
+        this.session = session;
+        this.policy = policy;
+        this.format = format;
+        this.capacity = Math.max(1, capacity);
+        this.sender = sender;
+        this.deltaEncoder = format == FSRWireFormat.DELTA ? new FSRDeltaEncoder(deltaSettings) : null;
+    }
+
+    public WebSocketSession session() {
+        return session;
+    }
+
+    public FSROverflowPolicy policy() {
+        return policy;
+    }
+
+    public FSRWireFormat format() {
+        return format;
+    }
+
+    /**
+     * 델타 형식이 아니면 null
+     */
+    public FSRDeltaEncoder deltaEncoder() {
+        return deltaEncoder;
+    }
+
+    /**
+     * 프레임을 큐에 넣고 필요하면 송신 작업 예약 (블로킹 없음)
+     *
+     * @return 큐에 들어갔으면 true (닫혔거나 DISCONNECT 정책으로 끊겼으면 false)
+     */
+    public boolean offer(FSROutboundFrame frame, long now) {
+        if (closed) {
+            return false;
+        }
+        boolean overflow = false;
+        synchronized (this) {
+            if (policy == FSROverflowPolicy.LATEST_ONLY) {
+                dropped.addAndGet(pending.size());
+                while (!pending.isEmpty()) {
+                    markDropped(pending.pollFirst());
+                }
+            } else if (pending.size() >= capacity) {
+                if (policy == FSROverflowPolicy.DISCONNECT) {
+                    dropped.addAndGet(pending.size() + 1L);
+                    pending.clear();
+                    overflow = true;
+                } else {
+                    markDropped(pending.pollFirst());
+                    dropped.incrementAndGet();
+                }
+            }
+            if (!overflow) {
+                pending.addLast(new Pending(frame, now));
+            }
+        }
+        if (overflow) {
+            overflowed = true;
+            disconnectSlow();
+            return false;
+        }
+        enqueued.incrementAndGet();
+        schedule();
+        return true;
+    }
+
+    /**
+     * 큐 비우기 (송신 스레드에서 실행)
+     */
+    void drain() {
+        try {
+            for (int i = 0; i < DRAIN_BATCH && !closed; i++) {
+                Pending next;
+                boolean forceKeyframe;
+                synchronized (this) {
+                    next = pending.pollFirst();
+                    // 버려진 프레임보다 뒤의 프레임이므로 클라이언트 상태를 키프레임으로 다시 맞춤
+                    forceKeyframe = next != null && droppedStreams.remove(next.frame().streamId());
+                }
+                if (next == null) {
+                    break;
+                }
+                send(next.frame(), forceKeyframe);
+            }
+        } finally {
+            scheduled.set(false);
+            // 비우는 사이 들어온 프레임이 있으면 다시 예약
+            if (!closed && queued() > 0) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * 연결 종료 시 호출 (대기 프레임 폐기)
+     */
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            pending.clear();
+            droppedStreams.clear();
+        }
+    }
+
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    public synchronized int queued() {
+        return pending.size();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public FSRFanoutStatsResponse.Subscriber stats(long now) {
+        int queued;
+        long lag;
+        synchronized (this) {
+            queued = pending.size();
+            Pending oldest = pending.peekFirst();
+            lag = oldest != null ? Math.max(0, now - oldest.enqueuedAt()) : 0;
+        }
+        FSRFanoutStatsResponse.Subscriber.SubscriberBuilder builder = FSRFanoutStatsResponse.Subscriber.builder();
+        if (deltaEncoder != null) {
+            builder.keyframes(deltaEncoder.keyframes())
+                    .deltas(deltaEncoder.deltas())
+                    .suppressed(deltaEncoder.suppressed());
+        }
+        return builder
+                .sessionId(session.getId())
+                .policy(policy.name())
+                .format(format.name())
+                .queued(queued)
+                .lagMs(lag)
+                .enqueued(enqueued.get())
+                .sent(sent.get())
+                .dropped(dropped.get())
+                .failed(failed.get())
+                .build();
+    }
+
+    /**
+     * 버려진 프레임의 스트림 기록 (this 모니터 안에서 호출, 델타 형식만)
+     */
+    private void markDropped(Pending evicted) {
+        if (deltaEncoder != null) {
+            droppedStreams.add(evicted.frame().streamId());
+        }
+    }
+
+    private void send(FSROutboundFrame frame, boolean forceKeyframe) {
+        if (!session.isOpen()) {
+            close();
+            return;
+        }
+        try {
+            WebSocketMessage<?> message;
+            if (deltaEncoder != null) {
+                byte[] bytes = deltaEncoder.encode(frame, System.currentTimeMillis(), forceKeyframe);
+                if (bytes == null) {
+                    // 바뀐 채널 없음
+                    return;
+                }
+                message = new BinaryMessage(bytes);
+            } else {
+                message = frame.encode(format);
+            }
+            session.sendMessage(message);
+            sent.incrementAndGet();
+        } catch (IOException | SessionLimitExceededException e) {
+            // 쓰기 실패/시간 초과: 막혔거나 끊긴 연결이므로 남은 프레임을 버리고 닫음
+            failed.incrementAndGet();
+            log.warn("웹소켓 전송 실패로 연결 종료: sessionId={}, error={}", session.getId(), e.toString());
+            disconnect(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.warn("웹소켓 메시지 전송 실패: sessionId={}, error={}", session.getId(), e.toString());
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void disconnectSlow() {
+        if (closed) {
+            return;
+        }
+        log.warn("송신 큐 초과로 웹소켓 연결 종료: sessionId={}, capacity={}", session.getId(), capacity);
+        disconnect(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private void disconnect(CloseStatus status) {
+        if (closed) {
+            return;
+        }
+        close();
+        try {
+            sender.execute(() -> {
+                try {
+                    session.close(status);
+                } catch (IOException e) {
+                    log.debug("웹소켓 종료 실패: sessionId={}", session.getId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("송신 스레드 종료 중, 연결 종료 생략: sessionId={}", session.getId());
+        }
+    }
+}
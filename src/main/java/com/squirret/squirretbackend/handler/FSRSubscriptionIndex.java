@@ -0,0 +1,86 @@
+package com.squirret.squirretbackend.handler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * 스트림(사용자 스트림 키) -> 구독자 큐 색인
+ *
+ * 게시는 센서 주기로 자주 읽고 구독 변경은 드물므로, 스트림별 구독자는 복사-쓰기 집합으로 두어 게시 경로에 락이 없습니다.
+ * 구독자가 없는 스트림은 항목 자체가 없어 {@link #hasSubscribers(String)}로 직렬화 전에 건너뛸 수 있습니다.
+ */
+public class FSRSubscriptionIndex {
+
+    // streamId -> 구독자 큐
+    private final Map<String, Set<FSRSubscriberQueue>> byStream = new ConcurrentHashMap<>();
+
+    // sessionId -> 구독 중인 streamId (연결 종료 시 정리용)
+    private final Map<String, Set<String>> bySession = new ConcurrentHashMap<>();
+
+    /**
+     * @return 새로 구독했으면 true (이미 구독 중이거나 세션당 한도를 넘으면 false)
+     */
+    public boolean subscribe(String streamId, FSRSubscriberQueue queue, int maxPerSession) {
+        Set<String> streams = bySession.computeIfAbsent(queue.session().getId(), k -> ConcurrentHashMap.newKeySet());
+        if (streams.contains(streamId) || streams.size() >= maxPerSession) {
+            return false;
+        }
+        streams.add(streamId);
+        byStream.compute(streamId, (k, subscribers) -> {
+            Set<FSRSubscriberQueue> set = subscribers != null ? subscribers : new CopyOnWriteArraySet<>();
+            set.add(queue);
+            return set;
+        });
+        return true;
+    }
+
+    public boolean unsubscribe(String streamId, FSRSubscriberQueue queue) {
+        Set<String> streams = bySession.get(queue.session().getId());
+        if (streams == null || !streams.remove(streamId)) {
+            return false;
+        }
+        byStream.computeIfPresent(streamId, (k, subscribers) -> {
+            subscribers.remove(queue);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        return true;
+    }
+
+    /**
+     * 세션의 모든 구독 해제 (연결 종료 시)
+     */
+    public void removeSession(FSRSubscriberQueue queue) {
+        Set<String> streams = bySession.remove(queue.session().getId());
+        if (streams == null) {
+            return;
+        }
+        for (String streamId : streams) {
+            byStream.computeIfPresent(streamId, (k, subscribers) -> {
+                subscribers.remove(queue);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    public boolean hasSubscribers(String streamId) {
+        return streamId != null && byStream.containsKey(streamId);
+    }
+
+    public Collection<FSRSubscriberQueue> subscribers(String streamId) {
+        Set<FSRSubscriberQueue> subscribers = streamId != null ? byStream.get(streamId) : null;
+        return subscribers != null ? subscribers : List.of();
+    }
+
+    public Set<String> streamsOf(String sessionId) {
+        Set<String> streams = bySession.get(sessionId);
+        return streams != null ? Set.copyOf(streams) : Set.of();
+    }
+
+    public int streamCount() {
+        return byStream.size();
+    }
+}
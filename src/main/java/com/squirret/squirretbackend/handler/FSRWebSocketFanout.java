@@ -0,0 +1,254 @@
+package com.squirret.squirretbackend.handler;
+
+import com.squirret.squirretbackend.dto.FSRFanoutStatsResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.NativeWebSocketSession;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FSR WebSocket 송신 엔진
+ *
+ * 프레임은 한 번만 만들어 구독자별 {@link FSRSubscriberQueue}에 넣고, 작은 송신 스레드 풀이 큐를 비웁니다.
+ * 수신(깔창 업로드) 스레드는 큐에 넣고 바로 돌아오므로 느린 휴대폰 하나가 업로드나 다른 구독자를 막지 않습니다.
+ * 전송 하나는 fsr.fanout.send-time-limit-ms 안에 끝나야 하며, 넘기면 그 연결을 끊어 송신 스레드를 돌려받습니다.
+ * (막힌 클라이언트가 송신 스레드 수만큼 있어도 다른 구독자의 송신은 최대 이 시간만 밀림)
+ * 프레임은 해당 스트림을 구독한 세션에만 전달되며({@link FSRSubscriptionIndex}), 구독자가 없는 스트림은 게시하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FSRWebSocketFanout {
+
+    // Tomcat이 블로킹 전송 대기 시간(ms, Long)으로 읽는 세션 속성 (기본 20초)
+    static final String BLOCKING_SEND_TIMEOUT_PROPERTY = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    @Value("${fsr.fanout.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${fsr.fanout.sender-threads:2}")
+    private int senderThreads;
+
+    // drop-oldest | latest-only | disconnect (연결 시 ?overflow=로 세션별 지정 가능)
+    @Value("${fsr.fanout.overflow-policy:drop-oldest}")
+    private String defaultPolicyName;
+
+    @Value("${fsr.fanout.max-subscriptions-per-session:8}")
+    private int maxSubscriptionsPerSession;
+
+    // 전송 하나의 최대 대기 시간과, 전송 중 다른 스레드가 보낸 메시지를 쌓아둘 최대 바이트
+    @Value("${fsr.fanout.send-time-limit-ms:2000}")
+    private int sendTimeLimitMillis;
+
+    @Value("${fsr.fanout.send-buffer-limit-bytes:65536}")
+    private int sendBufferLimitBytes;
+
+    // DELTA 형식 구독자의 키프레임 주기와 델타 임계값 (ratio는 %, voltage는 V)
+    @Value("${fsr.delta.keyframe-interval-ms:2000}")
+    private long deltaKeyframeIntervalMillis;
+
+    @Value("${fsr.delta.ratio-threshold:0.5}")
+    private float deltaRatioThreshold;
+
+    @Value("${fsr.delta.voltage-threshold:0.01}")
+    private float deltaVoltageThreshold;
+
+    private final FSRBroadcastTicker ticker;
+
+    private FSROverflowPolicy defaultPolicy;
+    private FSRDeltaEncoder.Settings deltaSettings;
+    private ExecutorService sender;
+
+    // sessionId -> 송신 큐
+    private final Map<String, FSRSubscriberQueue> subscribers = new ConcurrentHashMap<>();
+    private final FSRSubscriptionIndex index = new FSRSubscriptionIndex();
+
+    private final AtomicLong published = new AtomicLong();
+    // 종료된 구독자의 누적값
+    private final AtomicLong retiredDropped = new AtomicLong();
+    private final AtomicLong slowDisconnects = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        defaultPolicy = FSROverflowPolicy.parse(defaultPolicyName, null);
+        if (defaultPolicy == null) {
+            throw new IllegalStateException("fsr.fanout.overflow-policy는 drop-oldest, latest-only, disconnect 중 하나여야 합니다: "
+                    + defaultPolicyName);
+        }
+        deltaSettings = new FSRDeltaEncoder.Settings(Math.max(0, deltaKeyframeIntervalMillis),
+                Math.max(0, deltaRatioThreshold), Math.max(0, deltaVoltageThreshold));
+        AtomicInteger threadIndex = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "fsr-ws-sender-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("FSR WebSocket 송신 엔진 시작: senderThreads={}, queueCapacity={}, defaultPolicy={}, sendTimeLimitMs={}",
+                Math.max(1, senderThreads), queueCapacity, defaultPolicy, sendTimeLimitMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+    }
+
+    public FSROverflowPolicy defaultPolicy() {
+        return defaultPolicy;
+    }
+
+    /**
+     * 구독자 등록
+     *
+     * @param requestedPolicy 세션이 요청한 정책 (없거나 알 수 없으면 기본 정책)
+     * @param format          핸드셰이크에서 협상한 송신 형식
+     */
+    public FSRSubscriberQueue register(WebSocketSession session, String requestedPolicy, FSRWireFormat format) {
+        limitBlockingSend(session);
+        WebSocketSession bounded = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis, sendBufferLimitBytes);
+        FSRSubscriberQueue queue = new FSRSubscriberQueue(bounded,
+                FSROverflowPolicy.parse(requestedPolicy, defaultPolicy), format, queueCapacity, sender, deltaSettings);
+        subscribers.put(session.getId(), queue);
+        return queue;
+    }
+
+    /**
+     * 컨테이너의 블로킹 전송 대기 시간을 send-time-limit-ms로 제한
+     * 데코레이터의 시간 제한은 다른 스레드가 보내려 할 때만 확인되므로, 송신 스레드가 쓰기에서 멈춘 경우는 컨테이너 제한으로 끊습니다.
+     */
+    private void limitBlockingSend(WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session container = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (container != null) {
+                container.getUserProperties().put(BLOCKING_SEND_TIMEOUT_PROPERTY, (long) sendTimeLimitMillis);
+            }
+        }
+    }
+
+    public void unregister(String sessionId) {
+        FSRSubscriberQueue queue = subscribers.remove(sessionId);
+        if (queue != null) {
+            index.removeSession(queue);
+            queue.close();
+            retiredDropped.addAndGet(queue.dropped());
+            if (queue.isOverflowed()) {
+                slowDisconnects.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 세션이 스트림을 구독
+     *
+     * @return 새로 구독했으면 true (연결되지 않은 세션, 이미 구독 중, 세션당 한도 초과면 false)
+     */
+    public boolean subscribe(String sessionId, String streamId) {
+        FSRSubscriberQueue queue = subscribers.get(sessionId);
+        if (queue == null || !index.subscribe(streamId, queue, maxSubscriptionsPerSession)) {
+            return false;
+        }
+        // 새 구독은 키프레임부터
+        if (queue.deltaEncoder() != null) {
+            queue.deltaEncoder().reset(streamId);
+        }
+        return true;
+    }
+
+    public boolean unsubscribe(String sessionId, String streamId) {
+        FSRSubscriberQueue queue = subscribers.get(sessionId);
+        if (queue == null || !index.unsubscribe(streamId, queue)) {
+            return false;
+        }
+        if (queue.deltaEncoder() != null) {
+            queue.deltaEncoder().reset(streamId);
+            queue.deltaEncoder().setRatioThreshold(streamId, null);
+        }
+        return true;
+    }
+
+    /**
+     * DELTA 형식 세션의 스트림별 ratio 임계값 지정 (null이면 기본값)
+     *
+     * @return DELTA 형식 세션이면 true
+     */
+    public boolean setDeltaThreshold(String sessionId, String streamId, Float ratioThreshold) {
+        FSRSubscriberQueue queue = subscribers.get(sessionId);
+        if (queue == null || queue.deltaEncoder() == null) {
+            return false;
+        }
+        queue.deltaEncoder().setRatioThreshold(streamId, ratioThreshold);
+        return true;
+    }
+
+    /**
+     * 스트림에 구독자가 있는지 (없으면 프레임을 만들 필요 없음)
+     */
+    public boolean hasSubscribers(String streamId) {
+        return index.hasSubscribers(streamId);
+    }
+
+    /**
+     * 프레임의 스트림을 구독한 세션에게만 게시 (큐에 넣기만 함)
+     */
+    public void publish(FSROutboundFrame frame) {
+        long now = System.currentTimeMillis();
+        boolean delivered = false;
+        for (FSRSubscriberQueue queue : index.subscribers(frame.streamId())) {
+            delivered |= queue.offer(frame, now);
+        }
+        if (delivered) {
+            published.incrementAndGet();
+        }
+    }
+
+    /**
+     * 구독자 한 명에게만 전송 (연결 직후 최신값 등)
+     */
+    public boolean send(String sessionId, FSROutboundFrame frame) {
+        FSRSubscriberQueue queue = subscribers.get(sessionId);
+        return queue != null && queue.offer(frame, System.currentTimeMillis());
+    }
+
+    public FSRFanoutStatsResponse getStats() {
+        long now = System.currentTimeMillis();
+        List<FSRFanoutStatsResponse.Subscriber> sessions = new ArrayList<>(subscribers.size());
+        long dropped = retiredDropped.get();
+        long disconnects = slowDisconnects.get();
+        for (FSRSubscriberQueue queue : subscribers.values()) {
+            FSRFanoutStatsResponse.Subscriber stats = queue.stats(now);
+            stats.setStreams(List.copyOf(index.streamsOf(stats.getSessionId())));
+            sessions.add(stats);
+            dropped += stats.getDropped();
+            if (queue.isOverflowed()) {
+                disconnects++;
+            }
+        }
+        return FSRFanoutStatsResponse.builder()
+                .subscribers(sessions.size())
+                .subscribedStreams(index.streamCount())
+                .queueCapacity(queueCapacity)
+                .senderThreads(Math.max(1, senderThreads))
+                .defaultPolicy(defaultPolicy.name())
+                .tickRateHz(ticker.isEnabled() ? ticker.tickRateHz() : 0)
+                .ticks(ticker.ticks())
+                .coalesced(ticker.coalesced())
+                .published(published.get())
+                .dropped(dropped)
+                .slowDisconnects(disconnects)
+                .sessions(sessions)
+                .build();
+    }
+}
@@ -1,90 +1,257 @@
 package com.squirret.squirretbackend.handler;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.squirret.squirretbackend.dto.FSRDataDTO;
 import com.squirret.squirretbackend.service.FSRDataService;
+import com.squirret.squirretbackend.service.FSRStreamAccessService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
+/**
+ * 앱(휴대폰) 방향 FSR 실시간 송신 핸들러
+ * 클라이언트는 사용자, 디바이스 또는 세션 단위로 스트림을 구독하며 구독한 스트림의 프레임만 받습니다.
+ * 기본 스트림 외의 스트림은 이 연결이 sessionId로 확인한 세션의 스트림이나 그 세션 사용자의 스트림만 구독할 수 있습니다.
+ * 전송은 {@link FSRWebSocketFanout}의 구독자별 큐를 거치므로 여기서는 블로킹 전송을 하지 않습니다.
+ * fsr.broadcast.tick-rate-hz가 설정되어 있으면 갱신마다 보내지 않고 {@link FSRBroadcastTicker} 주기로 최신 프레임만 보냅니다.
+ * <pre>
+ * 연결 시 구독: ws://host/ws/fsr-data?sessionId={Spring 세션 ID} (세션 스트림)
+ *              ws://host/ws/fsr-data?sessionId={Spring 세션 ID}&userId=guest123 (세션 사용자의 스트림)
+ *              아무것도 없으면 userId 없이 올라오는 기본 스트림만 구독
+ * 메시지 구독: {"action":"subscribe","userId":"guest123"} / {"action":"unsubscribe","userId":"guest123"}
+ *              (연결 시 또는 같은 메시지의 sessionId로 확인된 세션 사용자와 같은 userId만 허용)
+ * 느린 구독자 처리: ?overflow=drop-oldest | latest-only | disconnect
+ * 바이너리 송신: 서브프로토콜 fsr.bin.v1 또는 ?format=binary (기본은 JSON, 구독 요청은 어느 쪽이든 JSON 텍스트)
+ * 델타 송신: 서브프로토콜 fsr.delta.v1 또는 ?format=delta (주기적 키프레임 + 임계값 이상 바뀐 채널만)
+ *           ratio 임계값(%)은 ?deltaThreshold=1.0 또는 구독 메시지의 "deltaThreshold"로 스트림별 지정
+ * </pre>
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class FSRWebSocketHandler extends TextWebSocketHandler {
+public class FSRWebSocketHandler extends TextWebSocketHandler implements SubProtocolCapable {
+
+    /**
+     * 이 연결이 sessionId로 확인한 세션 (구독 권한 판단 기준)
+     */
+    private static final String OWNER_SESSION_ATTRIBUTE = "fsr.ownerSessionId";
 
-    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final FSRDataService fsrDataService;
+    private final FSRStreamAccessService streamAccessService;
+    private final FSRWebSocketFanout fanout;
+    private final FSRBroadcastTicker ticker;
+
+    @PostConstruct
+    public void init() {
+        ticker.start(this::flushStream);
+    }
+
+    /**
+     * 핸드셰이크에서 선택 가능한 서브프로토콜 (요청하지 않으면 JSON)
+     */
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(FSRWireFormat.BINARY.subProtocol(), FSRWireFormat.DELTA.subProtocol());
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        sessions.put(session.getId(), session);
-        log.info("웹소켓 연결됨: {}", session.getId());
-        
-        // 연결 시 최신 데이터 즉시 전송 (깔창이 연결되지 않아도 모든 센서가 0으로 표시됨)
-        try {
-            Map<String, FSRDataDTO> latestData = fsrDataService.getLatestInsoleData(true);
-            log.info("최신 데이터 조회 완료: left={}, right={}", 
-                    latestData.get("left") != null ? "있음" : "없음",
-                    latestData.get("right") != null ? "있음" : "없음");
-            
-            String jsonMessage = objectMapper.writeValueAsString(latestData);
-            log.info("JSON 변환 완료, 메시지 길이: {} bytes", jsonMessage.length());
-            log.info("전송할 JSON 내용: {}", jsonMessage);
-            
-            TextMessage message = new TextMessage(jsonMessage);
-            if (session.isOpen()) {
-                session.sendMessage(message);
-                log.info("연결 시 최신 데이터 전송 완료: {}", session.getId());
-            } else {
-                log.warn("세션이 이미 닫혀있음: {}", session.getId());
-            }
-        } catch (Exception e) {
-            log.error("연결 시 데이터 전송 실패: {}", session.getId(), e);
-            e.printStackTrace();
+        MultiValueMap<String, String> params = session.getUri() != null
+                ? UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams()
+                : new LinkedMultiValueMap<>();
+        FSRWireFormat format = FSRWireFormat.negotiate(session.getAcceptedProtocol(), params.getFirst("format"));
+        FSRSubscriberQueue queue = fanout.register(session, params.getFirst("overflow"), format);
+
+        String streamId = resolveStreamId(session, params.getFirst("userId"), params.getFirst("deviceId"), params.getFirst("sessionId"));
+        if (streamId == null) {
+            log.warn("웹소켓 구독 거부: 알 수 없는 세션, 권한 없거나 너무 긴 스트림, wsSession={}, sessionId={}, userId={}",
+                    session.getId(), params.getFirst("sessionId"), params.getFirst("userId"));
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("stream not permitted"));
+            return;
         }
+        log.info("웹소켓 연결됨: {}, streamId={}, format={}, overflow={}", session.getId(), streamId, format, queue.policy());
+        subscribe(session, streamId, parseThreshold(params.getFirst("deltaThreshold")));
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        sessions.remove(session.getId());
+        fanout.unregister(session.getId());
         log.info("웹소켓 연결 종료: {}", session.getId());
     }
 
     /**
-     * 모든 연결된 클라이언트에게 FSR 데이터 브로드캐스트
+     * 스트림에 구독자가 있는지 (없으면 브로드캐스트할 프레임을 만들지 않음)
+     */
+    public boolean hasSubscribers(String streamId) {
+        return fanout.hasSubscribers(streamId);
+    }
+
+    /**
+     * 스트림에 새 좌/우 프레임이 생겼음을 알림 (구독자가 없으면 무시)
+     * 고정 주기 모드면 dirty 표시만 하고 다음 틱에 최신 프레임을 보내며, 아니면 바로 게시합니다.
      */
-    public void broadcastFSRData(Map<String, FSRDataDTO> data) {
+    public void onStreamUpdated(String streamId, Supplier<Map<String, FSRDataDTO>> frame) {
+        if (!fanout.hasSubscribers(streamId)) {
+            return;
+        }
+        if (ticker.isEnabled()) {
+            ticker.markDirty(streamId);
+        } else {
+            broadcastFSRData(streamId, frame.get());
+        }
+    }
+
+    /**
+     * 해당 스트림을 구독한 클라이언트에게 FSR 데이터 브로드캐스트
+     * 구독자 큐에 넣기만 하며, 직렬화는 송신 스레드에서 프레임당 형식별로 한 번만 수행됩니다.
+     */
+    public void broadcastFSRData(String streamId, Map<String, FSRDataDTO> data) {
+        fanout.publish(new FSROutboundFrame(streamId, data, objectMapper));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        JsonNode request;
         try {
-            String jsonMessage = objectMapper.writeValueAsString(data);
-            TextMessage message = new TextMessage(jsonMessage);
-
-            sessions.values().forEach(session -> {
-                try {
-                    if (session.isOpen()) {
-                        session.sendMessage(message);
-                    }
-                } catch (IOException e) {
-                    log.error("웹소켓 메시지 전송 실패: {}", session.getId(), e);
+            request = objectMapper.readTree(message.getPayload());
+        } catch (Exception e) {
+            log.debug("웹소켓 메시지 해석 실패: sessionId={}, payload={}", session.getId(), message.getPayload());
+            return;
+        }
+        String action = request.path("action").asText("");
+        String streamId = resolveStreamId(session, text(request, "userId"), text(request, "deviceId"), text(request, "sessionId"));
+        if (streamId == null) {
+            log.warn("웹소켓 구독 요청 무시: 알 수 없는 세션, 권한 없거나 너무 긴 스트림, wsSession={}, sessionId={}, userId={}",
+                    session.getId(), text(request, "sessionId"), text(request, "userId"));
+            return;
+        }
+
+        switch (action) {
+            case "subscribe" -> subscribe(session, streamId, parseThreshold(request.path("deltaThreshold").asText(null)));
+            case "unsubscribe" -> {
+                if (fanout.unsubscribe(session.getId(), streamId)) {
+                    log.info("웹소켓 구독 해제: {}, streamId={}", session.getId(), streamId);
                 }
-            });
+            }
+            default -> log.debug("클라이언트로부터 메시지 수신: {}", message.getPayload());
+        }
+    }
+
+    /**
+     * 틱마다 dirty 스트림의 그 시점 최신 프레임 게시
+     */
+    private void flushStream(String streamId) {
+        if (!fanout.hasSubscribers(streamId)) {
+            return;
+        }
+        Map<String, FSRDataDTO> latest = fsrDataService.getLatestFrame(streamId);
+        if (latest != null) {
+            broadcastFSRData(streamId, latest);
+        }
+    }
+
+    private void subscribe(WebSocketSession session, String streamId, Float deltaThreshold) {
+        if (!isEncodable(streamId)) {
+            log.warn("웹소켓 구독 거부: streamId가 {}바이트를 넘음, wsSession={}", FSRBinaryOutputEncoder.MAX_STREAM_ID_BYTES, session.getId());
+            return;
+        }
+        if (!fanout.subscribe(session.getId(), streamId)) {
+            log.debug("웹소켓 구독 생략 (이미 구독 중이거나 한도 초과): {}, streamId={}", session.getId(), streamId);
+            return;
+        }
+        if (deltaThreshold != null) {
+            fanout.setDeltaThreshold(session.getId(), streamId, deltaThreshold);
+        }
+
+        // 구독 시 최신 데이터 즉시 전송 (깔창이 연결되지 않아도 모든 센서가 0으로 표시됨)
+        try {
+            Map<String, FSRDataDTO> latestData = fsrDataService.getLatestInsoleData(streamId, true);
+            if (fanout.send(session.getId(), new FSROutboundFrame(streamId, latestData, objectMapper))) {
+                log.info("구독 시 최신 데이터 전송 예약: {}, streamId={}", session.getId(), streamId);
+            } else {
+                log.warn("세션이 이미 닫혀있음: {}", session.getId());
+            }
         } catch (Exception e) {
-            log.error("FSR 데이터 브로드캐스트 실패", e);
+            log.error("구독 시 데이터 전송 실패: {}", session.getId(), e);
         }
     }
 
-    @Override
-    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        // 클라이언트로부터 메시지를 받을 경우 처리 (필요시)
-        log.debug("클라이언트로부터 메시지 수신: {}", message.getPayload());
+    /**
+     * 구독 대상을 사용자 스트림 키로 변환하고 이 연결이 구독할 수 있는지 확인
+     * userId > sessionId(세션 스트림) > deviceId(연결된 사용자/세션, 없으면 기본 스트림) 순으로 사용합니다.
+     * 함께 온 sessionId가 등록된 세션이면 이 연결의 소유 세션으로 기억합니다.
+     *
+     * @return 알 수 없는 세션, 구독 권한이 없거나 프레임 헤더에 담을 수 없는 스트림이면 null
+     */
+    private String resolveStreamId(WebSocketSession session, String userId, String deviceId, String sessionId) {
+        boolean hasSessionId = sessionId != null && !sessionId.isBlank();
+        if (hasSessionId) {
+            if (!streamAccessService.isKnownSession(sessionId)) {
+                return null;
+            }
+            session.getAttributes().put(OWNER_SESSION_ATTRIBUTE, sessionId);
+        }
+
+        String streamId;
+        if (userId != null && !userId.isBlank()) {
+            streamId = userId;
+        } else if (hasSessionId) {
+            streamId = sessionId;
+        } else {
+            streamId = fsrDataService.resolveUserKey(null, deviceId);
+        }
+        return isEncodable(streamId) && isPermitted(session, streamId) ? streamId : null;
+    }
+
+    /**
+     * 바이너리/델타 헤더의 streamId 길이 필드(uint8)에 들어가는지
+     * 넘는 스트림을 구독시키면 송신 스레드의 인코딩에서 예외가 나므로 구독 단계에서 거부합니다.
+     */
+    private static boolean isEncodable(String streamId) {
+        return streamId.getBytes(StandardCharsets.UTF_8).length <= FSRBinaryOutputEncoder.MAX_STREAM_ID_BYTES;
+    }
+
+    /**
+     * 이 연결의 소유 세션 기준으로 구독 허용 여부 확인 ({@link FSRStreamAccessService#canAccess})
+     */
+    private boolean isPermitted(WebSocketSession session, String streamId) {
+        Object ownerSessionId = session.getAttributes().get(OWNER_SESSION_ATTRIBUTE);
+        return streamAccessService.canAccess(ownerSessionId instanceof String id ? id : null, streamId);
     }
-}
 
+    /**
+     * 델타 ratio 임계값 (없거나 숫자가 아니거나 음수면 null = 기본값)
+     */
+    private static Float parseThreshold(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            float threshold = Float.parseFloat(value.trim());
+            return threshold >= 0 && Float.isFinite(threshold) ? threshold : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.isTextual() ? value.asText() : null;
+    }
+}
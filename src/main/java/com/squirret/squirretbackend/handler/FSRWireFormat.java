@@ -0,0 +1,42 @@
+package com.squirret.squirretbackend.handler;
+
+/**
+ * /ws/fsr-data 송신 형식 (연결 시 서브프로토콜 또는 ?format=으로 협상, 기본은 JSON)
+ */
+public enum FSRWireFormat {
+    /** TextMessage JSON: {"streamId":..., "left":{...}, "right":{...}} */
+    JSON(null, "json"),
+    /** BinaryMessage 고정 레이아웃 ({@link FSRBinaryOutputEncoder}) */
+    BINARY("fsr.bin.v1", "binary"),
+    /** BinaryMessage 키프레임 + 바뀐 채널만 담은 델타 ({@link FSRDeltaEncoder}, 구독자별 상태) */
+    DELTA("fsr.delta.v1", "delta");
+
+    private final String subProtocol;
+    private final String queryValue;
+
+    FSRWireFormat(String subProtocol, String queryValue) {
+        this.subProtocol = subProtocol;
+        this.queryValue = queryValue;
+    }
+
+    public String subProtocol() {
+        return subProtocol;
+    }
+
+    /**
+     * 핸드셰이크에서 수락된 서브프로토콜 우선, 없으면 쿼리 파라미터, 둘 다 없거나 알 수 없으면 JSON
+     */
+    public static FSRWireFormat negotiate(String acceptedProtocol, String formatParam) {
+        for (FSRWireFormat format : values()) {
+            if (format.subProtocol != null && format.subProtocol.equals(acceptedProtocol)) {
+                return format;
+            }
+        }
+        for (FSRWireFormat format : values()) {
+            if (format.queryValue.equalsIgnoreCase(formatParam != null ? formatParam.trim() : "")) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,12 @@
+package com.squirret.squirretbackend.repository;
+
+import com.squirret.squirretbackend.entity.FsrCalibration;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface FsrCalibrationRepository extends JpaRepository<FsrCalibration, Long> {
+    List<FsrCalibration> findByDeviceId(String deviceId);
+
+    void deleteByDeviceId(String deviceId);
+}
@@ -12,10 +12,14 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 /**
  * AI 상태를 세션별(사용자별)로 관리하는 스토어
  * 전역 상태 문제를 해결하기 위해 userId 기반으로 분리 관리
+ * 메모리 예산을 넘으면 {@link UserStateMemoryManager}가 오래 갱신되지 않은 사용자부터 제거합니다.
  */
 @Slf4j
 @Component
-public class AiStateStore {
+public class AiStateStore implements UserStateStore {
+
+    // UserAiState + HashMap(최대 3개 항목) 대략적인 크기
+    private static final long STATE_BYTES = 320;
 
     // userId -> AI 상태 맵 (세션별 분리)
     private final Map<String, UserAiState> userStates = new ConcurrentHashMap<>();
@@ -114,6 +118,27 @@ public class AiStateStore {
         }
     }
 
+    @Override
+    public String storeName() {
+        return "aiState";
+    }
+
+    @Override
+    public void forEachEntry(EntryConsumer consumer) {
+        userStates.forEach((userId, state) -> consumer.accept(userId,
+                MAP_ENTRY_BYTES + UserStateStore.stringBytes(userId) + STATE_BYTES, state.lastUpdateTime));
+    }
+
+    @Override
+    public boolean evict(String userId) {
+        lock.writeLock().lock();
+        try {
+            return userStates.remove(userId) != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     /**
      * 사용자별 AI 상태 저장 클래스
      */
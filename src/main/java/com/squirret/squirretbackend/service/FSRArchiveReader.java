@@ -0,0 +1,211 @@
+package com.squirret.squirretbackend.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link FSRArchiveWriter} 아카이브 읽기
+ *
+ * 열 때는 헤더와 푸터의 블록 색인만 읽고, 조회 시 시간 범위가 겹치는 블록의 필요한 컬럼만 파일에서 읽어 풉니다.
+ * 파일 전체를 메모리에 올리지 않으며, 한 번에 메모리에 있는 것은 블록 하나의 컬럼 몇 개뿐입니다.
+ */
+public class FSRArchiveReader implements Closeable {
+
+    /**
+     * 조회 결과 샘플 (values는 요청한 채널 순서, 호출마다 재사용되는 배열)
+     * 예외를 던지면 남은 블록을 읽지 않고 조회를 멈춥니다.
+     */
+    public interface Visitor {
+        void accept(long timestamp, float[] values) throws IOException;
+    }
+
+    private final FileChannel channel;
+    private final String sessionId;
+    private final String userId;
+    private final long createdAt;
+    private final long sealedAt;
+
+    private final int blockCount;
+    private final byte[] sides;
+    private final int[] counts;
+    private final long[] minTimestamps;
+    private final long[] maxTimestamps;
+    private final long[] offsets;
+    // 블록 b의 컬럼 c 길이는 [b * COLUMNS + c]
+    private final int[] columnLengths;
+
+    private FSRArchiveReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size < FSRArchiveWriter.TRAILER_SIZE) {
+            throw new IOException("not an archive file (too short)");
+        }
+        ByteBuffer trailer = read(size - FSRArchiveWriter.TRAILER_SIZE, FSRArchiveWriter.TRAILER_SIZE);
+        long footerOffset = trailer.getLong();
+        int blocks = trailer.getInt();
+        if (trailer.getInt() != FSRArchiveWriter.MAGIC || blocks < 0
+                || footerOffset + (long) blocks * FSRArchiveWriter.INDEX_ENTRY_SIZE + FSRArchiveWriter.TRAILER_SIZE != size) {
+            throw new IOException("not an archive file (bad trailer)");
+        }
+
+        ByteBuffer header = read(0, (int) Math.min(footerOffset, 24 + 4 + 2 * 128));
+        if (header.getInt() != FSRArchiveWriter.MAGIC) {
+            throw new IOException("not an archive file (bad magic)");
+        }
+        header.getShort();
+        header.getShort();
+        this.createdAt = header.getLong();
+        this.sealedAt = header.getLong();
+        this.sessionId = readString(header);
+        this.userId = readString(header);
+
+        this.blockCount = blocks;
+        this.sides = new byte[blocks];
+        this.counts = new int[blocks];
+        this.minTimestamps = new long[blocks];
+        this.maxTimestamps = new long[blocks];
+        this.offsets = new long[blocks];
+        this.columnLengths = new int[blocks * FSRArchiveWriter.COLUMNS];
+        ByteBuffer footer = read(footerOffset, blocks * FSRArchiveWriter.INDEX_ENTRY_SIZE);
+        for (int b = 0; b < blocks; b++) {
+            sides[b] = footer.get();
+            counts[b] = footer.getInt();
+            minTimestamps[b] = footer.getLong();
+            maxTimestamps[b] = footer.getLong();
+            offsets[b] = footer.getLong();
+            for (int c = 0; c < FSRArchiveWriter.COLUMNS; c++) {
+                columnLengths[b * FSRArchiveWriter.COLUMNS + c] = footer.getInt();
+            }
+        }
+    }
+
+    public static FSRArchiveReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new FSRArchiveReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(buffer, position);
+        return buffer.flip();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                throw new IOException("unexpected end of archive");
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 한쪽 발의 [from, to] 구간 샘플을 블록 기록 순서대로 전달
+     * 시간 범위가 겹치지 않는 블록은 읽지 않고, 읽는 블록에서도 timestamp와 요청한 채널 컬럼만 풉니다.
+     *
+     * @param side     "left" 또는 "right"
+     * @param channels 채널 번호 (0~5 = voltage1~6, 6~11 = ratio1~6)
+     */
+    public void scan(String side, int[] channels, long from, long to, Visitor visitor) throws IOException {
+        byte sideCode = "left".equalsIgnoreCase(side) ? FSRBinaryFrameDecoder.SIDE_LEFT
+                : "right".equalsIgnoreCase(side) ? FSRBinaryFrameDecoder.SIDE_RIGHT : -1;
+        for (int channel : channels) {
+            if (channel < 0 || channel >= FSRArchiveWriter.CHANNELS) {
+                throw new IllegalArgumentException("channel must be 0~" + (FSRArchiveWriter.CHANNELS - 1) + ": " + channel);
+            }
+        }
+
+        float[] values = new float[channels.length];
+        FSRGorillaCodec.FloatDecoder[] decoders = new FSRGorillaCodec.FloatDecoder[channels.length];
+        for (int b = 0; b < blockCount; b++) {
+            if (sides[b] != sideCode || maxTimestamps[b] < from || minTimestamps[b] > to) {
+                continue;
+            }
+            FSRGorillaCodec.LongDecoder timestamps = new FSRGorillaCodec.LongDecoder(columnReader(b, FSRArchiveWriter.COL_TIMESTAMP));
+            for (int i = 0; i < channels.length; i++) {
+                decoders[i] = new FSRGorillaCodec.FloatDecoder(columnReader(b, FSRArchiveWriter.COL_CHANNEL + channels[i]));
+            }
+            for (int n = 0; n < counts[b]; n++) {
+                long timestamp = timestamps.next();
+                for (int i = 0; i < channels.length; i++) {
+                    values[i] = decoders[i].next();
+                }
+                if (timestamp >= from && timestamp <= to) {
+                    visitor.accept(timestamp, values);
+                }
+            }
+        }
+    }
+
+    /**
+     * 블록 b의 컬럼 하나만 읽어 비트 리더 생성
+     */
+    private FSRGorillaCodec.BitReader columnReader(int b, int column) throws IOException {
+        int base = b * FSRArchiveWriter.COLUMNS;
+        long position = offsets[b];
+        for (int c = 0; c < column; c++) {
+            position += columnLengths[base + c];
+        }
+        int length = columnLengths[base + column];
+        byte[] bytes = new byte[length];
+        readFully(ByteBuffer.wrap(bytes), position);
+        return new FSRGorillaCodec.BitReader(bytes, 0);
+    }
+
+    /**
+     * 한쪽 발의 [from, to]와 겹치는 블록의 샘플 수 합 (블록 단위 추정치, 읽기 없음)
+     */
+    public long estimateCount(String side, long from, long to) {
+        byte sideCode = "left".equalsIgnoreCase(side) ? FSRBinaryFrameDecoder.SIDE_LEFT : FSRBinaryFrameDecoder.SIDE_RIGHT;
+        long total = 0;
+        for (int b = 0; b < blockCount; b++) {
+            if (sides[b] == sideCode && maxTimestamps[b] >= from && minTimestamps[b] <= to) {
+                total += counts[b];
+            }
+        }
+        return total;
+    }
+
+    public String sessionId() {
+        return sessionId;
+    }
+
+    public String userId() {
+        return userId;
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+
+    public long sealedAt() {
+        return sealedAt;
+    }
+
+    public int blockCount() {
+        return blockCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,115 @@
+package com.squirret.squirretbackend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 완료된 세션 기록 파일을 압축 아카이브({@link FSRArchiveWriter})로 변환
+ *
+ * 변환은 전용 백그라운드 스레드 하나에서 순서대로 수행하므로 수신 스레드에는 영향이 없습니다.
+ * {sessionId}.fsra 는 임시 파일에 다 쓴 뒤 이름을 바꿔 만들기 때문에, 읽는 쪽은 완성된 아카이브만 보게 됩니다.
+ * fsr.archive.delete-journal=true 이면 변환에 성공한 원본 기록 파일은 삭제합니다.
+ */
+@Slf4j
+@Service
+public class FSRArchiveService {
+
+    public static final String FILE_SUFFIX = ".fsra";
+
+    @Value("${fsr.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fsr.archive.delete-journal:true}")
+    private boolean deleteJournal;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fsr-archive");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 봉인된 기록 파일의 아카이브 변환 예약
+     */
+    public void archiveAsync(Path journal) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(() -> archive(journal));
+        } catch (RejectedExecutionException e) {
+            log.warn("FSR 아카이브 예약 실패 (종료 중): file={}", journal);
+        }
+    }
+
+    /**
+     * 기록 파일 하나를 아카이브로 변환 (백그라운드 스레드에서 호출)
+     */
+    void archive(Path journal) {
+        Path target = archivePathOf(journal);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long started = System.nanoTime();
+        try {
+            FSRJournalReader reader = FSRJournalReader.open(journal);
+            FSRArchiveWriter.Summary summary = FSRArchiveWriter.write(reader, temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long rawBytes = reader.count() * FSRSessionJournal.RECORD_SIZE;
+            log.info("FSR 세션 아카이브 완료: sessionId={}, samples={}, blocks={}, bytes={} (원본 {}), elapsedMs={}",
+                    reader.sessionId(), summary.samples(), summary.blocks(), summary.bytes(), rawBytes,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | RuntimeException e) {
+            log.warn("FSR 세션 아카이브 실패 (원본 유지): file={}, error={}", journal, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // 다음 변환에서 덮어씀
+            }
+            return;
+        }
+
+        if (deleteJournal) {
+            try {
+                Files.deleteIfExists(journal);
+            } catch (IOException e) {
+                log.warn("FSR 세션 기록 파일 삭제 실패: file={}, error={}", journal, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 기록 파일과 같은 디렉터리의 아카이브 경로
+     */
+    public static Path archivePathOf(Path journal) {
+        String name = journal.getFileName().toString();
+        if (name.endsWith(FSRRecordingService.FILE_SUFFIX)) {
+            name = name.substring(0, name.length() - FSRRecordingService.FILE_SUFFIX.length());
+        }
+        return journal.resolveSibling(name + FILE_SUFFIX);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("FSR 아카이브 작업이 끝나지 않아 종료 (원본 기록 파일은 유지됨)");
+            executor.shutdownNow();
+        }
+    }
+}
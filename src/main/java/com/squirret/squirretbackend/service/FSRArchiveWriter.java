@@ -0,0 +1,179 @@
+package com.squirret.squirretbackend.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 세션 기록 파일({@link FSRSessionJournal})을 압축 컬럼 아카이브로 변환 (little-endian)
+ *
+ * <pre>
+ * 헤더   : int32 magic ('FSRA'), int16 version, int16 reserved, int64 생성 시각, int64 봉인 시각,
+ *          sessionId / userId (int16 길이 + UTF-8)
+ * 블록   : 발별 최대 {@link #BLOCK_SAMPLES}개 샘플, 컬럼마다 독립된 비트 스트림을 이어 붙임
+ *          (timestamp, sequence: delta-of-delta / voltage1~6, ratio1~6: XOR float, {@link FSRGorillaCodec})
+ * 푸터   : 블록마다 int8 side, int32 샘플 수, int64 최소/최대 timestamp, int64 파일 위치, int32 x 14 컬럼 길이
+ * 트레일러: int64 푸터 위치, int32 블록 수, int32 magic
+ * </pre>
+ *
+ * 푸터의 블록 색인으로 시간 범위가 겹치는 블록만 고르고, 블록 안에서도 필요한 컬럼만 읽어 풀 수 있습니다.
+ */
+public final class FSRArchiveWriter {
+
+    public static final int MAGIC = 0x41525346;
+    public static final short VERSION = 1;
+    public static final int BLOCK_SAMPLES = 1024;
+
+    public static final int COL_TIMESTAMP = 0;
+    public static final int COL_SEQUENCE = 1;
+    // 채널 0~5 = voltage1~6, 6~11 = ratio1~6
+    public static final int CHANNELS = 12;
+    public static final int COL_CHANNEL = 2;
+    public static final int COLUMNS = COL_CHANNEL + CHANNELS;
+
+    static final int INDEX_ENTRY_SIZE = 1 + Integer.BYTES + 3 * Long.BYTES + COLUMNS * Integer.BYTES;
+    static final int TRAILER_SIZE = Long.BYTES + 2 * Integer.BYTES;
+
+    private FSRArchiveWriter() {
+    }
+
+    public record Summary(long samples, int blocks, long bytes) {}
+
+    /**
+     * 기록 파일 전체를 target에 압축해 기록
+     */
+    public static Summary write(FSRJournalReader journal, Path target) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(out, journal);
+
+            List<byte[]> index = new ArrayList<>();
+            BlockBuilder left = new BlockBuilder(FSRBinaryFrameDecoder.SIDE_LEFT);
+            BlockBuilder right = new BlockBuilder(FSRBinaryFrameDecoder.SIDE_RIGHT);
+            long samples = 0;
+            for (int i = 0; i < journal.count(); i++) {
+                String side = journal.side(i);
+                BlockBuilder block = "left".equals(side) ? left : "right".equals(side) ? right : null;
+                if (block == null) {
+                    continue;
+                }
+                block.add(journal, i);
+                samples++;
+                if (block.count == BLOCK_SAMPLES) {
+                    index.add(block.flush(out));
+                }
+            }
+            if (left.count > 0) {
+                index.add(left.flush(out));
+            }
+            if (right.count > 0) {
+                index.add(right.flush(out));
+            }
+
+            long footerOffset = out.position();
+            ByteBuffer footer = ByteBuffer.allocate(index.size() * INDEX_ENTRY_SIZE + TRAILER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            index.forEach(footer::put);
+            footer.putLong(footerOffset);
+            footer.putInt(index.size());
+            footer.putInt(MAGIC);
+            writeFully(out, footer.flip());
+            out.force(true);
+            return new Summary(samples, index.size(), out.position());
+        }
+    }
+
+    private static void writeHeader(FileChannel out, FSRJournalReader journal) throws IOException {
+        byte[] sessionId = journal.sessionId().getBytes(StandardCharsets.UTF_8);
+        byte[] userId = journal.userId().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(24 + 4 + sessionId.length + userId.length).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) 0);
+        header.putLong(journal.createdAt());
+        header.putLong(journal.sealedAt());
+        header.putShort((short) sessionId.length).put(sessionId);
+        header.putShort((short) userId.length).put(userId);
+        writeFully(out, header.flip());
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /**
+     * 한쪽 발의 현재 블록 (컬럼별 비트 스트림)
+     */
+    private static final class BlockBuilder {
+        private final byte side;
+        private final FSRGorillaCodec.BitWriter[] columns = new FSRGorillaCodec.BitWriter[COLUMNS];
+        private FSRGorillaCodec.LongEncoder timestamps;
+        private FSRGorillaCodec.LongEncoder sequences;
+        private final FSRGorillaCodec.FloatEncoder[] channels = new FSRGorillaCodec.FloatEncoder[CHANNELS];
+        private int count;
+        private long minTimestamp;
+        private long maxTimestamp;
+
+        BlockBuilder(byte side) {
+            this.side = side;
+            for (int c = 0; c < COLUMNS; c++) {
+                columns[c] = new FSRGorillaCodec.BitWriter(BLOCK_SAMPLES);
+            }
+            reset();
+        }
+
+        private void reset() {
+            for (FSRGorillaCodec.BitWriter column : columns) {
+                column.reset();
+            }
+            timestamps = new FSRGorillaCodec.LongEncoder(columns[COL_TIMESTAMP]);
+            sequences = new FSRGorillaCodec.LongEncoder(columns[COL_SEQUENCE]);
+            for (int c = 0; c < CHANNELS; c++) {
+                channels[c] = new FSRGorillaCodec.FloatEncoder(columns[COL_CHANNEL + c]);
+            }
+            count = 0;
+            minTimestamp = Long.MAX_VALUE;
+            maxTimestamp = Long.MIN_VALUE;
+        }
+
+        void add(FSRJournalReader journal, int i) {
+            long timestamp = journal.timestamp(i);
+            timestamps.add(timestamp);
+            sequences.add(journal.sequence(i));
+            for (int c = 0; c < 6; c++) {
+                channels[c].add(journal.voltage(i, c));
+                channels[6 + c].add(journal.ratio(i, c));
+            }
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+            count++;
+        }
+
+        /**
+         * 블록을 기록하고 색인 항목을 반환
+         */
+        byte[] flush(FileChannel out) throws IOException {
+            long offset = out.position();
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            entry.put(side);
+            entry.putInt(count);
+            entry.putLong(minTimestamp);
+            entry.putLong(maxTimestamp);
+            entry.putLong(offset);
+            for (FSRGorillaCodec.BitWriter column : columns) {
+                entry.putInt(column.byteLength());
+                writeFully(out, ByteBuffer.wrap(column.array(), 0, column.byteLength()));
+            }
+            reset();
+            return entry.array();
+        }
+    }
+}
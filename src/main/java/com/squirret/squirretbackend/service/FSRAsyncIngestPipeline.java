@@ -0,0 +1,248 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.dto.FSRIngestStatsResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 FSR 수신 파이프라인 (fsr.ingest.async.enabled=true 일 때 사용)
+ *
+ * 요청 스레드는 샘플을 링 버퍼에 복사만 하고 바로 반환하며, 소비자 스레드가 히스토리 갱신과 브로드캐스트를 수행합니다.
+ * 소비자가 여러 개면 사용자 키 해시로 링을 나누므로 같은 사용자의 샘플 순서는 유지됩니다.
+ * 배치는 필요한 슬롯을 먼저 모두 확보한 뒤 기록하므로 일부만 들어가는 일이 없습니다. (재전송 시 중복 반영 방지)
+ * 할 일이 없는 소비자는 대기 시간을 점점 늘리며 쉬고, 종료 시에는 링에 남은 샘플을 모두 반영한 뒤 끝납니다.
+ */
+@Slf4j
+@Component
+public class FSRAsyncIngestPipeline {
+
+    private static final int DRAIN_LIMIT = 256;
+
+    // 유휴 대기: 50µs부터 두 배씩 늘려 최대 5ms (샘플이 들어오면 다시 처음부터)
+    private static final long MIN_IDLE_PARK_NANOS = 50_000L;
+    private static final long MAX_IDLE_PARK_NANOS = 5_000_000L;
+
+    private static final long STOP_TIMEOUT_MILLIS = 5_000L;
+
+    @Value("${fsr.ingest.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${fsr.ingest.async.capacity:8192}")
+    private int capacity;
+
+    @Value("${fsr.ingest.async.consumers:1}")
+    private int consumerCount;
+
+    private final FSRDataService fsrDataService;
+
+    private FSRIngestRingBuffer[] rings = new FSRIngestRingBuffer[0];
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    public FSRAsyncIngestPipeline(FSRDataService fsrDataService) {
+        this.fsrDataService = fsrDataService;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        int count = Math.max(1, consumerCount);
+        rings = new FSRIngestRingBuffer[count];
+        running = true;
+        for (int i = 0; i < count; i++) {
+            FSRIngestRingBuffer ring = new FSRIngestRingBuffer(capacity);
+            rings[i] = ring;
+            Thread consumer = new Thread(() -> consumeLoop(ring), "fsr-ingest-consumer-" + i);
+            consumer.setDaemon(true);
+            consumer.start();
+            consumers.add(consumer);
+        }
+        log.info("FSR 비동기 수신 파이프라인 시작: consumers={}, capacity={}", count, rings[0].capacity());
+    }
+
+    /**
+     * 새 샘플을 받지 않고, 소비자가 링에 남은 샘플을 모두 반영할 때까지 대기
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        consumers.forEach(LockSupport::unpark);
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        int remaining = 0;
+        for (FSRIngestRingBuffer ring : rings) {
+            remaining += ring.size();
+        }
+        if (remaining > 0) {
+            log.warn("FSR 비동기 수신 파이프라인 종료: 반영하지 못한 샘플 {}개", remaining);
+        } else {
+            log.info("FSR 비동기 수신 파이프라인 종료: 남은 샘플 모두 반영");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 샘플을 링 버퍼에 게시 (샘플은 복사되므로 호출 후 재사용 가능)
+     *
+     * @return 링이 가득 차 드롭되었으면 false
+     */
+    public boolean offer(FSRDataDTO sample, boolean useDeviceTimestamp) {
+        if (!running) {
+            return false;
+        }
+        return ringOf(sample).offer(sample, useDeviceTimestamp);
+    }
+
+    /**
+     * 배치 전체를 게시 (디바이스 timestamp 유지)
+     * 샘플이 들어갈 링마다 필요한 슬롯을 먼저 확보하고, 하나라도 부족하면 확보한 슬롯을 취소해 아무것도 게시하지 않습니다.
+     *
+     * @return 모두 게시했으면 true, 하나도 게시하지 않았으면 false
+     */
+    public boolean offerAll(List<FSRDataDTO> samples) {
+        if (!running) {
+            return false;
+        }
+        int[] ringIndexes = new int[samples.size()];
+        int[] counts = new int[rings.length];
+        for (int i = 0; i < samples.size(); i++) {
+            ringIndexes[i] = ringIndexOf(samples.get(i));
+            counts[ringIndexes[i]]++;
+        }
+
+        long[] next = new long[rings.length];
+        for (int r = 0; r < rings.length; r++) {
+            if (counts[r] == 0) {
+                continue;
+            }
+            next[r] = rings[r].reserve(counts[r]);
+            if (next[r] < 0) {
+                // 앞서 확보한 링의 슬롯은 건너뜀으로 게시
+                for (int prev = 0; prev < r; prev++) {
+                    if (counts[prev] > 0) {
+                        rings[prev].cancel(next[prev], counts[prev]);
+                    }
+                }
+                return false;
+            }
+        }
+        for (int i = 0; i < samples.size(); i++) {
+            int r = ringIndexes[i];
+            rings[r].write(next[r]++, samples.get(i), true);
+        }
+        return true;
+    }
+
+    private FSRIngestRingBuffer ringOf(FSRDataDTO sample) {
+        return rings[ringIndexOf(sample)];
+    }
+
+    private int ringIndexOf(FSRDataDTO sample) {
+        String userKey = fsrDataService.resolveUserKey(sample.getUserId(), sample.getDeviceId());
+        return Math.floorMod(userKey.hashCode(), rings.length);
+    }
+
+    private void consumeLoop(FSRIngestRingBuffer ring) {
+        // 배치 경로(디바이스 timestamp 유지) 샘플은 모아서 한 번에 반영하므로 DTO를 미리 할당해 둠
+        FSRDataDTO[] scratch = new FSRDataDTO[DRAIN_LIMIT];
+        for (int i = 0; i < DRAIN_LIMIT; i++) {
+            scratch[i] = new FSRDataDTO();
+        }
+        List<FSRDataDTO> pendingBatch = new ArrayList<>(DRAIN_LIMIT);
+
+        int idleRounds = 0;
+        while (true) {
+            int drained = drain(ring, scratch, pendingBatch);
+            if (drained > 0) {
+                idleRounds = 0;
+                continue;
+            }
+            if (!running) {
+                // 종료 요청 직전에 게시된 샘플까지 반영
+                if (drain(ring, scratch, pendingBatch) == 0) {
+                    break;
+                }
+                continue;
+            }
+            LockSupport.parkNanos(Math.min(MAX_IDLE_PARK_NANOS, MIN_IDLE_PARK_NANOS << Math.min(idleRounds, 10)));
+            idleRounds++;
+        }
+    }
+
+    /**
+     * 링에서 최대 DRAIN_LIMIT개를 꺼내 반영
+     *
+     * @return 꺼낸 샘플 수
+     */
+    private int drain(FSRIngestRingBuffer ring, FSRDataDTO[] scratch, List<FSRDataDTO> pendingBatch) {
+        int drained = 0;
+        try {
+            while (drained < DRAIN_LIMIT) {
+                FSRDataDTO target = scratch[drained];
+                if (!ring.poll(target)) {
+                    break;
+                }
+                drained++;
+                if (ring.lastPolledUsesDeviceTime()) {
+                    pendingBatch.add(target);
+                } else {
+                    // 순서 보장을 위해 모아 둔 배치를 먼저 반영
+                    flushBatch(pendingBatch);
+                    fsrDataService.updateData(target);
+                }
+            }
+            flushBatch(pendingBatch);
+        } catch (RuntimeException e) {
+            pendingBatch.clear();
+            log.error("FSR 비동기 수신 처리 오류", e);
+        }
+        return drained;
+    }
+
+    private void flushBatch(List<FSRDataDTO> pendingBatch) {
+        if (!pendingBatch.isEmpty()) {
+            fsrDataService.updateBatch(pendingBatch);
+            pendingBatch.clear();
+        }
+    }
+
+    public FSRIngestStatsResponse getStats() {
+        int occupancy = 0;
+        int totalCapacity = 0;
+        long offered = 0;
+        long dropped = 0;
+        for (FSRIngestRingBuffer ring : rings) {
+            occupancy += ring.size();
+            totalCapacity += ring.capacity();
+            offered += ring.offeredCount();
+            dropped += ring.droppedCount();
+        }
+        return FSRIngestStatsResponse.builder()
+                .asyncEnabled(enabled)
+                .consumers(rings.length)
+                .capacity(totalCapacity)
+                .occupancy(occupancy)
+                .offered(offered)
+                .dropped(dropped)
+                .build();
+    }
+}
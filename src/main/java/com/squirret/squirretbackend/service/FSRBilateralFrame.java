@@ -0,0 +1,45 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import lombok.Getter;
+
+/**
+ * 같은 시점으로 맞춘 좌/우 FSR 샘플 한 쌍
+ * 한쪽이 늦거나 끊긴 경우 그쪽 값이 어떻게 채워졌는지 {@link Source}로 표시합니다.
+ */
+@Getter
+public class FSRBilateralFrame {
+
+    public enum Source {
+        /** 허용 오차 안에서 실제로 측정된 값 */
+        MEASURED,
+        /** 앞뒤 샘플 사이를 선형 보간한 값 */
+        INTERPOLATED,
+        /** 직전 값을 그대로 유지한 값 */
+        HELD,
+        /** 유지 시간을 넘겨 값이 없음 (0으로 채움) */
+        MISSING
+    }
+
+    private final long timestamp;
+    private final FSRDataDTO left;
+    private final FSRDataDTO right;
+    private final Source leftSource;
+    private final Source rightSource;
+
+    public FSRBilateralFrame(long timestamp, FSRDataDTO left, FSRDataDTO right, Source leftSource, Source rightSource) {
+        this.timestamp = timestamp;
+        this.left = left;
+        this.right = right;
+        this.leftSource = leftSource;
+        this.rightSource = rightSource;
+    }
+
+    public boolean hasLeft() {
+        return leftSource != Source.MISSING;
+    }
+
+    public boolean hasRight() {
+        return rightSource != Source.MISSING;
+    }
+}
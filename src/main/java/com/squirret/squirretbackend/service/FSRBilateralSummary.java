@@ -0,0 +1,29 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import lombok.Getter;
+
+/**
+ * 시간 창 안의 좌/우 프레임 평균
+ * 쪽별 평균은 그쪽 값이 있는 프레임 기준이고, 좌우 하중 차이는 양쪽 값이 모두 있는 프레임마다
+ * |왼발 하중 - 오른발 하중|을 구해 평균한 값입니다. (평균끼리의 차이는 좌우가 번갈아 쏠릴 때 비대칭을 과소평가)
+ */
+@Getter
+public class FSRBilateralSummary {
+
+    private final int frameCount;
+    private final int pairCount;
+    private final FSRDataDTO leftAverage;
+    private final FSRDataDTO rightAverage;
+    private final float pairedLoadDiff;
+
+    public FSRBilateralSummary(int frameCount, int pairCount,
+                               FSRDataDTO leftAverage, FSRDataDTO rightAverage,
+                               float pairedLoadDiff) {
+        this.frameCount = frameCount;
+        this.pairCount = pairCount;
+        this.leftAverage = leftAverage;
+        this.rightAverage = rightAverage;
+        this.pairedLoadDiff = pairedLoadDiff;
+    }
+}
@@ -0,0 +1,130 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 깔창 펌웨어용 고정 길이 바이너리 FSR 프레임 디코더 (little-endian)
+ *
+ * <pre>
+ * offset 0      : side   (0 = left, 1 = right)
+ * offset 1      : flags  (bit0 = 값이 이미 ratio, bit1 = 디바이스 timestamp 포함, bit2 = 시퀀스 번호 포함)
+ * offset 2..25  : float32 x 6 (voltage1~6 또는 ratio1~6)
+ * offset 26..33 : int64 timestamp (밀리초, flags bit1 일 때만)
+ * 이후 4바이트  : uint32 sequence (flags bit2 일 때만, timestamp 뒤에 위치)
+ * </pre>
+ *
+ * 요청 본문의 ByteBuffer에서 바로 읽어 DTO를 채우므로 String/Jackson 변환을 거치지 않습니다.
+ * timestamp가 없는 프레임은 null로 두며, 단건/여러 프레임 모두 {@link FSRDataService}가 같은 기준으로 서버 시각을 채웁니다.
+ */
+public final class FSRBinaryFrameDecoder {
+
+    public static final byte SIDE_LEFT = 0;
+    public static final byte SIDE_RIGHT = 1;
+
+    public static final int FLAG_RATIO = 0x01;
+    public static final int FLAG_TIMESTAMP = 0x02;
+    public static final int FLAG_SEQUENCE = 0x04;
+
+    public static final int BASE_FRAME_SIZE = 2 + 6 * Float.BYTES;
+    public static final int TIMESTAMP_FRAME_SIZE = BASE_FRAME_SIZE + Long.BYTES;
+
+    private FSRBinaryFrameDecoder() {
+    }
+
+    /**
+     * buffer의 현재 position부터 프레임 하나를 읽어 target에 채웁니다.
+     * 성공 시 buffer의 position은 프레임 끝으로 이동합니다. (buffer의 byte order는 바꾸지 않음)
+     *
+     * @throws IllegalArgumentException 프레임 길이가 부족하거나 side 값이 잘못된 경우
+     */
+    public static void decode(ByteBuffer buffer, FSRDataDTO target) {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int start = in.position();
+        if (in.remaining() < BASE_FRAME_SIZE) {
+            throw new IllegalArgumentException("frame too short: " + in.remaining() + " bytes");
+        }
+
+        byte side = in.get(start);
+        int flags = in.get(start + 1) & 0xFF;
+        boolean hasTimestamp = (flags & FLAG_TIMESTAMP) != 0;
+        boolean hasSequence = (flags & FLAG_SEQUENCE) != 0;
+        int frameSize = frameSize(flags);
+        if (in.remaining() < frameSize) {
+            throw new IllegalArgumentException("flags 0x" + Integer.toHexString(flags)
+                    + " need " + frameSize + " bytes but frame is " + in.remaining() + " bytes");
+        }
+
+        if (side == SIDE_LEFT) {
+            target.setSide("left");
+        } else if (side == SIDE_RIGHT) {
+            target.setSide("right");
+        } else {
+            throw new IllegalArgumentException("unknown side byte: " + side);
+        }
+
+        int offset = start + 2;
+        float c1 = in.getFloat(offset);
+        float c2 = in.getFloat(offset + 4);
+        float c3 = in.getFloat(offset + 8);
+        float c4 = in.getFloat(offset + 12);
+        float c5 = in.getFloat(offset + 16);
+        float c6 = in.getFloat(offset + 20);
+
+        if ((flags & FLAG_RATIO) != 0) {
+            // 아두이노에서 이미 비율로 보낸 경우: voltage는 0으로 두어 변환을 건너뛰게 함
+            target.setVoltage1(0f);
+            target.setVoltage2(0f);
+            target.setVoltage3(0f);
+            target.setVoltage4(0f);
+            target.setVoltage5(0f);
+            target.setVoltage6(0f);
+            target.setRatio1(c1);
+            target.setRatio2(c2);
+            target.setRatio3(c3);
+            target.setRatio4(c4);
+            target.setRatio5(c5);
+            target.setRatio6(c6);
+        } else {
+            // ratio는 FSRIngestService에서 전압으로부터 다시 계산 (재사용 DTO의 이전 값 제거)
+            target.setRatio1(0f);
+            target.setRatio2(0f);
+            target.setRatio3(0f);
+            target.setRatio4(0f);
+            target.setRatio5(0f);
+            target.setRatio6(0f);
+            target.setVoltage1(c1);
+            target.setVoltage2(c2);
+            target.setVoltage3(c3);
+            target.setVoltage4(c4);
+            target.setVoltage5(c5);
+            target.setVoltage6(c6);
+        }
+
+        int tail = start + BASE_FRAME_SIZE;
+        if (hasTimestamp) {
+            target.setTimestamp(in.getLong(tail));
+            tail += Long.BYTES;
+        } else {
+            target.setTimestamp(null);
+        }
+        target.setSequence(hasSequence ? Integer.toUnsignedLong(in.getInt(tail)) : null);
+        buffer.position(start + frameSize);
+    }
+
+    /**
+     * flags에 따른 프레임 전체 길이
+     */
+    public static int frameSize(int flags) {
+        int size = BASE_FRAME_SIZE;
+        if ((flags & FLAG_TIMESTAMP) != 0) {
+            size += Long.BYTES;
+        }
+        if ((flags & FLAG_SEQUENCE) != 0) {
+            size += Integer.BYTES;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,208 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRCalibrationDTO;
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.entity.FsrCalibration;
+import com.squirret.squirretbackend.repository.FsrCalibrationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 깔창 디바이스별 전압 보정
+ *
+ * 채널별 보정 곡선을 DB에 저장하고, 메모리에는 디바이스별 {@link FSRCalibrationTable}(불변)로 캐시합니다.
+ * 보정 업로드 시 새 테이블을 만든 뒤 참조만 교체하므로 수신 경로는 멈추지 않고 이전/새 테이블 중 하나를 봅니다.
+ * 메모리 테이블은 트랜잭션이 커밋된 뒤에만 교체/제거하므로 롤백된 보정이 수신 경로에 반영되지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FSRCalibrationService {
+
+    private static final int MAX_POINTS = 64;
+
+    private final FsrCalibrationRepository calibrationRepository;
+
+    // deviceId -> 보정 테이블
+    private final Map<String, FSRCalibrationTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * 서버 시작 시 저장된 보정 곡선 로드 (DB 오류 시 보정 없이 동작)
+     */
+    @PostConstruct
+    public void loadAll() {
+        try {
+            Map<String, List<FsrCalibration>> byDevice = new LinkedHashMap<>();
+            for (FsrCalibration row : calibrationRepository.findAll()) {
+                byDevice.computeIfAbsent(row.getDeviceId(), k -> new ArrayList<>()).add(row);
+            }
+            byDevice.forEach((deviceId, rows) -> {
+                try {
+                    tables.put(deviceId, buildTable(toDto(deviceId, rows)));
+                } catch (IllegalArgumentException e) {
+                    log.warn("FSR 보정 곡선 로드 실패: deviceId={}, error={}", deviceId, e.getMessage());
+                }
+            });
+            log.info("FSR 보정 테이블 로드 완료: devices={}", tables.size());
+        } catch (RuntimeException e) {
+            log.warn("FSR 보정 테이블 로드 실패 (보정 없이 동작): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 샘플의 디바이스 보정 테이블로 ratio1~6 계산 (수신 경로, 할당 없음)
+     *
+     * @return 보정 테이블로 ratio를 계산했으면 true, 테이블이 없거나 전압이 없으면 false
+     */
+    public boolean applyCalibration(FSRDataDTO data) {
+        String deviceId = data.getDeviceId();
+        if (deviceId == null) {
+            return false;
+        }
+        FSRCalibrationTable table = tables.get(deviceId);
+        return table != null && table.toRatios(data);
+    }
+
+    /**
+     * 디바이스 보정 곡선 교체 (DB 저장, 커밋 후 메모리 테이블 교체)
+     *
+     * @throws IllegalArgumentException 채널 번호나 제어점이 잘못된 경우
+     */
+    @Transactional
+    public void updateCalibration(String deviceId, FSRCalibrationDTO calibration) {
+        FSRCalibrationTable table = buildTable(calibration);
+
+        calibrationRepository.deleteByDeviceId(deviceId);
+        calibrationRepository.flush();
+        LocalDateTime now = LocalDateTime.now();
+        for (FSRCalibrationDTO.Channel channel : calibration.getChannels()) {
+            FsrCalibration row = new FsrCalibration();
+            row.setDeviceId(deviceId);
+            row.setChannel(channel.getChannel());
+            row.setPoints(encodePoints(channel.getPoints()));
+            row.setUpdatedAt(now);
+            calibrationRepository.save(row);
+        }
+
+        int channels = calibration.getChannels().size();
+        afterCommit(() -> {
+            tables.put(deviceId, table);
+            log.info("FSR 보정 테이블 교체: deviceId={}, channels={}", deviceId, channels);
+        });
+    }
+
+    /**
+     * @return 제거할 보정 곡선이 있었으면 true (메모리 테이블은 커밋 후 제거)
+     */
+    @Transactional
+    public boolean removeCalibration(String deviceId) {
+        calibrationRepository.deleteByDeviceId(deviceId);
+        boolean removed = tables.containsKey(deviceId);
+        afterCommit(() -> {
+            tables.remove(deviceId);
+            log.info("FSR 보정 테이블 제거: deviceId={}, removed={}", deviceId, removed);
+        });
+        return removed;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 실행 (트랜잭션 밖에서 호출되면 바로 실행)
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public FSRCalibrationDTO getCalibration(String deviceId) {
+        List<FsrCalibration> rows = calibrationRepository.findByDeviceId(deviceId);
+        return rows.isEmpty() ? null : toDto(deviceId, rows);
+    }
+
+    private FSRCalibrationTable buildTable(FSRCalibrationDTO calibration) {
+        if (calibration == null || calibration.getChannels() == null || calibration.getChannels().isEmpty()) {
+            throw new IllegalArgumentException("at least one channel is required");
+        }
+        float[][] voltages = new float[FSRCalibrationTable.CHANNELS][];
+        float[][] values = new float[FSRCalibrationTable.CHANNELS][];
+        for (FSRCalibrationDTO.Channel channel : calibration.getChannels()) {
+            int index = channel.getChannel() - 1;
+            if (index < 0 || index >= FSRCalibrationTable.CHANNELS) {
+                throw new IllegalArgumentException("channel must be 1~" + FSRCalibrationTable.CHANNELS + ": " + channel.getChannel());
+            }
+            if (voltages[index] != null) {
+                throw new IllegalArgumentException("duplicate channel: " + channel.getChannel());
+            }
+            List<FSRCalibrationDTO.Point> points = channel.getPoints();
+            if (points == null || points.size() < 2 || points.size() > MAX_POINTS) {
+                throw new IllegalArgumentException("channel " + channel.getChannel() + ": 2~" + MAX_POINTS + " points are required");
+            }
+            voltages[index] = new float[points.size()];
+            values[index] = new float[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                voltages[index][i] = points.get(i).getVoltage();
+                values[index][i] = points.get(i).getValue();
+            }
+        }
+        return FSRCalibrationTable.of(voltages, values);
+    }
+
+    private FSRCalibrationDTO toDto(String deviceId, List<FsrCalibration> rows) {
+        List<FSRCalibrationDTO.Channel> channels = new ArrayList<>();
+        rows.stream()
+                .sorted(Comparator.comparingInt(FsrCalibration::getChannel))
+                .forEach(row -> channels.add(FSRCalibrationDTO.Channel.builder()
+                        .channel(row.getChannel())
+                        .points(decodePoints(row.getPoints()))
+                        .build()));
+        return FSRCalibrationDTO.builder()
+                .deviceId(deviceId)
+                .channels(channels)
+                .build();
+    }
+
+    private String encodePoints(List<FSRCalibrationDTO.Point> points) {
+        StringBuilder sb = new StringBuilder();
+        for (FSRCalibrationDTO.Point point : points) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(point.getVoltage()).append(':').append(point.getValue());
+        }
+        return sb.toString();
+    }
+
+    private List<FSRCalibrationDTO.Point> decodePoints(String encoded) {
+        List<FSRCalibrationDTO.Point> points = new ArrayList<>();
+        for (String pair : encoded.split(",")) {
+            int colon = pair.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("invalid stored point: " + pair);
+            }
+            points.add(new FSRCalibrationDTO.Point(
+                    Float.parseFloat(pair.substring(0, colon)),
+                    Float.parseFloat(pair.substring(colon + 1))));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,148 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+/**
+ * 디바이스 한 대의 채널별 보정 룩업 테이블 (불변)
+ *
+ * 채널마다 제어점을 0 ~ 최대 제어점 전압 구간에서 {@link #LUT_SIZE}등분해 미리 계산해 두고,
+ * 조회 시에는 인접한 두 칸 사이를 선형 보간합니다. 최대 전압을 넘으면 마지막 구간의 기울기로 연장하고,
+ * 첫 제어점보다 낮은 전압은 첫 제어점 값을 사용합니다. 보정 곡선이 없는 채널은 전압을 그대로 씁니다.
+ * 생성 후에는 바뀌지 않으므로 여러 스레드에서 동기화 없이 읽을 수 있습니다.
+ */
+public final class FSRCalibrationTable {
+
+    public static final int CHANNELS = 6;
+    public static final int LUT_SIZE = 256;
+
+    private static final int STRIDE = LUT_SIZE + 1;
+
+    private final float[] lut = new float[CHANNELS * STRIDE];
+    private final float[] maxVoltage = new float[CHANNELS];
+    private final float[] invStep = new float[CHANNELS];
+    private final float[] tailSlope = new float[CHANNELS];
+    private final boolean[] calibrated = new boolean[CHANNELS];
+
+    private FSRCalibrationTable() {
+    }
+
+    /**
+     * 채널별 제어점으로 테이블 생성
+     *
+     * @param voltages 채널(0~5)별 제어점 전압 (오름차순), 보정하지 않는 채널은 null
+     * @param values   채널별 제어점 보정값
+     * @throws IllegalArgumentException 제어점이 2개 미만이거나 전압이 증가하지 않는 경우
+     */
+    public static FSRCalibrationTable of(float[][] voltages, float[][] values) {
+        FSRCalibrationTable table = new FSRCalibrationTable();
+        for (int ch = 0; ch < CHANNELS; ch++) {
+            if (voltages[ch] != null) {
+                table.build(ch, voltages[ch], values[ch]);
+            }
+        }
+        return table;
+    }
+
+    private void build(int ch, float[] xs, float[] ys) {
+        if (xs.length < 2 || xs.length != ys.length) {
+            throw new IllegalArgumentException("channel " + (ch + 1) + ": at least 2 points required");
+        }
+        for (int i = 0; i < xs.length; i++) {
+            if (!Float.isFinite(xs[i]) || !Float.isFinite(ys[i]) || xs[i] < 0) {
+                throw new IllegalArgumentException("channel " + (ch + 1) + ": invalid point " + xs[i] + ":" + ys[i]);
+            }
+            if (i > 0 && xs[i] <= xs[i - 1]) {
+                throw new IllegalArgumentException("channel " + (ch + 1) + ": voltages must be strictly increasing");
+            }
+        }
+
+        float max = xs[xs.length - 1];
+        float step = max / LUT_SIZE;
+        int base = ch * STRIDE;
+        int segment = 0;
+        for (int i = 0; i <= LUT_SIZE; i++) {
+            float x = i == LUT_SIZE ? max : i * step;
+            while (segment < xs.length - 2 && x > xs[segment + 1]) {
+                segment++;
+            }
+            lut[base + i] = interpolate(xs, ys, segment, x);
+        }
+        maxVoltage[ch] = max;
+        invStep[ch] = LUT_SIZE / max;
+        int last = xs.length - 1;
+        tailSlope[ch] = (ys[last] - ys[last - 1]) / (xs[last] - xs[last - 1]);
+        calibrated[ch] = true;
+    }
+
+    private static float interpolate(float[] xs, float[] ys, int segment, float x) {
+        if (x <= xs[0]) {
+            return ys[0];
+        }
+        float x0 = xs[segment];
+        float x1 = xs[segment + 1];
+        float w = (x - x0) / (x1 - x0);
+        return ys[segment] + (ys[segment + 1] - ys[segment]) * w;
+    }
+
+    /**
+     * 채널(0~5) 보정값
+     */
+    public float apply(int ch, float voltage) {
+        if (!calibrated[ch]) {
+            return voltage;
+        }
+        if (voltage <= 0) {
+            return lut[ch * STRIDE];
+        }
+        float max = maxVoltage[ch];
+        if (voltage >= max) {
+            return lut[ch * STRIDE + LUT_SIZE] + (voltage - max) * tailSlope[ch];
+        }
+        float index = voltage * invStep[ch];
+        int i = Math.min((int) index, LUT_SIZE - 1);
+        float w = index - i;
+        int base = ch * STRIDE + i;
+        return lut[base] + (lut[base + 1] - lut[base]) * w;
+    }
+
+    /**
+     * 보정한 채널 값으로 ratio1~6을 계산 (원본 voltage는 유지)
+     * 샘플마다 호출되므로 primitive로만 계산하며 할당하지 않습니다.
+     *
+     * @return 전압이 없어(아두이노가 ratio를 직접 보낸 경우) 건너뛴 경우 false
+     */
+    public boolean toRatios(FSRDataDTO data) {
+        float v1 = data.getVoltage1();
+        float v2 = data.getVoltage2();
+        float v3 = data.getVoltage3();
+        float v4 = data.getVoltage4();
+        float v5 = data.getVoltage5();
+        float v6 = data.getVoltage6();
+        if (v1 + v2 + v3 + v4 + v5 + v6 <= 0) {
+            return false;
+        }
+
+        // 음수 보정값(오프셋 아래)은 하중 0으로 처리
+        float c1 = Math.max(0f, apply(0, v1));
+        float c2 = Math.max(0f, apply(1, v2));
+        float c3 = Math.max(0f, apply(2, v3));
+        float c4 = Math.max(0f, apply(3, v4));
+        float c5 = Math.max(0f, apply(4, v5));
+        float c6 = Math.max(0f, apply(5, v6));
+        float total = c1 + c2 + c3 + c4 + c5 + c6;
+
+        // 모든 채널이 보정 오프셋 아래면 하중이 없는 것으로 보고 0
+        float scale = total > 0 ? 100.0f / total : 0f;
+        data.setRatio1(c1 * scale);
+        data.setRatio2(c2 * scale);
+        data.setRatio3(c3 * scale);
+        data.setRatio4(c4 * scale);
+        data.setRatio5(c5 * scale);
+        data.setRatio6(c6 * scale);
+        return true;
+    }
+
+    public boolean isCalibrated(int ch) {
+        return calibrated[ch];
+    }
+}
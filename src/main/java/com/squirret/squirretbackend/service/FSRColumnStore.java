@@ -0,0 +1,41 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+/**
+ * {@link FSRHistoryRing}의 물리 저장소 (slot별 timestamp + ratio1~6)
+ *
+ * 힙 배열({@link FSRHeapColumnStore}) 또는 {@link FSRSlabArena}의 off-heap 슬롯으로 구현되며,
+ * 읽기/쓰기 모두 할당하지 않습니다. 동기화는 링을 소유한 호출 측에서 합니다.
+ */
+public interface FSRColumnStore {
+
+    int CHANNELS = 6;
+
+    /**
+     * slot 개수 (2의 거듭제곱)
+     */
+    int capacity();
+
+    long timestamp(int slot);
+
+    /**
+     * 채널(0~5 = ratio1~6) 값
+     */
+    float value(int slot, int channel);
+
+    /**
+     * slot에 timestamp와 ratio1~6 기록
+     */
+    void write(int slot, long timestamp, FSRDataDTO sample);
+
+    /**
+     * 힙에 차지하는 대략적인 크기 (off-heap 슬롯은 0)
+     */
+    long heapBytes();
+
+    /**
+     * 저장소 반환 (off-heap 슬롯은 아레나로 돌아가며, 이후 접근하면 안 됨)
+     */
+    void release();
+}
@@ -1,126 +1,676 @@
 package com.squirret.squirretbackend.service;
 
 import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.dto.FSRHistoryStorageStatsResponse;
 import com.squirret.squirretbackend.dto.FSRLatestResponse;
+import com.squirret.squirretbackend.dto.FSRRollupResponse;
+import com.squirret.squirretbackend.dto.FSRSeriesStatsDTO;
 import com.squirret.squirretbackend.handler.FSRWebSocketHandler;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+/**
+ * 사용자별 FSR 스트림 상태 관리
+ * 사용자(userId)마다 좌/우 최신값과 히스토리를 따로 보관하며, 락도 사용자·발 단위로 분리되어 있습니다.
+ * userId가 없는 기존 클라이언트의 데이터는 {@link #DEFAULT_USER} 스트림으로 모입니다.
+ * 세션 등록 시 연결한 디바이스의 샘플은 Spring 세션 ID를 키로 하는 세션 스트림으로 모이며, 세션 종료 시 그 스트림만 제거됩니다.
+ * 좌/우 샘플은 {@link FSRStreamJoiner}로 같은 시점의 프레임으로 묶이며, 브로드캐스트와 좌우 비교는 이 프레임을 사용합니다.
+ * 원본 히스토리는 10초만 보관하고, 차트용으로는 발별 {@link FSRRollupRing}(100ms / 1s / 10s 버킷)을 함께 갱신합니다.
+ * 세션 스트림의 샘플은 {@link FSRRecordingService}로 원본 그대로 파일에 남기고,
+ * DB 저장에 동의한 세션이면 {@link FSRSamplePersistenceService}로도 넘깁니다.
+ * fsr.history.storage=offheap이면 10초 원본 히스토리 링만 {@link FSRSlabArena}의 off-heap 슬롯에 두며,
+ * 슬롯은 스트림이 제거될 때(세션 종료, fsr.history.idle-timeout-ms 동안 수신 없음, 메모리 예산 초과) 아레나로 돌아갑니다.
+ * 롤업 링(기록된 범위만큼 늘어남, 최대 발당 약 0.7MB)과 좌/우 프레임 링, 통계는 저장소 설정과 관계없이 힙에 있으며
+ * 메모리 예산 계산에는 실제 할당된 크기로 들어갑니다.
+ */
 @Slf4j
 @Service
-public class FSRDataService {
+public class FSRDataService implements UserStateStore {
+
+    public static final String DEFAULT_USER = "default";
 
     private static final long WINDOW_MILLIS = 10_000;
 
+    // 메모리 추정용 대략적인 크기: 롤업 버킷 하나(bucketIndex + count + min/max/sum 6채널),
+    // 조인 프레임 하나(timestamp + 좌우 6채널), 통계 창(히스토그램 + deque), 그 밖의 객체
+    private static final long JOIN_FRAME_BYTES = Long.BYTES + 2 * 6 * Float.BYTES;
+    private static final long STATS_BYTES = 8_000;
+    private static final long STREAM_OVERHEAD_BYTES = 1_024;
+
     private final FSRWebSocketHandler fsrWebSocketHandler;
+    private final FSRRecordingService recordingService;
+    private final FSRSamplePersistenceService persistenceService;
+
+    // 디바이스 timestamp가 서버 시각보다 이만큼 넘게 과거면 서버 시각 사용 (WINDOW_MILLIS 이하)
+    @Value("${fsr.ingest.max-timestamp-skew-ms:10000}")
+    private long maxTimestampSkewMillis;
+
+    @Value("${fsr.join.skew-tolerance-ms:50}")
+    private long joinSkewToleranceMillis;
+
+    @Value("${fsr.join.max-hold-ms:1000}")
+    private long joinMaxHoldMillis;
+
+    @Value("${fsr.join.frame-capacity:2048}")
+    private int joinFrameCapacity;
+
+    @Value("${fsr.history.capacity:2048}")
+    private int historyCapacity;
+
+    // 누적 합계로 O(1) 평균을 유지할 창 길이들 (WINDOW_MILLIS 이하)
+    @Value("${fsr.history.aggregate-windows-ms:2000,5000,10000}")
+    private long[] aggregateWindows;
+
+    // 분산/최소/최대/분위수를 유지할 창 길이 (WINDOW_MILLIS 이하, 0이면 유지하지 않음)
+    @Value("${fsr.history.stats-window-ms:10000}")
+    private long statsWindowMillis;
+
+    // heap | offheap (사용자 수가 많을 때 히스토리를 힙 밖 슬랩에 둠)
+    @Value("${fsr.history.storage:heap}")
+    private String historyStorage;
+
+    @Value("${fsr.history.offheap.slab-mb:64}")
+    private int slabMegabytes;
+
+    @Value("${fsr.history.offheap.max-slabs:8}")
+    private int maxSlabs;
 
-    public FSRDataService(@Lazy FSRWebSocketHandler fsrWebSocketHandler) {
+    @Value("${fsr.history.idle-timeout-ms:600000}")
+    private long idleTimeoutMillis;
+
+    // 롤업 해상도와 해상도별 보관 버킷 수 (기본: 100ms 5분, 1s 1시간, 10s 6시간)
+    @Value("${fsr.rollup.resolutions-ms:100,1000,10000}")
+    private long[] rollupResolutions;
+
+    @Value("${fsr.rollup.buckets:3000,3600,2160}")
+    private int[] rollupBuckets;
+
+    public FSRDataService(@Lazy FSRWebSocketHandler fsrWebSocketHandler, FSRRecordingService recordingService,
+                          FSRSamplePersistenceService persistenceService) {
         this.fsrWebSocketHandler = fsrWebSocketHandler;
+        this.recordingService = recordingService;
+        this.persistenceService = persistenceService;
     }
 
-    private final AtomicReference<FSRDataDTO> latestLeftData = new AtomicReference<>();
-    private final AtomicReference<FSRDataDTO> latestRightData = new AtomicReference<>();
+    // userId -> 스트림 상태
+    private final Map<String, FsrStreamState> streams = new ConcurrentHashMap<>();
+
+    // deviceId -> 스트림 키 (깔창 디바이스를 사용자 또는 세션에 연결)
+    private final Map<String, String> deviceBindings = new ConcurrentHashMap<>();
+
+    // 디바이스가 연결된 세션 스트림 키 (요청의 userId로는 쓸 수 없음)
+    private final Set<String> sessionKeys = ConcurrentHashMap.newKeySet();
+
+    // 범위를 벗어나 서버 시각으로 바꾼 디바이스 timestamp 수
+    private final AtomicLong replacedTimestamps = new AtomicLong();
 
-    private final Deque<FsrSample> leftHistory = new ArrayDeque<>();
-    private final Deque<FsrSample> rightHistory = new ArrayDeque<>();
+    // fsr.history.storage=offheap일 때만 사용
+    private FSRSlabArena historyArena;
+
+    // 히스토리 저장소와 롤업 링을 뺀 스트림 하나의 추정 크기 (init에서 계산)
+    private long streamFixedBytes;
+
+    @PostConstruct
+    void init() {
+        if (rollupResolutions.length != rollupBuckets.length) {
+            throw new IllegalStateException("fsr.rollup.resolutions-ms와 fsr.rollup.buckets의 개수가 다릅니다");
+        }
+        if (statsWindowMillis > WINDOW_MILLIS) {
+            throw new IllegalStateException("fsr.history.stats-window-ms는 " + WINDOW_MILLIS + " 이하여야 합니다");
+        }
+        if (maxTimestampSkewMillis < 0 || maxTimestampSkewMillis > WINDOW_MILLIS) {
+            throw new IllegalStateException("fsr.ingest.max-timestamp-skew-ms는 0 이상 " + WINDOW_MILLIS + " 이하여야 합니다");
+        }
+        if ("offheap".equalsIgnoreCase(historyStorage)) {
+            historyArena = new FSRSlabArena(FSRHistoryRing.roundCapacity(historyCapacity),
+                    slabMegabytes * 1024 * 1024, maxSlabs);
+            log.info("FSR 히스토리 off-heap 저장: slotBytes={}, slabMb={}, maxSlabs={}, maxSlots={}",
+                    historyArena.slotBytes(), slabMegabytes, maxSlabs, historyArena.slotsMax());
+        } else if (!"heap".equalsIgnoreCase(historyStorage)) {
+            throw new IllegalStateException("fsr.history.storage는 heap 또는 offheap이어야 합니다: " + historyStorage);
+        }
+
+        long sideBytes = statsWindowMillis > 0 ? STATS_BYTES : 0;
+        streamFixedBytes = STREAM_OVERHEAD_BYTES + 2 * sideBytes + joinFrameCapacity * JOIN_FRAME_BYTES;
+    }
 
     public void updateData(FSRDataDTO newData) {
         if (newData == null || newData.getSide() == null) {
             return;
         }
 
+        FsrStreamState stream = streamFor(resolveUserKey(newData.getUserId(), newData.getDeviceId()));
         FSRDataDTO copy = copyOf(newData);
         long now = System.currentTimeMillis();
-        copy.setTimestamp(now); // 타임스탬프 설정
-
-        if ("left".equalsIgnoreCase(copy.getSide())) {
-            latestLeftData.set(copy);
-            appendSample(leftHistory, copy, now);
-        } else if ("right".equalsIgnoreCase(copy.getSide())) {
-            latestRightData.set(copy);
-            appendSample(rightHistory, copy, now);
-        } else {
+        // 배치 경로와 같은 기준: 디바이스 timestamp가 있으면 사용, 없거나 미래면 서버 시각
+        long timestamp = resolveDeviceTimestamp(newData.getTimestamp(), now);
+        copy.setTimestamp(timestamp); // 타임스탬프 설정
+
+        SideState side = stream.side(copy.getSide());
+        if (side == null) {
             log.warn("알 수 없는 side 값: {}", copy.getSide());
+            return;
         }
+        synchronized (side) {
+            if (side.latest == null || side.latest.getTimestamp() == null
+                    || timestamp >= side.latest.getTimestamp()) {
+                side.latest = copy;
+            }
+            side.history.append(timestamp, copy);
+            side.history.pruneBefore(now - WINDOW_MILLIS);
+            side.rollup(timestamp, copy);
+        }
+        recordingService.record(stream.userId, timestamp, copy);
+        persistenceService.record(stream.userId, timestamp, copy);
+        stream.lastActivity = now;
 
-        Map<String, FSRDataDTO> latestData = getLatestInsoleData(true);
-        fsrWebSocketHandler.broadcastFSRData(latestData);
-        log.debug("FSR 데이터 업데이트 및 웹소켓 브로드캐스트: side={}, timestamp={}", 
-            copy.getSide(), now);
+        // 반대쪽과 묶인 프레임이 생겼을 때만 브로드캐스트 (한쪽만 온 샘플은 짝을 기다리다 flushPendingJoins에서 나감)
+        FSRBilateralFrame frame = null;
+        synchronized (stream.joiner) {
+            if (stream.joiner.offer(copy, timestamp, now)) {
+                frame = stream.joiner.latestFrame();
+            }
+        }
+        broadcast(stream.userId, frame);
+        log.debug("FSR 데이터 업데이트: userId={}, side={}, timestamp={}, broadcast={}",
+            stream.userId, copy.getSide(), timestamp, frame != null);
     }
 
-    public Map<String, FSRDataDTO> getLatestInsoleData() {
-        return getLatestInsoleData(false);
+    /**
+     * 여러 샘플을 한 번에 반영 (배치 업로드용)
+     * 각 샘플의 디바이스 timestamp를 그대로 사용하고, 사용자별 좌/우 히스토리는 한 번의 락 구간에서 갱신합니다.
+     * 브로드캐스트는 배치에 포함된 사용자마다 최대 한 번, 마지막으로 묶인 프레임으로 수행합니다.
+     * (해당 사용자 스트림을 구독한 WebSocket 세션이 있을 때만)
+     */
+    public void updateBatch(List<FSRDataDTO> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        // 사용자별로 묶기 (대부분 한 사용자)
+        Map<FsrStreamState, List<FSRDataDTO>> byStream = new LinkedHashMap<>();
+        for (FSRDataDTO sample : batch) {
+            if (sample == null || sample.getSide() == null) {
+                continue;
+            }
+            FsrStreamState stream = streamFor(resolveUserKey(sample.getUserId(), sample.getDeviceId()));
+            byStream.computeIfAbsent(stream, k -> new ArrayList<>()).add(sample);
+        }
+
+        byStream.forEach((stream, samples) -> {
+            broadcast(stream.userId, applyBatch(stream, samples, now));
+        });
+        log.debug("FSR 배치 업데이트 및 웹소켓 브로드캐스트: size={}, users={}", batch.size(), byStream.size());
     }
 
-    public FSRLatestResponse getLatestInsoleDataAsResponse() {
-        Map<String, FSRDataDTO> data = getLatestInsoleData(false);
-        return new FSRLatestResponse(data.get("left"), data.get("right"));
+    /**
+     * @return 배치로 새로 묶인 프레임 중 마지막 프레임 (없으면 null)
+     */
+    private FSRBilateralFrame applyBatch(FsrStreamState stream, List<FSRDataDTO> samples, long now) {
+        boolean applied = false;
+        boolean joined = false;
+
+        // 락 순서는 항상 left -> right -> joiner (조회 경로는 하나씩만 잡으므로 교착 없음)
+        synchronized (stream.left) {
+            synchronized (stream.right) {
+                for (FSRDataDTO sample : samples) {
+                    SideState side = stream.side(sample.getSide());
+                    if (side == null) {
+                        log.warn("알 수 없는 side 값: {}", sample.getSide());
+                        continue;
+                    }
+                    long timestamp = resolveDeviceTimestamp(sample.getTimestamp(), now);
+
+                    // 히스토리/조인은 값만 복사하므로 최신값이 되는 샘플만 DTO로 복사
+                    side.history.append(timestamp, sample);
+                    side.rollup(timestamp, sample);
+                    recordingService.record(stream.userId, timestamp, sample);
+                    persistenceService.record(stream.userId, timestamp, sample);
+                    if (side.latest == null || side.latest.getTimestamp() == null
+                            || timestamp >= side.latest.getTimestamp()) {
+                        FSRDataDTO copy = copyOf(sample);
+                        copy.setTimestamp(timestamp);
+                        side.latest = copy;
+                    }
+                    synchronized (stream.joiner) {
+                        joined |= stream.joiner.offer(sample, timestamp, now);
+                    }
+                    applied = true;
+                }
+                stream.left.history.pruneBefore(now - WINDOW_MILLIS);
+                stream.right.history.pruneBefore(now - WINDOW_MILLIS);
+            }
+        }
+        if (applied) {
+            stream.lastActivity = now;
+        }
+        if (!joined) {
+            return null;
+        }
+        synchronized (stream.joiner) {
+            return stream.joiner.latestFrame();
+        }
+    }
+
+    /**
+     * 디바이스 timestamp 보정 (단건/배치 공통)
+     * 값이 없거나 서버 시각보다 미래이거나 fsr.ingest.max-timestamp-skew-ms보다 오래된 경우
+     * (부팅 후 경과 ms를 보내는 펌웨어, 늦은 시계) 서버 시각을 사용합니다.
+     * 그대로 쓰면 10초 창에서 바로 잘려 평균/피드백에 반영되지 않고 기록에는 1970년대 시각이 남습니다.
+     */
+    private long resolveDeviceTimestamp(Long deviceTimestamp, long now) {
+        if (deviceTimestamp == null) {
+            return now;
+        }
+        if (deviceTimestamp > now || deviceTimestamp < now - maxTimestampSkewMillis) {
+            replacedTimestamps.incrementAndGet();
+            return now;
+        }
+        return deviceTimestamp;
+    }
+
+    /**
+     * 범위를 벗어나 서버 시각으로 바꾼 디바이스 timestamp 수
+     */
+    public long getReplacedTimestamps() {
+        return replacedTimestamps.get();
+    }
+
+    /**
+     * 요청의 userId / deviceId로 스트림 키 결정
+     * deviceId가 연결돼 있으면 연결된 사용자/세션, 아니면 userId, 둘 다 없으면 기본 스트림
+     * (서버에서 명시적으로 연결한 디바이스가 클라이언트가 보낸 userId보다 우선)
+     */
+    public String resolveUserKey(String userId, String deviceId) {
+        if (deviceId != null) {
+            String bound = deviceBindings.get(deviceId);
+            if (bound != null) {
+                return bound;
+            }
+        }
+        if (userId != null && !userId.isBlank() && !sessionKeys.contains(userId)) {
+            return userId;
+        }
+        return DEFAULT_USER;
+    }
+
+    /**
+     * 깔창 디바이스를 사용자에 연결 (이후 이 디바이스의 샘플은 해당 사용자 스트림으로 보냄)
+     */
+    public void bindDevice(String deviceId, String userId) {
+        deviceBindings.put(deviceId, userId);
+        log.info("FSR 디바이스 연결: deviceId={}, userId={}", deviceId, userId);
+    }
+
+    /**
+     * 깔창 디바이스를 세션에 연결 (이후 이 디바이스의 샘플은 세션 스트림으로 모여 기록/DB 저장 대상이 됨)
+     */
+    public void bindDeviceToSession(String deviceId, String sessionId) {
+        sessionKeys.add(sessionId);
+        deviceBindings.put(deviceId, sessionId);
+        log.info("FSR 디바이스 세션 연결: deviceId={}, sessionId={}", deviceId, sessionId);
+    }
+
+    /**
+     * 디바이스가 연결된 스트림 키 (연결돼 있지 않으면 null)
+     */
+    public String getDeviceBinding(String deviceId) {
+        return deviceBindings.get(deviceId);
+    }
+
+    public void unbindDevice(String deviceId) {
+        deviceBindings.remove(deviceId);
+    }
+
+    /**
+     * 세션 종료 시 정리: 세션에 연결된 디바이스를 풀고 세션 스트림만 제거
+     * 사용자/기본 스트림은 다른 세션과 공유될 수 있으므로 건드리지 않습니다.
+     */
+    public void removeSession(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        deviceBindings.values().removeIf(sessionId::equals);
+        sessionKeys.remove(sessionId);
+        FsrStreamState stream = streams.remove(sessionId);
+        if (stream != null) {
+            stream.release();
+            log.debug("FSR 세션 스트림 제거: sessionId={}", sessionId);
+        }
+    }
+
+    /**
+     * 짝을 못 찾고 허용 오차 이상 보류된 샘플을 반쪽 프레임으로 내보내고 브로드캐스트
+     * (한쪽 인솔만 연결됐거나 반대쪽이 끊긴 경우 마지막 샘플이 묶이지 않은 채 남지 않도록)
+     */
+    @Scheduled(fixedDelayString = "${fsr.join.flush-interval-ms:50}")
+    public void flushPendingJoins() {
+        long now = System.currentTimeMillis();
+        for (FsrStreamState stream : streams.values()) {
+            FSRBilateralFrame frame = null;
+            synchronized (stream.joiner) {
+                if (stream.joiner.flushExpired(now)) {
+                    frame = stream.joiner.latestFrame();
+                }
+            }
+            broadcast(stream.userId, frame);
+        }
+    }
+
+    /**
+     * fsr.history.idle-timeout-ms 동안 샘플이 없던 스트림 제거 (off-heap 슬롯 반환)
+     */
+    @Scheduled(fixedDelayString = "${fsr.history.idle-sweep-interval-ms:60000}")
+    public void evictIdleStreams() {
+        long threshold = System.currentTimeMillis() - idleTimeoutMillis;
+        int evicted = 0;
+        for (FsrStreamState stream : streams.values()) {
+            // 그사이 새로 만들어진 스트림은 건드리지 않도록 같은 객체일 때만 제거
+            if (stream.lastActivity < threshold && streams.remove(stream.userId, stream)) {
+                stream.release();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.info("FSR 유휴 스트림 제거: evicted={}, remaining={}", evicted, streams.size());
+        }
+    }
+
+    @Override
+    public String storeName() {
+        return "fsrStreams";
+    }
+
+    @Override
+    public void forEachEntry(EntryConsumer consumer) {
+        streams.forEach((userId, stream) -> consumer.accept(userId,
+                streamFixedBytes + stream.left.heapBytes() + stream.right.heapBytes(),
+                stream.lastActivity));
+    }
+
+    @Override
+    public boolean evict(String userId) {
+        // 다른 경로(세션 종료, 유휴 제거)가 먼저 제거/재생성한 스트림은 건드리지 않도록 같은 객체일 때만 제거
+        FsrStreamState stream = streams.get(userId);
+        if (stream == null || !streams.remove(userId, stream)) {
+            return false;
+        }
+        stream.release();
+        return true;
+    }
+
+    /**
+     * 히스토리 저장 방식과 off-heap 아레나 점유율
+     */
+    public FSRHistoryStorageStatsResponse getHistoryStorageStats() {
+        FSRSlabArena arena = historyArena;
+        FSRHistoryStorageStatsResponse.FSRHistoryStorageStatsResponseBuilder stats = FSRHistoryStorageStatsResponse.builder()
+                .storage(arena != null ? "offheap" : "heap")
+                .streams(streams.size());
+        if (arena != null) {
+            int slotsMax = arena.slotsMax();
+            int inUse = arena.slotsInUse();
+            stats.slotBytes(arena.slotBytes())
+                    .slabs(arena.slabCount())
+                    .reservedBytes(arena.reservedBytes())
+                    .slotsTotal(arena.slotsTotal())
+                    .slotsInUse(inUse)
+                    .slotsMax(slotsMax)
+                    .occupancy((double) inUse / slotsMax)
+                    .heapFallbacks(arena.exhaustedCount());
+        }
+        return stats.build();
+    }
+
+    public Set<String> getActiveUserIds() {
+        return streams.keySet();
+    }
+
+    public Map<String, FSRDataDTO> getLatestInsoleData() {
+        return getLatestInsoleData(DEFAULT_USER, false);
     }
 
     public Map<String, FSRDataDTO> getLatestInsoleData(boolean fillEmptyWithZero) {
-        Map<String, FSRDataDTO> insoleData = new HashMap<>();
+        return getLatestInsoleData(DEFAULT_USER, fillEmptyWithZero);
+    }
 
-        FSRDataDTO leftData = latestLeftData.get();
-        FSRDataDTO rightData = latestRightData.get();
+    public FSRLatestResponse getLatestInsoleDataAsResponse() {
+        return getLatestInsoleDataAsResponse(DEFAULT_USER);
+    }
 
-        insoleData.put("left", leftData != null ? leftData : (fillEmptyWithZero ? emptyWithSide("left") : null));
-        insoleData.put("right", rightData != null ? rightData : (fillEmptyWithZero ? emptyWithSide("right") : null));
+    public FSRLatestResponse getLatestInsoleDataAsResponse(String userId) {
+        Map<String, FSRDataDTO> data = getLatestInsoleData(userId, false);
+        return new FSRLatestResponse(data.get("left"), data.get("right"));
+    }
 
-        return insoleData;
+    public Map<String, FSRDataDTO> getLatestInsoleData(String userId, boolean fillEmptyWithZero) {
+        FsrStreamState stream = streams.get(userId != null ? userId : DEFAULT_USER);
+        if (stream == null) {
+            Map<String, FSRDataDTO> empty = new HashMap<>();
+            empty.put("left", fillEmptyWithZero ? emptyWithSide("left") : null);
+            empty.put("right", fillEmptyWithZero ? emptyWithSide("right") : null);
+            return empty;
+        }
+        return latestOf(stream, fillEmptyWithZero);
+    }
+
+    /**
+     * 가장 최근에 묶인 좌/우 프레임 (브로드캐스트용)
+     *
+     * @return 스트림이 없거나 아직 묶인 프레임이 없으면 null
+     */
+    public Map<String, FSRDataDTO> getLatestFrame(String userId) {
+        FsrStreamState stream = streams.get(userId != null ? userId : DEFAULT_USER);
+        if (stream == null) {
+            return null;
+        }
+        FSRBilateralFrame frame;
+        synchronized (stream.joiner) {
+            frame = stream.joiner.latestFrame();
+        }
+        return frame != null ? toBroadcast(frame) : null;
     }
 
     public Map<String, FSRDataDTO> getAveragedInsoleData(Duration window) {
+        return getAveragedInsoleData(DEFAULT_USER, window);
+    }
+
+    public Map<String, FSRDataDTO> getAveragedInsoleData(String userId, Duration window) {
         long windowMillis = window != null ? window.toMillis() : WINDOW_MILLIS;
-        long threshold = System.currentTimeMillis() - windowMillis;
+        long now = System.currentTimeMillis();
 
         Map<String, FSRDataDTO> averaged = new HashMap<>();
-        averaged.put("left", averageHistory(leftHistory, threshold, "left"));
-        averaged.put("right", averageHistory(rightHistory, threshold, "right"));
+        FsrStreamState stream = streams.get(userId != null ? userId : DEFAULT_USER);
+        if (stream == null) {
+            averaged.put("left", null);
+            averaged.put("right", null);
+            return averaged;
+        }
+        averaged.put("left", averageHistory(stream.left, windowMillis, now, "left"));
+        averaged.put("right", averageHistory(stream.right, windowMillis, now, "right"));
         return averaged;
     }
 
-    private void appendSample(Deque<FsrSample> history, FSRDataDTO data, long timestamp) {
-        synchronized (history) {
-            history.addLast(new FsrSample(timestamp, copyOf(data)));
-            prune(history, timestamp - WINDOW_MILLIS);
+    /**
+     * 최근 window 동안 좌/우를 시간 정렬한 프레임의 평균
+     * 설정된 창 길이(fsr.history.aggregate-windows-ms)면 누적 합계로 O(1) 계산합니다.
+     */
+    public FSRBilateralSummary getBilateralSummary(String userId, Duration window) {
+        FsrStreamState stream = streams.get(userId != null ? userId : DEFAULT_USER);
+        if (stream == null) {
+            return new FSRBilateralSummary(0, 0, null, null, 0f);
+        }
+        long windowMillis = window != null ? window.toMillis() : WINDOW_MILLIS;
+        synchronized (stream.joiner) {
+            return stream.joiner.summarize(windowMillis, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 한쪽 발의 계열별 창 통계 (ratio1~6, front, rear, heel, inner, outer)
+     * 추가/제거 시점에 유지되는 값을 읽기만 하므로 히스토리를 다시 훑지 않습니다.
+     *
+     * @return 스트림이 없거나 통계 창을 유지하지 않으면 null
+     */
+    public Map<String, FSRSeriesStatsDTO> getWindowStats(String userId, String side) {
+        FsrStreamState stream = streams.get(userId != null ? userId : DEFAULT_USER);
+        SideState state = stream != null ? stream.side(side) : null;
+        if (state == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (state) {
+            state.history.pruneBefore(now - WINDOW_MILLIS);
+            return state.history.windowStats(now);
+        }
+    }
+
+    /**
+     * 차트용 롤업 버킷 조회 ([from, to]와 겹치는 버킷, 원본 샘플은 다시 읽지 않음)
+     *
+     * @throws IllegalArgumentException side가 left/right가 아니거나 유지하지 않는 해상도인 경우
+     */
+    public FSRRollupResponse getRollups(String userId, String side, long resolutionMillis, long from, long to) {
+        int resolution = rollupIndex(resolutionMillis);
+        if (resolution < 0) {
+            throw new IllegalArgumentException("unsupported resolution: " + resolutionMillis
+                    + "ms (available: " + Arrays.toString(rollupResolutions) + ")");
+        }
+        if (!"left".equalsIgnoreCase(side) && !"right".equalsIgnoreCase(side)) {
+            throw new IllegalArgumentException("side must be left or right: " + side);
+        }
+
+        String userKey = userId != null ? userId : DEFAULT_USER;
+        List<FSRRollupResponse.Bucket> buckets = List.of();
+        FsrStreamState stream = streams.get(userKey);
+        if (stream != null) {
+            SideState state = stream.side(side);
+            synchronized (state) {
+                buckets = state.rollups[resolution].buckets(from, to);
+            }
         }
+        return FSRRollupResponse.builder()
+                .userId(userKey)
+                .side(side.toLowerCase())
+                .resolutionMs(resolutionMillis)
+                .buckets(buckets)
+                .build();
     }
 
-    private void prune(Deque<FsrSample> history, long threshold) {
-        while (!history.isEmpty()) {
-            FsrSample first = history.peekFirst();
-            if (first.timestamp < threshold) {
-                history.removeFirst();
-            } else {
-                break;
+    private int rollupIndex(long resolutionMillis) {
+        for (int i = 0; i < rollupResolutions.length; i++) {
+            if (rollupResolutions[i] == resolutionMillis) {
+                return i;
             }
         }
+        return -1;
     }
 
-    private FSRDataDTO averageHistory(Deque<FsrSample> history, long threshold, String side) {
+    private FsrStreamState streamFor(String userId) {
+        return streams.computeIfAbsent(userId, id -> new FsrStreamState(id,
+                new FSRStreamJoiner(joinSkewToleranceMillis, joinMaxHoldMillis, joinFrameCapacity, aggregateWindows),
+                () -> new SideState(newHistoryRing(), rollupResolutions, rollupBuckets)));
+    }
+
+    /**
+     * 발 하나의 히스토리 링 (off-heap 슬롯이 모자라면 힙으로 대체)
+     */
+    private FSRHistoryRing newHistoryRing() {
+        FSRColumnStore store = historyArena != null ? historyArena.allocate() : null;
+        if (store == null) {
+            if (historyArena != null) {
+                log.warn("FSR 히스토리 off-heap 슬롯 부족, 힙 저장소 사용: slotsInUse={}", historyArena.slotsInUse());
+            }
+            store = new FSRHeapColumnStore(FSRHistoryRing.roundCapacity(historyCapacity));
+        }
+        return new FSRHistoryRing(store, aggregateWindows, statsWindowMillis);
+    }
+
+    /**
+     * 사용자 스트림 구독자에게 새 프레임 알림 (구독자가 없으면 프레임을 만들지 않음, 고정 주기 모드면 다음 틱에 게시)
+     */
+    private void broadcast(String userId, FSRBilateralFrame frame) {
+        if (frame != null) {
+            fsrWebSocketHandler.onStreamUpdated(userId, () -> toBroadcast(frame));
+        }
+    }
+
+    private Map<String, FSRDataDTO> toBroadcast(FSRBilateralFrame frame) {
+        Map<String, FSRDataDTO> data = new HashMap<>();
+        data.put("left", frame.getLeft());
+        data.put("right", frame.getRight());
+        return data;
+    }
+
+    private Map<String, FSRDataDTO> latestOf(FsrStreamState stream, boolean fillEmptyWithZero) {
+        Map<String, FSRDataDTO> insoleData = new HashMap<>();
+
+        FSRDataDTO leftData = stream.left.latest;
+        FSRDataDTO rightData = stream.right.latest;
+
+        insoleData.put("left", leftData != null ? leftData : (fillEmptyWithZero ? emptyWithSide("left") : null));
+        insoleData.put("right", rightData != null ? rightData : (fillEmptyWithZero ? emptyWithSide("right") : null));
+
+        return insoleData;
+    }
+
+    private FSRDataDTO averageHistory(SideState side, long windowMillis, long now, String sideName) {
         float sum1 = 0, sum2 = 0, sum3 = 0, sum4 = 0, sum5 = 0, sum6 = 0;
         int count = 0;
+        long threshold = now - windowMillis;
+
+        synchronized (side) {
+            FSRHistoryRing history = side.history;
+            // 보관 기간 기준으로만 정리 (짧은 창으로 정리하면 긴 창의 합계가 함께 줄어듦)
+            history.pruneBefore(now - WINDOW_MILLIS);
+
+            int window = history.windowIndex(windowMillis);
+            if (window >= 0) {
+                // 누적 합계 사용: O(1)
+                int windowCount = history.windowCount(window, now);
+                if (windowCount == 0) {
+                    return null;
+                }
+                FSRDataDTO avg = new FSRDataDTO();
+                avg.setSide(sideName);
+                avg.setRatio1((float) (history.windowSum(window, 0) / windowCount));
+                avg.setRatio2((float) (history.windowSum(window, 1) / windowCount));
+                avg.setRatio3((float) (history.windowSum(window, 2) / windowCount));
+                avg.setRatio4((float) (history.windowSum(window, 3) / windowCount));
+                avg.setRatio5((float) (history.windowSum(window, 4) / windowCount));
+                avg.setRatio6((float) (history.windowSum(window, 5) / windowCount));
+                return avg;
+            }
 
-        synchronized (history) {
-            prune(history, threshold);
-            for (FsrSample sample : history) {
-                if (sample.timestamp < threshold) continue;
-                FSRDataDTO d = sample.data;
-                sum1 += d.getRatio1();
-                sum2 += d.getRatio2();
-                sum3 += d.getRatio3();
-                sum4 += d.getRatio4();
-                sum5 += d.getRatio5();
-                sum6 += d.getRatio6();
+            // 저장소 컬럼을 직접 읽음 (샘플 객체 없음)
+            int size = history.size();
+            for (int i = 0; i < size; i++) {
+                int slot = history.slot(i);
+                if (history.timestampAt(slot) < threshold) continue;
+                sum1 += history.valueAt(slot, 0);
+                sum2 += history.valueAt(slot, 1);
+                sum3 += history.valueAt(slot, 2);
+                sum4 += history.valueAt(slot, 3);
+                sum5 += history.valueAt(slot, 4);
+                sum6 += history.valueAt(slot, 5);
                 count++;
             }
         }
@@ -130,7 +680,7 @@ public class FSRDataService {
         }
 
         FSRDataDTO avg = new FSRDataDTO();
-        avg.setSide(side);
+        avg.setSide(sideName);
         avg.setRatio1(sum1 / count);
         avg.setRatio2(sum2 / count);
         avg.setRatio3(sum3 / count);
@@ -169,18 +719,85 @@ public class FSRDataService {
         
         // timestamp 복사
         copy.setTimestamp(source.getTimestamp());
+        copy.setDeviceId(source.getDeviceId());
+        copy.setUserId(source.getUserId());
+        copy.setSequence(source.getSequence());
     
         return copy;
     }
-    
 
-    private static class FsrSample {
-        private final long timestamp;
-        private final FSRDataDTO data;
+    /**
+     * 사용자 한 명의 좌/우 스트림 상태
+     */
+    private static class FsrStreamState {
+        // 스트림 키 (사용자 ID, 세션 ID 또는 기본 스트림)
+        private final String userId;
+        private final SideState left;
+        private final SideState right;
+        private final FSRStreamJoiner joiner;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        FsrStreamState(String userId, FSRStreamJoiner joiner, Supplier<SideState> sideFactory) {
+            this.userId = userId;
+            this.joiner = joiner;
+            this.left = sideFactory.get();
+            this.right = sideFactory.get();
+        }
+
+        SideState side(String side) {
+            if ("left".equalsIgnoreCase(side)) {
+                return left;
+            }
+            if ("right".equalsIgnoreCase(side)) {
+                return right;
+            }
+            return null;
+        }
+
+        /**
+         * 히스토리 저장소 반환 (제거된 스트림에 늦게 들어온 샘플은 링이 무시)
+         */
+        void release() {
+            synchronized (left) {
+                left.history.release();
+            }
+            synchronized (right) {
+                right.history.release();
+            }
+        }
+    }
+
+    /**
+     * 한쪽 발의 최신값, 히스토리, 롤업 (히스토리/롤업 접근은 이 객체의 모니터로 보호)
+     */
+    private static class SideState {
+        private volatile FSRDataDTO latest;
+        private final FSRHistoryRing history;
+        private final FSRRollupRing[] rollups;
 
-        FsrSample(long timestamp, FSRDataDTO data) {
-            this.timestamp = timestamp;
-            this.data = data;
+        SideState(FSRHistoryRing history, long[] rollupResolutions, int[] rollupBuckets) {
+            this.history = history;
+            this.rollups = new FSRRollupRing[rollupResolutions.length];
+            for (int i = 0; i < rollups.length; i++) {
+                rollups[i] = new FSRRollupRing(rollupResolutions[i], rollupBuckets[i]);
+            }
+        }
+
+        void rollup(long timestamp, FSRDataDTO sample) {
+            for (FSRRollupRing ring : rollups) {
+                ring.add(timestamp, sample);
+            }
+        }
+
+        /**
+         * 히스토리와 롤업 링이 힙에 차지하는 대략적인 크기 (롤업은 기록된 범위만큼만 할당)
+         */
+        long heapBytes() {
+            long bytes = history.heapBytes();
+            for (FSRRollupRing ring : rollups) {
+                bytes += ring.heapBytes();
+            }
+            return bytes;
         }
     }
 }
@@ -0,0 +1,255 @@
+package com.squirret.squirretbackend.service;
+
+import java.util.Arrays;
+
+/**
+ * Gorilla 방식 컬럼 압축 (timestamp는 delta-of-delta, float은 이전 값과의 XOR)
+ *
+ * <pre>
+ * long (delta-of-delta, 첫 값은 64비트 그대로)
+ *   0                   : dod == 0
+ *   10   + 7비트        : dod in [-63, 64]
+ *   110  + 9비트        : dod in [-255, 256]
+ *   1110 + 12비트       : dod in [-2047, 2048]
+ *   1111 + 64비트       : 그 외
+ * float (XOR, 첫 값은 32비트 그대로)
+ *   0                   : 이전 값과 같음
+ *   10 + 의미 비트      : 이전 값의 leading/trailing zero 범위 안에 들어감
+ *   11 + 5비트 leading + 5비트 (길이 - 1) + 의미 비트
+ * </pre>
+ *
+ * 일정 주기로 들어오는 timestamp는 대부분 1비트, 천천히 변하는 압력 값은 몇 비트로 줄어듭니다.
+ */
+public final class FSRGorillaCodec {
+
+    private FSRGorillaCodec() {
+    }
+
+    /**
+     * MSB부터 채우는 비트 버퍼 (필요하면 늘어남)
+     */
+    public static final class BitWriter {
+        private byte[] bytes;
+        private long bitPosition;
+
+        public BitWriter(int initialBytes) {
+            this.bytes = new byte[Math.max(16, initialBytes)];
+        }
+
+        public void writeBit(boolean bit) {
+            writeBits(bit ? 1 : 0, 1);
+        }
+
+        /**
+         * value의 하위 count비트(1~64)를 기록
+         */
+        public void writeBits(long value, int count) {
+            ensureCapacity(count);
+            for (int i = count - 1; i >= 0; i--) {
+                if (((value >>> i) & 1L) != 0) {
+                    int index = (int) (bitPosition >>> 3);
+                    bytes[index] |= (byte) (0x80 >>> (bitPosition & 7));
+                }
+                bitPosition++;
+            }
+        }
+
+        private void ensureCapacity(int bits) {
+            long needed = (bitPosition + bits + 7) >>> 3;
+            if (needed > bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.max(needed, bytes.length * 2L));
+            }
+        }
+
+        public int byteLength() {
+            return (int) ((bitPosition + 7) >>> 3);
+        }
+
+        public byte[] array() {
+            return bytes;
+        }
+
+        public void reset() {
+            Arrays.fill(bytes, 0, byteLength(), (byte) 0);
+            bitPosition = 0;
+        }
+    }
+
+    public static final class BitReader {
+        private final byte[] bytes;
+        private final int offset;
+        private long bitPosition;
+
+        public BitReader(byte[] bytes, int offset) {
+            this.bytes = bytes;
+            this.offset = offset;
+        }
+
+        public boolean readBit() {
+            int index = offset + (int) (bitPosition >>> 3);
+            boolean bit = (bytes[index] & (0x80 >>> (bitPosition & 7))) != 0;
+            bitPosition++;
+            return bit;
+        }
+
+        public long readBits(int count) {
+            long value = 0;
+            for (int i = 0; i < count; i++) {
+                value = (value << 1) | (readBit() ? 1 : 0);
+            }
+            return value;
+        }
+    }
+
+    public static final class LongEncoder {
+        private final BitWriter out;
+        private long previous;
+        private long previousDelta;
+        private boolean first = true;
+
+        public LongEncoder(BitWriter out) {
+            this.out = out;
+        }
+
+        public void add(long value) {
+            if (first) {
+                out.writeBits(value, 64);
+                previous = value;
+                first = false;
+                return;
+            }
+            long delta = value - previous;
+            long dod = delta - previousDelta;
+            if (dod == 0) {
+                out.writeBit(false);
+            } else if (dod >= -63 && dod <= 64) {
+                out.writeBits(0b10, 2);
+                out.writeBits(dod + 63, 7);
+            } else if (dod >= -255 && dod <= 256) {
+                out.writeBits(0b110, 3);
+                out.writeBits(dod + 255, 9);
+            } else if (dod >= -2047 && dod <= 2048) {
+                out.writeBits(0b1110, 4);
+                out.writeBits(dod + 2047, 12);
+            } else {
+                out.writeBits(0b1111, 4);
+                out.writeBits(dod, 64);
+            }
+            previous = value;
+            previousDelta = delta;
+        }
+    }
+
+    public static final class LongDecoder {
+        private final BitReader in;
+        private long previous;
+        private long previousDelta;
+        private boolean first = true;
+
+        public LongDecoder(BitReader in) {
+            this.in = in;
+        }
+
+        public long next() {
+            if (first) {
+                first = false;
+                previous = in.readBits(64);
+                return previous;
+            }
+            long dod;
+            if (!in.readBit()) {
+                dod = 0;
+            } else if (!in.readBit()) {
+                dod = in.readBits(7) - 63;
+            } else if (!in.readBit()) {
+                dod = in.readBits(9) - 255;
+            } else if (!in.readBit()) {
+                dod = in.readBits(12) - 2047;
+            } else {
+                dod = in.readBits(64);
+            }
+            previousDelta += dod;
+            previous += previousDelta;
+            return previous;
+        }
+    }
+
+    public static final class FloatEncoder {
+        private final BitWriter out;
+        private int previous;
+        private int previousLeading = -1;
+        private int previousTrailing;
+        private boolean first = true;
+
+        public FloatEncoder(BitWriter out) {
+            this.out = out;
+        }
+
+        public void add(float value) {
+            int bits = Float.floatToRawIntBits(value);
+            if (first) {
+                out.writeBits(bits & 0xFFFFFFFFL, 32);
+                previous = bits;
+                first = false;
+                return;
+            }
+            int xor = bits ^ previous;
+            previous = bits;
+            if (xor == 0) {
+                out.writeBit(false);
+                return;
+            }
+            out.writeBit(true);
+            int leading = Math.min(Integer.numberOfLeadingZeros(xor), 31);
+            int trailing = Integer.numberOfTrailingZeros(xor);
+            if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                out.writeBit(false);
+                int length = 32 - previousLeading - previousTrailing;
+                out.writeBits((xor >>> previousTrailing) & mask(length), length);
+                return;
+            }
+            out.writeBit(true);
+            int length = 32 - leading - trailing;
+            out.writeBits(leading, 5);
+            out.writeBits(length - 1, 5);
+            out.writeBits((xor >>> trailing) & mask(length), length);
+            previousLeading = leading;
+            previousTrailing = trailing;
+        }
+    }
+
+    public static final class FloatDecoder {
+        private final BitReader in;
+        private int previous;
+        private int leading;
+        private int trailing;
+        private boolean first = true;
+
+        public FloatDecoder(BitReader in) {
+            this.in = in;
+        }
+
+        public float next() {
+            if (first) {
+                first = false;
+                previous = (int) in.readBits(32);
+                return Float.intBitsToFloat(previous);
+            }
+            if (in.readBit()) {
+                if (in.readBit()) {
+                    leading = (int) in.readBits(5);
+                    int length = (int) in.readBits(5) + 1;
+                    trailing = 32 - leading - length;
+                }
+                int length = 32 - leading - trailing;
+                int xor = (int) (in.readBits(length) << trailing);
+                previous ^= xor;
+            }
+            return Float.intBitsToFloat(previous);
+        }
+    }
+
+    private static long mask(int length) {
+        return length == 64 ? -1L : (1L << length) - 1;
+    }
+}
@@ -0,0 +1,56 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+/**
+ * 힙 배열 기반 {@link FSRColumnStore} (기본 저장 방식)
+ * timestamp는 long[] 하나, ratio1~6은 채널별 float[]에 저장합니다.
+ */
+public class FSRHeapColumnStore implements FSRColumnStore {
+
+    private final long[] timestamps;
+    private final float[][] channels = new float[CHANNELS][];
+
+    public FSRHeapColumnStore(int capacity) {
+        this.timestamps = new long[capacity];
+        for (int c = 0; c < CHANNELS; c++) {
+            channels[c] = new float[capacity];
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return timestamps.length;
+    }
+
+    @Override
+    public long timestamp(int slot) {
+        return timestamps[slot];
+    }
+
+    @Override
+    public float value(int slot, int channel) {
+        return channels[channel][slot];
+    }
+
+    @Override
+    public void write(int slot, long timestamp, FSRDataDTO sample) {
+        timestamps[slot] = timestamp;
+        channels[0][slot] = sample.getRatio1();
+        channels[1][slot] = sample.getRatio2();
+        channels[2][slot] = sample.getRatio3();
+        channels[3][slot] = sample.getRatio4();
+        channels[4][slot] = sample.getRatio5();
+        channels[5][slot] = sample.getRatio6();
+    }
+
+    @Override
+    public long heapBytes() {
+        return (long) timestamps.length * (Long.BYTES + CHANNELS * Float.BYTES);
+    }
+
+    @Override
+    public void release() {
+        // GC가 회수
+    }
+}
@@ -0,0 +1,199 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.dto.FSRSeriesStatsDTO;
+
+import java.util.Map;
+
+/**
+ * 한쪽 발의 FSR 히스토리 링 버퍼 (primitive 컬럼, 고정 용량)
+ *
+ * timestamp와 ratio1~6을 {@link FSRColumnStore}(힙 배열 또는 off-heap 슬롯)에 기록 순서대로 저장합니다.
+ * 가득 차면 가장 오래된 샘플을 덮어쓰며, 추가/정리/조회 모두 할당하지 않습니다.
+ * 조회 측은 {@link #slot(int)}로 물리 위치를 얻어 {@link #timestampAt(int)} / {@link #valueAt(int, int)}로 읽습니다.
+ * 생성 시 창 길이를 지정하면 {@link FSRWindowAggregator}로 창별 채널 합계를 함께 유지해 평균을 O(1)로 조회하고,
+ * 통계 창을 지정하면 {@link FSRWindowStats}로 분산/최소/최대/분위수도 추가·제거 시점에 갱신합니다.
+ *
+ * 스레드 안전하지 않으므로 호출 측에서 동기화해야 합니다.
+ */
+public class FSRHistoryRing implements FSRWindowAggregator.Samples {
+
+    public static final int CHANNELS = FSRColumnStore.CHANNELS;
+
+    private final int capacity;
+    private final int mask;
+    private final FSRColumnStore store;
+    private boolean released;
+
+    // 가장 오래된 샘플 / 다음 기록 위치 (단조 증가)
+    private long head;
+    private long tail;
+
+    private final FSRWindowAggregator windows;
+
+    // 통계 창 (없으면 null)
+    private final FSRWindowStats stats;
+
+    public FSRHistoryRing(int requestedCapacity) {
+        this(requestedCapacity, new long[0]);
+    }
+
+    public FSRHistoryRing(int requestedCapacity, long[] windowMillis) {
+        this(new FSRHeapColumnStore(roundCapacity(requestedCapacity)), windowMillis);
+    }
+
+    /**
+     * @param store 용량이 2의 거듭제곱인 저장소 (링이 소유하며 {@link #release()} 시 반환)
+     */
+    public FSRHistoryRing(FSRColumnStore store, long[] windowMillis) {
+        this(store, windowMillis, 0);
+    }
+
+    /**
+     * @param statsWindowMillis {@link FSRWindowStats}를 유지할 창 길이 (0 이하면 유지하지 않음)
+     */
+    public FSRHistoryRing(FSRColumnStore store, long[] windowMillis, long statsWindowMillis) {
+        if (Integer.bitCount(store.capacity()) != 1) {
+            throw new IllegalArgumentException("store capacity must be a power of two: " + store.capacity());
+        }
+        this.windows = new FSRWindowAggregator(windowMillis, CHANNELS);
+        this.stats = statsWindowMillis > 0 ? new FSRWindowStats(statsWindowMillis) : null;
+        this.store = store;
+        this.capacity = store.capacity();
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 요청 용량 이상인 가장 작은 2의 거듭제곱
+     */
+    public static int roundCapacity(int requestedCapacity) {
+        return Integer.highestOneBit(Math.max(2, requestedCapacity - 1) << 1);
+    }
+
+    /**
+     * 샘플의 ratio1~6을 기록 (가득 차면 가장 오래된 샘플을 덮어씀)
+     */
+    public void append(long timestamp, FSRDataDTO sample) {
+        if (released) {
+            // 스트림이 제거된 뒤 늦게 도착한 샘플
+            return;
+        }
+        if (tail - head == capacity) {
+            discardHead();
+        }
+        store.write((int) (tail & mask), timestamp, sample);
+        tail++;
+        windows.onAppend(this, tail - 1);
+        if (stats != null) {
+            stats.onAppend(this, tail - 1);
+        }
+    }
+
+    /**
+     * 앞쪽부터 threshold보다 오래된 샘플 제거
+     * 기록 순서 기준이므로 늦게 추가된 과거 샘플은 앞쪽 샘플이 정리될 때 함께 정리됩니다.
+     */
+    public void pruneBefore(long threshold) {
+        while (head < tail && store.timestamp((int) (head & mask)) < threshold) {
+            discardHead();
+        }
+    }
+
+    private void discardHead() {
+        windows.onDiscard(this, head);
+        if (stats != null) {
+            stats.onDiscard(this, head);
+        }
+        head++;
+    }
+
+    /**
+     * 유지 중인 창 길이의 인덱스 (없으면 -1)
+     */
+    public int windowIndex(long windowMillis) {
+        return windows.indexOf(windowMillis);
+    }
+
+    /**
+     * now 기준으로 창을 갱신한 뒤 창 안의 샘플 수
+     */
+    public int windowCount(int window, long now) {
+        windows.evict(this, tail, now);
+        return windows.count(window);
+    }
+
+    /**
+     * 창 안의 채널(0~5) 합계 ({@link #windowCount}로 창을 갱신한 뒤 호출)
+     */
+    public double windowSum(int window, int channel) {
+        return windows.sum(window, channel);
+    }
+
+    /**
+     * now 기준으로 통계 창을 갱신한 뒤 계열별 통계 (통계 창이 없으면 null)
+     */
+    public Map<String, FSRSeriesStatsDTO> windowStats(long now) {
+        if (stats == null || released) {
+            return null;
+        }
+        stats.evict(this, tail, now);
+        return stats.snapshot(this);
+    }
+
+    /**
+     * 저장소가 힙에 차지하는 대략적인 크기
+     */
+    public long heapBytes() {
+        return store.heapBytes();
+    }
+
+    /**
+     * 저장소 반환 (비우고 이후 추가는 무시)
+     */
+    public void release() {
+        if (!released) {
+            released = true;
+            head = tail;
+            store.release();
+        }
+    }
+
+    @Override
+    public long timestampOf(long sequence) {
+        return store.timestamp((int) (sequence & mask));
+    }
+
+    @Override
+    public float valueOf(long sequence, int column) {
+        return store.value((int) (sequence & mask), column);
+    }
+
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 오래된 순서 기준 i번째(0 ~ size-1) 샘플의 물리 위치
+     */
+    public int slot(int i) {
+        return (int) ((head + i) & mask);
+    }
+
+    /**
+     * 물리 위치의 timestamp
+     */
+    public long timestampAt(int slot) {
+        return store.timestamp(slot);
+    }
+
+    /**
+     * 물리 위치의 채널(0~5 = ratio1~6) 값
+     */
+    public float valueAt(int slot, int channel) {
+        return store.value(slot, channel);
+    }
+}
@@ -0,0 +1,219 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * FSR 샘플 전달용 고정 크기 링 버퍼 (다중 생산자 / 단일 소비자)
+ *
+ * 슬롯은 생성 시 primitive 배열로 미리 할당되며, 생산자는 CAS로 시퀀스를 확보한 뒤 값을 기록하고
+ * 슬롯별 시퀀스를 게시합니다. 가득 차면 대기하지 않고 즉시 실패(드롭)합니다.
+ * 배치는 {@link #reserve}로 필요한 슬롯을 한 번에 확보하므로 전부 들어가거나 전부 드롭됩니다.
+ * 확보한 뒤 쓰지 않기로 한 슬롯은 {@link #cancel}로 건너뜀 표시를 해 게시합니다.
+ * 소비자 스레드는 반드시 하나여야 합니다.
+ */
+public class FSRIngestRingBuffer {
+
+    private static final int CHANNELS = 12;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final long NO_SEQUENCE = -1L;
+
+    private final int capacity;
+    private final int mask;
+
+    // 슬롯 데이터 (struct-of-arrays)
+    private final byte[] sides;
+    private final float[] values;
+    private final long[] timestamps;
+    private final long[] sequences;
+    private final boolean[] deviceTime;
+    private final boolean[] skipped;
+    private final String[] deviceIds;
+    private final String[] userIds;
+
+    // 슬롯에 게시된 시퀀스 (게시 전에는 이전 바퀴의 시퀀스)
+    private final AtomicLongArray published;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    // 소비자 스레드 전용: 직전에 poll한 슬롯의 디바이스 timestamp 유지 여부
+    private boolean lastPolledDeviceTime;
+
+    private final AtomicLong offered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public FSRIngestRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1) << 1);
+        this.mask = capacity - 1;
+        this.sides = new byte[capacity];
+        this.values = new float[capacity * CHANNELS];
+        this.timestamps = new long[capacity];
+        this.sequences = new long[capacity];
+        this.deviceTime = new boolean[capacity];
+        this.skipped = new boolean[capacity];
+        this.deviceIds = new String[capacity];
+        this.userIds = new String[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, i - (long) capacity);
+        }
+    }
+
+    /**
+     * 샘플을 슬롯에 복사해 게시 (여러 스레드에서 호출 가능)
+     *
+     * @param useDeviceTimestamp true면 소비 시 샘플의 디바이스 timestamp를 유지 (배치 경로)
+     * @return 버퍼가 가득 차 드롭된 경우 false
+     */
+    public boolean offer(FSRDataDTO sample, boolean useDeviceTimestamp) {
+        long seq = reserve(1);
+        if (seq < 0) {
+            return false;
+        }
+        write(seq, sample, useDeviceTimestamp);
+        return true;
+    }
+
+    /**
+     * 연속된 슬롯 count개를 한 번에 확보 (여러 스레드에서 호출 가능)
+     * 확보한 슬롯은 반드시 {@link #write} 또는 {@link #cancel}로 모두 게시해야 소비자가 진행합니다.
+     *
+     * @return 첫 슬롯의 시퀀스 (남은 공간이 count보다 작으면 -1, 이때 count개 모두 드롭으로 집계)
+     */
+    public long reserve(int count) {
+        offered.addAndGet(count);
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq + count - head > capacity) {
+                dropped.addAndGet(count);
+                return -1;
+            }
+        } while (!tail.compareAndSet(seq, seq + count));
+        return seq;
+    }
+
+    /**
+     * 확보한 슬롯 하나에 샘플을 복사해 게시
+     */
+    public void write(long seq, FSRDataDTO sample, boolean useDeviceTimestamp) {
+        int slot = (int) (seq & mask);
+        sides[slot] = "right".equalsIgnoreCase(sample.getSide()) ? (byte) 1 : (byte) 0;
+        int base = slot * CHANNELS;
+        values[base] = sample.getVoltage1();
+        values[base + 1] = sample.getVoltage2();
+        values[base + 2] = sample.getVoltage3();
+        values[base + 3] = sample.getVoltage4();
+        values[base + 4] = sample.getVoltage5();
+        values[base + 5] = sample.getVoltage6();
+        values[base + 6] = sample.getRatio1();
+        values[base + 7] = sample.getRatio2();
+        values[base + 8] = sample.getRatio3();
+        values[base + 9] = sample.getRatio4();
+        values[base + 10] = sample.getRatio5();
+        values[base + 11] = sample.getRatio6();
+        timestamps[slot] = sample.getTimestamp() != null ? sample.getTimestamp() : NO_TIMESTAMP;
+        sequences[slot] = sample.getSequence() != null ? sample.getSequence() : NO_SEQUENCE;
+        deviceTime[slot] = useDeviceTimestamp;
+        skipped[slot] = false;
+        deviceIds[slot] = sample.getDeviceId();
+        userIds[slot] = sample.getUserId();
+
+        // 값 기록 후 게시 (release)
+        published.lazySet(slot, seq);
+    }
+
+    /**
+     * 확보했지만 쓰지 않을 슬롯을 건너뜀으로 게시 (드롭으로 집계)
+     */
+    public void cancel(long seq, int count) {
+        for (long s = seq; s < seq + count; s++) {
+            int slot = (int) (s & mask);
+            skipped[slot] = true;
+            deviceIds[slot] = null;
+            userIds[slot] = null;
+            published.lazySet(slot, s);
+        }
+        dropped.addAndGet(count);
+    }
+
+    /**
+     * 다음 샘플을 target에 복사 (소비자 스레드 전용)
+     *
+     * @return 꺼낼 샘플이 없으면 false
+     */
+    public boolean poll(FSRDataDTO target) {
+        long seq = head;
+        int slot = (int) (seq & mask);
+        if (published.get(slot) != seq) {
+            return false;
+        }
+        while (skipped[slot]) {
+            skipped[slot] = false;
+            head = ++seq;
+            slot = (int) (seq & mask);
+            if (published.get(slot) != seq) {
+                return false;
+            }
+        }
+
+        target.setSide(sides[slot] == 1 ? "right" : "left");
+        int base = slot * CHANNELS;
+        target.setVoltage1(values[base]);
+        target.setVoltage2(values[base + 1]);
+        target.setVoltage3(values[base + 2]);
+        target.setVoltage4(values[base + 3]);
+        target.setVoltage5(values[base + 4]);
+        target.setVoltage6(values[base + 5]);
+        target.setRatio1(values[base + 6]);
+        target.setRatio2(values[base + 7]);
+        target.setRatio3(values[base + 8]);
+        target.setRatio4(values[base + 9]);
+        target.setRatio5(values[base + 10]);
+        target.setRatio6(values[base + 11]);
+        long timestamp = timestamps[slot];
+        target.setTimestamp(timestamp != NO_TIMESTAMP ? timestamp : null);
+        long sequence = sequences[slot];
+        target.setSequence(sequence != NO_SEQUENCE ? sequence : null);
+        target.setDeviceId(deviceIds[slot]);
+        target.setUserId(userIds[slot]);
+        lastPolledDeviceTime = deviceTime[slot];
+
+        // 참조 해제 후 슬롯 반환
+        deviceIds[slot] = null;
+        userIds[slot] = null;
+        head = seq + 1;
+        return true;
+    }
+
+    /**
+     * 직전에 poll한 슬롯이 디바이스 timestamp 유지 대상인지 (소비자 스레드 전용)
+     */
+    public boolean lastPolledUsesDeviceTime() {
+        return lastPolledDeviceTime;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public long offeredCount() {
+        return offered.get();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+}
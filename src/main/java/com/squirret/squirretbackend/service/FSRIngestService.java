@@ -0,0 +1,173 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FSR 샘플 수신 공통 경로
+ * JSON / 바이너리 등 입력 형식과 관계없이 전압→비율 변환 후 FSRDataService로 전달합니다.
+ * 샘플에 sequence가 있으면 디바이스별로 중복/재전송을 걸러내므로 같은 샘플을 여러 번 보내도 한 번만 반영됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FSRIngestService {
+
+    // 요청(HTTP 본문 / WebSocket 메시지) 하나에 담을 수 있는 최대 샘플 수
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final FSRDataService fsrDataService;
+    private final FSRAsyncIngestPipeline asyncIngestPipeline;
+    private final FSRSequenceTracker sequenceTracker;
+    private final FSRCalibrationService calibrationService;
+
+    /**
+     * 샘플 하나를 변환 후 반영
+     * 늦게 도착한 샘플(LATE)도 새 샘플과 같이 기록/저장되며, 최신값은 더 최근 timestamp일 때만 바뀝니다.
+     */
+    public Result ingest(FSRDataDTO data) {
+        FSRSequenceWindow.Status status = checkSequence(data);
+        if (status == FSRSequenceWindow.Status.DUPLICATE || status == FSRSequenceWindow.Status.STALE) {
+            return Result.DUPLICATE;
+        }
+
+        // 전압 값을 비율로 변환 (디바이스 보정 테이블이 있으면 보정 후 변환)
+        toRatios(data);
+
+        if (asyncIngestPipeline.isEnabled()) {
+            if (!asyncIngestPipeline.offer(data, false)) {
+                // 재전송을 중복으로 버리지 않도록 시퀀스를 되돌림
+                releaseSequence(data, status);
+                return Result.DROPPED;
+            }
+            return Result.QUEUED;
+        }
+        fsrDataService.updateData(data);
+        return Result.APPLIED;
+    }
+
+    /**
+     * 여러 샘플을 변환 후 한 번에 반영 (샘플별 디바이스 timestamp 유지)
+     * 중복 샘플은 제외되며, 늦게 도착한 샘플은 디바이스 timestamp 순서로 반영됩니다. (호출 측 목록은 변경하지 않음)
+     * 모두 중복이면 DUPLICATE, 비동기 모드에서 링 공간이 부족하면 배치 전체를 게시하지 않고
+     * 받아들인 시퀀스를 모두 되돌린 뒤 DROPPED를 반환합니다.
+     */
+    public Result ingestBatch(List<FSRDataDTO> samples) {
+        List<FSRDataDTO> accepted = new ArrayList<>(samples.size());
+        List<FSRSequenceWindow.Status> statuses = new ArrayList<>(samples.size());
+        int duplicates = 0;
+        for (FSRDataDTO sample : samples) {
+            if (sample == null || sample.getSide() == null) {
+                continue;
+            }
+            FSRSequenceWindow.Status status = checkSequence(sample);
+            if (status == FSRSequenceWindow.Status.DUPLICATE || status == FSRSequenceWindow.Status.STALE) {
+                duplicates++;
+            } else {
+                accepted.add(sample);
+                statuses.add(status);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return duplicates > 0 ? Result.DUPLICATE : Result.APPLIED;
+        }
+        if (duplicates > 0) {
+            log.debug("FSR 배치 중복 샘플 제외: removed={}, remaining={}", duplicates, accepted.size());
+        }
+
+        for (FSRDataDTO sample : accepted) {
+            toRatios(sample);
+        }
+
+        if (asyncIngestPipeline.isEnabled()) {
+            // 전부 게시하거나 전부 드롭 (503 후 재전송해도 일부만 두 번 반영되지 않음)
+            if (!asyncIngestPipeline.offerAll(accepted)) {
+                for (int i = 0; i < accepted.size(); i++) {
+                    releaseSequence(accepted.get(i), statuses.get(i));
+                }
+                log.warn("FSR 비동기 수신 링에 공간이 부족해 배치 드롭: size={}", accepted.size());
+                return Result.DROPPED;
+            }
+            return Result.QUEUED;
+        }
+        fsrDataService.updateBatch(accepted);
+        return Result.APPLIED;
+    }
+
+    /**
+     * 시퀀스 번호 판정 (sequence가 없는 샘플은 항상 NEW)
+     */
+    private FSRSequenceWindow.Status checkSequence(FSRDataDTO sample) {
+        if (sample == null || sample.getSequence() == null) {
+            return FSRSequenceWindow.Status.NEW;
+        }
+        return sequenceTracker.accept(deviceKey(sample), sample.getSequence());
+    }
+
+    private void releaseSequence(FSRDataDTO sample, FSRSequenceWindow.Status status) {
+        if (sample.getSequence() != null) {
+            sequenceTracker.release(deviceKey(sample), sample.getSequence(), status);
+        }
+    }
+
+    /**
+     * 시퀀스 추적 키: deviceId, 없으면 사용자 스트림과 side 조합
+     */
+    private String deviceKey(FSRDataDTO sample) {
+        return sample.getDeviceId() != null
+                ? sample.getDeviceId()
+                : fsrDataService.resolveUserKey(sample.getUserId(), null) + ":" + sample.getSide();
+    }
+
+    private void toRatios(FSRDataDTO data) {
+        if (!calibrationService.applyCalibration(data)) {
+            convertVoltageToRatio(data);
+        }
+    }
+
+    /**
+     * 전압 값을 비율로 변환하는 메서드
+     * 아두이노에서 전압(voltage1~6)을 전송하면, 이를 비율(ratio1~6)로 변환합니다.
+     * 총 전압이 0이면(전압 미전송 포함) 아두이노에서 보낸 ratio를 그대로 유지합니다.
+     * 샘플마다 호출되므로 박싱/로그 인자 배열이 생기지 않도록 primitive로만 계산합니다.
+     */
+    void convertVoltageToRatio(FSRDataDTO data) {
+        float voltage1 = data.getVoltage1();
+        float voltage2 = data.getVoltage2();
+        float voltage3 = data.getVoltage3();
+        float voltage4 = data.getVoltage4();
+        float voltage5 = data.getVoltage5();
+        float voltage6 = data.getVoltage6();
+
+        // 총 전압 계산
+        float totalVoltage = voltage1 + voltage2 + voltage3 + voltage4 + voltage5 + voltage6;
+
+        // totalVoltage가 0이면 ratio를 0으로 덮어쓰지 않고 그대로 유지
+        // (아두이노에서 이미 ratio를 보낸 경우를 위해)
+        if (totalVoltage <= 0) {
+            return;
+        }
+
+        float scale = 100.0f / totalVoltage;
+        data.setRatio1(voltage1 * scale);
+        data.setRatio2(voltage2 * scale);
+        data.setRatio3(voltage3 * scale);
+        data.setRatio4(voltage4 * scale);
+        data.setRatio5(voltage5 * scale);
+        data.setRatio6(voltage6 * scale);
+    }
+
+    /**
+     * 수신 처리 결과
+     * APPLIED: 요청 스레드에서 바로 반영 / QUEUED: 비동기 링에 게시 / DROPPED: 링이 가득 차 버림
+     * DUPLICATE: 이미 받은 시퀀스라 무시
+     */
+    public enum Result {
+        APPLIED, QUEUED, DROPPED, DUPLICATE
+    }
+}
@@ -0,0 +1,167 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link FSRSessionJournal} 파일 읽기 전용 뷰 (재생/분석용)
+ *
+ * 열 때의 헤더 레코드 수만큼 읽기 전용으로 매핑하므로, 기록 중이거나 비정상 종료로 봉인되지 않은 파일도
+ * 마지막으로 기록된 레코드까지 읽을 수 있습니다.
+ */
+public class FSRJournalReader {
+
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer records;
+    private final long count;
+
+    private FSRJournalReader(MappedByteBuffer header, MappedByteBuffer records, long count) {
+        this.header = header;
+        this.records = records;
+        this.count = count;
+    }
+
+    /**
+     * @throws IOException 파일이 없거나 기록 파일 형식이 아닌 경우
+     */
+    public static FSRJournalReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < FSRSessionJournal.HEADER_SIZE) {
+                throw new IOException("not a journal file (too short): " + path);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, FSRSessionJournal.HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != FSRSessionJournal.MAGIC
+                    || header.getInt(FSRSessionJournal.OFF_RECORD_SIZE) != FSRSessionJournal.RECORD_SIZE) {
+                throw new IOException("not a journal file: " + path);
+            }
+            long count = header.getLong(FSRSessionJournal.OFF_RECORD_COUNT);
+            long available = (channel.size() - FSRSessionJournal.HEADER_SIZE) / FSRSessionJournal.RECORD_SIZE;
+            count = Math.min(count, available);
+            long bytes = count * FSRSessionJournal.RECORD_SIZE;
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IOException("journal too large to map: " + path);
+            }
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, FSRSessionJournal.HEADER_SIZE, bytes);
+            records.order(ByteOrder.LITTLE_ENDIAN);
+            return new FSRJournalReader(header, records, count);
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isSealed() {
+        return (header.getShort(FSRSessionJournal.OFF_FLAGS) & FSRSessionJournal.FLAG_SEALED) != 0;
+    }
+
+    public long createdAt() {
+        return header.getLong(FSRSessionJournal.OFF_CREATED_AT);
+    }
+
+    public long sealedAt() {
+        return header.getLong(FSRSessionJournal.OFF_SEALED_AT);
+    }
+
+    public String sessionId() {
+        return readId(FSRSessionJournal.OFF_SESSION_ID);
+    }
+
+    public String userId() {
+        return readId(FSRSessionJournal.OFF_USER_ID);
+    }
+
+    private String readId(int at) {
+        int length = Math.min(header.getShort(at), FSRSessionJournal.MAX_ID_BYTES);
+        byte[] bytes = new byte[Math.max(0, length)];
+        header.get(at + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public long timestamp(int i) {
+        return records.getLong(i * FSRSessionJournal.RECORD_SIZE + FSRSessionJournal.REC_TIMESTAMP);
+    }
+
+    /**
+     * @return 시퀀스 번호 (uint32), 없으면 -1
+     */
+    public long sequence(int i) {
+        int raw = records.getInt(i * FSRSessionJournal.RECORD_SIZE + FSRSessionJournal.REC_SEQUENCE);
+        return raw == -1 ? -1 : Integer.toUnsignedLong(raw);
+    }
+
+    public String side(int i) {
+        byte side = records.get(i * FSRSessionJournal.RECORD_SIZE + FSRSessionJournal.REC_SIDE);
+        return side == FSRBinaryFrameDecoder.SIDE_LEFT ? "left" : side == FSRBinaryFrameDecoder.SIDE_RIGHT ? "right" : null;
+    }
+
+    /**
+     * 채널(0~5) 전압
+     */
+    public float voltage(int i, int channel) {
+        return records.getFloat(i * FSRSessionJournal.RECORD_SIZE + FSRSessionJournal.REC_VOLTAGE + channel * Float.BYTES);
+    }
+
+    /**
+     * 채널(0~5 = ratio1~6) 비율
+     */
+    public float ratio(int i, int channel) {
+        return records.getFloat(i * FSRSessionJournal.RECORD_SIZE + FSRSessionJournal.REC_RATIO + channel * Float.BYTES);
+    }
+
+    /**
+     * timestamp가 from 이상인 첫 레코드 위치 추정 (희소 인덱스로 시작점을 찾은 뒤 순차 탐색)
+     * 기록 순서 기준이므로 timestamp가 뒤섞인 구간에서는 그 구간의 시작 위치를 반환할 수 있습니다.
+     */
+    public int seek(long from) {
+        int stride = header.getInt(FSRSessionJournal.OFF_INDEX_STRIDE);
+        int entries = header.getInt(FSRSessionJournal.OFF_INDEX_COUNT);
+        int lo = 0;
+        int hi = entries - 1;
+        int start = 0;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (header.getLong(FSRSessionJournal.OFF_INDEX + mid * Long.BYTES) < from) {
+                start = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        long i = Math.min((long) start * stride, count);
+        while (i < count && timestamp((int) i) < from) {
+            i++;
+        }
+        return (int) i;
+    }
+
+    /**
+     * i번째 레코드를 target에 채움
+     */
+    public void read(int i, FSRDataDTO target) {
+        target.setTimestamp(timestamp(i));
+        long sequence = sequence(i);
+        target.setSequence(sequence >= 0 ? sequence : null);
+        target.setSide(side(i));
+        target.setVoltage1(voltage(i, 0));
+        target.setVoltage2(voltage(i, 1));
+        target.setVoltage3(voltage(i, 2));
+        target.setVoltage4(voltage(i, 3));
+        target.setVoltage5(voltage(i, 4));
+        target.setVoltage6(voltage(i, 5));
+        target.setRatio1(ratio(i, 0));
+        target.setRatio2(ratio(i, 1));
+        target.setRatio3(ratio(i, 2));
+        target.setRatio4(ratio(i, 3));
+        target.setRatio5(ratio(i, 4));
+        target.setRatio6(ratio(i, 5));
+    }
+}
@@ -0,0 +1,105 @@
+package com.squirret.squirretbackend.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+import java.io.IOException;
+
+/**
+ * FSRDataDTO 전용 스트리밍 JSON 디코더
+ * Jackson 토큰 API로 필드를 직접 읽어 DTO를 채웁니다. (문자열 중간 생성, 리플렉션 바인딩 없음)
+ * 알 수 없는 필드는 건너뜁니다.
+ */
+public final class FSRJsonDecoder {
+
+    private FSRJsonDecoder() {
+    }
+
+    /**
+     * 파서의 현재(또는 다음) START_OBJECT 토큰부터 객체 하나를 읽어 target에 채웁니다.
+     * target은 먼저 초기화되므로 재사용 DTO를 넘겨도 됩니다.
+     */
+    public static void decode(JsonParser parser, FSRDataDTO target) throws IOException {
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("FSR JSON must be an object but was " + token);
+        }
+        reset(target);
+
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "side" -> target.setSide(value == JsonToken.VALUE_NULL ? null : parser.getText());
+                case "deviceId" -> target.setDeviceId(value == JsonToken.VALUE_NULL ? null : parser.getText());
+                case "userId" -> target.setUserId(value == JsonToken.VALUE_NULL ? null : parser.getText());
+                case "timestamp" -> target.setTimestamp(value == JsonToken.VALUE_NULL ? null : readLong(parser, value));
+                case "sequence" -> target.setSequence(value == JsonToken.VALUE_NULL ? null : readLong(parser, value));
+                case "voltage1" -> target.setVoltage1(readFloat(parser, value));
+                case "voltage2" -> target.setVoltage2(readFloat(parser, value));
+                case "voltage3" -> target.setVoltage3(readFloat(parser, value));
+                case "voltage4" -> target.setVoltage4(readFloat(parser, value));
+                case "voltage5" -> target.setVoltage5(readFloat(parser, value));
+                case "voltage6" -> target.setVoltage6(readFloat(parser, value));
+                case "ratio1" -> target.setRatio1(readFloat(parser, value));
+                case "ratio2" -> target.setRatio2(readFloat(parser, value));
+                case "ratio3" -> target.setRatio3(readFloat(parser, value));
+                case "ratio4" -> target.setRatio4(readFloat(parser, value));
+                case "ratio5" -> target.setRatio5(readFloat(parser, value));
+                case "ratio6" -> target.setRatio6(readFloat(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new IOException("Unexpected token in FSR JSON: " + token);
+        }
+    }
+
+    private static float readFloat(JsonParser parser, JsonToken value) throws IOException {
+        return switch (value) {
+            case VALUE_NUMBER_FLOAT, VALUE_NUMBER_INT -> parser.getFloatValue();
+            case VALUE_NULL -> 0f;
+            // 일부 펌웨어는 숫자를 문자열로 보냄 (databind 기본 동작과 동일하게 허용)
+            case VALUE_STRING -> parseFloat(parser.getText());
+            default -> throw new IOException("Expected number for " + parser.currentName() + " but was " + value);
+        };
+    }
+
+    private static long readLong(JsonParser parser, JsonToken value) throws IOException {
+        return switch (value) {
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            case VALUE_NUMBER_FLOAT -> (long) parser.getDoubleValue();
+            case VALUE_STRING -> Long.parseLong(parser.getText().trim());
+            default -> throw new IOException("Expected number for " + parser.currentName() + " but was " + value);
+        };
+    }
+
+    private static float parseFloat(String text) throws IOException {
+        try {
+            return text.isBlank() ? 0f : Float.parseFloat(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number: " + text, e);
+        }
+    }
+
+    private static void reset(FSRDataDTO target) {
+        target.setSide(null);
+        target.setDeviceId(null);
+        target.setUserId(null);
+        target.setTimestamp(null);
+        target.setSequence(null);
+        target.setVoltage1(0f);
+        target.setVoltage2(0f);
+        target.setVoltage3(0f);
+        target.setVoltage4(0f);
+        target.setVoltage5(0f);
+        target.setVoltage6(0f);
+        target.setRatio1(0f);
+        target.setRatio2(0f);
+        target.setRatio3(0f);
+        target.setRatio4(0f);
+        target.setRatio5(0f);
+        target.setRatio6(0f);
+    }
+}
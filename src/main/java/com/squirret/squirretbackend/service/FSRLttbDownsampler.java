@@ -0,0 +1,181 @@
+package com.squirret.squirretbackend.service;
+
+import java.io.IOException;
+
+/**
+ * 스트리밍 Largest-Triangle-Three-Buckets 다운샘플러
+ *
+ * 전체 점 개수(total)를 미리 알고 점을 순서대로 받으면서, 현재 버킷과 다음 버킷만 메모리에 둡니다.
+ * 다음 버킷이 다 차면 (직전 선택점, 현재 버킷의 후보, 다음 버킷 평균)이 이루는 삼각형 넓이가 가장 큰 점을 골라
+ * 바로 내보내므로, 원본이 아무리 길어도 메모리는 버킷 두 개 크기(total / threshold 수준)입니다.
+ * total이 threshold 이하이면 모든 점을 그대로 내보냅니다.
+ */
+public class FSRLttbDownsampler {
+
+    /**
+     * 선택된 점을 받는 쪽 (시간 순서대로 호출)
+     */
+    public interface Sink {
+        void accept(long timestamp, float value) throws IOException;
+    }
+
+    private final long total;
+    private final Sink sink;
+    // 첫/마지막 점을 뺀 점 수와 그 사이 버킷 수 (버킷 경계는 정수 연산으로 계산)
+    private final long span;
+    private final int buckets;
+
+    private final boolean passThrough;
+    private long index;
+
+    // 직전에 선택된 점
+    private long selectedTimestamp;
+    private float selectedValue;
+
+    // 현재 버킷(후보)과 다음 버킷(평균용)
+    private Bucket current;
+    private Bucket next;
+    private int bucket;
+    private long nextBucketEnd;
+
+    public FSRLttbDownsampler(long total, int threshold, Sink sink) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("threshold must be >= 3: " + threshold);
+        }
+        this.total = total;
+        this.sink = sink;
+        this.passThrough = total <= threshold;
+        this.span = total - 2;
+        this.buckets = threshold - 2;
+        if (!passThrough) {
+            // 버킷 하나의 최대 크기 ceil(span / buckets)
+            int capacity = (int) ((span + buckets - 1) / buckets);
+            this.current = new Bucket(capacity);
+            this.next = new Bucket(capacity);
+        }
+    }
+
+    /**
+     * 다음 점 (total개를 넘는 점은 무시)
+     */
+    public void add(long timestamp, float value) throws IOException {
+        long i = index++;
+        if (i >= total) {
+            return;
+        }
+        if (passThrough) {
+            sink.accept(timestamp, value);
+            return;
+        }
+        if (i == 0) {
+            // 첫 점은 항상 선택
+            selectedTimestamp = timestamp;
+            selectedValue = value;
+            sink.accept(timestamp, value);
+            bucket = 0;
+            nextBucketEnd = bucketEnd(0);
+            return;
+        }
+        if (i == total - 1) {
+            // 마지막 점: 남은 버킷을 마지막 점 기준으로 처리한 뒤 마지막 점을 선택
+            if (current.size > 0) {
+                emitFrom(current, timestamp, value);
+            }
+            if (next.size > 0) {
+                emitFrom(next, timestamp, value);
+            }
+            sink.accept(timestamp, value);
+            return;
+        }
+
+        next.add(timestamp, value);
+        if (i + 1 == nextBucketEnd) {
+            // 다음 버킷이 다 참: 현재 버킷에서 한 점 선택 후 한 칸 이동
+            if (current.size > 0) {
+                emitFrom(current, next.averageTimestamp(), next.averageValue());
+            }
+            Bucket swap = current;
+            current = next;
+            next = swap;
+            next.clear();
+            bucket++;
+            nextBucketEnd = bucketEnd(bucket);
+        }
+    }
+
+    /**
+     * 입력 종료 (total보다 적은 점이 들어온 경우 남은 버킷에서 한 점씩 선택)
+     */
+    public void finish() throws IOException {
+        if (passThrough || index == 0 || index >= total) {
+            return;
+        }
+        if (current.size > 0) {
+            emitFrom(current, next.size > 0 ? next.averageTimestamp() : current.averageTimestamp(),
+                    next.size > 0 ? next.averageValue() : current.averageValue());
+        }
+        if (next.size > 0) {
+            emitFrom(next, next.averageTimestamp(), next.averageValue());
+        }
+    }
+
+    /**
+     * 버킷 b(0부터)의 끝 위치 (배타적, 첫 점 다음의 span개를 buckets개로 나눔)
+     * 부동소수점 곱은 경계에서 내림이 어긋나 버킷이 하나 더 생길 수 있으므로 정수로 계산합니다.
+     */
+    private long bucketEnd(int b) {
+        return 1 + (long) (b + 1) * span / buckets;
+    }
+
+    private void emitFrom(Bucket candidates, double nextTimestamp, double nextValue) throws IOException {
+        double maxArea = -1;
+        int chosen = 0;
+        for (int k = 0; k < candidates.size; k++) {
+            double area = Math.abs((selectedTimestamp - nextTimestamp) * (candidates.values[k] - selectedValue)
+                    - (selectedTimestamp - candidates.timestamps[k]) * (nextValue - selectedValue));
+            if (area > maxArea) {
+                maxArea = area;
+                chosen = k;
+            }
+        }
+        selectedTimestamp = candidates.timestamps[chosen];
+        selectedValue = candidates.values[chosen];
+        sink.accept(selectedTimestamp, selectedValue);
+        candidates.clear();
+    }
+
+    private static final class Bucket {
+        private final long[] timestamps;
+        private final float[] values;
+        private int size;
+        private double sumTimestamp;
+        private double sumValue;
+
+        Bucket(int capacity) {
+            this.timestamps = new long[capacity];
+            this.values = new float[capacity];
+        }
+
+        void add(long timestamp, float value) {
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+            sumTimestamp += timestamp;
+            sumValue += value;
+        }
+
+        double averageTimestamp() {
+            return sumTimestamp / size;
+        }
+
+        double averageValue() {
+            return sumValue / size;
+        }
+
+        void clear() {
+            size = 0;
+            sumTimestamp = 0;
+            sumValue = 0;
+        }
+    }
+}
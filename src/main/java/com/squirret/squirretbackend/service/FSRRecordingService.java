@@ -0,0 +1,171 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 운동 세션별 FSR 샘플 기록 ({@link FSRSessionJournal})
+ *
+ * 세션 등록 시 세션별 기록 파일을 열고, 수신 경로는 세션 스트림(세션에 연결된 디바이스)에 반영할 때 같은 샘플을 기록합니다.
+ * 세션 완료 시 파일을 봉인하며, 열려 있는 파일은 fsr.recording.flush-interval-ms마다 디스크에 반영합니다.
+ * 파일은 fsr.recording.dir 아래 {sessionId}.fsrj 로 저장되며, 봉인 후 {@link FSRArchiveService}가 압축 아카이브로 변환합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FSRRecordingService {
+
+    public static final String FILE_SUFFIX = ".fsrj";
+
+    // 파일 이름으로 쓰므로 경로 문자를 막음
+    private static final Pattern SESSION_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    @Value("${fsr.recording.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fsr.recording.dir:data/fsr-sessions}")
+    private String directory;
+
+    private final FSRArchiveService archiveService;
+
+    private Path root;
+
+    // sessionId(세션 스트림 키) -> 기록 중인 파일
+    private final Map<String, FSRSessionJournal> bySession = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(directory).toAbsolutePath();
+        if (enabled) {
+            Files.createDirectories(root);
+            log.info("FSR 세션 기록 활성화: dir={}", root);
+            archiveLeftovers();
+        }
+    }
+
+    /**
+     * 이전 실행에서 아카이브되지 못한 기록 파일 변환 (비정상 종료로 봉인되지 않은 파일 포함)
+     */
+    private void archiveLeftovers() throws IOException {
+        if (!archiveService.isEnabled()) {
+            return;
+        }
+        List<Path> leftovers;
+        try (Stream<Path> files = Files.list(root)) {
+            leftovers = files.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .filter(path -> !Files.exists(FSRArchiveService.archivePathOf(path)))
+                    .toList();
+        }
+        if (!leftovers.isEmpty()) {
+            log.info("FSR 이전 세션 기록 아카이브 예약: files={}", leftovers.size());
+            leftovers.forEach(archiveService::archiveAsync);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 세션 기록 시작 (세션에 연결된 디바이스의 샘플을 기록, userId는 파일 헤더용)
+     * 파일을 만들지 못하면 기록 없이 진행합니다.
+     */
+    public void startRecording(String sessionId, String userId) {
+        if (!enabled || !isValidSessionId(sessionId) || userId == null || bySession.containsKey(sessionId)) {
+            return;
+        }
+        try {
+            FSRSessionJournal journal = FSRSessionJournal.create(pathOf(sessionId), sessionId, userId);
+            bySession.put(sessionId, journal);
+            log.info("FSR 세션 기록 시작: sessionId={}, userId={}, file={}", sessionId, userId, journal.path());
+        } catch (IOException e) {
+            log.warn("FSR 세션 기록 파일 생성 실패 (기록 없이 진행): sessionId={}, error={}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * 수신 경로에서 호출: 스트림 키가 기록 중인 세션이면 샘플 한 개 기록
+     */
+    public void record(String streamKey, long timestamp, FSRDataDTO sample) {
+        FSRSessionJournal journal = bySession.get(streamKey);
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.append(timestamp, sample);
+        } catch (IllegalStateException e) {
+            log.warn("FSR 세션 기록 중단: sessionId={}, error={}", journal.sessionId(), e.getMessage());
+            finishRecording(journal.sessionId());
+        }
+    }
+
+    /**
+     * 세션 기록 봉인
+     */
+    public void finishRecording(String sessionId) {
+        FSRSessionJournal journal = sessionId != null ? bySession.remove(sessionId) : null;
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.seal();
+            log.info("FSR 세션 기록 봉인: sessionId={}, records={}", sessionId, journal.count());
+        } catch (IOException e) {
+            log.warn("FSR 세션 기록 봉인 실패: sessionId={}, error={}", sessionId, e.getMessage());
+        }
+        archiveService.archiveAsync(journal.path());
+    }
+
+    /**
+     * 열려 있는 기록 파일을 주기적으로 디스크에 반영 (OS 장애 시 이 시점까지 보존)
+     */
+    @Scheduled(fixedDelayString = "${fsr.recording.flush-interval-ms:1000}")
+    public void flush() {
+        for (FSRSessionJournal journal : bySession.values()) {
+            try {
+                journal.force();
+            } catch (RuntimeException e) {
+                log.warn("FSR 세션 기록 flush 실패: sessionId={}, error={}", journal.sessionId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 종료 시 열린 기록은 봉인하지 않고 디스크에만 반영 (완료되지 않은 세션으로 남김)
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 세션 기록 파일 경로 (sessionId 형식이 잘못되었으면 null)
+     */
+    public Path getRecordingPath(String sessionId) {
+        return isValidSessionId(sessionId) ? pathOf(sessionId) : null;
+    }
+
+    private Path pathOf(String sessionId) {
+        return root.resolve(sessionId + FILE_SUFFIX);
+    }
+
+    private boolean isValidSessionId(String sessionId) {
+        return sessionId != null && SESSION_ID_PATTERN.matcher(sessionId).matches();
+    }
+}
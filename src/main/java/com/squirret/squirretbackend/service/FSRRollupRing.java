@@ -0,0 +1,188 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.dto.FSRRollupResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 한쪽 발의 고정 해상도 롤업 버킷 링 (ratio1~6별 min / max / 합계 / 개수)
+ *
+ * 버킷 번호는 timestamp / 해상도이며, 링의 (버킷 번호 % 용량) 칸에 기록합니다.
+ * 칸마다 버킷 번호를 함께 저장해 두고 번호가 다르면 더 최근 버킷일 때만 칸을 새로 시작하므로,
+ * 빈 구간을 지우는 작업 없이 순서가 뒤바뀐 샘플도 링 범위 안이면 해당 버킷에 반영됩니다.
+ * 배열은 첫 샘플이 들어올 때 작게 할당하고, 기록된 버킷 범위가 넘칠 때마다 두 배씩(최대 용량까지) 늘립니다.
+ * 잠깐 연결됐다 끊긴 스트림은 용량 전체를 잡지 않으며, 용량에 도달한 뒤의 추가는 할당 없이 O(1)입니다.
+ *
+ * 스레드 안전하지 않으므로 호출 측에서 동기화해야 합니다.
+ */
+public class FSRRollupRing {
+
+    public static final int CHANNELS = FSRHistoryRing.CHANNELS;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int INITIAL_SLOTS = 16;
+    private static final long SLOT_BYTES = Long.BYTES + Integer.BYTES + 3L * CHANNELS * Float.BYTES;
+
+    private final long resolutionMillis;
+    private final int capacity;
+
+    // 현재 할당된 칸 수 (0이면 아직 미할당, 최대 capacity)
+    private int slots;
+    private long[] bucketIndex;
+    private int[] counts;
+    // 채널 c의 slot 값은 [slot * CHANNELS + c]
+    private float[] mins;
+    private float[] maxs;
+    private float[] sums;
+
+    // 지금까지 기록한 가장 최근 / 가장 오래된 버킷 번호
+    private long latest = EMPTY;
+    private long oldest = EMPTY;
+
+    public FSRRollupRing(long resolutionMillis, int capacity) {
+        if (resolutionMillis <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("resolution and capacity must be positive");
+        }
+        this.resolutionMillis = resolutionMillis;
+        this.capacity = capacity;
+    }
+
+    /**
+     * 샘플의 ratio1~6을 timestamp가 속한 버킷에 반영
+     *
+     * @return 링 범위보다 오래되어 버렸으면 false
+     */
+    public boolean add(long timestamp, FSRDataDTO sample) {
+        long index = Math.floorDiv(timestamp, resolutionMillis);
+        if (latest != EMPTY && index <= latest - capacity) {
+            return false;
+        }
+        ensureSlots(index);
+        int slot = (int) Math.floorMod(index, (long) slots);
+        int base = slot * CHANNELS;
+        if (bucketIndex[slot] != index) {
+            // 칸에 남아 있는 버킷은 항상 index보다 오래된 버킷 (위에서 범위 밖 샘플을 걸렀음)
+            bucketIndex[slot] = index;
+            counts[slot] = 0;
+            Arrays.fill(mins, base, base + CHANNELS, Float.POSITIVE_INFINITY);
+            Arrays.fill(maxs, base, base + CHANNELS, Float.NEGATIVE_INFINITY);
+            Arrays.fill(sums, base, base + CHANNELS, 0f);
+        }
+        accumulate(base, sample.getRatio1());
+        accumulate(base + 1, sample.getRatio2());
+        accumulate(base + 2, sample.getRatio3());
+        accumulate(base + 3, sample.getRatio4());
+        accumulate(base + 4, sample.getRatio5());
+        accumulate(base + 5, sample.getRatio6());
+        counts[slot]++;
+        if (latest == EMPTY || index > latest) {
+            latest = index;
+        }
+        if (oldest == EMPTY || index < oldest) {
+            oldest = index;
+        }
+        return true;
+    }
+
+    /**
+     * index를 기록해도 지금까지의 버킷이 모두 남도록 칸 수를 늘림 (용량에 도달하면 그대로 덮어씀)
+     */
+    private void ensureSlots(long index) {
+        if (slots == capacity) {
+            return;
+        }
+        long span = latest == EMPTY ? 1 : Math.max(latest, index) - Math.min(oldest, index) + 1;
+        if (slots >= span) {
+            return;
+        }
+        int grown = slots == 0 ? INITIAL_SLOTS : slots * 2;
+        grown = (int) Math.min(capacity, Math.max(grown, span));
+
+        long[] oldIndex = bucketIndex;
+        int[] oldCounts = counts;
+        float[] oldMins = mins;
+        float[] oldMaxs = maxs;
+        float[] oldSums = sums;
+        bucketIndex = new long[grown];
+        counts = new int[grown];
+        mins = new float[grown * CHANNELS];
+        maxs = new float[grown * CHANNELS];
+        sums = new float[grown * CHANNELS];
+        Arrays.fill(bucketIndex, EMPTY);
+        // 늘리기 전에는 기록된 범위가 모두 칸 안에 있었으므로 새 위치끼리 겹치지 않음
+        for (int from = 0; from < slots; from++) {
+            long bucket = oldIndex[from];
+            if (bucket == EMPTY) {
+                continue;
+            }
+            int to = (int) Math.floorMod(bucket, (long) grown);
+            bucketIndex[to] = bucket;
+            counts[to] = oldCounts[from];
+            System.arraycopy(oldMins, from * CHANNELS, mins, to * CHANNELS, CHANNELS);
+            System.arraycopy(oldMaxs, from * CHANNELS, maxs, to * CHANNELS, CHANNELS);
+            System.arraycopy(oldSums, from * CHANNELS, sums, to * CHANNELS, CHANNELS);
+        }
+        slots = grown;
+    }
+
+    private void accumulate(int i, float value) {
+        if (value < mins[i]) mins[i] = value;
+        if (value > maxs[i]) maxs[i] = value;
+        sums[i] += value;
+    }
+
+    /**
+     * [from, to] 구간과 겹치는 버킷 (오래된 순, 샘플이 없는 버킷은 제외)
+     * 링에 남아 있는 버킷만 보므로 결과는 최대 용량 개입니다.
+     */
+    public List<FSRRollupResponse.Bucket> buckets(long from, long to) {
+        List<FSRRollupResponse.Bucket> result = new ArrayList<>();
+        if (latest == EMPTY || from > to) {
+            return result;
+        }
+        long first = Math.max(Math.floorDiv(from, resolutionMillis), latest - slots + 1);
+        long last = Math.min(Math.floorDiv(to, resolutionMillis), latest);
+        for (long index = first; index <= last; index++) {
+            int slot = (int) Math.floorMod(index, (long) slots);
+            if (bucketIndex[slot] != index) {
+                continue;
+            }
+            int base = slot * CHANNELS;
+            int count = counts[slot];
+            float[] min = new float[CHANNELS];
+            float[] max = new float[CHANNELS];
+            float[] mean = new float[CHANNELS];
+            for (int c = 0; c < CHANNELS; c++) {
+                min[c] = mins[base + c];
+                max[c] = maxs[base + c];
+                mean[c] = sums[base + c] / count;
+            }
+            result.add(FSRRollupResponse.Bucket.builder()
+                    .start(index * resolutionMillis)
+                    .count(count)
+                    .min(min)
+                    .max(max)
+                    .mean(mean)
+                    .build());
+        }
+        return result;
+    }
+
+    public long resolutionMillis() {
+        return resolutionMillis;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 현재 할당된 배열의 대략적인 크기
+     */
+    public long heapBytes() {
+        return slots * SLOT_BYTES;
+    }
+}
@@ -0,0 +1,106 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * DB 저장을 기다리는 한 세션의 FSR 샘플 묶음 (컬럼별 배열, 고정 크기)
+ * 한 번의 batchUpdate에 그대로 실리며, 행 바인딩은 {@link #bind(PreparedStatement, int)}가
+ * {@link FSRSamplePersistenceService#INSERT_SQL}의 파라미터 순서대로 수행합니다.
+ */
+public class FSRSampleBatch {
+
+    public static final int CHANNELS = 12;
+
+    private static final long NO_SEQUENCE = Long.MIN_VALUE;
+
+    private final String sessionId;
+    private final String userId;
+    private final long createdAt;
+
+    private final long[] timestamps;
+    private final long[] sequences;
+    private final boolean[] right;
+    // [row * 12 + c], c = 0~5 voltage1~6, 6~11 ratio1~6
+    private final float[] values;
+    private int size;
+
+    public FSRSampleBatch(String sessionId, String userId, int capacity, long createdAt) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.timestamps = new long[capacity];
+        this.sequences = new long[capacity];
+        this.right = new boolean[capacity];
+        this.values = new float[capacity * CHANNELS];
+    }
+
+    /**
+     * 샘플 한 개 추가 (값만 복사하므로 호출 후 sample 재사용 가능)
+     *
+     * @return 추가 후 가득 찼으면 true
+     */
+    public boolean append(long timestamp, FSRDataDTO sample) {
+        if (isFull()) {
+            throw new IllegalStateException("batch is full: " + timestamps.length);
+        }
+        int row = size;
+        Long sequence = sample.getSequence();
+        timestamps[row] = timestamp;
+        sequences[row] = sequence != null ? sequence : NO_SEQUENCE;
+        right[row] = "right".equalsIgnoreCase(sample.getSide());
+        int at = row * CHANNELS;
+        values[at] = sample.getVoltage1();
+        values[at + 1] = sample.getVoltage2();
+        values[at + 2] = sample.getVoltage3();
+        values[at + 3] = sample.getVoltage4();
+        values[at + 4] = sample.getVoltage5();
+        values[at + 5] = sample.getVoltage6();
+        values[at + 6] = sample.getRatio1();
+        values[at + 7] = sample.getRatio2();
+        values[at + 8] = sample.getRatio3();
+        values[at + 9] = sample.getRatio4();
+        values[at + 10] = sample.getRatio5();
+        values[at + 11] = sample.getRatio6();
+        size = row + 1;
+        return isFull();
+    }
+
+    /**
+     * row번째 샘플을 INSERT 파라미터로 바인딩
+     */
+    public void bind(PreparedStatement ps, int row) throws SQLException {
+        ps.setString(1, sessionId);
+        ps.setString(2, userId);
+        ps.setString(3, right[row] ? "right" : "left");
+        ps.setLong(4, timestamps[row]);
+        if (sequences[row] == NO_SEQUENCE) {
+            ps.setNull(5, Types.BIGINT);
+        } else {
+            ps.setLong(5, sequences[row]);
+        }
+        int at = row * CHANNELS;
+        for (int c = 0; c < CHANNELS; c++) {
+            ps.setFloat(6 + c, values[at + c]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == timestamps.length;
+    }
+
+    public String sessionId() {
+        return sessionId;
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,328 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.dto.FSRPersistenceStatsResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DB 저장에 동의한 세션의 FSR 샘플을 fsr_sample 테이블에 write-behind로 저장
+ *
+ * 수신 경로는 세션별 {@link FSRSampleBatch}에 값만 복사하고 반환합니다. 배치가 batch-size만큼 차거나
+ * flush-interval-ms가 지나면 쓰기 대기열로 넘어가고, 전용 스레드가 JdbcTemplate.batchUpdate로 한 번에 씁니다.
+ * (datasource URL의 rewriteBatchedStatements=true로 MySQL 드라이버가 multi-row INSERT로 합침)
+ * 요청 스레드는 DB를 기다리지 않으며, 저장 대기 행이 max-pending에 닿으면 버퍼가 새 샘플을 드롭하고 집계합니다.
+ * 쓰기가 밀리면 대기 중인 배치를 max-batches-per-flush개까지 한 번의 batchUpdate로 묶어 따라잡습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FSRSamplePersistenceService {
+
+    static final String INSERT_SQL = "INSERT INTO fsr_sample (session_id, user_id, side, sampled_at, sequence, "
+            + "voltage1, voltage2, voltage3, voltage4, voltage5, voltage6, "
+            + "ratio1, ratio2, ratio3, ratio4, ratio5, ratio6) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long RATE_WINDOW_MILLIS = 5_000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    @Value("${fsr.persistence.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fsr.persistence.batch-size:500}")
+    private int batchSize;
+
+    @Value("${fsr.persistence.flush-interval-ms:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${fsr.persistence.max-pending:50000}")
+    private int maxPending;
+
+    @Value("${fsr.persistence.max-batches-per-flush:8}")
+    private int maxBatchesPerFlush;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // sessionId(세션 스트림 키) -> 저장 중인 세션 버퍼
+    private final Map<String, SessionBuffer> bySession = new ConcurrentHashMap<>();
+
+    // 가득 찼거나 시간이 지난 배치 (flusher가 소비)
+    private final BlockingQueue<FSRSampleBatch> ready = new LinkedBlockingQueue<>();
+
+    // 세션 버퍼 + 대기열에 있는 행 수
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    // 아래 값은 flusher 스레드만 갱신
+    private volatile long written;
+    private volatile long failed;
+    private volatile long flushes;
+    private volatile long totalFlushNanos;
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+    private volatile double rowsPerSecond;
+
+    private Thread flusher;
+    private volatile boolean running;
+
+    private static final class SessionBuffer {
+        final String sessionId;
+        final String userId;
+        FSRSampleBatch current;
+        boolean closed;
+
+        SessionBuffer(String sessionId, String userId) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "fsr-persistence-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("FSR 샘플 DB 저장 활성화: batchSize={}, flushIntervalMs={}, maxPending={}",
+                batchSize, flushIntervalMillis, maxPending);
+    }
+
+    /**
+     * 종료 시 버퍼에 남은 샘플까지 저장 후 flusher 종료
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        for (SessionBuffer buffer : bySession.values()) {
+            detach(buffer, false);
+        }
+        running = false;
+        flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if (!ready.isEmpty()) {
+            log.warn("FSR 샘플 DB 저장 종료 시 미저장 배치: batches={}", ready.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 세션 저장 시작 (세션에 연결된 디바이스의 샘플을 저장, userId는 행에 함께 기록)
+     */
+    public void startSession(String sessionId, String userId) {
+        if (!enabled || sessionId == null || userId == null) {
+            return;
+        }
+        if (bySession.putIfAbsent(sessionId, new SessionBuffer(sessionId, userId)) != null) {
+            return;
+        }
+        log.info("FSR 샘플 DB 저장 시작: sessionId={}, userId={}", sessionId, userId);
+    }
+
+    /**
+     * 수신 경로에서 호출: 스트림 키가 저장 중인 세션이면 샘플 한 개를 버퍼에 추가 (DB를 기다리지 않음)
+     */
+    public void record(String streamKey, long timestamp, FSRDataDTO sample) {
+        SessionBuffer buffer = bySession.get(streamKey);
+        if (buffer == null) {
+            return;
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        FSRSampleBatch full = null;
+        synchronized (buffer) {
+            if (buffer.closed) {
+                pending.decrementAndGet();
+                return;
+            }
+            if (buffer.current == null) {
+                buffer.current = new FSRSampleBatch(buffer.sessionId, buffer.userId, batchSize, System.currentTimeMillis());
+            }
+            if (buffer.current.append(timestamp, sample)) {
+                full = buffer.current;
+                buffer.current = null;
+            }
+        }
+        accepted.increment();
+        if (full != null) {
+            ready.offer(full);
+        }
+    }
+
+    /**
+     * 세션 저장 마감 (남은 샘플은 다음 flush에서 저장)
+     */
+    public void finishSession(String sessionId) {
+        SessionBuffer buffer = sessionId != null ? bySession.remove(sessionId) : null;
+        if (buffer == null) {
+            return;
+        }
+        detach(buffer, true);
+        log.info("FSR 샘플 DB 저장 마감: sessionId={}", sessionId);
+    }
+
+    /**
+     * 세션 버퍼의 현재 배치를 쓰기 대기열로 이동
+     */
+    private void detach(SessionBuffer buffer, boolean close) {
+        FSRSampleBatch batch;
+        synchronized (buffer) {
+            buffer.closed |= close;
+            batch = buffer.current;
+            buffer.current = null;
+        }
+        if (batch != null && batch.size() > 0) {
+            ready.offer(batch);
+        }
+    }
+
+    private void flushLoop() {
+        long pollMillis = Math.max(10, flushIntervalMillis / 4);
+        long rateWindowStart = System.currentTimeMillis();
+        long rateWindowRows = 0;
+        List<FSRSampleBatch> batches = new ArrayList<>(maxBatchesPerFlush);
+
+        while (running || !ready.isEmpty()) {
+            try {
+                FSRSampleBatch first = ready.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batches.add(first);
+                    // 밀린 배치는 한 번의 batchUpdate로 묶음
+                    ready.drainTo(batches, maxBatchesPerFlush - 1);
+                    rateWindowRows += write(batches);
+                    batches.clear();
+                }
+
+                long now = System.currentTimeMillis();
+                sweepExpired(now);
+                if (now - rateWindowStart >= RATE_WINDOW_MILLIS) {
+                    rowsPerSecond = rateWindowRows * 1000.0 / (now - rateWindowStart);
+                    rateWindowStart = now;
+                    rateWindowRows = 0;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                batches.clear();
+                log.error("FSR 샘플 DB 저장 처리 오류", e);
+            }
+        }
+    }
+
+    /**
+     * flush-interval-ms가 지난 배치를 덜 찼더라도 대기열로 이동
+     */
+    private void sweepExpired(long now) {
+        for (SessionBuffer buffer : bySession.values()) {
+            FSRSampleBatch batch = null;
+            synchronized (buffer) {
+                if (buffer.current != null && now - buffer.current.createdAt() >= flushIntervalMillis) {
+                    batch = buffer.current;
+                    buffer.current = null;
+                }
+            }
+            if (batch != null) {
+                ready.offer(batch);
+            }
+        }
+    }
+
+    /**
+     * @return 저장된 행 수 (실패 시 0, 실패한 배치는 재시도하지 않고 버림)
+     */
+    private int write(List<FSRSampleBatch> batches) {
+        int rows = 0;
+        for (FSRSampleBatch batch : batches) {
+            rows += batch.size();
+        }
+        int total = rows;
+        long started = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                private int batchIndex;
+                private int offset;
+
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    // i는 0부터 순서대로 증가
+                    while (i - offset >= batches.get(batchIndex).size()) {
+                        offset += batches.get(batchIndex).size();
+                        batchIndex++;
+                    }
+                    batches.get(batchIndex).bind(ps, i - offset);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return total;
+                }
+            });
+            written += rows;
+            return rows;
+        } catch (DataAccessException e) {
+            failed += rows;
+            log.warn("FSR 샘플 DB 저장 실패: rows={}, sessionId={}, error={}",
+                    rows, batches.get(0).sessionId(), e.getMessage());
+            return 0;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            flushes++;
+            totalFlushNanos += elapsed;
+            lastFlushNanos = elapsed;
+            maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+            pending.addAndGet(-rows);
+            log.debug("FSR 샘플 DB 저장: rows={}, batches={}, elapsedMs={}", rows, batches.size(), elapsed / 1_000_000);
+        }
+    }
+
+    public FSRPersistenceStatsResponse getStats() {
+        long count = flushes;
+        return FSRPersistenceStatsResponse.builder()
+                .enabled(enabled)
+                .activeSessions(bySession.size())
+                .pending(pending.get())
+                .maxPending(maxPending)
+                .accepted(accepted.sum())
+                .dropped(dropped.sum())
+                .written(written)
+                .failed(failed)
+                .flushes(count)
+                .lastFlushMillis(lastFlushNanos / 1_000_000)
+                .avgFlushMillis(count > 0 ? totalFlushNanos / 1_000_000.0 / count : 0)
+                .maxFlushMillis(maxFlushNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRSequenceStatsResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 디바이스별 시퀀스 번호 추적기
+ * 펌웨어 재전송으로 생기는 중복 샘플을 걸러내고, 디바이스별 공백/중복 수를 집계합니다.
+ * deviceId 없는 샘플은 사용자 스트림:side 키를 쓰므로 키가 계속 늘 수 있어, 윈도우는 {@link UserStateStore}로 등록되어
+ * 메모리 예산을 넘으면 가장 오래 샘플이 없던 디바이스부터 제거됩니다. (다시 오면 새 윈도우로 시작)
+ */
+@Component
+public class FSRSequenceTracker implements UserStateStore {
+
+    // 윈도우 하나의 대략적인 크기: 객체 헤더 + 비트맵 배열 + 카운터 필드
+    private static final long WINDOW_BYTES = 16 + 16 + FSRSequenceWindow.WINDOW / 8 + 9 * Long.BYTES;
+
+    private final Map<String, FSRSequenceWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * 시퀀스 번호 판정 (디바이스별 윈도우 단위로 동기화)
+     */
+    public FSRSequenceWindow.Status accept(String deviceKey, long sequence) {
+        if (sequence < 0) {
+            return FSRSequenceWindow.Status.NEW;
+        }
+        FSRSequenceWindow window = windows.computeIfAbsent(deviceKey, k -> new FSRSequenceWindow());
+        synchronized (window) {
+            window.touch(System.currentTimeMillis());
+            return window.accept(sequence);
+        }
+    }
+
+    /**
+     * 받아들였지만 반영하지 못한 번호를 되돌림 (재전송을 중복으로 버리지 않도록)
+     */
+    public void release(String deviceKey, long sequence, FSRSequenceWindow.Status status) {
+        FSRSequenceWindow window = windows.get(deviceKey);
+        if (window == null) {
+            return;
+        }
+        synchronized (window) {
+            window.release(sequence, status);
+        }
+    }
+
+    public FSRSequenceStatsResponse getStats(String deviceKey) {
+        FSRSequenceWindow window = windows.get(deviceKey);
+        return window != null ? toStats(deviceKey, window) : null;
+    }
+
+    public List<FSRSequenceStatsResponse> getAllStats() {
+        List<FSRSequenceStatsResponse> stats = new ArrayList<>();
+        windows.forEach((deviceKey, window) -> stats.add(toStats(deviceKey, window)));
+        return stats;
+    }
+
+    @Override
+    public String storeName() {
+        return "fsrSequence";
+    }
+
+    @Override
+    public void forEachEntry(EntryConsumer consumer) {
+        windows.forEach((deviceKey, window) -> consumer.accept(deviceKey,
+                MAP_ENTRY_BYTES + WINDOW_BYTES + UserStateStore.stringBytes(deviceKey),
+                window.getLastActiveMillis()));
+    }
+
+    @Override
+    public boolean evict(String deviceKey) {
+        return windows.remove(deviceKey) != null;
+    }
+
+    private FSRSequenceStatsResponse toStats(String deviceKey, FSRSequenceWindow window) {
+        synchronized (window) {
+            return FSRSequenceStatsResponse.builder()
+                    .deviceKey(deviceKey)
+                    .highestSequence(window.getHighest())
+                    .received(window.getReceived())
+                    .duplicates(window.getDuplicates())
+                    .gaps(window.getGaps())
+                    .late(window.getLate())
+                    .stale(window.getStale())
+                    .restarts(window.getRestarts())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.squirret.squirretbackend.service;
+
+import java.util.Arrays;
+
+/**
+ * 디바이스 한 대의 시퀀스 번호 슬라이딩 윈도우 (최근 {@link #WINDOW}개 비트맵)
+ *
+ * 가장 큰 시퀀스를 기준으로 비트맵을 밀어 가며 중복을 O(1)로 걸러내고, 건너뛴 번호를 공백(gap)으로 셉니다.
+ * 건너뛴 번호가 뒤늦게 도착하면 공백에서 빼고 LATE로 받아들입니다. 생성 이후에는 할당하지 않습니다.
+ * 받아들인 샘플을 반영하지 못했으면(수신 링이 가득 참 등) {@link #release}로 되돌려 재전송을 다시 받습니다.
+ * 작은 번호({@link #RESTART_MAX_SEQUENCE} 미만)로 크게({@link #RESTART_MIN_JUMP} 이상) 되돌아가면
+ * 최고 번호와 관계없이 디바이스 재부팅으로 보고 윈도우를 다시 시작합니다.
+ * 스레드 안전하지 않으므로 호출 측에서 동기화해야 합니다.
+ */
+public class FSRSequenceWindow {
+
+    public static final int WINDOW = 1024;
+
+    // 재부팅 판정: 이 번호보다 작은 번호로, 최고 번호에서 이만큼 이상 되돌아간 경우
+    static final long RESTART_MAX_SEQUENCE = 64;
+    static final long RESTART_MIN_JUMP = 64;
+
+    private static final int WORDS = WINDOW / Long.SIZE;
+
+    public enum Status {
+        /** 지금까지 가장 큰 번호 (정상 순서) */
+        NEW,
+        /** 윈도우 안에서 뒤늦게 도착한 미수신 번호 */
+        LATE,
+        /** 이미 받은 번호 (재전송) */
+        DUPLICATE,
+        /** 윈도우보다 오래된 번호 */
+        STALE
+    }
+
+    private final long[] bits = new long[WORDS];
+    private long highest = -1;
+
+    private long received;
+    private long duplicates;
+    private long gaps;
+    private long late;
+    private long stale;
+    private long restarts;
+
+    // 마지막으로 번호를 판정한 시각 (메모리 예산 초과 시 제거 순서, 동기화 없이 읽음)
+    private volatile long lastActiveMillis;
+
+    public Status accept(long sequence) {
+        if (highest < 0) {
+            highest = sequence;
+            set(sequence);
+            received++;
+            return Status.NEW;
+        }
+
+        if (sequence > highest) {
+            long distance = sequence - highest;
+            if (distance >= WINDOW) {
+                Arrays.fill(bits, 0L);
+            } else {
+                clearRange(highest + 1, sequence);
+            }
+            gaps += distance - 1;
+            highest = sequence;
+            set(sequence);
+            received++;
+            return Status.NEW;
+        }
+
+        if (sequence < RESTART_MAX_SEQUENCE && highest - sequence >= RESTART_MIN_JUMP) {
+            // 작은 번호로 크게 되돌아감: 디바이스 재부팅/카운터 순환으로 보고 윈도우 재시작
+            Arrays.fill(bits, 0L);
+            highest = sequence;
+            set(sequence);
+            restarts++;
+            received++;
+            return Status.NEW;
+        }
+
+        if (sequence <= highest - WINDOW) {
+            stale++;
+            return Status.STALE;
+        }
+
+        if (isSet(sequence)) {
+            duplicates++;
+            return Status.DUPLICATE;
+        }
+        set(sequence);
+        gaps--;
+        late++;
+        received++;
+        return Status.LATE;
+    }
+
+    /**
+     * {@link #accept}로 받아들였지만 반영하지 못한 번호를 되돌림 (같은 번호의 재전송을 다시 받기 위해)
+     * 가장 큰 번호였으면 윈도우 안에서 그 이전에 받은 번호로 최고 번호를 되돌리고, 아니면 공백으로 되돌립니다.
+     *
+     * @param status 해당 번호의 accept 결과 (NEW / LATE만 처리)
+     */
+    public void release(long sequence, Status status) {
+        if ((status != Status.NEW && status != Status.LATE) || highest < 0
+                || sequence > highest || sequence <= highest - WINDOW || !isSet(sequence)) {
+            return;
+        }
+        clear(sequence);
+        received--;
+        if (status == Status.LATE) {
+            late--;
+        }
+        if (sequence != highest) {
+            gaps++;
+            return;
+        }
+        long previous = sequence - 1;
+        while (previous >= 0 && previous > sequence - WINDOW && !isSet(previous)) {
+            previous--;
+        }
+        if (previous >= 0 && previous > sequence - WINDOW) {
+            gaps = Math.max(0, gaps - (sequence - previous - 1));
+            highest = previous;
+        } else {
+            // 윈도우 안에 받은 번호가 없음 (첫 샘플 또는 재시작 직후): 다음 번호부터 새로 시작
+            highest = sequence - 1;
+        }
+    }
+
+    private void clearRange(long fromInclusive, long toInclusive) {
+        // 최대 WINDOW 비트만 지우므로 워드 단위로 처리
+        long pos = fromInclusive;
+        while (pos <= toInclusive) {
+            int bit = (int) (pos & (Long.SIZE - 1));
+            int word = (int) ((pos >>> 6) % WORDS);
+            long span = Math.min(Long.SIZE - bit, toInclusive - pos + 1);
+            long mask = span == Long.SIZE ? -1L : ((1L << span) - 1) << bit;
+            bits[word] &= ~mask;
+            pos += span;
+        }
+    }
+
+    private void set(long sequence) {
+        bits[(int) ((sequence >>> 6) % WORDS)] |= 1L << (sequence & (Long.SIZE - 1));
+    }
+
+    private void clear(long sequence) {
+        bits[(int) ((sequence >>> 6) % WORDS)] &= ~(1L << (sequence & (Long.SIZE - 1)));
+    }
+
+    private boolean isSet(long sequence) {
+        return (bits[(int) ((sequence >>> 6) % WORDS)] & (1L << (sequence & (Long.SIZE - 1)))) != 0;
+    }
+
+    public long getHighest() {
+        return highest;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getGaps() {
+        return gaps;
+    }
+
+    public long getLate() {
+        return late;
+    }
+
+    public long getStale() {
+        return stale;
+    }
+
+    public long getRestarts() {
+        return restarts;
+    }
+
+    public long getLastActiveMillis() {
+        return lastActiveMillis;
+    }
+
+    public void touch(long now) {
+        lastActiveMillis = now;
+    }
+}
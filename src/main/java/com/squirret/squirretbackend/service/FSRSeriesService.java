@@ -0,0 +1,210 @@
+package com.squirret.squirretbackend.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 기록된 세션의 시간 구간 시계열 조회 (LTTB 다운샘플링)
+ *
+ * 압축 아카이브(.fsra)가 있으면 블록 색인으로, 아직 변환 전이거나 기록 중이면 기록 파일(.fsrj)의 희소 인덱스로
+ * 구간 시작 위치를 찾습니다. 채널마다 timestamp와 해당 채널만 읽으면서 {@link FSRLttbDownsampler}로 점을 골라
+ * 바로 JSON으로 쓰므로, 세션 길이와 관계없이 힙에는 버킷 두 개 크기만 올라옵니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FSRSeriesService {
+
+    public static final int MAX_POINTS = 5000;
+
+    // 채널 번호 순서 (0~5 = voltage1~6, 6~11 = ratio1~6, 아카이브 컬럼 순서와 같음)
+    private static final List<String> CHANNEL_NAMES = List.of(
+            "voltage1", "voltage2", "voltage3", "voltage4", "voltage5", "voltage6",
+            "ratio1", "ratio2", "ratio3", "ratio4", "ratio5", "ratio6");
+
+    // 응답 스트림은 서블릿 컨테이너가 닫음
+    private final JsonFactory jsonFactory = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final FSRRecordingService recordingService;
+
+    /**
+     * 세션 데이터 원본 (구간 조회용)
+     */
+    public interface Source extends Closeable {
+        String type();
+
+        /**
+         * 한쪽 발의 [from, to] 구간 점 개수
+         */
+        long count(String side, long from, long to) throws IOException;
+
+        void scan(String side, int channel, long from, long to, FSRLttbDownsampler.Sink sink) throws IOException;
+    }
+
+    /**
+     * 채널 이름을 번호로 변환
+     *
+     * @throws IllegalArgumentException 알 수 없는 채널 이름
+     */
+    public static int channelIndex(String name) {
+        int index = CHANNEL_NAMES.indexOf(name != null ? name.trim().toLowerCase() : "");
+        if (index < 0) {
+            throw new IllegalArgumentException("unknown channel: " + name + " (available: " + CHANNEL_NAMES + ")");
+        }
+        return index;
+    }
+
+    /**
+     * 세션의 데이터 원본 열기 (아카이브 우선, 없으면 기록 파일)
+     *
+     * @return 세션 기록이 없으면 null
+     */
+    public Source open(String sessionId) throws IOException {
+        Path journal = recordingService.getRecordingPath(sessionId);
+        if (journal == null) {
+            return null;
+        }
+        Path archive = FSRArchiveService.archivePathOf(journal);
+        if (Files.exists(archive)) {
+            return new ArchiveSource(FSRArchiveReader.open(archive));
+        }
+        if (Files.exists(journal)) {
+            return new JournalSource(FSRJournalReader.open(journal));
+        }
+        return null;
+    }
+
+    /**
+     * 채널별 다운샘플링 결과를 JSON으로 기록
+     * <pre>
+     * {"sessionId":..., "side":..., "from":..., "to":..., "source":"archive|journal", "total":N,
+     *  "series":[{"channel":"ratio1", "points":[[t, v], ...]}, ...]}
+     * </pre>
+     */
+    public void writeSeries(Source source, String sessionId, String side, List<String> channels,
+                            long from, long to, int points, OutputStream out) throws IOException {
+        int[] channelIndexes = channels.stream().mapToInt(FSRSeriesService::channelIndex).toArray();
+        long started = System.nanoTime();
+        long total = source.count(side, from, to);
+
+        try (JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("sessionId", sessionId);
+            json.writeStringField("side", side);
+            json.writeNumberField("from", from);
+            json.writeNumberField("to", to);
+            json.writeStringField("source", source.type());
+            json.writeNumberField("total", total);
+            json.writeArrayFieldStart("series");
+            for (int c = 0; c < channelIndexes.length; c++) {
+                json.writeStartObject();
+                json.writeStringField("channel", CHANNEL_NAMES.get(channelIndexes[c]));
+                json.writeArrayFieldStart("points");
+                FSRLttbDownsampler downsampler = new FSRLttbDownsampler(total, points, (timestamp, value) -> {
+                    json.writeStartArray();
+                    json.writeNumber(timestamp);
+                    json.writeNumber(value);
+                    json.writeEndArray();
+                });
+                source.scan(side, channelIndexes[c], from, to, downsampler::add);
+                downsampler.finish();
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        log.debug("FSR 세션 시계열 조회: sessionId={}, side={}, channels={}, total={}, points={}, elapsedMs={}",
+                sessionId, side, channels, total, points, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static final class ArchiveSource implements Source {
+        private static final int[] NO_CHANNELS = new int[0];
+
+        private final FSRArchiveReader reader;
+
+        ArchiveSource(FSRArchiveReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public String type() {
+            return "archive";
+        }
+
+        @Override
+        public long count(String side, long from, long to) throws IOException {
+            // timestamp 컬럼만 풀어서 정확한 개수 계산
+            long[] count = new long[1];
+            reader.scan(side, NO_CHANNELS, from, to, (timestamp, values) -> count[0]++);
+            return count[0];
+        }
+
+        @Override
+        public void scan(String side, int channel, long from, long to, FSRLttbDownsampler.Sink sink) throws IOException {
+            // 응답 스트림 쓰기가 실패하면(클라이언트 연결 끊김 등) 예외가 그대로 올라가 남은 블록은 풀지 않음
+            reader.scan(side, new int[]{channel}, from, to, (timestamp, values) -> sink.accept(timestamp, values[0]));
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * 기록 중이거나 아직 변환 전인 세션
+     * 배치 업로드의 디바이스 timestamp는 기록 순서와 어긋날 수 있어, 시작 위치부터 끝까지 확인합니다.
+     */
+    private static final class JournalSource implements Source {
+        private final FSRJournalReader reader;
+
+        JournalSource(FSRJournalReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public String type() {
+            return "journal";
+        }
+
+        @Override
+        public long count(String side, long from, long to) {
+            long count = 0;
+            for (int i = reader.seek(from); i < reader.count(); i++) {
+                long timestamp = reader.timestamp(i);
+                if (timestamp >= from && timestamp <= to && side.equals(reader.side(i))) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void scan(String side, int channel, long from, long to, FSRLttbDownsampler.Sink sink) throws IOException {
+            for (int i = reader.seek(from); i < reader.count(); i++) {
+                long timestamp = reader.timestamp(i);
+                if (timestamp >= from && timestamp <= to && side.equals(reader.side(i))) {
+                    float value = channel < 6 ? reader.voltage(i, channel) : reader.ratio(i, channel - 6);
+                    sink.accept(timestamp, value);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            // 매핑은 GC 시 해제됨
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 운동 세션 하나의 FSR 샘플 기록 파일 (append-only, memory-mapped, little-endian)
+ *
+ * <pre>
+ * 헤더 (4096 바이트)
+ *   0   : int32 magic ('FSRJ')      4  : int16 version    6 : int16 flags (bit0 = 봉인됨)
+ *   8   : int32 레코드 크기 (64)     12 : int32 인덱스 간격 (레코드 수)
+ *   16  : int64 레코드 수           24 : int64 생성 시각   32 : int64 봉인 시각
+ *   40  : int32 인덱스 항목 수
+ *   48  : sessionId (int16 길이 + UTF-8, 최대 94바이트)
+ *   144 : userId    (int16 길이 + UTF-8, 최대 94바이트)
+ *   256 : int64 x 480 희소 시간 인덱스 (인덱스 간격마다 해당 레코드의 timestamp)
+ * 레코드 (64 바이트, 헤더 뒤에 기록 순서대로)
+ *   0  : int64 timestamp   8 : int32 sequence (없으면 -1)   12 : int8 side (0 = left, 1 = right)
+ *   16 : float32 x 6 voltage1~6   40 : float32 x 6 ratio1~6
+ * </pre>
+ *
+ * 파일은 {@link #CHUNK_RECORDS}개 단위로 매핑해 늘려 가므로, 샘플 기록은 청크 끝 검사 한 번과
+ * 매핑된 메모리 쓰기뿐이고 시스템 콜이 없습니다. 레코드를 쓴 뒤 헤더의 레코드 수를 갱신하므로
+ * 프로세스가 죽어도 페이지 캐시에 남은 레코드까지 읽을 수 있고, OS 장애에 대해서는 마지막
+ * {@link #force()} 시점까지 보존됩니다. 인덱스가 가득 차면 항목을 하나 걸러 남기고 간격을 두 배로 늘립니다.
+ */
+public class FSRSessionJournal {
+
+    public static final int MAGIC = 0x4A525346;
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 4096;
+    public static final int RECORD_SIZE = 64;
+    public static final int CHUNK_RECORDS = 65_536;
+    public static final short FLAG_SEALED = 0x01;
+
+    static final int OFF_FLAGS = 6;
+    static final int OFF_RECORD_SIZE = 8;
+    static final int OFF_INDEX_STRIDE = 12;
+    static final int OFF_RECORD_COUNT = 16;
+    static final int OFF_CREATED_AT = 24;
+    static final int OFF_SEALED_AT = 32;
+    static final int OFF_INDEX_COUNT = 40;
+    static final int OFF_SESSION_ID = 48;
+    static final int OFF_USER_ID = 144;
+    static final int MAX_ID_BYTES = 94;
+    static final int OFF_INDEX = 256;
+    static final int INDEX_CAPACITY = (HEADER_SIZE - OFF_INDEX) / Long.BYTES;
+    static final int INITIAL_INDEX_STRIDE = 1024;
+
+    static final int REC_TIMESTAMP = 0;
+    static final int REC_SEQUENCE = 8;
+    static final int REC_SIDE = 12;
+    static final int REC_VOLTAGE = 16;
+    static final int REC_RATIO = 40;
+
+    private static final int CHUNK_BYTES = CHUNK_RECORDS * RECORD_SIZE;
+
+    private final String sessionId;
+    private final String userId;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+
+    private MappedByteBuffer current;
+    private int offset;
+    private long count;
+    private int indexStride = INITIAL_INDEX_STRIDE;
+    private int indexCount;
+    // 마지막 force 이후 기록된 첫 청크
+    private int dirtyChunk;
+    private boolean closed;
+
+    private FSRSessionJournal(String sessionId, String userId, Path path, FileChannel channel) throws IOException {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.path = path;
+        this.channel = channel;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        this.header.order(ByteOrder.LITTLE_ENDIAN);
+        mapNextChunk();
+    }
+
+    /**
+     * 새 기록 파일 생성 (같은 경로의 파일이 있으면 실패)
+     */
+    public static FSRSessionJournal create(Path path, String sessionId, String userId) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FSRSessionJournal journal = new FSRSessionJournal(sessionId, userId, path, channel);
+            journal.writeHeader(System.currentTimeMillis());
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void writeHeader(long createdAt) {
+        header.putInt(0, MAGIC);
+        header.putShort(4, VERSION);
+        header.putShort(OFF_FLAGS, (short) 0);
+        header.putInt(OFF_RECORD_SIZE, RECORD_SIZE);
+        header.putInt(OFF_INDEX_STRIDE, indexStride);
+        header.putLong(OFF_RECORD_COUNT, 0);
+        header.putLong(OFF_CREATED_AT, createdAt);
+        header.putLong(OFF_SEALED_AT, 0);
+        header.putInt(OFF_INDEX_COUNT, 0);
+        putId(OFF_SESSION_ID, sessionId);
+        putId(OFF_USER_ID, userId);
+    }
+
+    private void putId(int at, String value) {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int length = Math.min(bytes.length, MAX_ID_BYTES);
+        header.putShort(at, (short) length);
+        header.put(at + Short.BYTES, bytes, 0, length);
+    }
+
+    private void mapNextChunk() throws IOException {
+        long position = HEADER_SIZE + (long) chunks.size() * CHUNK_BYTES;
+        MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_WRITE, position, CHUNK_BYTES);
+        chunk.order(ByteOrder.LITTLE_ENDIAN);
+        chunks.add(chunk);
+        current = chunk;
+        offset = 0;
+    }
+
+    /**
+     * 샘플 한 개 기록
+     *
+     * @return 봉인되었거나 파일을 늘리지 못해 기록하지 않았으면 false
+     */
+    public synchronized boolean append(long timestamp, FSRDataDTO sample) {
+        if (closed) {
+            return false;
+        }
+        if (offset == CHUNK_BYTES) {
+            try {
+                mapNextChunk();
+            } catch (IOException e) {
+                closed = true;
+                throw new IllegalStateException("journal chunk mapping failed: " + path, e);
+            }
+        }
+
+        MappedByteBuffer out = current;
+        int at = offset;
+        Long sequence = sample.getSequence();
+        out.putLong(at + REC_TIMESTAMP, timestamp);
+        out.putInt(at + REC_SEQUENCE, sequence != null ? (int) (long) sequence : -1);
+        out.put(at + REC_SIDE, sideCode(sample.getSide()));
+        out.putFloat(at + REC_VOLTAGE, sample.getVoltage1());
+        out.putFloat(at + REC_VOLTAGE + 4, sample.getVoltage2());
+        out.putFloat(at + REC_VOLTAGE + 8, sample.getVoltage3());
+        out.putFloat(at + REC_VOLTAGE + 12, sample.getVoltage4());
+        out.putFloat(at + REC_VOLTAGE + 16, sample.getVoltage5());
+        out.putFloat(at + REC_VOLTAGE + 20, sample.getVoltage6());
+        out.putFloat(at + REC_RATIO, sample.getRatio1());
+        out.putFloat(at + REC_RATIO + 4, sample.getRatio2());
+        out.putFloat(at + REC_RATIO + 8, sample.getRatio3());
+        out.putFloat(at + REC_RATIO + 12, sample.getRatio4());
+        out.putFloat(at + REC_RATIO + 16, sample.getRatio5());
+        out.putFloat(at + REC_RATIO + 20, sample.getRatio6());
+        offset = at + RECORD_SIZE;
+
+        if ((count & (indexStride - 1)) == 0) {
+            addIndexEntry(timestamp);
+        }
+        count++;
+        // 레코드를 다 쓴 뒤 개수를 올려야 중간에 죽어도 반쯤 쓴 레코드가 보이지 않음
+        header.putLong(OFF_RECORD_COUNT, count);
+        return true;
+    }
+
+    private void addIndexEntry(long timestamp) {
+        if (indexCount == INDEX_CAPACITY) {
+            for (int i = 0; i < INDEX_CAPACITY / 2; i++) {
+                header.putLong(OFF_INDEX + i * Long.BYTES, header.getLong(OFF_INDEX + 2 * i * Long.BYTES));
+            }
+            indexCount = INDEX_CAPACITY / 2;
+            indexStride <<= 1;
+            header.putInt(OFF_INDEX_STRIDE, indexStride);
+            if ((count & (indexStride - 1)) != 0) {
+                header.putInt(OFF_INDEX_COUNT, indexCount);
+                return;
+            }
+        }
+        header.putLong(OFF_INDEX + indexCount * Long.BYTES, timestamp);
+        indexCount++;
+        header.putInt(OFF_INDEX_COUNT, indexCount);
+    }
+
+    private static byte sideCode(String side) {
+        if ("left".equalsIgnoreCase(side)) {
+            return FSRBinaryFrameDecoder.SIDE_LEFT;
+        }
+        if ("right".equalsIgnoreCase(side)) {
+            return FSRBinaryFrameDecoder.SIDE_RIGHT;
+        }
+        return -1;
+    }
+
+    /**
+     * 마지막 force 이후 기록된 페이지를 디스크에 반영 (주기적으로 호출)
+     * 시스템 콜은 락 밖에서 수행하므로 그동안에도 기록은 계속됩니다.
+     */
+    public void force() {
+        List<MappedByteBuffer> dirty;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            dirty = new ArrayList<>(chunks.subList(dirtyChunk, chunks.size()));
+            dirtyChunk = chunks.size() - 1;
+        }
+        for (MappedByteBuffer chunk : dirty) {
+            chunk.force();
+        }
+        header.force();
+    }
+
+    /**
+     * 봉인: 플래그와 봉인 시각을 기록하고 디스크에 반영한 뒤 파일을 닫음 (이후 기록은 무시)
+     */
+    public synchronized void seal() throws IOException {
+        if (closed) {
+            return;
+        }
+        header.putLong(OFF_SEALED_AT, System.currentTimeMillis());
+        header.putShort(OFF_FLAGS, FLAG_SEALED);
+        for (int i = dirtyChunk; i < chunks.size(); i++) {
+            chunks.get(i).force();
+        }
+        header.force();
+        closed = true;
+        channel.close();
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    public String sessionId() {
+        return sessionId;
+    }
+
+    public String userId() {
+        return userId;
+    }
+
+    public Path path() {
+        return path;
+    }
+}
@@ -0,0 +1,197 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자별 FSR 히스토리를 위한 off-heap 슬랩 할당기
+ *
+ * 큰 direct ByteBuffer(슬랩)를 같은 크기의 슬롯으로 나눠 {@link FSRColumnStore}로 빌려줍니다.
+ * 슬롯 크기는 히스토리 용량으로 고정되므로 빈 슬롯 번호 스택 하나로 할당/반환이 O(1)이며 단편화가 없습니다.
+ * 슬랩은 필요할 때 하나씩 만들고(최대 maxSlabs개) 반환된 슬롯은 재사용하며, 슬랩 자체는 해제하지 않습니다.
+ *
+ * 슬롯 레이아웃 (capacity = N, native byte order)
+ * <pre>
+ *   [0, 8N)         : int64 timestamp x N
+ *   [8N + 4cN, ...) : float32 x N, 채널 c(0~5)마다 연속
+ * </pre>
+ * 슬롯 접근은 절대 위치 get/put만 사용하므로 같은 슬랩의 다른 슬롯을 여러 스레드가 동시에 써도 안전합니다.
+ */
+public class FSRSlabArena {
+
+    private static final int CHANNEL_BYTES = Float.BYTES;
+
+    private final int slotCapacity;
+    private final int slotBytes;
+    private final int slotsPerSlab;
+    private final int maxSlabs;
+
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+
+    // 빈 슬롯 번호 스택 (slab * slotsPerSlab + index)
+    private final int[] freeSlots;
+    private int freeCount;
+    private int inUse;
+    private long exhausted;
+
+    /**
+     * @param slotCapacity 슬롯 하나의 샘플 수 (2의 거듭제곱)
+     * @param slabBytes    슬랩 하나의 크기 (슬롯 크기보다 커야 함)
+     * @param maxSlabs     최대 슬랩 수
+     */
+    public FSRSlabArena(int slotCapacity, int slabBytes, int maxSlabs) {
+        if (Integer.bitCount(slotCapacity) != 1) {
+            throw new IllegalArgumentException("slot capacity must be a power of two: " + slotCapacity);
+        }
+        this.slotCapacity = slotCapacity;
+        this.slotBytes = slotCapacity * (Long.BYTES + CHANNEL_BYTES * FSRColumnStore.CHANNELS);
+        if (slabBytes < slotBytes) {
+            throw new IllegalArgumentException("slab (" + slabBytes + " bytes) is smaller than one slot (" + slotBytes + " bytes)");
+        }
+        if (maxSlabs < 1) {
+            throw new IllegalArgumentException("max slabs must be >= 1: " + maxSlabs);
+        }
+        this.slotsPerSlab = slabBytes / slotBytes;
+        this.maxSlabs = maxSlabs;
+        this.freeSlots = new int[slotsPerSlab * maxSlabs];
+    }
+
+    /**
+     * 슬롯 하나 할당
+     *
+     * @return 슬랩을 더 만들 수 없으면 null (호출 측에서 힙 저장소로 대체)
+     */
+    public synchronized FSRColumnStore allocate() {
+        if (freeCount == 0 && !addSlab()) {
+            exhausted++;
+            return null;
+        }
+        int id = freeSlots[--freeCount];
+        inUse++;
+        ByteBuffer slab = slabs.get(id / slotsPerSlab);
+        return new Slot(this, id, slab, (id % slotsPerSlab) * slotBytes, slotCapacity);
+    }
+
+    private boolean addSlab() {
+        if (slabs.size() == maxSlabs) {
+            return false;
+        }
+        int slab = slabs.size();
+        slabs.add(ByteBuffer.allocateDirect(slotsPerSlab * slotBytes).order(ByteOrder.nativeOrder()));
+        // 낮은 번호부터 나가도록 역순으로 쌓음
+        for (int i = slotsPerSlab - 1; i >= 0; i--) {
+            freeSlots[freeCount++] = slab * slotsPerSlab + i;
+        }
+        return true;
+    }
+
+    private synchronized void free(int id) {
+        freeSlots[freeCount++] = id;
+        inUse--;
+    }
+
+    public int slotBytes() {
+        return slotBytes;
+    }
+
+    public synchronized int slabCount() {
+        return slabs.size();
+    }
+
+    /**
+     * 만들어진 슬랩의 전체 슬롯 수
+     */
+    public synchronized int slotsTotal() {
+        return slabs.size() * slotsPerSlab;
+    }
+
+    public synchronized int slotsInUse() {
+        return inUse;
+    }
+
+    /**
+     * 최대 슬랩 수까지 만들 수 있는 슬롯 수
+     */
+    public int slotsMax() {
+        return slotsPerSlab * maxSlabs;
+    }
+
+    public synchronized long reservedBytes() {
+        return (long) slabs.size() * slotsPerSlab * slotBytes;
+    }
+
+    /**
+     * 슬롯이 모자라 할당에 실패한 횟수
+     */
+    public synchronized long exhaustedCount() {
+        return exhausted;
+    }
+
+    /**
+     * 슬랩 안의 슬롯 하나 (slab 버퍼를 공유하고 base 오프셋부터 사용)
+     */
+    private static final class Slot implements FSRColumnStore {
+        private final FSRSlabArena arena;
+        private final int id;
+        private final ByteBuffer slab;
+        private final int base;
+        private final int capacity;
+        private final int channelBase;
+        private boolean released;
+
+        Slot(FSRSlabArena arena, int id, ByteBuffer slab, int base, int capacity) {
+            this.arena = arena;
+            this.id = id;
+            this.slab = slab;
+            this.base = base;
+            this.capacity = capacity;
+            this.channelBase = base + capacity * Long.BYTES;
+        }
+
+        @Override
+        public int capacity() {
+            return capacity;
+        }
+
+        @Override
+        public long timestamp(int slot) {
+            return slab.getLong(base + slot * Long.BYTES);
+        }
+
+        @Override
+        public float value(int slot, int channel) {
+            return slab.getFloat(channelBase + (channel * capacity + slot) * CHANNEL_BYTES);
+        }
+
+        @Override
+        public void write(int slot, long timestamp, FSRDataDTO sample) {
+            slab.putLong(base + slot * Long.BYTES, timestamp);
+            int at = channelBase + slot * CHANNEL_BYTES;
+            int stride = capacity * CHANNEL_BYTES;
+            slab.putFloat(at, sample.getRatio1());
+            slab.putFloat(at + stride, sample.getRatio2());
+            slab.putFloat(at + 2 * stride, sample.getRatio3());
+            slab.putFloat(at + 3 * stride, sample.getRatio4());
+            slab.putFloat(at + 4 * stride, sample.getRatio5());
+            slab.putFloat(at + 5 * stride, sample.getRatio6());
+        }
+
+        @Override
+        public long heapBytes() {
+            return 0;
+        }
+
+        @Override
+        public void release() {
+            // 두 번 반환되면 다른 사용자의 슬롯을 덮어쓰게 되므로 한 번만
+            if (!released) {
+                released = true;
+                arena.free(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.squirret.squirretbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * FSR 스트림 소유 확인 (WebSocket 구독과 REST 조회/디바이스 연결 공통)
+ * 호출자는 세션 등록 시 받은 Spring sessionId로 자신을 증명하며, 기본 스트림 외에는
+ * 그 세션의 스트림이나 그 세션 사용자(userId)의 스트림만 접근할 수 있습니다.
+ * 만료(TTL)된 세션은 더 이상 근거가 되지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class FSRStreamAccessService {
+
+    private final InferenceSessionService inferenceSessionService;
+
+    /**
+     * 세션의 사용자 ID (sessionId가 없거나 알 수 없는 세션이면 null)
+     */
+    public String ownerUserId(String sessionId) {
+        if (sessionId == null || sessionId.isBlank()) {
+            return null;
+        }
+        return inferenceSessionService.getUserIdBySessionId(sessionId);
+    }
+
+    public boolean isKnownSession(String sessionId) {
+        return ownerUserId(sessionId) != null;
+    }
+
+    /**
+     * ownerSessionId 세션이 streamKey 스트림에 접근할 수 있는지
+     */
+    public boolean canAccess(String ownerSessionId, String streamKey) {
+        if (FSRDataService.DEFAULT_USER.equals(streamKey)) {
+            return true;
+        }
+        String ownerUserId = ownerUserId(ownerSessionId);
+        if (ownerUserId == null || streamKey == null) {
+            return false;
+        }
+        return streamKey.equals(ownerSessionId) || streamKey.equals(ownerUserId);
+    }
+}
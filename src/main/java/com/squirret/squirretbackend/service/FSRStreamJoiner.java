@@ -0,0 +1,409 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 사용자 스트림 하나의 좌/우 샘플 시간 정렬(join)
+ *
+ * 좌/우는 서로 독립적으로 도착하므로, 한쪽 샘플을 잠시 보류했다가 반대쪽 샘플이 허용 오차
+ * (skewToleranceMillis) 안에 오면 한 프레임으로 묶습니다. 반대쪽이 늦으면 그쪽의 앞뒤 샘플을
+ * 선형 보간하고, 같은 쪽만 연속으로 오면 반대쪽 직전 값을 유지(maxHoldMillis까지)합니다.
+ * 보류 중인 샘플은 도착 후 허용 오차만큼 지나도 짝이 없으면 {@link #flushExpired}로 반쪽 프레임이 되어 나갑니다.
+ * 만들어진 프레임은 고정 크기 링(primitive 배열)에 쌓이며 가장 오래된 프레임부터 덮어씁니다.
+ * 지정한 창 길이별로 {@link FSRWindowAggregator} 합계를 함께 유지해 {@link #summarize}를 O(1)로 계산합니다.
+ *
+ * 스레드 안전하지 않으므로 호출 측에서 이 객체로 동기화해야 합니다.
+ */
+public class FSRStreamJoiner implements FSRWindowAggregator.Samples {
+
+    /** 채널 순서: voltage1~6, ratio1~6 */
+    static final int CHANNELS = 12;
+
+    private static final byte MISSING_ORDINAL = (byte) FSRBilateralFrame.Source.MISSING.ordinal();
+
+    private static final int LEFT = 0;
+    private static final int RIGHT = 1;
+
+    // 창 합계 컬럼: 쪽별 ratio(값이 있는 프레임), 양쪽 모두 있는 프레임의 좌우 하중 차이 |L - R|, 프레임 수 카운터
+    private static final int RATIOS = 6;
+    private static final int COL_LEFT = 0;
+    private static final int COL_RIGHT = COL_LEFT + RATIOS;
+    private static final int COL_LOAD_DIFF = COL_RIGHT + RATIOS;
+    private static final int COL_HAS_LEFT = COL_LOAD_DIFF + 1;
+    private static final int COL_HAS_RIGHT = COL_HAS_LEFT + 1;
+    private static final int COL_PAIRED = COL_HAS_RIGHT + 1;
+    private static final int AGGREGATE_COLUMNS = COL_PAIRED + 1;
+
+    private final long skewToleranceMillis;
+    private final long maxHoldMillis;
+
+    // 쪽별 마지막 샘플과 미결합(보류) 여부
+    private final long[] lastTime = new long[2];
+    private final float[][] last = {new float[CHANNELS], new float[CHANNELS]};
+    private final boolean[] hasLast = new boolean[2];
+    private final boolean[] pending = new boolean[2];
+    // 보류 샘플의 도착 시각 (서버 시각, 보류 만료 판단용)
+    private final long[] pendingSince = new long[2];
+
+    // 새 샘플 / 보간 결과 임시 버퍼
+    private final float[] incoming = new float[CHANNELS];
+    private final float[] scratch = new float[CHANNELS];
+
+    // 프레임 링 (struct-of-arrays)
+    private final int capacity;
+    private final int mask;
+    private final long[] frameTimes;
+    private final float[] frameValues;
+    private final byte[] leftSources;
+    private final byte[] rightSources;
+    private long written;
+
+    private final FSRWindowAggregator windows;
+
+    public FSRStreamJoiner(long skewToleranceMillis, long maxHoldMillis, int requestedCapacity) {
+        this(skewToleranceMillis, maxHoldMillis, requestedCapacity, new long[0]);
+    }
+
+    public FSRStreamJoiner(long skewToleranceMillis, long maxHoldMillis, int requestedCapacity, long[] windowMillis) {
+        this.windows = new FSRWindowAggregator(windowMillis, AGGREGATE_COLUMNS);
+        this.skewToleranceMillis = skewToleranceMillis;
+        this.maxHoldMillis = maxHoldMillis;
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1) << 1);
+        this.mask = capacity - 1;
+        this.frameTimes = new long[capacity];
+        this.frameValues = new float[capacity * CHANNELS * 2];
+        this.leftSources = new byte[capacity];
+        this.rightSources = new byte[capacity];
+    }
+
+    /**
+     * 샘플 하나를 반영
+     *
+     * @param timestamp 샘플 시각 (서버 수신 시각 또는 보정된 디바이스 시각)
+     * @return 프레임이 하나 이상 만들어졌으면 true
+     */
+    public boolean offer(FSRDataDTO sample, long timestamp) {
+        return offer(sample, timestamp, timestamp);
+    }
+
+    /**
+     * 샘플 하나를 반영
+     *
+     * @param timestamp 샘플 시각 (서버 수신 시각 또는 보정된 디바이스 시각)
+     * @param arrival   서버 수신 시각 ({@link #flushExpired}의 보류 만료 기준)
+     * @return 프레임이 하나 이상 만들어졌으면 true
+     */
+    public boolean offer(FSRDataDTO sample, long timestamp, long arrival) {
+        int side;
+        if ("left".equalsIgnoreCase(sample.getSide())) {
+            side = LEFT;
+        } else if ("right".equalsIgnoreCase(sample.getSide())) {
+            side = RIGHT;
+        } else {
+            return false;
+        }
+        int other = 1 - side;
+        load(sample, incoming);
+        boolean emitted = false;
+
+        // 같은 쪽이 연속으로 온 경우: 보류 중이던 샘플을 반대쪽 직전 값으로 채워 내보냄
+        if (pending[side]) {
+            long t = lastTime[side];
+            FSRBilateralFrame.Source otherSource = held(other, t);
+            emit(t, side, last[side], FSRBilateralFrame.Source.MEASURED, scratch, otherSource);
+            pending[side] = false;
+            emitted = true;
+        }
+
+        if (pending[other]) {
+            long otherTime = lastTime[other];
+            if (Math.abs(timestamp - otherTime) <= skewToleranceMillis) {
+                // 허용 오차 안: 양쪽 모두 측정값
+                emit(Math.max(timestamp, otherTime), side, incoming, FSRBilateralFrame.Source.MEASURED,
+                        last[other], FSRBilateralFrame.Source.MEASURED);
+                pending[other] = false;
+                remember(side, timestamp, false);
+                return true;
+            }
+            if (otherTime < timestamp) {
+                // 반대쪽이 먼저 왔고 이쪽이 늦음: 이쪽 직전/현재 샘플 사이를 보간해 반대쪽 시점 프레임 생성
+                FSRBilateralFrame.Source source = valueAt(side, otherTime, timestamp);
+                emit(otherTime, other, last[other], FSRBilateralFrame.Source.MEASURED, scratch, source);
+                pending[other] = false;
+                remember(side, timestamp, true);
+                return true;
+            }
+            // 이쪽 샘플이 보류 중인 반대쪽보다 한참 이전 (배치 재전송 등): 반대쪽 값을 유지해 바로 내보냄
+            emit(timestamp, side, incoming, FSRBilateralFrame.Source.MEASURED, last[other], FSRBilateralFrame.Source.HELD);
+            return true;
+        }
+
+        remember(side, timestamp, true);
+        pendingSince[side] = arrival;
+        return emitted;
+    }
+
+    /**
+     * 짝을 기다리던 샘플이 도착 후 허용 오차(skewToleranceMillis)보다 오래 보류돼 있으면
+     * 반대쪽 직전 값(없거나 오래됐으면 MISSING)과 묶은 반쪽 프레임으로 내보냄
+     * 한쪽 인솔만 쓰거나 반대쪽이 끊긴 경우에도 마지막 샘플이 브로드캐스트되도록 주기적으로 호출합니다.
+     *
+     * @param now 서버 현재 시각
+     * @return 프레임이 만들어졌으면 true
+     */
+    public boolean flushExpired(long now) {
+        boolean emitted = false;
+        for (int side = LEFT; side <= RIGHT; side++) {
+            if (!pending[side] || now - pendingSince[side] <= skewToleranceMillis) {
+                continue;
+            }
+            long t = lastTime[side];
+            FSRBilateralFrame.Source otherSource = held(1 - side, t);
+            emit(t, side, last[side], FSRBilateralFrame.Source.MEASURED, scratch, otherSource);
+            pending[side] = false;
+            emitted = true;
+        }
+        return emitted;
+    }
+
+    private void remember(int side, long timestamp, boolean keepPending) {
+        copyValues(incoming, last[side]);
+        lastTime[side] = timestamp;
+        hasLast[side] = true;
+        pending[side] = keepPending;
+    }
+
+    /**
+     * side의 time 시점 값을 scratch에 채움 (직전 샘플과 새 샘플 사이 선형 보간)
+     */
+    private FSRBilateralFrame.Source valueAt(int side, long time, long incomingTime) {
+        if (!hasLast[side] || time - lastTime[side] > maxHoldMillis) {
+            // 직전 샘플이 없거나 너무 오래됨: 새 샘플 값 사용
+            copyValues(incoming, scratch);
+            return FSRBilateralFrame.Source.HELD;
+        }
+        long span = incomingTime - lastTime[side];
+        if (span <= 0 || time < lastTime[side]) {
+            copyValues(last[side], scratch);
+            return FSRBilateralFrame.Source.HELD;
+        }
+        float w = (float) (time - lastTime[side]) / span;
+        float[] before = last[side];
+        for (int i = 0; i < CHANNELS; i++) {
+            scratch[i] = before[i] + (incoming[i] - before[i]) * w;
+        }
+        return FSRBilateralFrame.Source.INTERPOLATED;
+    }
+
+    /**
+     * side의 직전 값을 scratch에 채움 (유지 시간을 넘기면 0)
+     */
+    private FSRBilateralFrame.Source held(int side, long time) {
+        if (!hasLast[side] || Math.abs(time - lastTime[side]) > maxHoldMillis) {
+            Arrays.fill(scratch, 0f);
+            return FSRBilateralFrame.Source.MISSING;
+        }
+        copyValues(last[side], scratch);
+        return FSRBilateralFrame.Source.HELD;
+    }
+
+    /**
+     * 프레임 기록 (side 쪽 값과 반대쪽 값을 받아 좌/우 위치에 배치)
+     */
+    private void emit(long timestamp, int side, float[] sideValues, FSRBilateralFrame.Source sideSource,
+                      float[] otherValues, FSRBilateralFrame.Source otherSource) {
+        int other = 1 - side;
+        if (written >= capacity) {
+            windows.onDiscard(this, written - capacity);
+        }
+        int slot = (int) (written & mask);
+        frameTimes[slot] = timestamp;
+        int base = slot * CHANNELS * 2;
+        System.arraycopy(sideValues, 0, frameValues, base + side * CHANNELS, CHANNELS);
+        System.arraycopy(otherValues, 0, frameValues, base + other * CHANNELS, CHANNELS);
+        byte sideOrdinal = (byte) sideSource.ordinal();
+        byte otherOrdinal = (byte) otherSource.ordinal();
+        leftSources[slot] = side == LEFT ? sideOrdinal : otherOrdinal;
+        rightSources[slot] = side == LEFT ? otherOrdinal : sideOrdinal;
+        written++;
+        windows.onAppend(this, written - 1);
+    }
+
+    /**
+     * 가장 최근 프레임 (없으면 null)
+     */
+    public FSRBilateralFrame latestFrame() {
+        return written == 0 ? null : frameAt((int) ((written - 1) & mask));
+    }
+
+    /**
+     * fromTimestamp 이후의 프레임을 기록 순서대로 반환 (링에 남아 있는 범위 안에서)
+     */
+    public List<FSRBilateralFrame> framesSince(long fromTimestamp) {
+        long count = Math.min(written, capacity);
+        List<FSRBilateralFrame> frames = new ArrayList<>();
+        for (long seq = written - count; seq < written; seq++) {
+            int slot = (int) (seq & mask);
+            if (frameTimes[slot] >= fromTimestamp) {
+                frames.add(frameAt(slot));
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * now 기준 최근 windowMillis 동안의 프레임 평균
+     * 유지 중인 창 길이면 누적 합계로 O(1), 아니면 링을 훑어 계산합니다.
+     */
+    public FSRBilateralSummary summarize(long windowMillis, long now) {
+        int window = windows.indexOf(windowMillis);
+        if (window >= 0) {
+            windows.evict(this, written, now);
+            double[] sums = new double[AGGREGATE_COLUMNS];
+            for (int c = 0; c < AGGREGATE_COLUMNS; c++) {
+                sums[c] = windows.sum(window, c);
+            }
+            return toSummary(windows.count(window), sums);
+        }
+
+        long threshold = now - windowMillis;
+        double[] sums = new double[AGGREGATE_COLUMNS];
+        int count = 0;
+        for (long seq = Math.max(0, written - capacity); seq < written; seq++) {
+            if (timestampOf(seq) < threshold) {
+                continue;
+            }
+            for (int c = 0; c < AGGREGATE_COLUMNS; c++) {
+                sums[c] += valueOf(seq, c);
+            }
+            count++;
+        }
+        return toSummary(count, sums);
+    }
+
+    private FSRBilateralSummary toSummary(int frameCount, double[] sums) {
+        // 카운터 컬럼은 0/1 합계이므로 반올림해 정수로 사용
+        int leftCount = (int) Math.round(sums[COL_HAS_LEFT]);
+        int rightCount = (int) Math.round(sums[COL_HAS_RIGHT]);
+        int pairCount = (int) Math.round(sums[COL_PAIRED]);
+        return new FSRBilateralSummary(frameCount, pairCount,
+                average("left", sums, COL_LEFT, leftCount),
+                average("right", sums, COL_RIGHT, rightCount),
+                pairCount > 0 ? (float) (sums[COL_LOAD_DIFF] / pairCount) : 0f);
+    }
+
+    private static FSRDataDTO average(String side, double[] sums, int column, int count) {
+        if (count <= 0) {
+            return null;
+        }
+        FSRDataDTO avg = new FSRDataDTO();
+        avg.setSide(side);
+        avg.setRatio1((float) (sums[column] / count));
+        avg.setRatio2((float) (sums[column + 1] / count));
+        avg.setRatio3((float) (sums[column + 2] / count));
+        avg.setRatio4((float) (sums[column + 3] / count));
+        avg.setRatio5((float) (sums[column + 4] / count));
+        avg.setRatio6((float) (sums[column + 5] / count));
+        return avg;
+    }
+
+    @Override
+    public long timestampOf(long sequence) {
+        return frameTimes[(int) (sequence & mask)];
+    }
+
+    @Override
+    public float valueOf(long sequence, int column) {
+        int slot = (int) (sequence & mask);
+        boolean hasLeft = leftSources[slot] != MISSING_ORDINAL;
+        boolean hasRight = rightSources[slot] != MISSING_ORDINAL;
+        // ratio1~6은 쪽별 채널 6~11에 위치
+        int leftRatios = slot * CHANNELS * 2 + RATIOS;
+        int rightRatios = leftRatios + CHANNELS;
+        if (column < COL_RIGHT) {
+            return hasLeft ? frameValues[leftRatios + column] : 0f;
+        }
+        if (column < COL_LOAD_DIFF) {
+            return hasRight ? frameValues[rightRatios + column - COL_RIGHT] : 0f;
+        }
+        if (column == COL_LOAD_DIFF) {
+            return hasLeft && hasRight ? Math.abs(load(leftRatios) - load(rightRatios)) : 0f;
+        }
+        if (column == COL_HAS_LEFT) {
+            return hasLeft ? 1f : 0f;
+        }
+        if (column == COL_HAS_RIGHT) {
+            return hasRight ? 1f : 0f;
+        }
+        return hasLeft && hasRight ? 1f : 0f;
+    }
+
+    /**
+     * 앞꿈치(ratio3, 4, 6) + 뒤꿈치(ratio1, 5) 하중 (자세 피드백의 front + rear와 같은 정의)
+     */
+    private float load(int ratios) {
+        return frameValues[ratios] + frameValues[ratios + 2] + frameValues[ratios + 3]
+                + frameValues[ratios + 4] + frameValues[ratios + 5];
+    }
+
+    public long frameCount() {
+        return written;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private FSRBilateralFrame frameAt(int slot) {
+        long timestamp = frameTimes[slot];
+        int base = slot * CHANNELS * 2;
+        FSRBilateralFrame.Source[] sources = FSRBilateralFrame.Source.values();
+        return new FSRBilateralFrame(timestamp,
+                toDto("left", base, timestamp),
+                toDto("right", base + CHANNELS, timestamp),
+                sources[leftSources[slot]],
+                sources[rightSources[slot]]);
+    }
+
+    private FSRDataDTO toDto(String side, int offset, long timestamp) {
+        FSRDataDTO dto = new FSRDataDTO();
+        dto.setSide(side);
+        dto.setVoltage1(frameValues[offset]);
+        dto.setVoltage2(frameValues[offset + 1]);
+        dto.setVoltage3(frameValues[offset + 2]);
+        dto.setVoltage4(frameValues[offset + 3]);
+        dto.setVoltage5(frameValues[offset + 4]);
+        dto.setVoltage6(frameValues[offset + 5]);
+        dto.setRatio1(frameValues[offset + 6]);
+        dto.setRatio2(frameValues[offset + 7]);
+        dto.setRatio3(frameValues[offset + 8]);
+        dto.setRatio4(frameValues[offset + 9]);
+        dto.setRatio5(frameValues[offset + 10]);
+        dto.setRatio6(frameValues[offset + 11]);
+        dto.setTimestamp(timestamp);
+        return dto;
+    }
+
+    private static void load(FSRDataDTO sample, float[] target) {
+        target[0] = sample.getVoltage1();
+        target[1] = sample.getVoltage2();
+        target[2] = sample.getVoltage3();
+        target[3] = sample.getVoltage4();
+        target[4] = sample.getVoltage5();
+        target[5] = sample.getVoltage6();
+        target[6] = sample.getRatio1();
+        target[7] = sample.getRatio2();
+        target[8] = sample.getRatio3();
+        target[9] = sample.getRatio4();
+        target[10] = sample.getRatio5();
+        target[11] = sample.getRatio6();
+    }
+
+    private static void copyValues(float[] source, float[] target) {
+        System.arraycopy(source, 0, target, 0, CHANNELS);
+    }
+}
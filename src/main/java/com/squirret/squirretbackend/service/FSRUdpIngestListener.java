@@ -0,0 +1,148 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.dto.FSRSequenceStatsResponse;
+import com.squirret.squirretbackend.dto.FSRUdpStatsResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 Wi-Fi 환경용 FSR UDP 수신기 (fsr.udp.enabled=true 일 때만 동작)
+ *
+ * <pre>
+ * offset 0..7  : int64  deviceId
+ * offset 8..11 : uint32 sequence (디바이스별 단조 증가, 2^32에서 순환)
+ * offset 12..  : {@link FSRBinaryFrameDecoder} 프레임
+ * </pre>
+ *
+ * 헤더의 sequence는 샘플 sequence로 넘겨 {@link FSRSequenceTracker}가 중복/유실/역전을 판정합니다.
+ * 늦게 도착한 패킷도 기록/저장에 반영되며, 최신값은 더 최근 timestamp일 때만 바뀝니다.
+ * 32비트 순환은 작은 번호로의 재시작으로 처리됩니다.
+ * 수신 버퍼와 DTO는 수신 스레드 하나가 재사용하며, FSRDataService가 반영 시 복사본을 저장합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "fsr.udp.enabled", havingValue = "true")
+public class FSRUdpIngestListener {
+
+    private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int MAX_DATAGRAM_SIZE = 512;
+    private static final String DEVICE_ID_PREFIX = "udp-";
+
+    @Value("${fsr.udp.port:9750}")
+    private int port;
+
+    private final FSRIngestService fsrIngestService;
+    private final FSRSequenceTracker sequenceTracker;
+
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final FSRDataDTO scratch = new FSRDataDTO();
+
+    private final AtomicLong datagramsReceived = new AtomicLong();
+    private final AtomicLong malformed = new AtomicLong();
+
+    private volatile DatagramChannel channel;
+    private volatile boolean running;
+    private Thread worker;
+
+    public FSRUdpIngestListener(FSRIngestService fsrIngestService, FSRSequenceTracker sequenceTracker) {
+        this.fsrIngestService = fsrIngestService;
+        this.sequenceTracker = sequenceTracker;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        channel = DatagramChannel.open();
+        channel.bind(new InetSocketAddress(port));
+        running = true;
+
+        worker = new Thread(this::receiveLoop, "fsr-udp-listener");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("FSR UDP 수신기 시작: port={}", port);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("FSR UDP 채널 종료 실패", e);
+        }
+        log.info("FSR UDP 수신기 종료: port={}", port);
+    }
+
+    private void receiveLoop() {
+        while (running) {
+            try {
+                receiveBuffer.clear();
+                if (channel.receive(receiveBuffer) == null) {
+                    continue;
+                }
+                receiveBuffer.flip();
+                datagramsReceived.incrementAndGet();
+                handleDatagram(receiveBuffer);
+            } catch (AsynchronousCloseException e) {
+                break;
+            } catch (IOException e) {
+                log.warn("FSR UDP 수신 오류: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("FSR UDP 데이터 처리 오류", e);
+            }
+        }
+    }
+
+    private void handleDatagram(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE + FSRBinaryFrameDecoder.BASE_FRAME_SIZE) {
+            malformed.incrementAndGet();
+            return;
+        }
+
+        long deviceKey = buffer.getLong();
+        long sequence = Integer.toUnsignedLong(buffer.getInt());
+
+        try {
+            FSRBinaryFrameDecoder.decode(buffer, scratch);
+        } catch (IllegalArgumentException e) {
+            malformed.incrementAndGet();
+            return;
+        }
+        // 출발지 필드는 위조가 쉬우므로 디바이스 키별로 캐시하지 않고 매번 생성 (수신기 메모리가 키 수에 비례해 늘지 않음)
+        scratch.setDeviceId(DEVICE_ID_PREFIX + Long.toHexString(deviceKey));
+        scratch.setUserId(null);
+        scratch.setSequence(sequence);
+        fsrIngestService.ingest(scratch);
+    }
+
+    public FSRUdpStatsResponse getStats() {
+        List<FSRSequenceStatsResponse> deviceStats = new ArrayList<>();
+        for (FSRSequenceStatsResponse stats : sequenceTracker.getAllStats()) {
+            if (stats.getDeviceKey() != null && stats.getDeviceKey().startsWith(DEVICE_ID_PREFIX)) {
+                deviceStats.add(stats);
+            }
+        }
+        return FSRUdpStatsResponse.builder()
+                .port(port)
+                .datagramsReceived(datagramsReceived.get())
+                .malformed(malformed.get())
+                .devices(deviceStats)
+                .build();
+    }
+}
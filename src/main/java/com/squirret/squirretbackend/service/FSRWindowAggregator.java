@@ -0,0 +1,131 @@
+package com.squirret.squirretbackend.service;
+
+/**
+ * 링 버퍼 위의 시간 창별 누적 합계 (여러 창 길이를 동시에 유지)
+ *
+ * 창마다 시작 위치(head)와 컬럼별 double 합계를 두고, 샘플이 추가되면 더하고 창 앞쪽에서 밀려나면 뺍니다.
+ * 따라서 평균 조회는 창 길이와 관계없이 O(1)입니다. 부동소수 누적 오차는
+ * {@link #RECOMPUTE_INTERVAL}회 추가마다 창 안의 샘플을 다시 합산해 바로잡습니다.
+ *
+ * 창에서 밀려나는 기준은 기록 순서이므로, 늦게 추가된 과거 샘플은 앞선 샘플들이 밀려날 때 함께 빠집니다.
+ * 스레드 안전하지 않으므로 링과 같은 락 안에서 호출해야 합니다.
+ */
+public class FSRWindowAggregator {
+
+    static final int RECOMPUTE_INTERVAL = 8192;
+
+    /**
+     * 링의 기록 위치(단조 증가)별 timestamp / 컬럼 값 조회
+     */
+    public interface Samples {
+        long timestampOf(long sequence);
+
+        float valueOf(long sequence, int column);
+    }
+
+    private final long[] windowMillis;
+    private final int columns;
+    private final long[] heads;
+    private final int[] counts;
+    private final double[] sums;
+    private int appendsSinceRecompute;
+
+    public FSRWindowAggregator(long[] windowMillis, int columns) {
+        this.windowMillis = windowMillis.clone();
+        this.columns = columns;
+        this.heads = new long[windowMillis.length];
+        this.counts = new int[windowMillis.length];
+        this.sums = new double[windowMillis.length * columns];
+    }
+
+    /**
+     * 창 길이에 해당하는 인덱스 (유지하지 않는 길이면 -1)
+     */
+    public int indexOf(long millis) {
+        for (int w = 0; w < windowMillis.length; w++) {
+            if (windowMillis[w] == millis) {
+                return w;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 링에 sequence 위치 샘플이 추가된 직후 호출
+     */
+    public void onAppend(Samples samples, long sequence) {
+        for (int w = 0; w < windowMillis.length; w++) {
+            int base = w * columns;
+            for (int c = 0; c < columns; c++) {
+                sums[base + c] += samples.valueOf(sequence, c);
+            }
+            counts[w]++;
+        }
+        if (++appendsSinceRecompute >= RECOMPUTE_INTERVAL) {
+            recompute(samples, sequence + 1);
+        }
+    }
+
+    /**
+     * 링이 sequence 위치 샘플을 버리기(덮어쓰기/정리) 직전 호출
+     * 아직 그 샘플을 포함한 창은 빼고 시작 위치를 넘깁니다.
+     */
+    public void onDiscard(Samples samples, long sequence) {
+        for (int w = 0; w < windowMillis.length; w++) {
+            if (heads[w] == sequence) {
+                subtract(samples, w, sequence);
+                heads[w]++;
+            }
+        }
+    }
+
+    /**
+     * 창마다 now - 창 길이보다 오래된 샘플을 앞쪽부터 제거
+     *
+     * @param tail 링의 다음 기록 위치
+     */
+    public void evict(Samples samples, long tail, long now) {
+        for (int w = 0; w < windowMillis.length; w++) {
+            long threshold = now - windowMillis[w];
+            while (heads[w] < tail && samples.timestampOf(heads[w]) < threshold) {
+                subtract(samples, w, heads[w]);
+                heads[w]++;
+            }
+        }
+    }
+
+    /**
+     * 창 안의 샘플을 다시 합산 (누적 오차 보정)
+     */
+    public void recompute(Samples samples, long tail) {
+        for (int w = 0; w < windowMillis.length; w++) {
+            int base = w * columns;
+            for (int c = 0; c < columns; c++) {
+                sums[base + c] = 0;
+            }
+            for (long seq = heads[w]; seq < tail; seq++) {
+                for (int c = 0; c < columns; c++) {
+                    sums[base + c] += samples.valueOf(seq, c);
+                }
+            }
+            counts[w] = (int) (tail - heads[w]);
+        }
+        appendsSinceRecompute = 0;
+    }
+
+    public int count(int window) {
+        return counts[window];
+    }
+
+    public double sum(int window, int column) {
+        return sums[window * columns + column];
+    }
+
+    private void subtract(Samples samples, int w, long sequence) {
+        int base = w * columns;
+        for (int c = 0; c < columns; c++) {
+            sums[base + c] -= samples.valueOf(sequence, c);
+        }
+        counts[w]--;
+    }
+}
@@ -0,0 +1,280 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRSeriesStatsDTO;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 링 버퍼 위 한 시간 창의 계열별 스트리밍 통계 (분산, 최소/최대, 분위수)
+ *
+ * 계열은 ratio1~6과 파생 지표 front / rear / heel / inner / outer (PostureFeedbackService와 같은 채널 합)입니다.
+ * 샘플이 창에 들어오고 나갈 때마다 다음을 O(1)(분위수 조회만 O(구간 수))로 갱신하므로 조회 시 히스토리를 다시 읽지 않습니다.
+ * <ul>
+ *   <li>평균/분산: Welford 누적 (제거는 역연산, {@link #RECOMPUTE_INTERVAL}회 추가마다 창 안을 다시 누적해 오차 보정)</li>
+ *   <li>최소/최대: 기록 위치를 담은 단조 deque (앞쪽이 창의 최소/최대)</li>
+ *   <li>분위수: 0~100을 {@link #BINS}개로 나눈 고정 구간 히스토그램 (구간 안은 선형 보간, 오차는 구간 폭 이내)</li>
+ * </ul>
+ * 창에서 밀려나는 기준은 {@link FSRWindowAggregator}와 같이 기록 순서입니다.
+ * 스레드 안전하지 않으므로 링과 같은 락 안에서 호출해야 합니다.
+ */
+public class FSRWindowStats {
+
+    public static final String[] SERIES = {
+            "ratio1", "ratio2", "ratio3", "ratio4", "ratio5", "ratio6",
+            "front", "rear", "heel", "inner", "outer"};
+
+    static final int RECOMPUTE_INTERVAL = 8192;
+
+    // 분위수 히스토그램 범위 (ratio와 파생 지표 모두 0~100%)
+    static final float HISTOGRAM_MIN = 0f;
+    static final float HISTOGRAM_MAX = 100f;
+    static final int BINS = 100;
+
+    private static final int SERIES_COUNT = SERIES.length;
+    private static final float BIN_WIDTH = (HISTOGRAM_MAX - HISTOGRAM_MIN) / BINS;
+
+    private final long windowMillis;
+
+    // 창의 시작 위치 (링 기록 위치 기준)
+    private long head;
+    private int count;
+
+    private final double[] means = new double[SERIES_COUNT];
+    private final double[] m2 = new double[SERIES_COUNT];
+    private final MonotonicDeque[] minima = new MonotonicDeque[SERIES_COUNT];
+    private final MonotonicDeque[] maxima = new MonotonicDeque[SERIES_COUNT];
+    private final int[] histogram = new int[SERIES_COUNT * BINS];
+    private int appendsSinceRecompute;
+
+    public FSRWindowStats(long windowMillis) {
+        this.windowMillis = windowMillis;
+        for (int s = 0; s < SERIES_COUNT; s++) {
+            minima[s] = new MonotonicDeque(false);
+            maxima[s] = new MonotonicDeque(true);
+        }
+    }
+
+    public long windowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * 기록 위치의 계열 값 (ratio 컬럼 또는 파생 지표)
+     */
+    static float valueOf(FSRWindowAggregator.Samples samples, long sequence, int series) {
+        return switch (series) {
+            case 6 -> samples.valueOf(sequence, 2) + samples.valueOf(sequence, 3) + samples.valueOf(sequence, 5); // front
+            case 7, 8 -> samples.valueOf(sequence, 0) + samples.valueOf(sequence, 4); // rear, heel
+            case 9 -> samples.valueOf(sequence, 4) + samples.valueOf(sequence, 5); // inner
+            case 10 -> samples.valueOf(sequence, 0) + samples.valueOf(sequence, 1)
+                    + samples.valueOf(sequence, 2) + samples.valueOf(sequence, 3); // outer
+            default -> samples.valueOf(sequence, series);
+        };
+    }
+
+    /**
+     * 링에 sequence 위치 샘플이 추가된 직후 호출
+     */
+    public void onAppend(FSRWindowAggregator.Samples samples, long sequence) {
+        count++;
+        for (int s = 0; s < SERIES_COUNT; s++) {
+            float value = valueOf(samples, sequence, s);
+            double delta = value - means[s];
+            means[s] += delta / count;
+            m2[s] += delta * (value - means[s]);
+            minima[s].push(samples, sequence, s, value);
+            maxima[s].push(samples, sequence, s, value);
+            histogram[s * BINS + bin(value)]++;
+        }
+        if (++appendsSinceRecompute >= RECOMPUTE_INTERVAL) {
+            recompute(samples, sequence + 1);
+        }
+    }
+
+    /**
+     * 링이 sequence 위치 샘플을 버리기(덮어쓰기/정리) 직전 호출
+     */
+    public void onDiscard(FSRWindowAggregator.Samples samples, long sequence) {
+        if (head == sequence) {
+            remove(samples, sequence);
+            head++;
+        }
+    }
+
+    /**
+     * now - 창 길이보다 오래된 샘플을 앞쪽부터 제거
+     *
+     * @param tail 링의 다음 기록 위치
+     */
+    public void evict(FSRWindowAggregator.Samples samples, long tail, long now) {
+        long threshold = now - windowMillis;
+        while (head < tail && samples.timestampOf(head) < threshold) {
+            remove(samples, head);
+            head++;
+        }
+    }
+
+    /**
+     * 창 안의 평균/분산을 다시 누적 (최소/최대와 히스토그램은 정확하므로 그대로)
+     */
+    public void recompute(FSRWindowAggregator.Samples samples, long tail) {
+        count = (int) (tail - head);
+        for (int s = 0; s < SERIES_COUNT; s++) {
+            double mean = 0;
+            double sum2 = 0;
+            int n = 0;
+            for (long seq = head; seq < tail; seq++) {
+                float value = valueOf(samples, seq, s);
+                n++;
+                double delta = value - mean;
+                mean += delta / n;
+                sum2 += delta * (value - mean);
+            }
+            means[s] = mean;
+            m2[s] = sum2;
+        }
+        appendsSinceRecompute = 0;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public double mean(int series) {
+        return count > 0 ? means[series] : 0;
+    }
+
+    /**
+     * 모분산 (창 안 샘플 전체 기준)
+     */
+    public double variance(int series) {
+        return count > 0 ? Math.max(0, m2[series]) / count : 0;
+    }
+
+    public float min(FSRWindowAggregator.Samples samples, int series) {
+        return count > 0 ? valueOf(samples, minima[series].first(), series) : 0;
+    }
+
+    public float max(FSRWindowAggregator.Samples samples, int series) {
+        return count > 0 ? valueOf(samples, maxima[series].first(), series) : 0;
+    }
+
+    /**
+     * 히스토그램 기반 분위수 (q = 0~1, 0~100 범위 밖의 값은 양 끝 구간에 포함)
+     */
+    public float quantile(int series, double q) {
+        if (count == 0) {
+            return 0;
+        }
+        double rank = q * count;
+        int base = series * BINS;
+        int cumulative = 0;
+        for (int b = 0; b < BINS; b++) {
+            int inBin = histogram[base + b];
+            if (inBin > 0 && cumulative + inBin >= rank) {
+                double fraction = Math.max(0, rank - cumulative) / inBin;
+                return (float) (HISTOGRAM_MIN + (b + fraction) * BIN_WIDTH);
+            }
+            cumulative += inBin;
+        }
+        return HISTOGRAM_MAX;
+    }
+
+    /**
+     * 계열별 통계 스냅샷 (계열 이름 순서 유지)
+     */
+    public Map<String, FSRSeriesStatsDTO> snapshot(FSRWindowAggregator.Samples samples) {
+        Map<String, FSRSeriesStatsDTO> result = new LinkedHashMap<>();
+        for (int s = 0; s < SERIES_COUNT; s++) {
+            result.put(SERIES[s], FSRSeriesStatsDTO.builder()
+                    .count(count)
+                    .mean((float) mean(s))
+                    .stdDev((float) Math.sqrt(variance(s)))
+                    .min(min(samples, s))
+                    .max(max(samples, s))
+                    .p10(quantile(s, 0.10))
+                    .p50(quantile(s, 0.50))
+                    .p90(quantile(s, 0.90))
+                    .build());
+        }
+        return result;
+    }
+
+    private void remove(FSRWindowAggregator.Samples samples, long sequence) {
+        if (count == 0) {
+            return;
+        }
+        count--;
+        for (int s = 0; s < SERIES_COUNT; s++) {
+            float value = valueOf(samples, sequence, s);
+            if (count == 0) {
+                means[s] = 0;
+                m2[s] = 0;
+            } else {
+                double delta = value - means[s];
+                means[s] -= delta / count;
+                m2[s] -= delta * (value - means[s]);
+            }
+            minima[s].evict(sequence);
+            maxima[s].evict(sequence);
+            histogram[s * BINS + bin(value)]--;
+        }
+    }
+
+    private static int bin(float value) {
+        int b = (int) ((value - HISTOGRAM_MIN) / BIN_WIDTH);
+        return b < 0 ? 0 : Math.min(b, BINS - 1);
+    }
+
+    /**
+     * 기록 위치를 담는 단조 deque (max면 값이 줄어드는 순, min이면 늘어나는 순)
+     * 평소에는 작게 유지되므로 작은 배열에서 시작해 필요할 때만 늘립니다.
+     */
+    private static final class MonotonicDeque {
+        private final boolean max;
+        private long[] sequences = new long[16];
+        private int first;
+        private int size;
+
+        MonotonicDeque(boolean max) {
+            this.max = max;
+        }
+
+        void push(FSRWindowAggregator.Samples samples, long sequence, int series, float value) {
+            // 새 값보다 나쁜(더 작은 최대 후보 / 더 큰 최소 후보) 뒤쪽 항목은 다시 앞으로 나올 일이 없음
+            while (size > 0) {
+                float last = valueOf(samples, sequences[(first + size - 1) & (sequences.length - 1)], series);
+                if (max ? last > value : last < value) {
+                    break;
+                }
+                size--;
+            }
+            if (size == sequences.length) {
+                grow();
+            }
+            sequences[(first + size) & (sequences.length - 1)] = sequence;
+            size++;
+        }
+
+        void evict(long sequence) {
+            if (size > 0 && sequences[first] == sequence) {
+                first = (first + 1) & (sequences.length - 1);
+                size--;
+            }
+        }
+
+        long first() {
+            return sequences[first];
+        }
+
+        private void grow() {
+            long[] grown = new long[sequences.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = sequences[(first + i) & (sequences.length - 1)];
+            }
+            sequences = grown;
+            first = 0;
+        }
+    }
+}
@@ -15,11 +15,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * 
  * 현재는 FastAPI가 Spring으로 Push하는 방식만 있지만,
  * FastAPI에 피드백 조회 API가 있다면 이 서비스를 통해 주기적으로 가져올 수 있습니다.
+ * 세션별 타임스탬프 캐시는 메모리 예산을 넘으면 {@link UserStateMemoryManager}가 오래된 것부터 제거합니다. (진행 중인 세션 제외)
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class FastApiPollingService {
+public class FastApiPollingService implements UserStateStore {
 
     private final FastApiSessionService fastApiSessionService;
     private final InferenceSessionService inferenceSessionService;
@@ -28,6 +29,9 @@ public class FastApiPollingService {
     // 마지막으로 가져온 피드백의 타임스탬프를 저장 (중복 방지)
     private final Map<String, Long> lastFeedbackTimestamps = new ConcurrentHashMap<>();
 
+    // fastApiSessionId -> 마지막으로 피드백을 저장한 시각 (메모리 예산 초과 시 제거 순서)
+    private final Map<String, Long> lastPolledAt = new ConcurrentHashMap<>();
+
     /**
      * 활성 세션에 대해 주기적으로 FastAPI에서 피드백 가져오기
      * 
@@ -78,6 +82,7 @@ public class FastApiPollingService {
                 if (success && feedback.getTimestamp() != null) {
                     // 마지막 타임스탬프 저장
                     lastFeedbackTimestamps.put(fastApiSessionId, feedback.getTimestamp());
+                    lastPolledAt.put(fastApiSessionId, System.currentTimeMillis());
                     log.info("✅ FastAPI 피드백 Polling 성공: fastApiSessionId={}, springSessionId={}, timestamp={}", 
                         fastApiSessionId, springSessionId, feedback.getTimestamp());
                 }
@@ -93,6 +98,35 @@ public class FastApiPollingService {
      */
     public void clearSessionCache(String fastApiSessionId) {
         lastFeedbackTimestamps.remove(fastApiSessionId);
+        lastPolledAt.remove(fastApiSessionId);
+    }
+
+    @Override
+    public String storeName() {
+        return "fastApiPolling";
+    }
+
+    @Override
+    public void forEachEntry(EntryConsumer consumer) {
+        // 키 + Long 값, 시각 맵까지 두 항목
+        // 저장 시각이 아직 없는 항목은 방금 생긴 것으로 보고 제거 순서의 맨 앞에 두지 않음
+        long now = System.currentTimeMillis();
+        lastFeedbackTimestamps.keySet().forEach(sessionId -> consumer.accept(sessionId,
+                2 * (MAP_ENTRY_BYTES + 16) + UserStateStore.stringBytes(sessionId),
+                lastPolledAt.getOrDefault(sessionId, now)));
+    }
+
+    /**
+     * 진행 중인 FastAPI 세션의 중복 방지 상태는 제거하지 않음
+     * (지우면 다음 폴링에서 이미 보낸 피드백을 다시 전송하므로, 세션 종료 시 clearSessionCache로 정리)
+     */
+    @Override
+    public boolean evict(String fastApiSessionId) {
+        if (inferenceSessionService.getActiveFastApiSessions().contains(fastApiSessionId)) {
+            return false;
+        }
+        lastPolledAt.remove(fastApiSessionId);
+        return lastFeedbackTimestamps.remove(fastApiSessionId) != null;
     }
 }
 
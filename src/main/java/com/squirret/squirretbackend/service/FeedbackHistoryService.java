@@ -3,16 +3,22 @@ package com.squirret.squirretbackend.service;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 사용자별 마지막으로 전송된 피드백 문구를 추적하는 서비스.
  * - WebSocket voice 피드백이 여러 곳에서 생성되더라도
  *   여기서 마지막 문구를 공통으로 관리해서 중복 전송을 막는다.
+ * - 메모리 예산을 넘으면 {@link UserStateMemoryManager}가 오래 활동이 없던 사용자부터 제거한다.
  */
 @Service
-public class FeedbackHistoryService {
+public class FeedbackHistoryService implements UserStateStore {
+
+    // 문구별 쿨다운 맵 (ConcurrentHashMap 자체) 대략적인 크기
+    private static final long COOLDOWN_MAP_BYTES = 128;
 
     // key: userId (또는 WebSocket user), value: 마지막으로 전송된 피드백 텍스트
     private final Map<String, String> lastFeedbackByUser = new ConcurrentHashMap<>();
@@ -20,6 +26,9 @@ public class FeedbackHistoryService {
     // key: userId, value: (text -> lastSentEpochMillis)
     private final Map<String, Map<String, Long>> perUserCooldownMap = new ConcurrentHashMap<>();
 
+    // key: userId, value: 마지막으로 문구를 기록한 시각 (메모리 예산 초과 시 제거 순서)
+    private final Map<String, Long> lastActivityByUser = new ConcurrentHashMap<>();
+
     public String getLastFeedback(String userId) {
         if (userId == null) {
             return null;
@@ -32,6 +41,7 @@ public class FeedbackHistoryService {
             return;
         }
         lastFeedbackByUser.put(userId, text);
+        lastActivityByUser.put(userId, Instant.now().toEpochMilli());
     }
 
     /**
@@ -65,6 +75,38 @@ public class FeedbackHistoryService {
                 .put(text, Instant.now().toEpochMilli());
         // 마지막 문장도 함께 업데이트
         lastFeedbackByUser.put(userId, text);
+        lastActivityByUser.put(userId, Instant.now().toEpochMilli());
+    }
+
+    @Override
+    public String storeName() {
+        return "feedbackHistory";
+    }
+
+    @Override
+    public void forEachEntry(EntryConsumer consumer) {
+        Set<String> userIds = new HashSet<>(lastFeedbackByUser.keySet());
+        userIds.addAll(perUserCooldownMap.keySet());
+        for (String userId : userIds) {
+            long bytes = 3 * MAP_ENTRY_BYTES + UserStateStore.stringBytes(userId)
+                    + UserStateStore.stringBytes(lastFeedbackByUser.get(userId));
+            Map<String, Long> cooldowns = perUserCooldownMap.get(userId);
+            if (cooldowns != null) {
+                bytes += COOLDOWN_MAP_BYTES;
+                for (String text : cooldowns.keySet()) {
+                    bytes += MAP_ENTRY_BYTES + UserStateStore.stringBytes(text) + 16;
+                }
+            }
+            consumer.accept(userId, bytes, lastActivityByUser.getOrDefault(userId, 0L));
+        }
+    }
+
+    @Override
+    public boolean evict(String userId) {
+        boolean removed = lastFeedbackByUser.remove(userId) != null;
+        removed |= perUserCooldownMap.remove(userId) != null;
+        lastActivityByUser.remove(userId);
+        return removed;
     }
 }
 
@@ -9,12 +9,20 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Spring 세션 ↔ FastAPI 세션 매핑
+ * 세션 정보는 메모리 예산을 넘으면 {@link UserStateMemoryManager}가 마지막 조회가 오래된 것부터 제거하며,
+ * 진행 중인(ACTIVE이고 TTL 안인) 세션은 제거 대상에서 제외합니다.
+ */
 @Slf4j
 @Service
-public class InferenceSessionService {
+public class InferenceSessionService implements UserStateStore {
 
     private static final Duration SESSION_TTL = Duration.ofMinutes(30);
 
+    // SessionInfo + Instant + 상태/통계 대략적인 크기 (ID 문자열 제외)
+    private static final long SESSION_INFO_BYTES = 160;
+
     private final Map<String, SessionInfo> sessions = new ConcurrentHashMap<>();
 
     public InferenceSessionService() {
@@ -76,6 +84,7 @@ public class InferenceSessionService {
         if (info == null) {
             return null;
         }
+        info.touch();
         // 만료 확인
         if (Instant.now().isAfter(info.getCreatedAt().plus(SESSION_TTL))) {
             sessions.remove(springSessionId);
@@ -104,6 +113,7 @@ public class InferenceSessionService {
         if (info == null) {
             return false;
         }
+        info.touch();
         // 만료 확인
         if (Instant.now().isAfter(info.getCreatedAt().plus(SESSION_TTL))) {
             sessions.remove(sessionId);
@@ -123,6 +133,7 @@ public class InferenceSessionService {
             log.warn("세션을 찾을 수 없음: sessionId={}", sessionId);
             return null;
         }
+        info.touch();
         // 만료 확인
         if (Instant.now().isAfter(info.getCreatedAt().plus(SESSION_TTL))) {
             sessions.remove(sessionId);
@@ -152,6 +163,36 @@ public class InferenceSessionService {
         return activeSessions;
     }
 
+    @Override
+    public String storeName() {
+        return "inferenceSessions";
+    }
+
+    @Override
+    public void forEachEntry(EntryConsumer consumer) {
+        sessions.forEach((sessionId, info) -> consumer.accept(sessionId,
+                MAP_ENTRY_BYTES + SESSION_INFO_BYTES + UserStateStore.stringBytes(sessionId)
+                        + UserStateStore.stringBytes(info.getUserId())
+                        + UserStateStore.stringBytes(info.getFastApiSessionId()),
+                info.getLastAccessMillis()));
+    }
+
+    /**
+     * 완료되었거나 TTL이 지난 세션만 제거 (진행 중인 세션의 매핑은 예산 초과로도 지우지 않음)
+     */
+    @Override
+    public boolean evict(String sessionId) {
+        SessionInfo info = sessions.get(sessionId);
+        if (info == null) {
+            return false;
+        }
+        boolean expired = Instant.now().isAfter(info.getCreatedAt().plus(SESSION_TTL));
+        if (info.getStatus() == SessionStatus.ACTIVE && !expired) {
+            return false;
+        }
+        return sessions.remove(sessionId, info);
+    }
+
     /**
      * 세션 생성 응답
      * - sessionId: Spring 세션 ID (백엔드 내부 관리용)
@@ -168,14 +209,19 @@ public class InferenceSessionService {
         private SessionStatus status;
         private SessionStats stats;
         private String fastApiSessionId;  // FastAPI 세션 ID
+        private volatile long lastAccessMillis;  // 마지막 조회 시각 (메모리 예산 초과 시 제거 순서)
 
         public SessionInfo(String sessionId, String userId, Instant createdAt, SessionStatus status) {
             this.sessionId = sessionId;
             this.userId = userId;
             this.createdAt = createdAt;
             this.status = status;
+            this.lastAccessMillis = createdAt.toEpochMilli();
         }
 
+        void touch() { this.lastAccessMillis = System.currentTimeMillis(); }
+        public long getLastAccessMillis() { return lastAccessMillis; }
+
         public String getSessionId() { return sessionId; }
         public String getUserId() { return userId; }
         public Instant getCreatedAt() { return createdAt; }
@@ -45,7 +45,22 @@ public class PostureFeedbackService {
     }
 
     public FsrFeedbackResponse getOverallFeedback() {
-        Map<String, FSRDataDTO> averaged = fsrDataService.getAveragedInsoleData(FEEDBACK_WINDOW);
+        return getOverallFeedback(FSRDataService.DEFAULT_USER);
+    }
+
+    /**
+     * 특정 사용자의 최근 10초 FSR 데이터 기반 종합 피드백
+     * 좌/우를 같은 시점으로 묶은 프레임 평균을 우선 사용하고, 아직 묶인 프레임이 없으면 쪽별 평균을 사용합니다.
+     * 두 평균 모두 창별 누적 합계로 유지되므로 호출 비용이 데이터 양과 무관합니다.
+     * 메트릭에는 발별 창 통계(표준편차, 최소/최대, 분위수)를 함께 담아 평균에 가려지는 흔들림과 뒤꿈치 들림을 보여 줍니다.
+     */
+    public FsrFeedbackResponse getOverallFeedback(String userId) {
+        FSRBilateralSummary summary = fsrDataService.getBilateralSummary(userId, FEEDBACK_WINDOW);
+        if (summary.getFrameCount() > 0) {
+            return buildFeedback(userId, calculateCombinedMetrics(summary));
+        }
+
+        Map<String, FSRDataDTO> averaged = fsrDataService.getAveragedInsoleData(userId, FEEDBACK_WINDOW);
         FSRDataDTO leftData = averaged.get("left");
         FSRDataDTO rightData = averaged.get("right");
 
@@ -63,7 +78,10 @@ public class PostureFeedbackService {
         }
 
         // 양발 데이터를 평균 내어 통합 분석
-        CombinedMetrics combined = calculateCombinedMetrics(leftData, rightData);
+        return buildFeedback(userId, calculateCombinedMetrics(leftData, rightData));
+    }
+
+    private FsrFeedbackResponse buildFeedback(String userId, CombinedMetrics combined) {
         StageResult descent = evaluateDescent(combined);
         StageResult ascent = evaluateAscent(combined);
 
@@ -77,6 +95,8 @@ public class PostureFeedbackService {
                 .heel(combined.heel)
                 .innerOuterDiff(combined.innerOuterDiff)
                 .leftRightDiff(combined.leftRightDiff)
+                .leftStats(fsrDataService.getWindowStats(userId, "left"))
+                .rightStats(fsrDataService.getWindowStats(userId, "right"))
                 .build();
 
         String feedback;
@@ -143,6 +163,18 @@ public class PostureFeedbackService {
         return combined;
     }
 
+    /**
+     * 시간 정렬된 프레임 평균 기반 통합 메트릭
+     * 쪽별 메트릭은 해당 쪽 값이 있는 프레임의 평균, 좌우 차이는 양쪽이 모두 있는 프레임마다 계산한 |L - R|의 평균입니다.
+     */
+    private CombinedMetrics calculateCombinedMetrics(FSRBilateralSummary summary) {
+        CombinedMetrics combined = calculateCombinedMetrics(summary.getLeftAverage(), summary.getRightAverage());
+        if (summary.getPairCount() > 0) {
+            combined.leftRightDiff = summary.getPairedLoadDiff();
+        }
+        return combined;
+    }
+
     private Metrics calculateMetrics(FSRDataDTO data) {
         Metrics metrics = new Metrics();
         metrics.front = data.getRatio3() + data.getRatio4() + data.getRatio6();
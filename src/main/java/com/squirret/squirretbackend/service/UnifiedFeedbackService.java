@@ -20,10 +20,25 @@ public class UnifiedFeedbackService {
     private final PostureFeedbackService postureFeedbackService;
 
     public CombinedFeedbackResponse buildFeedback() {
-        Map<String, String> aiSnapshot = aiStateStore.snapshot();
-        CombinedFeedbackResponse.AiFeedback aiFeedback = buildAiFeedback(aiSnapshot);
+        return buildFeedback(aiStateStore.snapshot(), postureFeedbackService.getOverallFeedback());
+    }
+
+    /**
+     * 특정 사용자의 AI 상태와 FSR 데이터로 통합 피드백 생성
+     */
+    public CombinedFeedbackResponse buildFeedback(String userId) {
+        return buildFeedback(userId, userId);
+    }
 
-        FsrFeedbackResponse fsrFeedback = postureFeedbackService.getOverallFeedback();
+    /**
+     * AI 상태는 사용자 기준, FSR 데이터는 스트림 키(사용자/세션) 기준으로 통합 피드백 생성
+     */
+    public CombinedFeedbackResponse buildFeedback(String userId, String fsrUserKey) {
+        return buildFeedback(aiStateStore.snapshot(userId), postureFeedbackService.getOverallFeedback(fsrUserKey));
+    }
+
+    private CombinedFeedbackResponse buildFeedback(Map<String, String> aiSnapshot, FsrFeedbackResponse fsrFeedback) {
+        CombinedFeedbackResponse.AiFeedback aiFeedback = buildAiFeedback(aiSnapshot);
 
         List<String> merged = mergeMessages(aiFeedback, fsrFeedback);
         if (merged.isEmpty()) {
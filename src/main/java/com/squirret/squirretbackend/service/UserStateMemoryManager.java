@@ -0,0 +1,136 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.UserStateMemoryResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 상태 저장소({@link UserStateStore})의 전역 메모리 예산 관리
+ *
+ * user-state.memory.check-interval-ms마다 모든 저장소의 추정 사용량을 합산해 저장소별로 공개하고,
+ * 합계가 user-state.memory.budget-mb를 넘으면 모든 저장소의 항목을 마지막 활동 시각 순으로 모아
+ * 가장 오래 활동이 없던 것부터 합계가 예산 x low-watermark 아래로 내려갈 때까지 제거합니다.
+ * (low-watermark로 여유를 두어 예산 경계에서 매번 제거가 반복되지 않게 함)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserStateMemoryManager {
+
+    @Value("${user-state.memory.budget-mb:512}")
+    private long budgetMegabytes;
+
+    @Value("${user-state.memory.low-watermark:0.9}")
+    private double lowWatermark;
+
+    private final List<UserStateStore> stores;
+
+    private final Map<String, AtomicLong> evictedByStore = new ConcurrentHashMap<>();
+    private final AtomicLong evictedTotal = new AtomicLong();
+
+    // 마지막 점검 결과 (조회용)
+    private volatile UserStateMemoryResponse lastUsage;
+
+    private record Candidate(UserStateStore store, String key, long bytes, long lastActive) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (lowWatermark <= 0 || lowWatermark > 1) {
+            throw new IllegalStateException("user-state.memory.low-watermark는 0보다 크고 1 이하여야 합니다: " + lowWatermark);
+        }
+        stores.forEach(store -> evictedByStore.put(store.storeName(), new AtomicLong()));
+        log.info("사용자 상태 메모리 예산: budgetMb={}, stores={}", budgetMegabytes,
+                stores.stream().map(UserStateStore::storeName).toList());
+    }
+
+    public long budgetBytes() {
+        return budgetMegabytes * 1024 * 1024;
+    }
+
+    /**
+     * 사용량 집계 후 예산을 넘었으면 오래 활동이 없던 항목부터 제거
+     */
+    @Scheduled(fixedDelayString = "${user-state.memory.check-interval-ms:10000}")
+    public void enforceBudget() {
+        long budget = budgetBytes();
+        long total = 0;
+        for (UserStateStore store : stores) {
+            total += store.estimatedBytes();
+        }
+
+        if (total > budget) {
+            long target = (long) (budget * lowWatermark);
+            List<Candidate> candidates = new ArrayList<>();
+            for (UserStateStore store : stores) {
+                store.forEachEntry((key, bytes, lastActive) -> candidates.add(new Candidate(store, key, bytes, lastActive)));
+            }
+            candidates.sort(Comparator.comparingLong(Candidate::lastActive));
+
+            long before = total;
+            int evicted = 0;
+            for (Candidate candidate : candidates) {
+                if (total <= target) {
+                    break;
+                }
+                if (candidate.store().evict(candidate.key())) {
+                    total -= candidate.bytes();
+                    evicted++;
+                    evictedByStore.computeIfAbsent(candidate.store().storeName(), k -> new AtomicLong()).incrementAndGet();
+                }
+            }
+            evictedTotal.addAndGet(evicted);
+            log.warn("사용자 상태 메모리 예산 초과로 제거: evicted={}, beforeBytes={}, afterBytes={}, budgetBytes={}",
+                    evicted, before, total, budget);
+        }
+
+        lastUsage = snapshot(budget);
+    }
+
+    /**
+     * 마지막 점검 시점의 저장소별 사용량 (아직 점검 전이면 바로 집계)
+     */
+    public UserStateMemoryResponse getUsage() {
+        UserStateMemoryResponse usage = lastUsage;
+        return usage != null ? usage : snapshot(budgetBytes());
+    }
+
+    private UserStateMemoryResponse snapshot(long budget) {
+        List<UserStateMemoryResponse.StoreUsage> usages = new ArrayList<>(stores.size());
+        long used = 0;
+        for (UserStateStore store : stores) {
+            int[] entries = new int[1];
+            long[] bytes = new long[1];
+            store.forEachEntry((key, size, lastActive) -> {
+                entries[0]++;
+                bytes[0] += size;
+            });
+            used += bytes[0];
+            AtomicLong evicted = evictedByStore.get(store.storeName());
+            usages.add(UserStateMemoryResponse.StoreUsage.builder()
+                    .name(store.storeName())
+                    .entries(entries[0])
+                    .estimatedBytes(bytes[0])
+                    .evicted(evicted != null ? evicted.get() : 0)
+                    .build());
+        }
+        return UserStateMemoryResponse.builder()
+                .budgetBytes(budget)
+                .usedBytes(used)
+                .checkedAt(System.currentTimeMillis())
+                .evictedTotal(evictedTotal.get())
+                .stores(usages)
+                .build();
+    }
+}
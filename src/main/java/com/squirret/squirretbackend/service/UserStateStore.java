@@ -0,0 +1,57 @@
+package com.squirret.squirretbackend.service;
+
+/**
+ * 사용자(또는 세션) 단위 상태를 메모리에 보관하는 저장소
+ *
+ * 구현한 빈은 {@link UserStateMemoryManager}에 자동으로 등록되며, 항목별 추정 크기와 마지막 활동 시각을 보고합니다.
+ * 전체 추정 크기가 예산을 넘으면 관리자가 모든 저장소의 항목 중 가장 오래 활동이 없던 것부터 {@link #evict(String)}로 제거합니다.
+ * 크기는 객체 헤더/참조까지 대략 더한 추정치이며, 정확한 측정보다 저장소 간 비교와 추세 확인이 목적입니다.
+ */
+public interface UserStateStore {
+
+    /**
+     * ConcurrentHashMap 항목 하나(노드 + 테이블 슬롯)의 대략적인 크기 (키/값 제외)
+     */
+    long MAP_ENTRY_BYTES = 48;
+
+    /**
+     * 사용량 보고에 쓰는 저장소 이름
+     */
+    String storeName();
+
+    /**
+     * 항목마다 (키, 추정 바이트, 마지막 활동 시각 epoch ms) 전달
+     */
+    void forEachEntry(EntryConsumer consumer);
+
+    /**
+     * 항목 제거 (진행 중이라 지울 수 없는 항목은 거부할 수 있으며, 관리자는 다음 후보로 넘어감)
+     *
+     * @return 제거했으면 true
+     */
+    boolean evict(String key);
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(String key, long estimatedBytes, long lastActiveMillis);
+    }
+
+    default long estimatedBytes() {
+        long[] total = new long[1];
+        forEachEntry((key, bytes, lastActive) -> total[0] += bytes);
+        return total[0];
+    }
+
+    default int entryCount() {
+        int[] count = new int[1];
+        forEachEntry((key, bytes, lastActive) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * 문자열 하나의 대략적인 크기 (String + byte[] 헤더, Latin-1 기준)
+     */
+    static long stringBytes(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+}
@@ -0,0 +1,90 @@
+package com.squirret.squirretbackend.handler;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRBinaryOutputEncoderTest {
+
+    private FSRDataDTO sample(String side, long timestamp, float... ratios) {
+        FSRDataDTO data = new FSRDataDTO();
+        data.setSide(side);
+        data.setTimestamp(timestamp);
+        data.setRatio1(ratios[0]);
+        data.setRatio2(ratios[1]);
+        data.setRatio3(ratios[2]);
+        data.setRatio4(ratios[3]);
+        data.setRatio5(ratios[4]);
+        data.setRatio6(ratios[5]);
+        data.setVoltage1(1.5f);
+        return data;
+    }
+
+    @Test
+    void testEncodeLayout() {
+        // Given
+        FSRDataDTO left = sample("left", 1_730_000_000_000L, 15.2f, 7.5f, 3.1f, 25.4f, 30.0f, 18.8f);
+        FSRDataDTO right = sample("right", 1_730_000_000_020L, 12.3f, 8.4f, 5.1f, 20.0f, 32.5f, 21.7f);
+
+        // When
+        byte[] frame = FSRBinaryOutputEncoder.encode("guest123", left, right);
+
+        // Then
+        assertEquals(FSRBinaryOutputEncoder.FIXED_SIZE + 8, frame.length);
+        ByteBuffer in = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(0xF5, in.get() & 0xFF);
+        assertEquals(1, in.get());
+        assertEquals(FSRBinaryOutputEncoder.FLAG_LEFT | FSRBinaryOutputEncoder.FLAG_RIGHT, in.get());
+        byte[] id = new byte[in.get()];
+        in.get(id);
+        assertEquals("guest123", new String(id, StandardCharsets.UTF_8));
+        assertEquals(1_730_000_000_020L, in.getLong());
+
+        float[] expected = {15.2f, 7.5f, 3.1f, 25.4f, 30.0f, 18.8f, 12.3f, 8.4f, 5.1f, 20.0f, 32.5f, 21.7f};
+        for (float value : expected) {
+            assertEquals(value, FSRBinaryOutputEncoder.dequantize(in.getShort()), 0.005f);
+        }
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    void testMissingSideClearsFlagAndZeroFills() {
+        // Given / When: 오른발 없음
+        byte[] frame = FSRBinaryOutputEncoder.encode("u", sample("left", 100L, 1, 2, 3, 4, 5, 6), null);
+
+        // Then
+        ByteBuffer in = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(FSRBinaryOutputEncoder.FLAG_LEFT, in.get(2));
+        int rightOffset = FSRBinaryOutputEncoder.HEADER_SIZE + 1 + Long.BYTES + 6 * Short.BYTES;
+        for (int i = 0; i < 6; i++) {
+            assertEquals(0, in.getShort(rightOffset + i * Short.BYTES));
+        }
+    }
+
+    @Test
+    void testQuantizeClampsOutOfRange() {
+        assertEquals(0, FSRBinaryOutputEncoder.quantize(-3f));
+        assertEquals(655.35f, FSRBinaryOutputEncoder.dequantize(FSRBinaryOutputEncoder.quantize(1_000f)), 0.001f);
+        assertEquals(100f, FSRBinaryOutputEncoder.dequantize(FSRBinaryOutputEncoder.quantize(100f)), 0.001f);
+    }
+
+    @Test
+    void testRejectsTooLongStreamId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FSRBinaryOutputEncoder.encode("x".repeat(256), null, null));
+    }
+
+    @Test
+    void testNegotiateFormat() {
+        assertEquals(FSRWireFormat.BINARY, FSRWireFormat.negotiate("fsr.bin.v1", null));
+        assertEquals(FSRWireFormat.BINARY, FSRWireFormat.negotiate(null, "binary"));
+        assertEquals(FSRWireFormat.DELTA, FSRWireFormat.negotiate("fsr.delta.v1", "binary"));
+        assertEquals(FSRWireFormat.JSON, FSRWireFormat.negotiate(null, null));
+        assertEquals(FSRWireFormat.JSON, FSRWireFormat.negotiate("", "xml"));
+    }
+}
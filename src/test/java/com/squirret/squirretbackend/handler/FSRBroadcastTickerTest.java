@@ -0,0 +1,77 @@
+package com.squirret.squirretbackend.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRBroadcastTickerTest {
+
+    // 스케줄러 없이 tick()을 직접 호출 (tick-rate-hz 미설정 상태에서 start는 flush만 등록)
+    private FSRBroadcastTicker ticker(List<String> flushed) {
+        FSRBroadcastTicker ticker = new FSRBroadcastTicker();
+        ticker.start(flushed::add);
+        return ticker;
+    }
+
+    @Test
+    void testCoalescesUpdatesIntoOneFlushPerStream() {
+        // Given
+        List<String> flushed = new ArrayList<>();
+        FSRBroadcastTicker ticker = ticker(flushed);
+
+        // When: 틱 사이에 user-a 갱신 5번(좌/우 교대), user-b 1번
+        for (int i = 0; i < 5; i++) {
+            ticker.markDirty("user-a");
+        }
+        ticker.markDirty("user-b");
+        ticker.tick();
+
+        // Then
+        assertEquals(2, flushed.size());
+        assertTrue(flushed.containsAll(List.of("user-a", "user-b")));
+        assertEquals(4, ticker.coalesced());
+        assertEquals(0, ticker.pending());
+    }
+
+    @Test
+    void testIdleStreamsAreNotFlushed() {
+        // Given
+        List<String> flushed = new ArrayList<>();
+        FSRBroadcastTicker ticker = ticker(flushed);
+        ticker.markDirty("user-a");
+        ticker.tick();
+
+        // When: 갱신 없이 다음 틱
+        ticker.tick();
+
+        // Then
+        assertEquals(List.of("user-a"), flushed);
+        assertEquals(2, ticker.ticks());
+        assertEquals(1, ticker.flushed());
+    }
+
+    @Test
+    void testFailingStreamDoesNotStopTick() {
+        // Given: user-a 게시는 실패
+        List<String> flushed = new ArrayList<>();
+        FSRBroadcastTicker ticker = new FSRBroadcastTicker();
+        ticker.start(streamId -> {
+            if (streamId.equals("user-a")) {
+                throw new IllegalStateException("boom");
+            }
+            flushed.add(streamId);
+        });
+        ticker.markDirty("user-a");
+        ticker.markDirty("user-b");
+
+        // When
+        ticker.tick();
+
+        // Then
+        assertEquals(List.of("user-b"), flushed);
+        assertEquals(0, ticker.pending());
+    }
+}
@@ -0,0 +1,159 @@
+package com.squirret.squirretbackend.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRDeltaEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 키프레임 주기 1초, ratio 0.5%, voltage 0.01V
+    private final FSRDeltaEncoder encoder = new FSRDeltaEncoder(new FSRDeltaEncoder.Settings(1_000, 0.5f, 0.01f));
+
+    private FSRDataDTO foot(String side, float ratio1, float ratio2, float voltage1) {
+        FSRDataDTO data = new FSRDataDTO();
+        data.setSide(side);
+        data.setTimestamp(5_000L);
+        data.setRatio1(ratio1);
+        data.setRatio2(ratio2);
+        data.setVoltage1(voltage1);
+        return data;
+    }
+
+    private FSROutboundFrame frame(String streamId, FSRDataDTO left, FSRDataDTO right) {
+        Map<String, FSRDataDTO> data = new HashMap<>();
+        if (left != null) {
+            data.put("left", left);
+        }
+        if (right != null) {
+            data.put("right", right);
+        }
+        return new FSROutboundFrame(streamId, data, objectMapper);
+    }
+
+    private FSROutboundFrame frame(float leftRatio1) {
+        return frame("user-1", foot("left", leftRatio1, 20f, 1.5f), foot("right", 30f, 40f, 2.0f));
+    }
+
+    private ByteBuffer read(byte[] bytes, int expectedType) {
+        ByteBuffer in = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(FSRDeltaEncoder.MAGIC, in.get() & 0xFF);
+        assertEquals(FSRDeltaEncoder.VERSION, in.get());
+        assertEquals(expectedType, in.get());
+        in.get(); // flags
+        byte[] id = new byte[in.get()];
+        in.get(id);
+        assertEquals("user-1", new String(id, StandardCharsets.UTF_8));
+        assertEquals(5_000L, in.getLong());
+        return in;
+    }
+
+    @Test
+    void testFirstFrameIsKeyframe() {
+        // When
+        byte[] bytes = encoder.encode(frame(10f), 0, false);
+
+        // Then: 24채널 전체
+        ByteBuffer in = read(bytes, FSRDeltaEncoder.TYPE_KEYFRAME);
+        assertEquals(1000, in.getShort(in.position()));          // 왼발 ratio1 10.00%
+        assertEquals(3000, in.getShort(in.position() + 2 * 6));  // 오른발 ratio1 30.00%
+        assertEquals(1500, in.getShort(in.position() + 2 * 12)); // 왼발 voltage1 1.5V
+        assertEquals(FSRDeltaEncoder.CHANNELS * 2, in.remaining());
+        assertEquals(1, encoder.keyframes());
+    }
+
+    @Test
+    void testChangeBelowThresholdIsSuppressed() {
+        // Given
+        encoder.encode(frame(10f), 0, false);
+
+        // When: 0.3% 변화
+        byte[] bytes = encoder.encode(frame(10.3f), 100, false);
+
+        // Then
+        assertNull(bytes);
+        assertEquals(1, encoder.suppressed());
+    }
+
+    @Test
+    void testDeltaCarriesOnlyChangedChannels() {
+        // Given
+        encoder.encode(frame(10f), 0, false);
+
+        // When: 왼발 ratio1 +2%, 오른발 voltage1 +0.05V
+        byte[] bytes = encoder.encode(frame("user-1", foot("left", 12f, 20f, 1.5f), foot("right", 30f, 40f, 2.05f)), 100, false);
+
+        // Then
+        ByteBuffer in = read(bytes, FSRDeltaEncoder.TYPE_DELTA);
+        assertEquals((1 << 0) | (1 << 18), in.getInt());
+        assertEquals(1200, in.getShort());
+        assertEquals(2050, in.getShort());
+        assertFalse(in.hasRemaining());
+        assertEquals(1, encoder.deltas());
+    }
+
+    @Test
+    void testDeltaComparesWithLastSentValue() {
+        // Given: 임계값보다 작은 변화가 누적
+        encoder.encode(frame(10f), 0, false);
+        assertNull(encoder.encode(frame(10.3f), 100, false));
+
+        // When: 마지막으로 보낸 10%와 비교하면 0.6% 변화
+        byte[] bytes = encoder.encode(frame(10.6f), 200, false);
+
+        // Then
+        ByteBuffer in = read(bytes, FSRDeltaEncoder.TYPE_DELTA);
+        assertEquals(1, in.getInt());
+        assertEquals(1060, in.getShort());
+    }
+
+    @Test
+    void testKeyframeIntervalAndForce() {
+        // Given
+        encoder.encode(frame(10f), 0, false);
+
+        // When / Then: 주기가 지나면 값이 같아도 키프레임
+        read(encoder.encode(frame(10f), 1_000, false), FSRDeltaEncoder.TYPE_KEYFRAME);
+        // 호출 측이 강제하면 주기 전에도 키프레임
+        read(encoder.encode(frame(10f), 1_100, true), FSRDeltaEncoder.TYPE_KEYFRAME);
+        assertEquals(3, encoder.keyframes());
+    }
+
+    @Test
+    void testMissingFootForcesKeyframe() {
+        // Given
+        encoder.encode(frame(10f), 0, false);
+
+        // When: 오른발이 빠짐
+        byte[] bytes = encoder.encode(frame("user-1", foot("left", 10f, 20f, 1.5f), null), 100, false);
+
+        // Then
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        assertEquals(FSRDeltaEncoder.TYPE_KEYFRAME, in.get(2));
+        assertEquals(FSRBinaryOutputEncoder.FLAG_LEFT, in.get(3));
+    }
+
+    @Test
+    void testPerStreamThresholdAndReset() {
+        // Given: 이 스트림은 5% 이상만 전송
+        encoder.setRatioThreshold("user-1", 5f);
+        encoder.encode(frame(10f), 0, false);
+
+        // When / Then
+        assertNull(encoder.encode(frame(12f), 100, false));
+        assertNotNull(encoder.encode(frame(16f), 200, false));
+
+        // 상태를 지우면 다음 프레임은 키프레임
+        encoder.reset("user-1");
+        read(encoder.encode(frame(16f), 300, false), FSRDeltaEncoder.TYPE_KEYFRAME);
+    }
+}
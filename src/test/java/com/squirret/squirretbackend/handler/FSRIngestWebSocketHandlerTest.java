@@ -0,0 +1,108 @@
+package com.squirret.squirretbackend.handler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.squirret.squirretbackend.config.FSRDeviceHandshakeInterceptor;
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.service.FSRIngestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class FSRIngestWebSocketHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private FSRIngestService ingestService;
+    private FSRIngestWebSocketHandler handler;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() {
+        ingestService = mock(FSRIngestService.class);
+        handler = new FSRIngestWebSocketHandler(objectMapper, ingestService);
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(FSRDeviceHandshakeInterceptor.ATTR_DEVICE_ID, "insole-01");
+        attributes.put(FSRDeviceHandshakeInterceptor.ATTR_SIDE, "left");
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("ingest-1");
+        when(session.getAttributes()).thenReturn(attributes);
+        handler.afterConnectionEstablished(session);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testArrayMessageDecodedPerElementWithConnectionIdentity() throws Exception {
+        // Given
+        when(ingestService.ingestBatch(anyList())).thenReturn(FSRIngestService.Result.APPLIED);
+
+        // When
+        handler.handleTextMessage(session, new TextMessage(
+                "[{\"voltage1\": 1.2, \"sequence\": 1}, {\"side\": \"right\", \"ratio1\": 40, \"sequence\": 2}]"));
+
+        // Then: 반영된 메시지에는 응답하지 않음
+        ArgumentCaptor<List<FSRDataDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ingestService).ingestBatch(captor.capture());
+        List<FSRDataDTO> samples = captor.getValue();
+        assertEquals(2, samples.size());
+        assertEquals("insole-01", samples.get(0).getDeviceId());
+        assertEquals("left", samples.get(0).getSide());
+        assertEquals("right", samples.get(1).getSide());
+        assertEquals(40f, samples.get(1).getRatio1());
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    void testDroppedSampleGetsNack() throws Exception {
+        // Given: 비동기 링이 가득 참
+        when(ingestService.ingest(any())).thenReturn(FSRIngestService.Result.DROPPED);
+
+        // When
+        handler.handleTextMessage(session, new TextMessage("{\"voltage1\": 1.2, \"sequence\": 7}"));
+
+        // Then
+        ArgumentCaptor<TextMessage> reply = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(reply.capture());
+        JsonNode nack = objectMapper.readTree(reply.getValue().getPayload());
+        assertEquals("nack", nack.get("type").asText());
+        assertEquals("DROPPED", nack.get("result").asText());
+        assertEquals(7, nack.get("sequence").asLong());
+    }
+
+    @Test
+    void testDuplicateBatchGetsAck() throws Exception {
+        // Given
+        when(ingestService.ingestBatch(anyList())).thenReturn(FSRIngestService.Result.DUPLICATE);
+
+        // When
+        handler.handleTextMessage(session, new TextMessage("[{\"sequence\": 1}, {\"sequence\": 2}]"));
+
+        // Then
+        ArgumentCaptor<TextMessage> reply = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(reply.capture());
+        JsonNode ack = objectMapper.readTree(reply.getValue().getPayload());
+        assertEquals("ack", ack.get("type").asText());
+        assertEquals(2, ack.get("samples").asInt());
+    }
+
+    @Test
+    void testMalformedElementIsRejectedWithoutIngest() throws Exception {
+        // When: 배열 요소가 객체가 아님
+        handler.handleTextMessage(session, new TextMessage("[{\"sequence\": 1}, 42]"));
+
+        // Then
+        verify(ingestService, never()).ingestBatch(anyList());
+        verify(session, never()).sendMessage(any());
+    }
+}
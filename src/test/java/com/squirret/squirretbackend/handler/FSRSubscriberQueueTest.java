@@ -0,0 +1,251 @@
+package com.squirret.squirretbackend.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FSRSubscriberQueueTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 송신 스레드 대신 테스트가 직접 실행
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final Executor executor = tasks::add;
+
+    private final List<WebSocketMessage<?>> sent = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tasks.clear();
+        sent.clear();
+    }
+
+    private WebSocketSession session(String id) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(session).sendMessage(any());
+        return session;
+    }
+
+    private FSROutboundFrame frame(float ratio1) {
+        return frame("user-1", ratio1);
+    }
+
+    private FSROutboundFrame frame(String streamId, float ratio1) {
+        FSRDataDTO left = new FSRDataDTO();
+        left.setSide("left");
+        left.setRatio1(ratio1);
+        return new FSROutboundFrame(streamId, Map.of("left", left), objectMapper);
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    @Test
+    void testDropOldestKeepsNewestFramesInOrder() throws Exception {
+        // Given
+        FSRSubscriberQueue queue = new FSRSubscriberQueue(session("s1"), FSROverflowPolicy.DROP_OLDEST, FSRWireFormat.JSON, 3, executor);
+        FSROutboundFrame[] frames = new FSROutboundFrame[5];
+
+        // When: 송신 전에 5개 게시
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = frame(i);
+            assertTrue(queue.offer(frames[i], 1_000));
+        }
+
+        // Then: 송신 작업은 하나만 예약, 오래된 2개는 버려짐
+        assertEquals(1, tasks.size());
+        assertEquals(3, queue.queued());
+        assertEquals(2, queue.dropped());
+        assertEquals(500, queue.stats(1_500).getLagMs());
+
+        runTasks();
+        assertEquals(3, sent.size());
+        assertSame(frames[2].json(), sent.get(0));
+        assertSame(frames[3].json(), sent.get(1));
+        assertSame(frames[4].json(), sent.get(2));
+        assertEquals(3, queue.stats(2_000).getSent());
+        assertEquals(0, queue.stats(2_000).getLagMs());
+    }
+
+    @Test
+    void testLatestOnlyKeepsSingleFrame() throws Exception {
+        // Given
+        FSRSubscriberQueue queue = new FSRSubscriberQueue(session("s1"), FSROverflowPolicy.LATEST_ONLY, FSRWireFormat.JSON, 64, executor);
+
+        // When
+        FSROutboundFrame last = null;
+        for (int i = 0; i < 5; i++) {
+            last = frame(i);
+            queue.offer(last, 1_000);
+        }
+        runTasks();
+
+        // Then
+        assertEquals(4, queue.dropped());
+        assertEquals(1, sent.size());
+        assertSame(last.json(), sent.get(0));
+    }
+
+    @Test
+    void testDisconnectClosesSlowSubscriber() throws Exception {
+        // Given
+        WebSocketSession session = session("s1");
+        FSRSubscriberQueue queue = new FSRSubscriberQueue(session, FSROverflowPolicy.DISCONNECT, FSRWireFormat.JSON, 2, executor);
+
+        // When: 큐 크기를 넘김
+        assertTrue(queue.offer(frame(1), 1_000));
+        assertTrue(queue.offer(frame(2), 1_000));
+        assertFalse(queue.offer(frame(3), 1_000));
+        runTasks();
+
+        // Then: 대기 프레임은 버리고 연결 종료, 이후 게시는 무시
+        assertTrue(queue.isOverflowed());
+        assertEquals(3, queue.dropped());
+        assertTrue(sent.isEmpty());
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertFalse(queue.offer(frame(4), 1_000));
+    }
+
+    @Test
+    void testFailedSendClosesSubscriber() throws Exception {
+        // Given: 쓰기가 시간 제한을 넘겨 실패하는 세션
+        WebSocketSession session = session("s1");
+        doThrow(new IOException("send timeout")).when(session).sendMessage(any());
+        FSRSubscriberQueue queue = new FSRSubscriberQueue(session, FSROverflowPolicy.DROP_OLDEST, FSRWireFormat.JSON, 8, executor);
+
+        // When
+        assertTrue(queue.offer(frame(1), 1_000));
+        assertTrue(queue.offer(frame(2), 1_000));
+        runTasks();
+
+        // Then: 남은 프레임은 보내지 않고 연결 종료, 이후 게시는 무시
+        verify(session, times(1)).sendMessage(any());
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(0, queue.queued());
+        assertEquals(1, queue.stats(1_000).getFailed());
+        assertFalse(queue.offer(frame(3), 1_000));
+    }
+
+    @Test
+    void testFrameIsEncodedOnceForAllSubscribers() throws Exception {
+        // Given
+        FSRSubscriberQueue first = new FSRSubscriberQueue(session("s1"), FSROverflowPolicy.DROP_OLDEST, FSRWireFormat.JSON, 8, executor);
+        FSRSubscriberQueue second = new FSRSubscriberQueue(session("s2"), FSROverflowPolicy.DROP_OLDEST, FSRWireFormat.JSON, 8, executor);
+        FSROutboundFrame frame = frame(7);
+
+        // When
+        first.offer(frame, 1_000);
+        second.offer(frame, 1_000);
+        runTasks();
+
+        // Then: 두 구독자가 같은 인코딩 결과를 받음
+        assertEquals(2, sent.size());
+        assertSame(sent.get(0), sent.get(1));
+        assertTrue(((String) sent.get(0).getPayload()).contains("\"ratio1\":7.0"));
+    }
+
+    @Test
+    void testBinarySubscriberGetsBinaryEncoding() throws Exception {
+        // Given: 같은 프레임을 JSON 구독자와 바이너리 구독자가 받음
+        FSRSubscriberQueue json = new FSRSubscriberQueue(session("s1"), FSROverflowPolicy.DROP_OLDEST, FSRWireFormat.JSON, 8, executor);
+        FSRSubscriberQueue binary = new FSRSubscriberQueue(session("s2"), FSROverflowPolicy.DROP_OLDEST, FSRWireFormat.BINARY, 8, executor);
+        FSROutboundFrame frame = frame(12.5f);
+
+        // When
+        json.offer(frame, 1_000);
+        binary.offer(frame, 1_000);
+        runTasks();
+
+        // Then
+        assertEquals(2, sent.size());
+        assertInstanceOf(TextMessage.class, sent.get(0));
+        assertInstanceOf(BinaryMessage.class, sent.get(1));
+        ByteBuffer payload = ((BinaryMessage) sent.get(1)).getPayload();
+        assertEquals(FSRBinaryOutputEncoder.FIXED_SIZE + "user-1".length(), payload.remaining());
+    }
+
+    @Test
+    void testDeltaSubscriberGetsKeyframeAfterDroppedFrames() throws Exception {
+        // Given: 델타 구독자가 첫 키프레임을 받음
+        FSRSubscriberQueue queue = new FSRSubscriberQueue(session("s1"), FSROverflowPolicy.DROP_OLDEST, FSRWireFormat.DELTA, 2, executor);
+        queue.offer(frame(10f), 1_000);
+        runTasks();
+
+        // When: 큐가 밀려 프레임이 버려진 뒤 다시 전송
+        queue.offer(frame(11f), 1_000);
+        queue.offer(frame(12f), 1_000);
+        queue.offer(frame(13f), 1_000);
+        runTasks();
+
+        // Then: 버려진 직후 프레임은 키프레임, 그다음은 델타
+        assertEquals(1, queue.dropped());
+        assertEquals(3, sent.size());
+        assertEquals(FSRDeltaEncoder.TYPE_KEYFRAME, ((BinaryMessage) sent.get(0)).getPayload().get(2));
+        assertEquals(FSRDeltaEncoder.TYPE_KEYFRAME, ((BinaryMessage) sent.get(1)).getPayload().get(2));
+        assertEquals(FSRDeltaEncoder.TYPE_DELTA, ((BinaryMessage) sent.get(2)).getPayload().get(2));
+        assertEquals(2L, queue.stats(1_000).getKeyframes());
+        assertEquals(1L, queue.stats(1_000).getDeltas());
+    }
+
+    @Test
+    void testDeltaKeyframeForcedOnlyForStreamThatLostFrames() throws Exception {
+        // Given: 두 스트림 모두 첫 키프레임을 받음
+        FSRSubscriberQueue queue = new FSRSubscriberQueue(session("s1"), FSROverflowPolicy.DROP_OLDEST, FSRWireFormat.DELTA, 2, executor);
+        queue.offer(frame("user-1", 10f), 1_000);
+        queue.offer(frame("user-2", 10f), 1_000);
+        runTasks();
+
+        // When: user-1 프레임만 버려짐
+        queue.offer(frame("user-1", 11f), 1_000);
+        queue.offer(frame("user-2", 11f), 1_000);
+        queue.offer(frame("user-1", 12f), 1_000);
+        runTasks();
+
+        // Then: 프레임을 잃지 않은 user-2는 델타, user-1만 키프레임
+        assertEquals(1, queue.dropped());
+        assertEquals(4, sent.size());
+        assertEquals(FSRDeltaEncoder.TYPE_DELTA, ((BinaryMessage) sent.get(2)).getPayload().get(2));
+        assertEquals(FSRDeltaEncoder.TYPE_KEYFRAME, ((BinaryMessage) sent.get(3)).getPayload().get(2));
+    }
+
+    @Test
+    void testDrainYieldsAfterBatch() throws Exception {
+        // Given
+        int total = FSRSubscriberQueue.DRAIN_BATCH + 5;
+        FSRSubscriberQueue queue = new FSRSubscriberQueue(session("s1"), FSROverflowPolicy.DROP_OLDEST, FSRWireFormat.JSON, total, executor);
+        for (int i = 0; i < total; i++) {
+            queue.offer(frame(i), 1_000);
+        }
+
+        // When: 송신 작업 한 번 실행
+        tasks.remove(0).run();
+
+        // Then: 한 번에 DRAIN_BATCH개만 보내고 남은 프레임은 다시 예약
+        assertEquals(FSRSubscriberQueue.DRAIN_BATCH, sent.size());
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals(total, sent.size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.squirret.squirretbackend.handler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FSRSubscriptionIndexTest {
+
+    private FSRSubscriberQueue queue(String sessionId) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        return new FSRSubscriberQueue(session, FSROverflowPolicy.DROP_OLDEST, FSRWireFormat.JSON, 8, Runnable::run);
+    }
+
+    @Test
+    void testRoutesOnlyToStreamSubscribers() {
+        // Given
+        FSRSubscriptionIndex index = new FSRSubscriptionIndex();
+        FSRSubscriberQueue alice = queue("s1");
+        FSRSubscriberQueue coach = queue("s2");
+
+        // When: s1은 user-a만, s2는 user-a와 user-b 구독
+        assertTrue(index.subscribe("user-a", alice, 8));
+        assertTrue(index.subscribe("user-a", coach, 8));
+        assertTrue(index.subscribe("user-b", coach, 8));
+
+        // Then
+        assertEquals(Set.of(alice, coach), Set.copyOf(index.subscribers("user-a")));
+        assertEquals(List.of(coach), List.copyOf(index.subscribers("user-b")));
+        assertTrue(index.subscribers("user-c").isEmpty());
+        assertFalse(index.hasSubscribers("user-c"));
+        assertEquals(Set.of("user-a", "user-b"), index.streamsOf("s2"));
+    }
+
+    @Test
+    void testUnsubscribeRemovesEmptyStream() {
+        // Given
+        FSRSubscriptionIndex index = new FSRSubscriptionIndex();
+        FSRSubscriberQueue queue = queue("s1");
+        index.subscribe("user-a", queue, 8);
+
+        // When
+        assertTrue(index.unsubscribe("user-a", queue));
+
+        // Then: 구독자가 없는 스트림은 항목도 없음
+        assertFalse(index.hasSubscribers("user-a"));
+        assertEquals(0, index.streamCount());
+        assertFalse(index.unsubscribe("user-a", queue));
+    }
+
+    @Test
+    void testRemoveSessionDropsAllSubscriptions() {
+        // Given
+        FSRSubscriptionIndex index = new FSRSubscriptionIndex();
+        FSRSubscriberQueue leaving = queue("s1");
+        FSRSubscriberQueue staying = queue("s2");
+        index.subscribe("user-a", leaving, 8);
+        index.subscribe("user-b", leaving, 8);
+        index.subscribe("user-b", staying, 8);
+
+        // When
+        index.removeSession(leaving);
+
+        // Then
+        assertFalse(index.hasSubscribers("user-a"));
+        assertEquals(List.of(staying), List.copyOf(index.subscribers("user-b")));
+        assertTrue(index.streamsOf("s1").isEmpty());
+    }
+
+    @Test
+    void testSubscriptionLimitPerSession() {
+        // Given
+        FSRSubscriptionIndex index = new FSRSubscriptionIndex();
+        FSRSubscriberQueue queue = queue("s1");
+
+        // When / Then: 같은 스트림 중복 구독과 한도 초과는 거부
+        assertTrue(index.subscribe("user-a", queue, 2));
+        assertFalse(index.subscribe("user-a", queue, 2));
+        assertTrue(index.subscribe("user-b", queue, 2));
+        assertFalse(index.subscribe("user-c", queue, 2));
+        assertEquals(2, index.streamCount());
+    }
+}
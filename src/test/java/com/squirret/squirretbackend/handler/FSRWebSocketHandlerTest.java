@@ -0,0 +1,117 @@
+package com.squirret.squirretbackend.handler;
+
+import com.squirret.squirretbackend.service.FSRDataService;
+import com.squirret.squirretbackend.service.FSRStreamAccessService;
+import com.squirret.squirretbackend.service.InferenceSessionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.util.HashMap;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FSRWebSocketHandlerTest {
+
+    private FSRDataService fsrDataService;
+    private InferenceSessionService inferenceSessionService;
+    private FSRWebSocketFanout fanout;
+    private FSRWebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        fsrDataService = mock(FSRDataService.class);
+        inferenceSessionService = mock(InferenceSessionService.class);
+        fanout = mock(FSRWebSocketFanout.class);
+        handler = new FSRWebSocketHandler(fsrDataService, new FSRStreamAccessService(inferenceSessionService), fanout,
+                mock(FSRBroadcastTicker.class));
+
+        when(fsrDataService.resolveUserKey(isNull(), isNull())).thenReturn(FSRDataService.DEFAULT_USER);
+        when(inferenceSessionService.getUserIdBySessionId("session-1")).thenReturn("guest123");
+        when(fanout.register(any(), any(), any())).thenReturn(mock(FSRSubscriberQueue.class));
+        when(fanout.subscribe(anyString(), anyString())).thenReturn(true);
+    }
+
+    private WebSocketSession connect(String query) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("ws-1");
+        when(session.getUri()).thenReturn(URI.create("ws://localhost:8080/ws/fsr-data" + query));
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+        handler.afterConnectionEstablished(session);
+        return session;
+    }
+
+    @Test
+    void testConnectWithoutParamsSubscribesDefaultStreamOnly() throws Exception {
+        // When
+        connect("");
+
+        // Then
+        verify(fanout).subscribe("ws-1", FSRDataService.DEFAULT_USER);
+        verify(fanout, times(1)).subscribe(anyString(), anyString());
+    }
+
+    @Test
+    void testUserIdWithoutOwningSessionIsRejected() throws Exception {
+        // When: 세션 확인 없이 다른 사용자 스트림 요청
+        WebSocketSession session = connect("?userId=guest123");
+
+        // Then
+        verify(session).close(argThat(status -> status.getCode() == CloseStatus.POLICY_VIOLATION.getCode()));
+        verify(fanout, never()).subscribe(anyString(), anyString());
+    }
+
+    @Test
+    void testUserIdOfOwningSessionIsAllowed() throws Exception {
+        // When
+        WebSocketSession session = connect("?sessionId=session-1&userId=guest123");
+
+        // Then
+        verify(fanout).subscribe("ws-1", "guest123");
+        verify(session, never()).close(any());
+    }
+
+    @Test
+    void testSubscribeMessageLimitedToOwningSessionUser() throws Exception {
+        // Given: 세션 스트림으로 연결
+        WebSocketSession session = connect("?sessionId=session-1");
+        verify(fanout).subscribe("ws-1", "session-1");
+
+        // When
+        handler.handleTextMessage(session, new TextMessage("{\"action\":\"subscribe\",\"userId\":\"guest456\"}"));
+        handler.handleTextMessage(session, new TextMessage("{\"action\":\"subscribe\",\"userId\":\"guest123\"}"));
+
+        // Then: 세션 사용자의 스트림만 구독
+        verify(fanout, never()).subscribe("ws-1", "guest456");
+        verify(fanout).subscribe("ws-1", "guest123");
+    }
+
+    @Test
+    void testUnknownSessionIdIsRejected() throws Exception {
+        // When
+        WebSocketSession session = connect("?sessionId=unknown&userId=guest123");
+
+        // Then
+        verify(session).close(argThat(status -> status.getCode() == CloseStatus.POLICY_VIOLATION.getCode()));
+        verify(fanout, never()).subscribe(anyString(), anyString());
+    }
+
+    @Test
+    void testStreamIdLongerThanHeaderLimitIsRejected() throws Exception {
+        // Given: UTF-8로 258바이트인 userId를 가진 세션
+        String longUserId = "가".repeat(86);
+        when(inferenceSessionService.getUserIdBySessionId("session-2")).thenReturn(longUserId);
+        WebSocketSession session = connect("?sessionId=session-2");
+
+        // When
+        handler.handleTextMessage(session, new TextMessage("{\"action\":\"subscribe\",\"userId\":\"" + longUserId + "\"}"));
+
+        // Then: 세션 스트림만 구독되고 긴 streamId는 송신 큐에 닿지 않음
+        verify(fanout).subscribe("ws-1", "session-2");
+        verify(fanout, never()).subscribe("ws-1", longUserId);
+    }
+}
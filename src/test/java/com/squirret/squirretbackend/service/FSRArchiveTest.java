@@ -0,0 +1,157 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRArchiveTest {
+
+    private static final int SAMPLES_PER_SIDE = 5_000;
+
+    private Path directory;
+    private Path journalFile;
+    private Path archiveFile;
+
+    // 기대값: 왼발 timestamp, (ratio1, voltage6)
+    private final List<Long> leftTimestamps = new ArrayList<>();
+    private final List<float[]> leftValues = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("fsr-archive");
+        journalFile = directory.resolve("session-1" + FSRRecordingService.FILE_SUFFIX);
+        archiveFile = FSRArchiveService.archivePathOf(journalFile);
+
+        // Given: 50Hz 좌/우 교차 기록, 값은 천천히 변하는 곡선 + 노이즈
+        Random random = new Random(7);
+        FSRSessionJournal journal = FSRSessionJournal.create(journalFile, "session-1", "user-1");
+        FSRDataDTO data = new FSRDataDTO();
+        for (int i = 0; i < SAMPLES_PER_SIDE; i++) {
+            long timestamp = 1_700_000_000_000L + i * 20L + random.nextInt(3);
+            for (String side : new String[]{"left", "right"}) {
+                float ratio = (float) (30 + 10 * Math.sin(i / 50.0)) + random.nextInt(4) * 0.25f;
+                data.setSide(side);
+                data.setRatio1(ratio);
+                data.setRatio2(100f - ratio);
+                data.setVoltage6(ratio / 20f);
+                data.setSequence((long) i);
+                journal.append(timestamp, data);
+                if (side.equals("left")) {
+                    leftTimestamps.add(timestamp);
+                    leftValues.add(new float[]{ratio, ratio / 20f});
+                }
+            }
+        }
+        journal.seal();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(archiveFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    void testRoundTripSelectedChannels() throws IOException {
+        // When
+        FSRArchiveWriter.Summary summary = FSRArchiveWriter.write(FSRJournalReader.open(journalFile), archiveFile);
+
+        // Then: 무손실, 원본(64바이트/샘플)보다 작음
+        assertEquals(2L * SAMPLES_PER_SIDE, summary.samples());
+        assertTrue(summary.bytes() < 2L * SAMPLES_PER_SIDE * FSRSessionJournal.RECORD_SIZE / 3,
+                "archive too large: " + summary.bytes());
+
+        List<Long> timestamps = new ArrayList<>();
+        List<float[]> values = new ArrayList<>();
+        try (FSRArchiveReader reader = FSRArchiveReader.open(archiveFile)) {
+            assertEquals("session-1", reader.sessionId());
+            assertEquals("user-1", reader.userId());
+            reader.scan("left", new int[]{6, 5}, Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, v) -> {
+                timestamps.add(timestamp);
+                values.add(v.clone());
+            });
+        }
+        assertEquals(SAMPLES_PER_SIDE, timestamps.size());
+        for (int i = 0; i < SAMPLES_PER_SIDE; i++) {
+            assertEquals(leftTimestamps.get(i), timestamps.get(i));
+            assertEquals(leftValues.get(i)[0], values.get(i)[0]);
+            assertEquals(leftValues.get(i)[1], values.get(i)[1]);
+        }
+    }
+
+    @Test
+    void testScanStopsOnVisitorFailure() throws IOException {
+        // Given
+        FSRArchiveWriter.write(FSRJournalReader.open(journalFile), archiveFile);
+
+        // When: 세 번째 샘플에서 쓰기 실패
+        List<Long> timestamps = new ArrayList<>();
+        IOException thrown;
+        try (FSRArchiveReader reader = FSRArchiveReader.open(archiveFile)) {
+            thrown = assertThrows(IOException.class, () ->
+                    reader.scan("left", new int[]{6}, Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, v) -> {
+                        timestamps.add(timestamp);
+                        if (timestamps.size() == 3) {
+                            throw new IOException("broken pipe");
+                        }
+                    }));
+        }
+
+        // Then: 실패한 뒤로는 더 풀지 않음
+        assertEquals("broken pipe", thrown.getMessage());
+        assertEquals(3, timestamps.size());
+    }
+
+    @Test
+    void testTimeRangeScan() throws IOException {
+        // Given
+        FSRArchiveWriter.write(FSRJournalReader.open(journalFile), archiveFile);
+        long from = leftTimestamps.get(2_000);
+        long to = leftTimestamps.get(2_099);
+
+        // When
+        List<Long> timestamps = new ArrayList<>();
+        try (FSRArchiveReader reader = FSRArchiveReader.open(archiveFile)) {
+            reader.scan("right", new int[]{6}, from, to, (timestamp, v) -> timestamps.add(timestamp));
+        }
+
+        // Then
+        assertEquals(100, timestamps.size());
+        assertEquals(from, (long) timestamps.get(0));
+        assertEquals(to, (long) timestamps.get(99));
+    }
+
+    @Test
+    void testCodecHandlesIrregularValues() {
+        // Given
+        long[] longs = {0, Long.MAX_VALUE, Long.MIN_VALUE, -5, 1_000, 1_001, 1_002, 900_000, 17};
+        float[] floats = {0f, -0f, Float.NaN, 1e-30f, Float.MAX_VALUE, 42.5f, 42.5f, -1f, Float.MIN_VALUE};
+        FSRGorillaCodec.BitWriter longBits = new FSRGorillaCodec.BitWriter(8);
+        FSRGorillaCodec.BitWriter floatBits = new FSRGorillaCodec.BitWriter(8);
+        FSRGorillaCodec.LongEncoder longEncoder = new FSRGorillaCodec.LongEncoder(longBits);
+        FSRGorillaCodec.FloatEncoder floatEncoder = new FSRGorillaCodec.FloatEncoder(floatBits);
+
+        // When
+        for (long value : longs) longEncoder.add(value);
+        for (float value : floats) floatEncoder.add(value);
+
+        // Then
+        FSRGorillaCodec.LongDecoder longDecoder = new FSRGorillaCodec.LongDecoder(new FSRGorillaCodec.BitReader(longBits.array(), 0));
+        FSRGorillaCodec.FloatDecoder floatDecoder = new FSRGorillaCodec.FloatDecoder(new FSRGorillaCodec.BitReader(floatBits.array(), 0));
+        for (long value : longs) assertEquals(value, longDecoder.next());
+        for (float value : floats) {
+            assertEquals(Float.floatToRawIntBits(value), Float.floatToRawIntBits(floatDecoder.next()));
+        }
+    }
+}
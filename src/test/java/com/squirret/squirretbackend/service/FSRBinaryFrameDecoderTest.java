@@ -0,0 +1,126 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRBinaryFrameDecoderTest {
+
+    private ByteBuffer frame(byte side, int flags, float[] values, Long timestamp) {
+        int size = timestamp != null
+                ? FSRBinaryFrameDecoder.TIMESTAMP_FRAME_SIZE
+                : FSRBinaryFrameDecoder.BASE_FRAME_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(side);
+        buffer.put((byte) flags);
+        for (float v : values) {
+            buffer.putFloat(v);
+        }
+        if (timestamp != null) {
+            buffer.putLong(timestamp);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Test
+    void testDecodeVoltageFrame() {
+        // Given
+        ByteBuffer buffer = frame(FSRBinaryFrameDecoder.SIDE_LEFT, 0,
+                new float[]{1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f}, null);
+        FSRDataDTO data = new FSRDataDTO();
+
+        // When
+        FSRBinaryFrameDecoder.decode(buffer, data);
+
+        // Then
+        assertEquals("left", data.getSide());
+        assertEquals(1.0f, data.getVoltage1());
+        assertEquals(6.0f, data.getVoltage6());
+        assertEquals(0.0f, data.getRatio1());
+        assertNull(data.getTimestamp());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testDecodeRatioFrameWithTimestamp() {
+        // Given
+        ByteBuffer buffer = frame(FSRBinaryFrameDecoder.SIDE_RIGHT,
+                FSRBinaryFrameDecoder.FLAG_RATIO | FSRBinaryFrameDecoder.FLAG_TIMESTAMP,
+                new float[]{10f, 20f, 30f, 15f, 15f, 10f}, 1_700_000_000_000L);
+        FSRDataDTO data = new FSRDataDTO();
+
+        // When
+        FSRBinaryFrameDecoder.decode(buffer, data);
+
+        // Then
+        assertEquals("right", data.getSide());
+        assertEquals(10f, data.getRatio1());
+        assertEquals(10f, data.getRatio6());
+        assertEquals(0f, data.getVoltage1());
+        assertEquals(1_700_000_000_000L, data.getTimestamp());
+    }
+
+    @Test
+    void testDecodeFrameWithSequence() {
+        // Given
+        int flags = FSRBinaryFrameDecoder.FLAG_TIMESTAMP | FSRBinaryFrameDecoder.FLAG_SEQUENCE;
+        ByteBuffer buffer = ByteBuffer.allocate(FSRBinaryFrameDecoder.frameSize(flags)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(FSRBinaryFrameDecoder.SIDE_LEFT).put((byte) flags);
+        for (int i = 0; i < 6; i++) {
+            buffer.putFloat(1.0f);
+        }
+        buffer.putLong(1_700_000_000_000L).putInt(0xFFFFFFFE);
+        buffer.flip();
+        FSRDataDTO data = new FSRDataDTO();
+
+        // When
+        FSRBinaryFrameDecoder.decode(buffer, data);
+
+        // Then
+        assertEquals(1_700_000_000_000L, data.getTimestamp());
+        assertEquals(4_294_967_294L, data.getSequence());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testDecodeKeepsCallerByteOrder() {
+        // Given: 호출 측 버퍼는 big-endian
+        ByteBuffer buffer = frame(FSRBinaryFrameDecoder.SIDE_LEFT, FSRBinaryFrameDecoder.FLAG_TIMESTAMP,
+                new float[]{1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f}, 1_700_000_000_000L).order(ByteOrder.BIG_ENDIAN);
+        FSRDataDTO data = new FSRDataDTO();
+
+        // When
+        FSRBinaryFrameDecoder.decode(buffer, data);
+
+        // Then: little-endian으로 읽고, 버퍼 order는 그대로
+        assertEquals(2.0f, data.getVoltage2());
+        assertEquals(1_700_000_000_000L, data.getTimestamp());
+        assertEquals(ByteOrder.BIG_ENDIAN, buffer.order());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testDecodeRejectsShortFrame() {
+        // Given
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{0, 0, 1, 2});
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> FSRBinaryFrameDecoder.decode(buffer, new FSRDataDTO()));
+    }
+
+    @Test
+    void testDecodeRejectsUnknownSide() {
+        // Given
+        ByteBuffer buffer = frame((byte) 7, 0, new float[6], null);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> FSRBinaryFrameDecoder.decode(buffer, new FSRDataDTO()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRCalibrationDTO;
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.repository.FsrCalibrationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class FSRCalibrationServiceTest {
+
+    @Mock
+    private FsrCalibrationRepository calibrationRepository;
+
+    @InjectMocks
+    private FSRCalibrationService calibrationService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private FSRCalibrationDTO calibration(FSRCalibrationDTO.Point... points) {
+        return FSRCalibrationDTO.builder()
+                .channels(List.of(FSRCalibrationDTO.Channel.builder()
+                        .channel(1)
+                        .points(List.of(points))
+                        .build()))
+                .build();
+    }
+
+    private FSRDataDTO sample() {
+        FSRDataDTO data = new FSRDataDTO();
+        data.setDeviceId("insole-01");
+        data.setVoltage1(1.0f);
+        return data;
+    }
+
+    @Test
+    void testTableSwappedOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        calibrationService.updateCalibration("insole-01", calibration(
+                new FSRCalibrationDTO.Point(0f, 0f), new FSRCalibrationDTO.Point(2f, 20f)));
+
+        // Then: 커밋 전에는 수신 경로에 반영되지 않음
+        assertFalse(calibrationService.applyCalibration(sample()));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        FSRDataDTO data = sample();
+        assertTrue(calibrationService.applyCalibration(data));
+        assertEquals(100f, data.getRatio1(), 0.001f);
+    }
+
+    @Test
+    void testRolledBackUpdateLeavesTableUntouched() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When: 커밋 콜백 없이 트랜잭션 종료 (롤백)
+        calibrationService.updateCalibration("insole-01", calibration(
+                new FSRCalibrationDTO.Point(0f, 0f), new FSRCalibrationDTO.Point(2f, 20f)));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Then
+        assertFalse(calibrationService.applyCalibration(sample()));
+    }
+
+    @Test
+    void testRejectsSinglePointBeforeTouchingRepository() {
+        // When & Then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                calibrationService.updateCalibration("insole-01", calibration(new FSRCalibrationDTO.Point(0f, 0f))));
+        assertTrue(e.getMessage().contains("2~64"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRCalibrationTableTest {
+
+    private float[][] channel1(float... values) {
+        float[][] table = new float[FSRCalibrationTable.CHANNELS][];
+        table[0] = values;
+        return table;
+    }
+
+    @Test
+    void testInterpolatesBetweenControlPoints() {
+        // Given: 0.5V 이하는 0, 이후 구간별 기울기가 다른 곡선
+        FSRCalibrationTable table = FSRCalibrationTable.of(
+                channel1(0.5f, 1.5f, 3.0f),
+                channel1(0f, 10f, 40f));
+
+        // When & Then
+        assertEquals(0f, table.apply(0, 0.2f), 0.001f);
+        assertEquals(5f, table.apply(0, 1.0f), 0.05f);
+        assertEquals(20f, table.apply(0, 2.0f), 0.05f);
+        assertEquals(50f, table.apply(0, 3.5f), 0.05f);
+    }
+
+    @Test
+    void testUncalibratedChannelKeepsVoltage() {
+        // Given
+        FSRCalibrationTable table = FSRCalibrationTable.of(channel1(0f, 1f), channel1(0f, 2f));
+
+        // When & Then
+        assertFalse(table.isCalibrated(1));
+        assertEquals(1.25f, table.apply(1, 1.25f));
+    }
+
+    @Test
+    void testToRatiosUsesCalibratedValues() {
+        // Given: 채널1만 전압의 2배로 보정
+        FSRCalibrationTable table = FSRCalibrationTable.of(channel1(0f, 5f), channel1(0f, 10f));
+        FSRDataDTO data = new FSRDataDTO();
+        data.setVoltage1(1f);
+        data.setVoltage2(2f);
+
+        // When
+        boolean applied = table.toRatios(data);
+
+        // Then
+        assertTrue(applied);
+        assertEquals(50f, data.getRatio1(), 0.01f);
+        assertEquals(50f, data.getRatio2(), 0.01f);
+        assertEquals(1f, data.getVoltage1());
+    }
+
+    @Test
+    void testToRatiosSkipsRatioOnlySamples() {
+        // Given
+        FSRCalibrationTable table = FSRCalibrationTable.of(channel1(0f, 5f), channel1(1f, 10f));
+        FSRDataDTO data = new FSRDataDTO();
+        data.setRatio1(30f);
+
+        // When & Then
+        assertFalse(table.toRatios(data));
+        assertEquals(30f, data.getRatio1());
+    }
+
+    @Test
+    void testRejectsNonIncreasingVoltages() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FSRCalibrationTable.of(channel1(1f, 1f), channel1(0f, 10f)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.squirret.squirretbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static com.squirret.squirretbackend.service.FSRTestSamples.sample;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRHistoryRingTest {
+
+    @Test
+    void testAppendStoresColumns() {
+        // Given
+        FSRHistoryRing ring = new FSRHistoryRing(8);
+
+        // When
+        ring.append(1_000, sample(10f, 20f));
+        ring.append(1_010, sample(20f, 40f));
+
+        // Then
+        assertEquals(2, ring.size());
+        int slot = ring.slot(1);
+        assertEquals(1_010, ring.timestampAt(slot));
+        assertEquals(20f, ring.valueAt(slot, 0));
+        assertEquals(40f, ring.valueAt(slot, 5));
+    }
+
+    @Test
+    void testOverwritesOldestWhenFull() {
+        // Given
+        FSRHistoryRing ring = new FSRHistoryRing(4);
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            ring.append(i, sample(i, i * 2));
+        }
+
+        // Then
+        assertEquals(4, ring.size());
+        assertEquals(2, ring.timestampAt(ring.slot(0)));
+        assertEquals(5f, ring.valueAt(ring.slot(3), 0));
+    }
+
+    @Test
+    void testPruneBeforeDropsOldSamples() {
+        // Given
+        FSRHistoryRing ring = new FSRHistoryRing(8);
+        for (int i = 0; i < 5; i++) {
+            ring.append(i * 100L, sample(i, i * 2));
+        }
+
+        // When
+        ring.pruneBefore(250);
+
+        // Then
+        assertEquals(2, ring.size());
+        assertEquals(300, ring.timestampAt(ring.slot(0)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import org.junit.jupiter.api.Test;
+
+import static com.squirret.squirretbackend.service.FSRTestSamples.sample;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRIngestRingBufferTest {
+
+    @Test
+    void testReserveIsAllOrNothing() {
+        // Given: 4칸 중 3칸 사용
+        FSRIngestRingBuffer ring = new FSRIngestRingBuffer(4);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(ring.offer(sample("left", i), false));
+        }
+
+        // When: 2칸 확보 시도
+        long seq = ring.reserve(2);
+
+        // Then: 하나도 확보하지 않고 2개 모두 드롭으로 집계
+        assertEquals(-1, seq);
+        assertEquals(3, ring.size());
+        assertEquals(2, ring.droppedCount());
+        assertTrue(ring.offer(sample("left", 3), false));
+    }
+
+    @Test
+    void testCancelledSlotsAreSkipped() {
+        // Given: 확보한 두 칸 중 앞 칸은 취소, 그 뒤에 샘플 하나
+        FSRIngestRingBuffer ring = new FSRIngestRingBuffer(4);
+        long seq = ring.reserve(2);
+        ring.cancel(seq, 2);
+        assertTrue(ring.offer(sample("left", 7f), true));
+
+        // When
+        FSRDataDTO target = new FSRDataDTO();
+        boolean polled = ring.poll(target);
+
+        // Then: 취소된 칸은 건너뛰고 다음 샘플을 꺼냄
+        assertTrue(polled);
+        assertEquals(7f, target.getRatio1());
+        assertTrue(ring.lastPolledUsesDeviceTime());
+        assertTrue(ring.isEmpty());
+        assertFalse(ring.poll(target));
+        assertEquals(2, ring.droppedCount());
+    }
+
+    @Test
+    void testReservedSlotsKeepOrder() {
+        // Given
+        FSRIngestRingBuffer ring = new FSRIngestRingBuffer(8);
+        long seq = ring.reserve(3);
+
+        // When: 확보한 순서대로 기록
+        for (int i = 0; i < 3; i++) {
+            ring.write(seq + i, sample("left", i + 1), true);
+        }
+
+        // Then
+        FSRDataDTO target = new FSRDataDTO();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(ring.poll(target));
+            assertEquals(i + 1, target.getRatio1());
+        }
+        assertFalse(ring.poll(target));
+    }
+}
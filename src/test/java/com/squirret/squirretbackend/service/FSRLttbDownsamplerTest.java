@@ -0,0 +1,100 @@
+package com.squirret.squirretbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRLttbDownsamplerTest {
+
+    private List<long[]> downsample(float[] values, int threshold) throws IOException {
+        List<long[]> selected = new ArrayList<>();
+        FSRLttbDownsampler downsampler = new FSRLttbDownsampler(values.length, threshold,
+                (timestamp, value) -> selected.add(new long[]{timestamp, (long) value}));
+        for (int i = 0; i < values.length; i++) {
+            downsampler.add(i * 10L, values[i]);
+        }
+        downsampler.finish();
+        return selected;
+    }
+
+    @Test
+    void testPassesThroughShortSeries() throws IOException {
+        // Given
+        float[] values = {1, 2, 3, 4, 5};
+
+        // When
+        List<long[]> selected = downsample(values, 10);
+
+        // Then
+        assertEquals(5, selected.size());
+    }
+
+    @Test
+    void testKeepsThresholdPointsWithEndpointsAndSpike() throws IOException {
+        // Given: 평탄한 구간 중간에 튀는 값 하나
+        float[] values = new float[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 20 + (i % 7);
+        }
+        values[6_543] = 90;
+
+        // When
+        List<long[]> selected = downsample(values, 100);
+
+        // Then
+        assertEquals(100, selected.size());
+        assertEquals(0, selected.get(0)[0]);
+        assertEquals((values.length - 1) * 10L, selected.get(99)[0]);
+        assertTrue(selected.stream().anyMatch(p -> p[0] == 65_430 && p[1] == 90));
+        for (int i = 1; i < selected.size(); i++) {
+            assertTrue(selected.get(i)[0] > selected.get(i - 1)[0]);
+        }
+    }
+
+    @Test
+    void testFinishFlushesWhenFewerPointsArrive() throws IOException {
+        // Given: 1000개라고 했지만 500개만 들어옴
+        List<long[]> selected = new ArrayList<>();
+        FSRLttbDownsampler downsampler = new FSRLttbDownsampler(1_000, 50,
+                (timestamp, value) -> selected.add(new long[]{timestamp, (long) value}));
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            downsampler.add(i, i);
+        }
+        downsampler.finish();
+
+        // Then: 첫 점 + 대략 절반의 버킷
+        assertTrue(selected.size() >= 24 && selected.size() <= 27, "selected=" + selected.size());
+    }
+
+    @Test
+    void testNeverExceedsThresholdAcrossTotals() throws IOException {
+        // Given: 버킷 경계가 소수점에 걸리는 길이 조합 전체 (예: total=101, threshold=100)
+        int[] thresholds = {3, 4, 7, 50, 99, 100, 101, 500};
+        for (int threshold : thresholds) {
+            for (int total = 1; total <= 1_500; total++) {
+                float[] values = new float[total];
+                for (int i = 0; i < total; i++) {
+                    values[i] = (i * 7919) % 101;
+                }
+
+                // When
+                List<long[]> selected = downsample(values, threshold);
+
+                // Then: 줄일 때는 정확히 threshold개, 첫/마지막 점 포함, 시간 순서 유지
+                String label = "total=" + total + ", threshold=" + threshold;
+                assertEquals(Math.min(total, threshold), selected.size(), label);
+                assertEquals(0, selected.get(0)[0], label);
+                assertEquals((total - 1) * 10L, selected.get(selected.size() - 1)[0], label);
+                for (int k = 1; k < selected.size(); k++) {
+                    assertTrue(selected.get(k)[0] > selected.get(k - 1)[0], label);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRRollupResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.squirret.squirretbackend.service.FSRTestSamples.sample;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRRollupRingTest {
+
+    @Test
+    void testAggregatesSamplesPerBucket() {
+        // Given
+        FSRRollupRing ring = new FSRRollupRing(100, 10);
+
+        // When
+        ring.add(1_000, sample(10f, 90f));
+        ring.add(1_050, sample(30f, 70f));
+        ring.add(1_120, sample(50f, 50f));
+
+        // Then
+        List<FSRRollupResponse.Bucket> buckets = ring.buckets(0, Long.MAX_VALUE);
+        assertEquals(2, buckets.size());
+        FSRRollupResponse.Bucket first = buckets.get(0);
+        assertEquals(1_000, first.getStart());
+        assertEquals(2, first.getCount());
+        assertEquals(10f, first.getMin()[0]);
+        assertEquals(30f, first.getMax()[0]);
+        assertEquals(20f, first.getMean()[0], 0.0001);
+        assertEquals(80f, first.getMean()[5], 0.0001);
+        assertEquals(1_100, buckets.get(1).getStart());
+    }
+
+    @Test
+    void testOldBucketsAreOverwrittenAndSkipped() {
+        // Given: 버킷 4개만 보관
+        FSRRollupRing ring = new FSRRollupRing(100, 4);
+
+        // When: 0~900ms에 100ms 간격으로 10개
+        for (int i = 0; i < 10; i++) {
+            ring.add(i * 100L, sample(i, 100f - i));
+        }
+
+        // Then: 링 범위 밖 샘플은 버려지고, 마지막 4개 버킷만 남음
+        assertFalse(ring.add(200, sample(0f, 100f)));
+        List<FSRRollupResponse.Bucket> buckets = ring.buckets(0, Long.MAX_VALUE);
+        assertEquals(4, buckets.size());
+        assertEquals(600, buckets.get(0).getStart());
+        assertEquals(900, buckets.get(3).getStart());
+    }
+
+    @Test
+    void testLateSampleUpdatesRetainedBucket() {
+        // Given
+        FSRRollupRing ring = new FSRRollupRing(1_000, 8);
+        ring.add(5_500, sample(40f, 60f));
+
+        // When: 링 범위 안의 과거 버킷과 빈 칸 사이 구간
+        assertTrue(ring.add(2_100, sample(20f, 80f)));
+        ring.add(5_900, sample(60f, 40f));
+
+        // Then
+        List<FSRRollupResponse.Bucket> buckets = ring.buckets(2_000, 5_000);
+        assertEquals(2, buckets.size());
+        assertEquals(2_000, buckets.get(0).getStart());
+        assertEquals(1, buckets.get(0).getCount());
+        assertEquals(5_000, buckets.get(1).getStart());
+        assertEquals(50f, buckets.get(1).getMean()[0], 0.0001);
+    }
+
+    @Test
+    void testAllocatesLazilyAndKeepsBucketsWhileGrowing() {
+        // Given
+        FSRRollupRing ring = new FSRRollupRing(100, 3000);
+        assertEquals(0, ring.heapBytes());
+
+        // When: 200개 버킷을 차례로 기록하고, 범위 안의 늦은 샘플 하나 추가
+        ring.add(0, sample(0f, 100f));
+        long initialBytes = ring.heapBytes();
+        for (int i = 1; i < 200; i++) {
+            ring.add(i * 100L, sample(i % 50, 100f - (i % 50)));
+        }
+        ring.add(50, sample(20f, 80f));
+
+        // Then: 기록된 범위만큼만 늘어나고, 늘리는 동안 버킷이 사라지지 않음
+        // (처음 16칸에서 두 배씩 늘어 200개를 담는 256칸, 용량 3000칸보다 훨씬 작음)
+        assertTrue(initialBytes > 0);
+        assertEquals(initialBytes * 16, ring.heapBytes());
+        List<FSRRollupResponse.Bucket> buckets = ring.buckets(0, Long.MAX_VALUE);
+        assertEquals(200, buckets.size());
+        assertEquals(0, buckets.get(0).getStart());
+        assertEquals(2, buckets.get(0).getCount());
+        assertEquals(10f, buckets.get(0).getMean()[0], 0.0001);
+        assertEquals(19_900, buckets.get(199).getStart());
+    }
+
+    @Test
+    void testGapLargerThanCapacityDropsOlderBuckets() {
+        // Given
+        FSRRollupRing ring = new FSRRollupRing(100, 8);
+        ring.add(0, sample(1f, 99f));
+        ring.add(100, sample(2f, 98f));
+
+        // When: 용량보다 먼 미래 버킷
+        ring.add(10_000, sample(3f, 97f));
+
+        // Then
+        List<FSRRollupResponse.Bucket> buckets = ring.buckets(0, Long.MAX_VALUE);
+        assertEquals(1, buckets.size());
+        assertEquals(10_000, buckets.get(0).getStart());
+        assertFalse(ring.add(100, sample(4f, 96f)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FSRSampleBatchTest {
+
+    @Test
+    void testAppendReportsFullAtCapacity() {
+        // Given
+        FSRSampleBatch batch = new FSRSampleBatch("session-1", "user-1", 3, 1_000L);
+        FSRDataDTO data = new FSRDataDTO();
+        data.setSide("left");
+
+        // When / Then
+        assertFalse(batch.append(1L, data));
+        assertFalse(batch.append(2L, data));
+        assertTrue(batch.append(3L, data));
+        assertEquals(3, batch.size());
+        assertThrows(IllegalStateException.class, () -> batch.append(4L, data));
+    }
+
+    @Test
+    void testBindFollowsInsertParameterOrder() throws SQLException {
+        // Given: 두 번째 샘플은 sequence 없음
+        FSRSampleBatch batch = new FSRSampleBatch("session-1", "user-1", 4, 1_000L);
+        FSRDataDTO data = new FSRDataDTO();
+        data.setSide("right");
+        data.setSequence(42L);
+        data.setVoltage1(1.5f);
+        data.setRatio6(33.25f);
+        batch.append(1_700_000_000_000L, data);
+
+        // 값은 복사되었으므로 DTO를 바꿔도 첫 행은 그대로
+        data.setSide("left");
+        data.setSequence(null);
+        data.setVoltage1(9f);
+        batch.append(1_700_000_000_020L, data);
+
+        PreparedStatement first = mock(PreparedStatement.class);
+        PreparedStatement second = mock(PreparedStatement.class);
+
+        // When
+        batch.bind(first, 0);
+        batch.bind(second, 1);
+
+        // Then
+        verify(first).setString(1, "session-1");
+        verify(first).setString(2, "user-1");
+        verify(first).setString(3, "right");
+        verify(first).setLong(4, 1_700_000_000_000L);
+        verify(first).setLong(5, 42L);
+        verify(first).setFloat(6, 1.5f);
+        verify(first).setFloat(17, 33.25f);
+
+        verify(second).setString(3, "left");
+        verify(second).setLong(4, 1_700_000_000_020L);
+        verify(second).setNull(5, Types.BIGINT);
+        verify(second).setFloat(6, 9f);
+    }
+}
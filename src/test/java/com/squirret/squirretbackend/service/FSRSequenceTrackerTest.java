@@ -0,0 +1,48 @@
+package com.squirret.squirretbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRSequenceTrackerTest {
+
+    @Test
+    void testWindowsAreReportedAndEvictable() {
+        // Given
+        FSRSequenceTracker tracker = new FSRSequenceTracker();
+        tracker.accept("insole-01", 1);
+        tracker.accept("guest:left", 1);
+
+        // When
+        List<String> keys = new ArrayList<>();
+        tracker.forEachEntry((key, bytes, lastActive) -> {
+            keys.add(key);
+            assertTrue(bytes > FSRSequenceWindow.WINDOW / 8);
+            assertTrue(lastActive > 0);
+        });
+
+        // Then
+        assertEquals(2, keys.size());
+        assertTrue(tracker.evict("guest:left"));
+        assertFalse(tracker.evict("guest:left"));
+        assertNull(tracker.getStats("guest:left"));
+        assertEquals(1, tracker.entryCount());
+    }
+
+    @Test
+    void testEvictedDeviceStartsNewWindow() {
+        // Given
+        FSRSequenceTracker tracker = new FSRSequenceTracker();
+        tracker.accept("insole-01", 5);
+        tracker.evict("insole-01");
+
+        // When: 제거 후 같은 번호가 다시 옴
+        FSRSequenceWindow.Status status = tracker.accept("insole-01", 5);
+
+        // Then: 중복이 아니라 새 윈도우의 첫 번호
+        assertEquals(FSRSequenceWindow.Status.NEW, status);
+    }
+}
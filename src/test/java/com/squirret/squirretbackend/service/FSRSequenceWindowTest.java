@@ -0,0 +1,171 @@
+package com.squirret.squirretbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRSequenceWindowTest {
+
+    @Test
+    void testDuplicateIsRejected() {
+        // Given
+        FSRSequenceWindow window = new FSRSequenceWindow();
+        window.accept(1);
+        window.accept(2);
+
+        // When
+        FSRSequenceWindow.Status status = window.accept(2);
+
+        // Then
+        assertEquals(FSRSequenceWindow.Status.DUPLICATE, status);
+        assertEquals(2, window.getReceived());
+        assertEquals(1, window.getDuplicates());
+    }
+
+    @Test
+    void testGapIsFilledByLateSample() {
+        // Given
+        FSRSequenceWindow window = new FSRSequenceWindow();
+        window.accept(10);
+        window.accept(14);
+        assertEquals(3, window.getGaps());
+
+        // When
+        FSRSequenceWindow.Status late = window.accept(12);
+        FSRSequenceWindow.Status again = window.accept(12);
+
+        // Then
+        assertEquals(FSRSequenceWindow.Status.LATE, late);
+        assertEquals(FSRSequenceWindow.Status.DUPLICATE, again);
+        assertEquals(2, window.getGaps());
+        assertEquals(1, window.getLate());
+    }
+
+    @Test
+    void testSequenceOlderThanWindowIsStale() {
+        // Given
+        FSRSequenceWindow window = new FSRSequenceWindow();
+        window.accept(5000);
+
+        // When
+        FSRSequenceWindow.Status status = window.accept(5000 - FSRSequenceWindow.WINDOW);
+
+        // Then
+        assertEquals(FSRSequenceWindow.Status.STALE, status);
+        assertEquals(1, window.getStale());
+    }
+
+    @Test
+    void testSmallSequenceAfterLargeJumpIsRestart() {
+        // Given
+        FSRSequenceWindow window = new FSRSequenceWindow();
+        window.accept(4_294_967_290L);
+
+        // When
+        FSRSequenceWindow.Status status = window.accept(0);
+
+        // Then
+        assertEquals(FSRSequenceWindow.Status.NEW, status);
+        assertEquals(0, window.getHighest());
+        assertEquals(1, window.getRestarts());
+        assertEquals(FSRSequenceWindow.Status.DUPLICATE, window.accept(0));
+    }
+
+    @Test
+    void testWindowSlidesWithoutFalseDuplicates() {
+        // Given
+        FSRSequenceWindow window = new FSRSequenceWindow();
+
+        // When
+        for (long seq = 0; seq < 3 * FSRSequenceWindow.WINDOW; seq += 3) {
+            assertEquals(FSRSequenceWindow.Status.NEW, window.accept(seq));
+        }
+
+        // Then
+        long highest = window.getHighest();
+        assertEquals(FSRSequenceWindow.Status.LATE, window.accept(highest - 1));
+        assertEquals(0, window.getDuplicates());
+    }
+
+    @Test
+    void testRebootAfterFewSamplesIsRestart() {
+        // Given: 100개를 보낸 뒤 재부팅 (최고 번호가 윈도우보다 작음)
+        FSRSequenceWindow window = new FSRSequenceWindow();
+        for (long seq = 0; seq <= 100; seq++) {
+            window.accept(seq);
+        }
+
+        // When: 0부터 다시 전송
+        FSRSequenceWindow.Status first = window.accept(0);
+        FSRSequenceWindow.Status second = window.accept(1);
+
+        // Then: 중복이 아니라 재시작으로 받아들임
+        assertEquals(FSRSequenceWindow.Status.NEW, first);
+        assertEquals(FSRSequenceWindow.Status.NEW, second);
+        assertEquals(1, window.getRestarts());
+        assertEquals(1, window.getHighest());
+        assertEquals(0, window.getDuplicates());
+    }
+
+    @Test
+    void testRecentRetransmissionIsStillDuplicate() {
+        // Given
+        FSRSequenceWindow window = new FSRSequenceWindow();
+        for (long seq = 0; seq < 40; seq++) {
+            window.accept(seq);
+        }
+
+        // When & Then: 최고 번호에서 조금만 되돌아간 작은 번호는 재전송
+        assertEquals(FSRSequenceWindow.Status.DUPLICATE, window.accept(3));
+        assertEquals(0, window.getRestarts());
+    }
+
+    @Test
+    void testReleasedSequenceIsAcceptedAgain() {
+        // Given: 11번을 받았지만 반영하지 못함
+        FSRSequenceWindow window = new FSRSequenceWindow();
+        window.accept(10);
+        FSRSequenceWindow.Status status = window.accept(11);
+
+        // When
+        window.release(11, status);
+
+        // Then: 재전송은 다시 NEW로 받고, 최고 번호와 통계는 되돌아감
+        assertEquals(10, window.getHighest());
+        assertEquals(1, window.getReceived());
+        assertEquals(FSRSequenceWindow.Status.NEW, window.accept(11));
+        assertEquals(FSRSequenceWindow.Status.DUPLICATE, window.accept(11));
+        assertEquals(0, window.getGaps());
+    }
+
+    @Test
+    void testReleasedLateSequenceIsAcceptedAgain() {
+        // Given
+        FSRSequenceWindow window = new FSRSequenceWindow();
+        window.accept(10);
+        window.accept(13);
+        FSRSequenceWindow.Status status = window.accept(12);
+
+        // When
+        window.release(12, status);
+
+        // Then
+        assertEquals(2, window.getGaps());
+        assertEquals(0, window.getLate());
+        assertEquals(FSRSequenceWindow.Status.LATE, window.accept(12));
+    }
+
+    @Test
+    void testReleasingFirstSequenceRestartsWindow() {
+        // Given
+        FSRSequenceWindow window = new FSRSequenceWindow();
+        FSRSequenceWindow.Status status = window.accept(0);
+
+        // When
+        window.release(0, status);
+
+        // Then
+        assertEquals(FSRSequenceWindow.Status.NEW, window.accept(0));
+        assertEquals(1, window.getReceived());
+    }
+}
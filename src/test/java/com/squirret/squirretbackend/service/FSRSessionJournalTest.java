@@ -0,0 +1,106 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRSessionJournalTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempDirectory("fsr-journal").resolve("session-1" + FSRRecordingService.FILE_SUFFIX);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.getParent());
+    }
+
+    private FSRDataDTO sample(String side, float value, Long sequence) {
+        FSRDataDTO data = new FSRDataDTO();
+        data.setSide(side);
+        data.setVoltage1(value / 10f);
+        data.setRatio1(value);
+        data.setRatio6(100f - value);
+        data.setSequence(sequence);
+        return data;
+    }
+
+    @Test
+    void testRecordsRoundTrip() throws IOException {
+        // Given
+        FSRSessionJournal journal = FSRSessionJournal.create(file, "session-1", "user-1");
+
+        // When
+        journal.append(1_000, sample("left", 30f, 7L));
+        journal.append(1_010, sample("right", 60f, null));
+        journal.seal();
+
+        // Then
+        FSRJournalReader reader = FSRJournalReader.open(file);
+        assertTrue(reader.isSealed());
+        assertEquals("session-1", reader.sessionId());
+        assertEquals("user-1", reader.userId());
+        assertEquals(2, reader.count());
+
+        FSRDataDTO first = new FSRDataDTO();
+        reader.read(0, first);
+        assertEquals(1_000L, first.getTimestamp());
+        assertEquals("left", first.getSide());
+        assertEquals(7L, first.getSequence());
+        assertEquals(3f, first.getVoltage1(), 0.0001);
+        assertEquals(70f, first.getRatio6(), 0.0001);
+
+        assertEquals("right", reader.side(1));
+        assertEquals(-1, reader.sequence(1));
+        assertFalse(journal.append(1_020, sample("left", 1f, null)));
+    }
+
+    @Test
+    void testUnsealedJournalIsReadable() throws IOException {
+        // Given: 봉인 전 (비정상 종료 상황)
+        FSRSessionJournal journal = FSRSessionJournal.create(file, "session-1", "user-1");
+        journal.append(1_000, sample("left", 10f, null));
+        journal.force();
+
+        // When
+        FSRJournalReader reader = FSRJournalReader.open(file);
+
+        // Then
+        assertFalse(reader.isSealed());
+        assertEquals(1, reader.count());
+        journal.seal();
+    }
+
+    @Test
+    void testSeekAcrossChunksAndIndexCompaction() throws IOException {
+        // Given: 청크 경계와 인덱스 압축(간격 두 배)을 모두 넘는 레코드 수
+        FSRSessionJournal journal = FSRSessionJournal.create(file, "session-1", "user-1");
+        int total = FSRSessionJournal.INDEX_CAPACITY * FSRSessionJournal.INITIAL_INDEX_STRIDE + 5_000;
+        FSRDataDTO data = sample("left", 50f, null);
+        for (int i = 0; i < total; i++) {
+            journal.append(i * 5L, data);
+        }
+        journal.seal();
+
+        // When
+        FSRJournalReader reader = FSRJournalReader.open(file);
+
+        // Then
+        assertEquals(total, reader.count());
+        assertEquals(0, reader.seek(0));
+        assertEquals(70_000, reader.seek(70_000 * 5L));
+        assertEquals(400_001, reader.seek(400_000 * 5L + 1));
+        assertEquals(total, reader.seek(Long.MAX_VALUE));
+    }
+}
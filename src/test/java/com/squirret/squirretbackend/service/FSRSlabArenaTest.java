@@ -0,0 +1,74 @@
+package com.squirret.squirretbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static com.squirret.squirretbackend.service.FSRTestSamples.sample;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRSlabArenaTest {
+
+    private static final int CAPACITY = 8;
+
+    @Test
+    void testSlotsDoNotOverlap() {
+        // Given: 슬랩 하나에 슬롯 두 개
+        FSRSlabArena arena = new FSRSlabArena(CAPACITY, 2 * CAPACITY * 32, 1);
+        FSRHistoryRing first = new FSRHistoryRing(arena.allocate(), new long[0]);
+        FSRHistoryRing second = new FSRHistoryRing(arena.allocate(), new long[0]);
+
+        // When: 둘 다 한 바퀴 넘게 기록
+        for (int i = 0; i < CAPACITY + 3; i++) {
+            first.append(i, sample(i, i * 2));
+            second.append(1_000 + i, sample(-i, -i * 2));
+        }
+
+        // Then
+        assertEquals(CAPACITY, first.size());
+        for (int i = 0; i < CAPACITY; i++) {
+            int slot = first.slot(i);
+            assertEquals(3 + i, first.timestampAt(slot));
+            assertEquals(3f + i, first.valueAt(slot, 0));
+            assertEquals((3f + i) * 2, first.valueAt(slot, 5));
+            assertEquals(1_003 + i, second.timestampAt(second.slot(i)));
+            assertEquals(-(3f + i), second.valueAt(second.slot(i), 0));
+        }
+    }
+
+    @Test
+    void testReleasedSlotIsReused() {
+        // Given: 슬롯 하나짜리 아레나
+        FSRSlabArena arena = new FSRSlabArena(CAPACITY, CAPACITY * 32, 1);
+        FSRHistoryRing ring = new FSRHistoryRing(arena.allocate(), new long[0]);
+        assertNull(arena.allocate());
+        assertEquals(1, arena.exhaustedCount());
+
+        // When
+        ring.release();
+        ring.release();
+        ring.append(1, sample(1f, 2f));
+
+        // Then: 한 번만 반환되고, 반환 후 추가는 무시됨
+        assertEquals(0, arena.slotsInUse());
+        assertEquals(0, ring.size());
+        assertNotNull(arena.allocate());
+        assertEquals(1, arena.slotsInUse());
+        assertNull(arena.allocate());
+    }
+
+    @Test
+    void testSlabsAreAddedOnDemand() {
+        // Given
+        FSRSlabArena arena = new FSRSlabArena(CAPACITY, CAPACITY * 32, 3);
+        assertEquals(0, arena.slabCount());
+
+        // When
+        arena.allocate();
+        arena.allocate();
+
+        // Then
+        assertEquals(2, arena.slabCount());
+        assertEquals(2, arena.slotsTotal());
+        assertEquals(3, arena.slotsMax());
+        assertEquals(2L * CAPACITY * 32, arena.reservedBytes());
+    }
+}
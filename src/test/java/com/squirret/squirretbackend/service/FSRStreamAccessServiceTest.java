@@ -0,0 +1,41 @@
+package com.squirret.squirretbackend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRStreamAccessServiceTest {
+
+    private FSRStreamAccessService accessService;
+    private String sessionId;
+
+    @BeforeEach
+    void setUp() {
+        InferenceSessionService sessions = new InferenceSessionService();
+        sessionId = sessions.registerFastApiSession("guest123", "fastapi-1").sessionId();
+        accessService = new FSRStreamAccessService(sessions);
+    }
+
+    @Test
+    void testDefaultStreamIsOpenToEveryone() {
+        assertTrue(accessService.canAccess(null, FSRDataService.DEFAULT_USER));
+        assertTrue(accessService.canAccess("unknown", FSRDataService.DEFAULT_USER));
+    }
+
+    @Test
+    void testOwnerSessionReachesOwnSessionAndUserStreams() {
+        assertTrue(accessService.canAccess(sessionId, sessionId));
+        assertTrue(accessService.canAccess(sessionId, "guest123"));
+        assertEquals("guest123", accessService.ownerUserId(sessionId));
+    }
+
+    @Test
+    void testOtherStreamsAreRefused() {
+        // 다른 사용자, sessionId 없음, 알 수 없는 세션
+        assertFalse(accessService.canAccess(sessionId, "guest456"));
+        assertFalse(accessService.canAccess(null, "guest123"));
+        assertFalse(accessService.canAccess("unknown", "unknown"));
+        assertFalse(accessService.isKnownSession("unknown"));
+    }
+}
@@ -0,0 +1,170 @@
+package com.squirret.squirretbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.squirret.squirretbackend.service.FSRTestSamples.sample;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRStreamJoinerTest {
+
+    @Test
+    void testPairsSamplesWithinTolerance() {
+        // Given
+        FSRStreamJoiner joiner = new FSRStreamJoiner(50, 1000, 16);
+
+        // When
+        boolean first = joiner.offer(sample("left", 10f), 1_000);
+        boolean second = joiner.offer(sample("right", 20f), 1_030);
+
+        // Then
+        assertFalse(first);
+        assertTrue(second);
+        FSRBilateralFrame frame = joiner.latestFrame();
+        assertEquals(1_030, frame.getTimestamp());
+        assertEquals(10f, frame.getLeft().getRatio1());
+        assertEquals(20f, frame.getRight().getRatio1());
+        assertEquals(FSRBilateralFrame.Source.MEASURED, frame.getLeftSource());
+        assertEquals(FSRBilateralFrame.Source.MEASURED, frame.getRightSource());
+    }
+
+    @Test
+    void testInterpolatesLateSide() {
+        // Given
+        FSRStreamJoiner joiner = new FSRStreamJoiner(50, 1000, 16);
+        joiner.offer(sample("left", 0f), 1_000);
+        joiner.offer(sample("right", 0f), 1_000);
+        joiner.offer(sample("right", 50f), 1_100);
+
+        // When: 왼발 샘플이 허용 오차보다 늦게 도착
+        joiner.offer(sample("left", 100f), 1_200);
+
+        // Then: 오른발 시점(1100)에 왼발 값을 보간
+        FSRBilateralFrame frame = joiner.latestFrame();
+        assertEquals(1_100, frame.getTimestamp());
+        assertEquals(50f, frame.getLeft().getRatio1(), 0.001f);
+        assertEquals(50f, frame.getRight().getRatio1());
+        assertEquals(FSRBilateralFrame.Source.INTERPOLATED, frame.getLeftSource());
+    }
+
+    @Test
+    void testHoldsOtherSideWhenOnlyOneSideArrives() {
+        // Given
+        FSRStreamJoiner joiner = new FSRStreamJoiner(50, 1000, 16);
+        joiner.offer(sample("left", 10f), 1_000);
+        joiner.offer(sample("right", 30f), 1_000);
+        joiner.offer(sample("left", 12f), 1_100);
+
+        // When
+        joiner.offer(sample("left", 14f), 1_200);
+        joiner.offer(sample("left", 16f), 3_000);
+
+        // Then
+        List<FSRBilateralFrame> frames = joiner.framesSince(1_100);
+        assertEquals(2, frames.size());
+        assertEquals(FSRBilateralFrame.Source.HELD, frames.get(0).getRightSource());
+        assertEquals(30f, frames.get(0).getRight().getRatio1());
+        assertEquals(1_200, frames.get(1).getTimestamp());
+        assertTrue(frames.get(1).hasRight());
+    }
+
+    @Test
+    void testMarksOtherSideMissingAfterHoldTime() {
+        // Given
+        FSRStreamJoiner joiner = new FSRStreamJoiner(50, 1000, 16);
+        joiner.offer(sample("left", 10f), 1_000);
+
+        // When
+        joiner.offer(sample("left", 12f), 1_100);
+
+        // Then
+        FSRBilateralFrame frame = joiner.latestFrame();
+        assertEquals(FSRBilateralFrame.Source.MISSING, frame.getRightSource());
+        assertFalse(frame.hasRight());
+        assertEquals(0f, frame.getRight().getRatio1());
+    }
+
+    @Test
+    void testFrameRingOverwritesOldest() {
+        // Given
+        FSRStreamJoiner joiner = new FSRStreamJoiner(50, 1000, 4);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            joiner.offer(sample("left", i), i * 100L);
+            joiner.offer(sample("right", i), i * 100L);
+        }
+
+        // Then
+        List<FSRBilateralFrame> frames = joiner.framesSince(0);
+        assertEquals(4, frames.size());
+        assertEquals(600, frames.get(0).getTimestamp());
+        assertEquals(900, frames.get(3).getTimestamp());
+        assertEquals(10, joiner.frameCount());
+    }
+
+    @Test
+    void testFlushesLoneSampleAfterPairingWindow() {
+        // Given: 왼발만 연결된 상태
+        FSRStreamJoiner joiner = new FSRStreamJoiner(50, 1000, 16);
+        joiner.offer(sample("left", 10f), 1_000, 1_000);
+
+        // When: 허용 오차 안에서는 보류, 지나면 반쪽 프레임으로 내보냄
+        boolean early = joiner.flushExpired(1_040);
+        boolean expired = joiner.flushExpired(1_060);
+
+        // Then
+        assertFalse(early);
+        assertTrue(expired);
+        FSRBilateralFrame frame = joiner.latestFrame();
+        assertEquals(1_000, frame.getTimestamp());
+        assertEquals(10f, frame.getLeft().getRatio1());
+        assertEquals(FSRBilateralFrame.Source.MEASURED, frame.getLeftSource());
+        assertEquals(FSRBilateralFrame.Source.MISSING, frame.getRightSource());
+        assertEquals(1, joiner.frameCount());
+        assertFalse(joiner.flushExpired(2_000));
+    }
+
+    @Test
+    void testFlushUsesArrivalTimeAndHoldsOtherSide() {
+        // Given: 디바이스 시각은 과거지만 방금 도착한 오른발 샘플, 왼발 직전 값 있음
+        FSRStreamJoiner joiner = new FSRStreamJoiner(50, 1000, 16);
+        joiner.offer(sample("left", 5f), 1_000, 5_000);
+        joiner.offer(sample("right", 7f), 1_010, 5_000);
+        joiner.offer(sample("right", 9f), 1_200, 5_000);
+
+        // When
+        boolean early = joiner.flushExpired(5_020);
+        boolean expired = joiner.flushExpired(5_100);
+
+        // Then: 도착 시각 기준으로만 만료되고, 왼발은 직전 값을 유지
+        assertFalse(early);
+        assertTrue(expired);
+        FSRBilateralFrame frame = joiner.latestFrame();
+        assertEquals(1_200, frame.getTimestamp());
+        assertEquals(9f, frame.getRight().getRatio1());
+        assertEquals(5f, frame.getLeft().getRatio1());
+        assertEquals(FSRBilateralFrame.Source.HELD, frame.getLeftSource());
+    }
+
+    @Test
+    void testSummaryKeepsPerFrameLoadDifference() {
+        // Given: 좌우로 번갈아 쏠린 두 프레임 (평균끼리 비교하면 차이 0)
+        FSRStreamJoiner joiner = new FSRStreamJoiner(50, 1000, 16, new long[]{10_000});
+        joiner.offer(sample("left", 80f), 1_000);
+        joiner.offer(sample("right", 20f), 1_000);
+        joiner.offer(sample("left", 20f), 1_100);
+        joiner.offer(sample("right", 80f), 1_100);
+
+        // When: 유지 중인 창과 링을 훑는 창 모두
+        FSRBilateralSummary maintained = joiner.summarize(10_000, 1_200);
+        FSRBilateralSummary scanned = joiner.summarize(5_000, 1_200);
+
+        // Then: 프레임별 |L - R|의 평균
+        assertEquals(2, maintained.getPairCount());
+        assertEquals(60f, maintained.getPairedLoadDiff(), 0.001f);
+        assertEquals(60f, scanned.getPairedLoadDiff(), 0.001f);
+        assertEquals(50f, maintained.getLeftAverage().getRatio1(), 0.001f);
+    }
+}
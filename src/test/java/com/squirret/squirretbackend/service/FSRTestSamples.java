@@ -0,0 +1,39 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+
+/**
+ * 테스트용 FSR 샘플 생성 (링/집계 테스트 공통)
+ */
+final class FSRTestSamples {
+
+    private FSRTestSamples() {
+    }
+
+    /**
+     * ratio1만 채운 샘플
+     */
+    static FSRDataDTO sample(float ratio1) {
+        FSRDataDTO data = new FSRDataDTO();
+        data.setRatio1(ratio1);
+        return data;
+    }
+
+    /**
+     * ratio1과 ratio6(마지막 채널 확인용)을 채운 샘플
+     */
+    static FSRDataDTO sample(float ratio1, float ratio6) {
+        FSRDataDTO data = sample(ratio1);
+        data.setRatio6(ratio6);
+        return data;
+    }
+
+    /**
+     * side와 ratio1을 채운 샘플
+     */
+    static FSRDataDTO sample(String side, float ratio1) {
+        FSRDataDTO data = sample(ratio1);
+        data.setSide(side);
+        return data;
+    }
+}
@@ -0,0 +1,69 @@
+package com.squirret.squirretbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.squirret.squirretbackend.service.FSRTestSamples.sample;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRWindowAggregatorTest {
+
+    private static final long[] WINDOWS = {2_000, 5_000, 10_000};
+
+    private double bruteForceSum(FSRHistoryRing ring, long threshold) {
+        double sum = 0;
+        for (int i = 0; i < ring.size(); i++) {
+            int slot = ring.slot(i);
+            if (ring.timestampAt(slot) >= threshold) {
+                sum += ring.valueAt(slot, 0);
+            }
+        }
+        return sum;
+    }
+
+    @Test
+    void testWindowSumsMatchFullScan() {
+        // Given
+        FSRHistoryRing ring = new FSRHistoryRing(4096, WINDOWS);
+        Random random = new Random(42);
+        long now = 0;
+
+        // When & Then
+        for (int i = 0; i < 20_000; i++) {
+            now += 1 + random.nextInt(20);
+            ring.append(now, sample(random.nextFloat() * 100f));
+            ring.pruneBefore(now - 10_000);
+            if (i % 97 == 0) {
+                for (long window : WINDOWS) {
+                    int w = ring.windowIndex(window);
+                    int count = ring.windowCount(w, now);
+                    assertTrue(count > 0);
+                    assertEquals(bruteForceSum(ring, now - window), ring.windowSum(w, 0), 0.01);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOverwrittenSamplesLeaveWindow() {
+        // Given: 창보다 링이 작아 덮어쓰기가 먼저 일어나는 경우
+        FSRHistoryRing ring = new FSRHistoryRing(4, WINDOWS);
+
+        // When
+        for (int i = 1; i <= 10; i++) {
+            ring.append(i * 10L, sample(i));
+        }
+
+        // Then: 마지막 4개(7~10)만 남음
+        int w = ring.windowIndex(10_000);
+        assertEquals(4, ring.windowCount(w, 100));
+        assertEquals(34.0, ring.windowSum(w, 0), 0.0001);
+    }
+
+    @Test
+    void testUnknownWindowLength() {
+        FSRHistoryRing ring = new FSRHistoryRing(8, WINDOWS);
+        assertEquals(-1, ring.windowIndex(3_000));
+    }
+}
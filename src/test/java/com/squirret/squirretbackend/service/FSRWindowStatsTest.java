@@ -0,0 +1,100 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.FSRDataDTO;
+import com.squirret.squirretbackend.dto.FSRSeriesStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FSRWindowStatsTest {
+
+    private static final long WINDOW = 1_000;
+
+    private FSRDataDTO sample(Random random) {
+        FSRDataDTO data = new FSRDataDTO();
+        data.setRatio1(random.nextFloat() * 30);
+        data.setRatio2(random.nextFloat() * 10);
+        data.setRatio3(random.nextFloat() * 20);
+        data.setRatio4(random.nextFloat() * 10);
+        data.setRatio5(random.nextFloat() * 20);
+        data.setRatio6(random.nextFloat() * 10);
+        return data;
+    }
+
+    @Test
+    void testStatsMatchFullScan() {
+        // Given: 링(256)보다 긴 기록 + 창(1초) 밖으로 밀려나는 샘플
+        Random random = new Random(11);
+        FSRHistoryRing ring = new FSRHistoryRing(new FSRHeapColumnStore(256), new long[0], WINDOW);
+        long timestamp = 0;
+
+        for (int i = 0; i < 2_000; i++) {
+            timestamp += 1 + random.nextInt(10);
+            ring.append(timestamp, sample(random));
+
+            if (i % 97 == 0) {
+                // When
+                Map<String, FSRSeriesStatsDTO> stats = ring.windowStats(timestamp);
+
+                // Then: 창 안 샘플을 직접 훑은 결과와 비교
+                for (int s = 0; s < FSRWindowStats.SERIES.length; s++) {
+                    float[] values = windowValues(ring, timestamp - WINDOW, s);
+                    FSRSeriesStatsDTO actual = stats.get(FSRWindowStats.SERIES[s]);
+                    double mean = 0;
+                    for (float v : values) mean += v;
+                    mean /= values.length;
+                    double variance = 0;
+                    for (float v : values) variance += (v - mean) * (v - mean);
+                    variance /= values.length;
+                    Arrays.sort(values);
+
+                    assertEquals(values.length, actual.getCount());
+                    assertEquals(mean, actual.getMean(), 1e-3);
+                    assertEquals(Math.sqrt(variance), actual.getStdDev(), 1e-3);
+                    assertEquals(values[0], actual.getMin());
+                    assertEquals(values[values.length - 1], actual.getMax());
+                    // 분위수는 히스토그램 구간 폭(1%) 이내
+                    assertEquals(values[(int) (values.length * 0.5)], actual.getP50(), 1.0);
+                    assertEquals(values[(int) (values.length * 0.9)], actual.getP90(), 1.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEmptyWindowAfterSilence() {
+        // Given
+        FSRHistoryRing ring = new FSRHistoryRing(new FSRHeapColumnStore(16), new long[0], WINDOW);
+        ring.append(100, sample(new Random(1)));
+
+        // When: 창 길이보다 오래 수신 없음
+        Map<String, FSRSeriesStatsDTO> stats = ring.windowStats(100 + WINDOW + 1);
+
+        // Then
+        assertEquals(0, stats.get("heel").getCount());
+        assertEquals(0f, stats.get("heel").getMax());
+    }
+
+    private float[] windowValues(FSRHistoryRing ring, long threshold, int series) {
+        float[] values = new float[ring.size()];
+        int n = 0;
+        for (int i = 0; i < ring.size(); i++) {
+            int slot = ring.slot(i);
+            if (ring.timestampAt(slot) < threshold) continue;
+            float r1 = ring.valueAt(slot, 0), r2 = ring.valueAt(slot, 1), r3 = ring.valueAt(slot, 2);
+            float r4 = ring.valueAt(slot, 3), r5 = ring.valueAt(slot, 4), r6 = ring.valueAt(slot, 5);
+            values[n++] = switch (series) {
+                case 6 -> r3 + r4 + r6;
+                case 7, 8 -> r1 + r5;
+                case 9 -> r5 + r6;
+                case 10 -> r1 + r2 + r3 + r4;
+                default -> ring.valueAt(slot, series);
+            };
+        }
+        return Arrays.copyOf(values, n);
+    }
+}
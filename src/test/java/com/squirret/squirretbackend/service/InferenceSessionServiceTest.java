@@ -0,0 +1,39 @@
+package com.squirret.squirretbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InferenceSessionServiceTest {
+
+    @Test
+    void testActiveSessionIsNotEvicted() {
+        // Given
+        InferenceSessionService service = new InferenceSessionService();
+        String sessionId = service.registerFastApiSession("guest", "fastapi-1").sessionId();
+
+        // When: 메모리 예산 초과로 제거 요청
+        boolean evicted = service.evict(sessionId);
+
+        // Then: 진행 중인 세션 매핑은 유지
+        assertFalse(evicted);
+        assertTrue(service.isSessionActive(sessionId));
+        assertEquals(sessionId, service.getSpringSessionIdByFastApiSessionId("fastapi-1"));
+    }
+
+    @Test
+    void testFinishedSessionIsEvicted() {
+        // Given
+        InferenceSessionService service = new InferenceSessionService();
+        String sessionId = service.registerFastApiSession("guest", "fastapi-1").sessionId();
+        service.finishSession(sessionId, new InferenceSessionService.SessionStats(10, 10, 5L));
+
+        // When
+        boolean evicted = service.evict(sessionId);
+
+        // Then
+        assertTrue(evicted);
+        assertNull(service.getSpringSessionIdByFastApiSessionId("fastapi-1"));
+        assertFalse(service.evict(sessionId));
+    }
+}
@@ -0,0 +1,109 @@
+package com.squirret.squirretbackend.service;
+
+import com.squirret.squirretbackend.dto.UserStateMemoryResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserStateMemoryManagerTest {
+
+    private static final long MB = 1024 * 1024;
+
+    /**
+     * 항목마다 (바이트, 마지막 활동 시각)을 들고 있는 테스트용 저장소
+     */
+    private static final class FakeStore implements UserStateStore {
+        private final String name;
+        private final Map<String, long[]> entries = new LinkedHashMap<>();
+
+        FakeStore(String name) {
+            this.name = name;
+        }
+
+        FakeStore put(String key, long bytes, long lastActive) {
+            entries.put(key, new long[]{bytes, lastActive});
+            return this;
+        }
+
+        @Override
+        public String storeName() {
+            return name;
+        }
+
+        @Override
+        public void forEachEntry(EntryConsumer consumer) {
+            entries.forEach((key, value) -> consumer.accept(key, value[0], value[1]));
+        }
+
+        @Override
+        public boolean evict(String key) {
+            return entries.remove(key) != null;
+        }
+    }
+
+    private UserStateMemoryManager manager(long budgetMb, double lowWatermark, UserStateStore... stores) {
+        UserStateMemoryManager manager = new UserStateMemoryManager(List.of(stores));
+        ReflectionTestUtils.setField(manager, "budgetMegabytes", budgetMb);
+        ReflectionTestUtils.setField(manager, "lowWatermark", lowWatermark);
+        manager.init();
+        return manager;
+    }
+
+    @Test
+    void testUnderBudgetEvictsNothing() {
+        // Given
+        FakeStore streams = new FakeStore("fsrStreams").put("a", 3 * MB, 100).put("b", 3 * MB, 200);
+        UserStateMemoryManager manager = manager(10, 0.9, streams);
+
+        // When
+        manager.enforceBudget();
+
+        // Then
+        UserStateMemoryResponse usage = manager.getUsage();
+        assertEquals(10 * MB, usage.getBudgetBytes());
+        assertEquals(6 * MB, usage.getUsedBytes());
+        assertEquals(0, usage.getEvictedTotal());
+        assertEquals(2, usage.getStores().get(0).getEntries());
+    }
+
+    @Test
+    void testEvictsColdestAcrossStoresUntilLowWatermark() {
+        // Given: 두 저장소 합계 12MB, 예산 10MB (low-watermark 0.8 -> 8MB까지 제거)
+        FakeStore streams = new FakeStore("fsrStreams")
+                .put("warm", 3 * MB, 300)
+                .put("cold", 3 * MB, 100)
+                .put("hot", 3 * MB, 500);
+        FakeStore sessions = new FakeStore("inferenceSessions")
+                .put("coldest", 1 * MB, 50)
+                .put("recent", 2 * MB, 400);
+        UserStateMemoryManager manager = manager(10, 0.8, streams, sessions);
+
+        // When
+        manager.enforceBudget();
+
+        // Then: coldest(1MB) -> cold(3MB)까지 제거해 8MB
+        assertFalse(sessions.entries.containsKey("coldest"));
+        assertFalse(streams.entries.containsKey("cold"));
+        assertTrue(streams.entries.containsKey("warm"));
+        assertTrue(streams.entries.containsKey("hot"));
+        assertTrue(sessions.entries.containsKey("recent"));
+
+        UserStateMemoryResponse usage = manager.getUsage();
+        assertEquals(8 * MB, usage.getUsedBytes());
+        assertEquals(2, usage.getEvictedTotal());
+        assertEquals("fsrStreams", usage.getStores().get(0).getName());
+        assertEquals(1, usage.getStores().get(0).getEvicted());
+        assertEquals(1, usage.getStores().get(1).getEvicted());
+    }
+
+    @Test
+    void testInvalidLowWatermarkIsRejected() {
+        // Given / When / Then
+        assertThrows(IllegalStateException.class, () -> manager(10, 1.5, new FakeStore("aiState")));
+    }
+}